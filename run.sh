@@ -1,14 +1,128 @@
 #!/bin/bash
 
 # Dev Shell production launcher with minimal logging
+#
+# Startup loads thousands of Spring, JLine and JGit classes. To avoid parsing and verifying them from the jar on
+# every launch, this script runs the shell with a class-data cache:
+#   - JDK 24 and later: an AOT cache (JEP 483)
+#   - older JDKs: a dynamic AppCDS archive
+# The cache is built by a training run of common commands. That run happens in the background after the first
+# launch, or in the foreground with DEV_SHELL_AOT=train. Class-data sharing needs plain jars on the class path,
+# so the jar is first extracted with Spring Boot's jarmode tools.
+#
+# Caches live in ~/.dev-shell/cache/<jar size and mtime>-java<version>, so a rebuilt jar or another JDK starts a
+# fresh one and older ones are removed.
+#
+#   DEV_SHELL_JAR     the jar to run (default: target/dev-shell.jar next to this script)
+#   DEV_SHELL_CACHE   where caches are kept (default: ~/.dev-shell/cache)
+#   DEV_SHELL_AOT     off: run the jar directly; train: build the cache now and exit
+
+SCRIPT="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)/$(basename "${BASH_SOURCE[0]}")"
+JAR="${DEV_SHELL_JAR:-$(dirname "$SCRIPT")/target/dev-shell.jar}"
+CACHE_ROOT="${DEV_SHELL_CACHE:-$HOME/.dev-shell/cache}"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
 
 # JVM options to silence various startup messages
-JVM_OPTS="-Dlogging.level.root=ERROR \
-          -Dlogging.level.ch.qos.logback=ERROR \
-          -Dspring.main.banner-mode=off \
-          -Dspring.jmx.enabled=false \
-          -Dspring.main.log-startup-info=false \
-          -Djava.util.logging.manager=org.apache.logging.log4j.jul.LogManager"
-
-# Run the application
-java $JVM_OPTS -jar target/dev-shell.jar "$@"
\ No newline at end of file
+JVM_OPTS=(-Dlogging.level.root=ERROR
+          -Dlogging.level.ch.qos.logback=ERROR
+          -Dspring.main.banner-mode=off
+          -Dspring.jmx.enabled=false
+          -Dspring.main.log-startup-info=false
+          # Lets set-alias point the alias at this script rather than at the extracted jar
+          -Ddev-shell.launcher="$SCRIPT"
+          -Ddev-shell.jar="$JAR")
+
+if [ ! -f "$JAR" ]; then
+    echo "dev-shell: $JAR not found; build it with ./mvnw package" >&2
+    exit 1
+fi
+
+# Reads the JDK version from its release file, which is much cheaper than starting a JVM to ask
+java_version() {
+    local java_bin home
+    java_bin="$(command -v "$JAVA")" || return 1
+    home="$(cd "$(dirname "$(readlink -f "$java_bin" 2>/dev/null || echo "$java_bin")")/.." && pwd)"
+    sed -n 's/^JAVA_VERSION="\(.*\)"/\1/p' "$home/release" 2>/dev/null
+}
+
+jar_stamp() {
+    stat -c '%s-%Y' "$1" 2>/dev/null || stat -f '%z-%m' "$1"
+}
+
+VERSION="$(java_version)"
+FEATURE="${VERSION%%.*}"
+FEATURE="${FEATURE%%[!0-9]*}"
+if [ "${DEV_SHELL_AOT:-on}" = "off" ] || [ -z "$FEATURE" ] || [ "$FEATURE" = "1" ] || [ "$FEATURE" -lt 13 ]; then
+    exec "$JAVA" "${JVM_OPTS[@]}" -jar "$JAR" "$@"
+fi
+
+KEY="$(jar_stamp "$JAR")-java$VERSION"
+DIR="$CACHE_ROOT/$KEY"
+APP="$DIR/$(basename "$JAR")"
+
+if [ ! -f "$APP" ]; then
+    mkdir -p "$CACHE_ROOT"
+    # Drop caches of earlier builds and JDKs
+    find "$CACHE_ROOT" -mindepth 1 -maxdepth 1 -type d ! -name "$KEY" -exec rm -rf {} +
+    tmp="$DIR.tmp.$$"
+    if "$JAVA" -Djarmode=tools -jar "$JAR" extract --destination "$tmp" >/dev/null 2>&1 && [ ! -d "$DIR" ]; then
+        mv "$tmp" "$DIR"
+    fi
+    rm -rf "$tmp"
+    if [ ! -f "$APP" ]; then
+        exec "$JAVA" "${JVM_OPTS[@]}" -jar "$JAR" "$@"
+    fi
+fi
+
+if [ "$FEATURE" -ge 24 ]; then
+    CACHE="$DIR/dev-shell.aot"
+    USE_CACHE=(-XX:AOTCache="$CACHE")
+else
+    CACHE="$DIR/dev-shell.jsa"
+    USE_CACHE=(-XX:SharedArchiveFile="$CACHE")
+fi
+
+# Runs common commands once, with the JVM recording what they load, and turns the recording into the cache
+train() {
+    mkdir "$DIR/training.lock" 2>/dev/null || return 0
+    trap 'rm -rf "$DIR/training.lock"' EXIT
+    printf '%s\n' "help" "status" "log --count 5" "pwd" "ls" "echo dev-shell" > "$DIR/training.txt"
+    # Run the file as a script, and keep the training run out of the user's statistics and history
+    local training=("${JVM_OPTS[@]}"
+                    -Dspring.shell.script.enabled=true
+                    -Dspring.shell.noninteractive.enabled=false
+                    -Ddev-shell.stats.file="$DIR/training-stats.json"
+                    -Ddev-shell.resources.history="$DIR/training-resources.jsonl"
+                    -Ddev-shell.log.file.enabled=false)
+    if [ "$FEATURE" -ge 24 ]; then
+        "$JAVA" -XX:AOTMode=record -XX:AOTConfiguration="$DIR/dev-shell.aotconf" "${training[@]}" \
+            -jar "$APP" --no-daemon @"$DIR/training.txt" </dev/null \
+        && "$JAVA" -XX:AOTMode=create -XX:AOTConfiguration="$DIR/dev-shell.aotconf" -XX:AOTCache="$CACHE.tmp" \
+            "${training[@]}" -jar "$APP"
+    else
+        "$JAVA" -XX:ArchiveClassesAtExit="$CACHE.tmp" "${training[@]}" \
+            -jar "$APP" --no-daemon @"$DIR/training.txt" </dev/null
+    fi
+    if [ -s "$CACHE.tmp" ]; then
+        mv "$CACHE.tmp" "$CACHE"
+    else
+        # Don't retry on every launch; a new jar or JDK gets a new attempt
+        touch "$DIR/training.failed"
+    fi
+}
+
+if [ "${DEV_SHELL_AOT:-on}" = "train" ]; then
+    rm -f "$CACHE" "$DIR/training.failed"
+    train
+    [ -f "$CACHE" ] && echo "dev-shell: class-data cache written to $CACHE" || echo "dev-shell: training failed" >&2
+    exit
+fi
+
+if [ -f "$CACHE" ]; then
+    exec "$JAVA" "${USE_CACHE[@]}" "${JVM_OPTS[@]}" -jar "$APP" "$@"
+fi
+
+if [ ! -f "$DIR/training.failed" ]; then
+    (train > "$DIR/training.log" 2>&1 &)
+fi
+exec "$JAVA" "${JVM_OPTS[@]}" -jar "$APP" "$@"
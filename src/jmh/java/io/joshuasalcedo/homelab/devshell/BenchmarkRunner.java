@@ -0,0 +1,45 @@
+package io.joshuasalcedo.homelab.devshell;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Runs the JMH benchmarks, {@code ./mvnw -P jmh verify}, and writes the results as JSON to {@code -Djmh.result}
+ * (default {@code target/jmh/jmh-result.json}); the profile names the file after the project version, so results
+ * of different releases can be kept side by side.
+ * <p>
+ * Arguments are JMH's own, passed with {@code -Djmh.args="..."}: for example
+ * {@code -Djmh.args="JGitRepositoryAdapterBenchmark -p files=1000,50000 -p changeRatio=0.1"}.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        // Maven passes jmh.args as a single argument, empty when it is not set
+        String[] jmhArgs = Arrays.stream(args)
+                .flatMap(arg -> Arrays.stream(arg.trim().split("\\s+")))
+                .filter(arg -> !arg.isBlank())
+                .toArray(String[]::new);
+        Path result = Paths.get(System.getProperty("jmh.result", "target/jmh/jmh-result.json"));
+        if (result.getParent() != null) {
+            Files.createDirectories(result.getParent());
+        }
+
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(jmhArgs))
+                .resultFormat(ResultFormatType.JSON)
+                .result(result.toString())
+                .build())
+                .run();
+    }
+}
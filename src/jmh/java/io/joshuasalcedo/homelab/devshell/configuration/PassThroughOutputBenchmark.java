@@ -0,0 +1,275 @@
+package io.joshuasalcedo.homelab.devshell.configuration;
+
+import com.google.gson.GsonBuilder;
+import io.joshuasalcedo.homelab.devshell.domain.service.InteractiveCommandService;
+import io.joshuasalcedo.homelab.devshell.domain.service.TtyRequirementClassifier;
+import io.joshuasalcedo.homelab.devshell.infrastructure.command.FileInteractiveCommandRepositoryAdapter;
+import io.joshuasalcedo.homelab.devshell.infrastructure.path.PathExecutableIndex;
+import io.joshuasalcedo.homelab.devshell.infrastructure.process.JobManager;
+import io.joshuasalcedo.homelab.devshell.infrastructure.process.ProcessResourceMonitor;
+import io.joshuasalcedo.homelab.devshell.infrastructure.process.ResourceHistory;
+import io.joshuasalcedo.homelab.devshell.utils.CliLogger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.runner.IterationType;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Output-heavy commands through {@link CommandNotFoundMessageProviderImpl#execute(String)}, which colors and prints
+ * every line, against the same command's output copied straight from the bash pipe ({@code rawBash}). Both print
+ * into a {@link TerminalSink}, a dumb terminal that only counts, so the benchmark runs headless.
+ * <p>
+ * Workloads: {@code yes} ({@code yes | head -n 5000000}, short lines), {@code seq} ({@code seq 1 2000000}) and
+ * {@code cat} (a generated 32 MB file of 16 KB lines). JMH reports the time per run; at the end of each trial the
+ * measured runs are summed into MB/s of command output, JVM CPU and heap allocated per MB, and terminal writes and
+ * flushes per MB, printed and written to {@code target/jmh/pass-through-output-<benchmark>-<workload>.json}
+ * ({@code -Dpass-through.output.directory}). CPU and allocation are the whole JVM's, so they include the process
+ * pumps but not bash or the command itself.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(1)
+public class PassThroughOutputBenchmark {
+
+    private static final int LONG_LINES = 2048;
+    private static final int LONG_LINE_LENGTH = 16 * 1024;
+    private static final double MEGABYTE = 1024 * 1024;
+
+    @Param({"yes", "seq", "cat"})
+    public String workload;
+
+    private final TerminalSink sink = new TerminalSink();
+    private final com.sun.management.OperatingSystemMXBean os =
+            ManagementFactory.getPlatformMXBean(com.sun.management.OperatingSystemMXBean.class);
+    private final com.sun.management.ThreadMXBean threads =
+            ManagementFactory.getPlatformMXBean(com.sun.management.ThreadMXBean.class);
+    private Path workDirectory;
+    private CommandNotFoundMessageProviderImpl provider;
+    private String benchmark;
+    private String command;
+    private long commandBytes;
+    private boolean measuring;
+
+    private long startNanos;
+    private long startCpuNanos;
+    private long startAllocated;
+    private long startSinkBytes;
+    private long startWrites;
+    private long startFlushes;
+
+    private int runs;
+    private long wallNanos;
+    private long cpuNanos;
+    private long allocatedBytes;
+    private long sinkBytes;
+    private long writes;
+    private long flushes;
+
+    @Setup(Level.Trial)
+    public void setUpTrial(BenchmarkParams params) throws Exception {
+        CliLogger.setLevel(CliLogger.Level.OFF);
+        String name = params.getBenchmark();
+        benchmark = name.substring(name.lastIndexOf('.') + 1);
+        workDirectory = Files.createTempDirectory("pass-through-output");
+        command = switch (workload) {
+            case "yes" -> "yes | head -n 5000000";
+            case "seq" -> "seq 1 2000000";
+            case "cat" -> "cat " + writeLongLines(workDirectory.resolve("long-lines.txt"));
+            default -> throw new IllegalArgumentException("Unknown workload: " + workload);
+        };
+
+        // The production collaborators, with the registry and history kept out of the user's ~/.dev-shell
+        provider = new CommandNotFoundMessageProviderImpl(
+                new TtyRequirementClassifier(new InteractiveCommandService(
+                        new FileInteractiveCommandRepositoryAdapter(workDirectory.resolve("commands.json")))),
+                new JobManager(),
+                new PathExecutableIndex(),
+                new ProcessResourceMonitor(),
+                new ResourceHistory(workDirectory.resolve("resources.jsonl")),
+                // No resource summary, so the sink only sees the command's output
+                Duration.ofDays(1),
+                new PrintStream(sink, true, StandardCharsets.UTF_8));
+
+        long before = sink.bytes;
+        rawBash();
+        commandBytes = sink.bytes - before;
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpIteration(IterationParams iteration) {
+        measuring = iteration.getType() == IterationType.MEASUREMENT;
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpInvocation() {
+        startSinkBytes = sink.bytes;
+        startWrites = sink.writes;
+        startFlushes = sink.flushes;
+        startAllocated = threads.getTotalThreadAllocatedBytes();
+        startCpuNanos = os.getProcessCpuTime();
+        startNanos = System.nanoTime();
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDownInvocation() {
+        long elapsed = System.nanoTime() - startNanos;
+        long cpu = os.getProcessCpuTime() - startCpuNanos;
+        long allocated = threads.getTotalThreadAllocatedBytes() - startAllocated;
+        if (measuring) {
+            runs++;
+            wallNanos += elapsed;
+            cpuNanos += cpu;
+            allocatedBytes += allocated;
+            sinkBytes += sink.bytes - startSinkBytes;
+            writes += sink.writes - startWrites;
+            flushes += sink.flushes - startFlushes;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownTrial() throws Exception {
+        report();
+        try (var paths = Files.walk(workDirectory)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Benchmark
+    public int passThrough() {
+        CommandNotFoundMessageProviderImpl.Outcome outcome = provider.execute(command);
+        if (outcome.exitCode() != 0) {
+            throw new IllegalStateException(command + " failed: " + outcome.message());
+        }
+        return outcome.exitCode();
+    }
+
+    @Benchmark
+    public int rawBash() throws Exception {
+        // What bash alone costs: the same login shell, its output copied from the pipe in blocks
+        Process process = new ProcessBuilder("/bin/bash", "-l", "-c", command)
+                .directory(new File(System.getProperty("user.dir")))
+                .redirectErrorStream(true)
+                .start();
+        process.getInputStream().transferTo(sink);
+        sink.flush();
+        int exitCode = process.waitFor();
+        if (exitCode != 0) {
+            throw new IllegalStateException(command + " exited with code " + exitCode);
+        }
+        return exitCode;
+    }
+
+    private static Path writeLongLines(Path file) throws IOException {
+        Random random = new Random(42);
+        char[] line = new char[LONG_LINE_LENGTH];
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < LONG_LINES; i++) {
+                for (int c = 0; c < line.length; c++) {
+                    line[c] = (char) (' ' + random.nextInt(95));
+                }
+                writer.write(line);
+                writer.write('\n');
+            }
+        }
+        return file;
+    }
+
+    private void report() throws Exception {
+        double megabytes = runs * commandBytes / MEGABYTE;
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("benchmark", benchmark);
+        result.put("workload", workload);
+        result.put("command", command);
+        result.put("runs", runs);
+        result.put("commandBytes", commandBytes);
+        result.put("megabytesPerSecond", round(megabytes / (wallNanos / 1e9)));
+        result.put("cpuMillisPerMegabyte", round(cpuNanos / 1e6 / megabytes));
+        result.put("allocatedMegabytesPerMegabyte", round(allocatedBytes / MEGABYTE / megabytes));
+        result.put("allocatedMegabytesPerSecond", round(allocatedBytes / MEGABYTE / (wallNanos / 1e9)));
+        result.put("terminalBytesPerCommandByte", round((double) sinkBytes / (runs * commandBytes)));
+        result.put("writesPerMegabyte", round(writes / megabytes));
+        result.put("flushesPerMegabyte", round(flushes / megabytes));
+
+        StringBuilder table = new StringBuilder(String.format("%nPass-through output, %s, %s (%d bytes per run)%n",
+                benchmark, command, commandBytes));
+        result.forEach((key, value) -> {
+            if (!(value instanceof String)) {
+                table.append(String.format("%-32s %s%n", key, value));
+            }
+        });
+        System.out.print(table);
+
+        Path directory = Paths.get(System.getProperty("pass-through.output.directory", "target/jmh"));
+        Files.createDirectories(directory);
+        Files.writeString(directory.resolve("pass-through-output-" + benchmark + "-" + workload + ".json"),
+                new GsonBuilder().setPrettyPrinting().create().toJson(result), StandardCharsets.UTF_8);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    /**
+     * A terminal that discards everything and counts bytes, writes and flushes. The provider's print stream
+     * serializes its pumps, and the counts are read after the command finished
+     */
+    static final class TerminalSink extends OutputStream {
+
+        private volatile long bytes;
+        private volatile long writes;
+        private volatile long flushes;
+
+        @Override
+        public synchronized void write(int b) {
+            bytes++;
+            writes++;
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            bytes += len;
+            writes++;
+        }
+
+        @Override
+        public synchronized void flush() {
+            flushes++;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.git;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.ResetCommand;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.Ref;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Repositories for the git benchmarks.
+ * <p>
+ * A repository of a given size is generated once by {@link SyntheticRepositoryGenerator} under
+ * {@code -Dbench.repositories} (default {@code target/bench-repositories}) and reused by later runs;
+ * {@link #reset(Path)} puts it back to the generated state before each trial. Generation is seeded, so every run
+ * measures the same files, history and branches.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+final class BenchmarkRepositories {
+
+    static final String BRANCH = SyntheticRepositoryGenerator.BRANCH;
+    static final long SEED = 42;
+
+    private static final String BASE_TAG = "bench-base";
+    private static final String READY_MARKER = "bench-ready";
+
+    private BenchmarkRepositories() {
+    }
+
+    /**
+     * Returns a repository with {@code files} committed files, generating it on first use
+     */
+    static synchronized Path prepare(int files) throws IOException, GitAPIException {
+        Path root = Paths.get(System.getProperty("bench.repositories", "target/bench-repositories"))
+                .resolve("files-" + files)
+                .toAbsolutePath();
+        if (Files.exists(root.resolve(".git").resolve(READY_MARKER))) {
+            reset(root);
+            return root;
+        }
+        deleteRecursively(root);
+        SyntheticRepositoryGenerator.generate(root, spec(files), true);
+        try (Git git = Git.open(root.toFile())) {
+            git.tag().setName(BASE_TAG).setAnnotated(false).call();
+        }
+        Files.createFile(root.resolve(".git").resolve(READY_MARKER));
+        return root;
+    }
+
+    /**
+     * Drops everything a benchmark did: commits on {@value #BRANCH}, staged and unstaged changes, untracked files
+     * and any branch the generator did not create
+     */
+    static void reset(Path root) throws IOException, GitAPIException {
+        try (Git git = Git.open(root.toFile())) {
+            git.checkout().setName(BRANCH).setForced(true).call();
+            git.reset().setMode(ResetCommand.ResetType.HARD).setRef(BASE_TAG).call();
+            git.clean().setCleanDirectories(true).setForce(true).call();
+            for (Ref branch : git.branchList().call()) {
+                String name = branch.getName().substring("refs/heads/".length());
+                if (!name.equals(BRANCH) && !name.startsWith(SyntheticRepositoryGenerator.BRANCH_PREFIX)) {
+                    git.branchDelete().setBranchNames(name).setForce(true).call();
+                }
+            }
+        }
+    }
+
+    /**
+     * Three levels of ten directories, half-kilobyte files with a long tail, 50 commits and 10 branches
+     */
+    static SyntheticRepositoryGenerator.Spec spec(int files) {
+        return new SyntheticRepositoryGenerator.Spec(SEED, files, 3, 10, 512,
+                SyntheticRepositoryGenerator.SizeDistribution.LOG_NORMAL, 50, 1, 10, 0.0);
+    }
+
+    /**
+     * Picks {@code ratio} of the generated files, the same ones for the same arguments
+     */
+    static List<String> pickFiles(int files, double ratio) {
+        int count = Math.max(1, (int) Math.ceil(files * ratio));
+        Random random = new Random(SEED);
+        Set<Integer> picked = new LinkedHashSet<>();
+        while (picked.size() < Math.min(count, files)) {
+            picked.add(random.nextInt(files));
+        }
+        SyntheticRepositoryGenerator.Spec spec = spec(files);
+        return picked.stream().map(spec::path).toList();
+    }
+
+    /**
+     * Appends a line to each file, so it differs from both HEAD and the previous generation
+     */
+    static void modify(Path root, List<String> paths, int generation) throws IOException {
+        String line = "change " + generation + System.lineSeparator();
+        for (String path : paths) {
+            Files.writeString(root.resolve(path), line, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        }
+    }
+
+    /**
+     * Creates {@code count} new files that git does not know yet
+     *
+     * @return their paths, relative to the repository
+     */
+    static List<String> addUntracked(Path root, int count, int generation) throws IOException {
+        List<String> paths = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String path = "untracked/generation-" + generation + "/new-" + i + ".txt";
+            Path file = root.resolve(path);
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, "new file " + i + System.lineSeparator(), StandardCharsets.UTF_8);
+            paths.add(path);
+        }
+        return paths;
+    }
+
+    private static void deleteRecursively(Path root) throws IOException {
+        if (!Files.exists(root)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
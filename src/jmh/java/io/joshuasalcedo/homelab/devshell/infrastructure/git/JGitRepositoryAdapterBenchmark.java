@@ -0,0 +1,75 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.git;
+
+import io.joshuasalcedo.homelab.devshell.domain.model.Branch;
+import io.joshuasalcedo.homelab.devshell.domain.model.Commit;
+import io.joshuasalcedo.homelab.devshell.domain.model.Repository;
+import io.joshuasalcedo.homelab.devshell.domain.model.WorkingDirectory;
+import io.joshuasalcedo.homelab.devshell.utils.CliLogger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-only adapter calls against a repository of {@code files} files, {@code changeRatio} of them modified and
+ * a tenth as many untracked files added.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JGitRepositoryAdapterBenchmark {
+
+    @Param({"1000", "50000", "500000"})
+    public int files;
+
+    @Param({"0.01"})
+    public double changeRatio;
+
+    private JGitRepositoryAdapter adapter;
+    private Repository repository;
+
+    @Setup
+    public void setUp() throws Exception {
+        CliLogger.setLevel(CliLogger.Level.OFF);
+        Path root = BenchmarkRepositories.prepare(files);
+        List<String> changed = BenchmarkRepositories.pickFiles(files, changeRatio);
+        BenchmarkRepositories.modify(root, changed, 0);
+        BenchmarkRepositories.addUntracked(root, Math.max(1, changed.size() / 10), 0);
+
+        adapter = new JGitRepositoryAdapter();
+        repository = adapter.findRepository(root).orElseThrow();
+    }
+
+    @Benchmark
+    public WorkingDirectory workingDirectoryStatus() {
+        return adapter.getWorkingDirectoryStatus(repository);
+    }
+
+    @Benchmark
+    public List<Branch> allBranches() {
+        return adapter.getAllBranches(repository);
+    }
+
+    @Benchmark
+    public List<Commit> commitHistory() {
+        return adapter.getCommitHistory(repository, 100);
+    }
+}
@@ -0,0 +1,120 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.git;
+
+import io.joshuasalcedo.homelab.devshell.domain.model.Commit;
+import io.joshuasalcedo.homelab.devshell.domain.model.Repository;
+import io.joshuasalcedo.homelab.devshell.domain.service.GitValidationService;
+import io.joshuasalcedo.homelab.devshell.domain.service.SmartCommitService;
+import io.joshuasalcedo.homelab.devshell.domain.value.CommitMessage;
+import io.joshuasalcedo.homelab.devshell.utils.CliLogger;
+import org.eclipse.jgit.api.AddCommand;
+import org.eclipse.jgit.api.Git;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adapter calls that write the index, objects or refs. Each invocation first modifies {@code changeRatio} of the
+ * files and adds a tenth as many untracked files, outside the measurement, so every call has the same amount of
+ * work; the repository is reset after each trial.
+ * <p>
+ * {@code stageFiles} stages every path with one {@code AddCommand}, so the index is read and written once per call
+ * and its cost grows with repository size plus the files it hashes, like the other two benchmarks.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(1)
+public class JGitRepositoryAdapterWriteBenchmark {
+
+    @Param({"1000", "50000", "500000"})
+    public int files;
+
+    @Param({"0.01"})
+    public double changeRatio;
+
+    private Path root;
+    private JGitRepositoryAdapter adapter;
+    private SmartCommitService smartCommitService;
+    private Repository repository;
+    private List<String> changed;
+    private List<String> paths;
+    private int generation;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() throws Exception {
+        CliLogger.setLevel(CliLogger.Level.OFF);
+        root = BenchmarkRepositories.prepare(files);
+        changed = BenchmarkRepositories.pickFiles(files, changeRatio);
+
+        adapter = new JGitRepositoryAdapter();
+        smartCommitService = new SmartCommitService(adapter, new GitValidationService());
+        repository = adapter.findRepository(root).orElseThrow();
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpInvocation() throws Exception {
+        generation++;
+        BenchmarkRepositories.modify(root, changed, generation);
+        paths = new ArrayList<>(changed);
+        paths.addAll(BenchmarkRepositories.addUntracked(root, Math.max(1, changed.size() / 10), generation));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownTrial() throws Exception {
+        BenchmarkRepositories.reset(root);
+    }
+
+    @Benchmark
+    public List<String> stageFiles() {
+        adapter.stageFiles(repository, paths);
+        return paths;
+    }
+
+    @Benchmark
+    public Commit createCommit(Staged staged) {
+        return adapter.createCommit(repository, CommitMessage.of("Benchmark commit " + generation),
+                BenchmarkRepositories.BRANCH);
+    }
+
+    @Benchmark
+    public Commit executeSmartCommit() {
+        return smartCommitService.executeSmartCommit(repository, "Benchmark smart commit " + generation);
+    }
+
+    /**
+     * Stages the invocation's changes for {@link #createCommit(Staged)}, after {@link #setUpInvocation()} made them
+     */
+    @State(Scope.Benchmark)
+    public static class Staged {
+
+        @Setup(Level.Invocation)
+        public void stage(JGitRepositoryAdapterWriteBenchmark benchmark) throws Exception {
+            try (Git git = Git.open(benchmark.root.toFile())) {
+                AddCommand add = git.add();
+                benchmark.paths.forEach(add::addFilepattern);
+                add.call();
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.git;
+
+import com.google.gson.GsonBuilder;
+import io.joshuasalcedo.homelab.devshell.domain.model.Commit;
+import io.joshuasalcedo.homelab.devshell.domain.model.Repository;
+import io.joshuasalcedo.homelab.devshell.domain.service.GitValidationService;
+import io.joshuasalcedo.homelab.devshell.domain.service.SmartCommitService;
+import io.joshuasalcedo.homelab.devshell.infrastructure.telemetry.LatencyHistogram;
+import io.joshuasalcedo.homelab.devshell.utils.CliLogger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.runner.IterationType;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SmartCommitService#executeSmartCommit} broken down per {@link SmartCommitService.Step}, across repository
+ * sizes ({@code files}) and change sizes ({@code changeRatio} of the files modified, plus a tenth as many new
+ * files).
+ * <p>
+ * JMH reports the whole commit. The steps of the measured commits go into one {@link LatencyHistogram} each; at the
+ * end of each trial their percentiles and share of the total are printed and written to
+ * {@code target/jmh/smart-commit-steps-<files>-<changeRatio>.json} ({@code -Dsmart-commit.steps.directory}).
+ * The large combinations take a long time because of {@code stageFiles}; narrow them with
+ * {@code -p files=1000,50000 -p changeRatio=0.001}.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 20)
+@Fork(1)
+public class SmartCommitStepBenchmark {
+
+    @Param({"1000", "50000", "500000"})
+    public int files;
+
+    @Param({"0.001", "0.01", "0.1"})
+    public double changeRatio;
+
+    private final Map<SmartCommitService.Step, LatencyHistogram> histograms = new EnumMap<>(SmartCommitService.Step.class);
+    private final Map<SmartCommitService.Step, Long> totals = new EnumMap<>(SmartCommitService.Step.class);
+    private Path root;
+    private Repository repository;
+    private SmartCommitService smartCommitService;
+    private List<String> changed;
+    private int untracked;
+    private int generation;
+    private boolean measuring;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() throws Exception {
+        CliLogger.setLevel(CliLogger.Level.OFF);
+        root = BenchmarkRepositories.prepare(files);
+        changed = BenchmarkRepositories.pickFiles(files, changeRatio);
+        untracked = Math.max(1, changed.size() / 10);
+
+        JGitRepositoryAdapter adapter = new JGitRepositoryAdapter();
+        smartCommitService = new SmartCommitService(adapter, new GitValidationService(), this::record);
+        repository = adapter.findRepository(root).orElseThrow();
+        for (SmartCommitService.Step step : SmartCommitService.Step.values()) {
+            histograms.put(step, new LatencyHistogram());
+            totals.put(step, 0L);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpIteration(IterationParams iteration) {
+        measuring = iteration.getType() == IterationType.MEASUREMENT;
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpInvocation() throws Exception {
+        generation++;
+        BenchmarkRepositories.modify(root, changed, generation);
+        BenchmarkRepositories.addUntracked(root, untracked, generation);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownTrial() throws Exception {
+        report();
+        BenchmarkRepositories.reset(root);
+    }
+
+    @Benchmark
+    public Commit executeSmartCommit() {
+        return smartCommitService.executeSmartCommit(repository, "Benchmark smart commit " + generation);
+    }
+
+    private void record(SmartCommitService.Step step, long elapsedNanos, boolean succeeded) {
+        if (measuring && succeeded) {
+            histograms.get(step).recordNanos(elapsedNanos);
+            totals.merge(step, elapsedNanos, Long::sum);
+        }
+    }
+
+    private void report() throws Exception {
+        long total = totals.values().stream().mapToLong(Long::longValue).sum();
+        Map<String, Object> steps = new LinkedHashMap<>();
+        StringBuilder table = new StringBuilder(String.format("%nSmart commit steps, %d files, %d changed, %d new%n",
+                files, changed.size(), untracked));
+        table.append(String.format("%-16s %7s %10s %10s %10s %10s %7s%n", "step", "count", "p50 us", "p90 us", "p99 us",
+                "max us", "share"));
+        for (Map.Entry<SmartCommitService.Step, LatencyHistogram> entry : histograms.entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            double share = total == 0 ? 0 : 100.0 * totals.get(entry.getKey()) / total;
+            Map<String, Object> step = new LinkedHashMap<>();
+            step.put("count", histogram.count());
+            step.put("p50Micros", histogram.percentileMicros(50));
+            step.put("p90Micros", histogram.percentileMicros(90));
+            step.put("p99Micros", histogram.percentileMicros(99));
+            step.put("maxMicros", histogram.maxMicros());
+            step.put("totalMicros", totals.get(entry.getKey()) / 1_000);
+            step.put("sharePercent", Math.round(share * 10) / 10.0);
+            steps.put(entry.getKey().name(), step);
+            table.append(String.format("%-16s %7d %10d %10d %10d %10d %6.1f%%%n", entry.getKey(), histogram.count(),
+                    histogram.percentileMicros(50), histogram.percentileMicros(90), histogram.percentileMicros(99),
+                    histogram.maxMicros(), share));
+        }
+        System.out.print(table);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("files", files);
+        result.put("changeRatio", changeRatio);
+        result.put("changedFiles", changed.size());
+        result.put("newFiles", untracked);
+        result.put("steps", steps);
+        Path directory = Paths.get(System.getProperty("smart-commit.steps.directory", "target/jmh"));
+        Files.createDirectories(directory);
+        Files.writeString(directory.resolve("smart-commit-steps-" + files + "-" + changeRatio + ".json"),
+                new GsonBuilder().setPrettyPrinting().create().toJson(result), StandardCharsets.UTF_8);
+    }
+}
@@ -1,31 +1,78 @@
 package io.joshuasalcedo.homelab.devshell;
 
-import io.joshuasalcedo.commonlibs.text.BannerGenerator;
 import io.joshuasalcedo.commonlibs.text.TextUtility;
+import io.joshuasalcedo.homelab.devshell.configuration.StartupConfiguration;
+import io.joshuasalcedo.homelab.devshell.infrastructure.daemon.DaemonClient;
+import io.joshuasalcedo.homelab.devshell.infrastructure.daemon.DaemonProtocol;
+import io.joshuasalcedo.homelab.devshell.infrastructure.daemon.DaemonServer;
+import io.joshuasalcedo.homelab.devshell.infrastructure.daemon.RoutedOutputStream;
+import io.joshuasalcedo.homelab.devshell.presentation.shell.OneShotDispatcher;
+import io.joshuasalcedo.homelab.devshell.utils.BannerCache;
+import io.joshuasalcedo.homelab.devshell.utils.StartupTrace;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
 
 import java.io.PrintStream;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
 
 @SpringBootApplication
 public class DevShellApplication {
 
+    /** Starts a resident shell that serves one-shot commands over a Unix domain socket */
+    private static final String DAEMON = "--daemon";
+    /** Stops the resident shell */
+    private static final String STOP_DAEMON = "--stop-daemon";
+    /** Runs a one-shot command in this JVM even when a daemon is running */
+    private static final String NO_DAEMON = "--no-daemon";
+
     public static void main(String[] args) {
-        // Show banner immediately at startup
-        PrintStream printStream = new PrintStream(System.out, true, StandardCharsets.UTF_8);
+        List<String> arguments = new ArrayList<>(List.of(args));
+        boolean daemon = arguments.remove(DAEMON);
+        boolean noDaemon = arguments.remove(NO_DAEMON);
 
-        // Get version from the manifest or build properties
-        String version = DevShellApplication.class.getPackage().getImplementationVersion();
-        if (version == null) {
-            version = "unknown";
+        if (arguments.equals(List.of(STOP_DAEMON))) {
+            boolean stopped = DaemonClient.stop(DaemonProtocol.defaultSocket());
+            System.out.println(stopped ? "dev-shell daemon stopped" : "No dev-shell daemon is running");
+            return;
         }
 
-        printStream.println(BannerGenerator.create("DEV SHELL")
-                .titleColor(TextUtility.Color.BRIGHT_MAGENTA)
-                .showTimestamp()
-                .addMetadata("version", version)
-                .generateWithAsciiArt());
+        // Arguments are one command line to run and exit, except '@file', which Spring Shell runs as a script
+        boolean oneShot = !daemon && !arguments.isEmpty() && !arguments.getFirst().startsWith("@");
+
+        // A one-shot command goes to the daemon first, before anything slow is loaded
+        if (oneShot && !noDaemon) {
+            OptionalInt exitCode = DaemonClient.run(DaemonProtocol.defaultSocket(), arguments);
+            if (exitCode.isPresent()) {
+                System.exit(exitCode.getAsInt());
+            }
+        }
+
+        if (daemon || !arguments.isEmpty()) {
+            // A devtools restart would call main again without the flags removed above
+            System.setProperty("spring.devtools.restart.enabled", "false");
+        }
+        if (daemon || oneShot) {
+            // No line reader, prompt or history; the command runs through OneShotDispatcher instead
+            System.setProperty("spring.shell.interactive.enabled", "false");
+            System.setProperty("spring.shell.noninteractive.enabled", "false");
+            System.setProperty("spring.shell.script.enabled", "false");
+        }
+        if (daemon) {
+            // Before the logger and the command runner capture the streams, so each request's output reaches its client
+            RoutedOutputStream.installOnSystemStreams();
+            System.setProperty("dev-shell.daemon.enabled", "true");
+        } else if (oneShot) {
+            System.setProperty("dev-shell.oneshot", "true");
+            // Only the command and what it uses get created, whatever dev-shell.startup.lazy says
+            System.setProperty("spring.main.lazy-initialization", "true");
+        } else {
+            printBanner();
+        }
 
         // Configure for minimal startup logging
         System.setProperty("spring.main.banner-mode", "off");
@@ -34,6 +81,37 @@ public class DevShellApplication {
 
         SpringApplication app = new SpringApplication(DevShellApplication.class);
         app.setLogStartupInfo(false);
-        app.run(args);
+        app.addListeners(new StartupConfiguration.JGitWarmupListener(), new StartupConfiguration.StartupTraceListener());
+        ConfigurableApplicationContext context = app.run(oneShot ? new String[0] : arguments.toArray(String[]::new));
+
+        if (oneShot) {
+            int exitCode = context.getBean(OneShotDispatcher.class).run(arguments, Map.of(),
+                    new PrintStream(System.out, true, StandardCharsets.UTF_8),
+                    new PrintStream(System.err, true, StandardCharsets.UTF_8));
+            StartupTrace.mark(StartupTrace.ONE_SHOT_DONE);
+            System.exit(SpringApplication.exit(context, () -> exitCode));
+        }
+
+        if (daemon) {
+            try {
+                context.getBean(DaemonServer.class).awaitClosed();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+
+    private static void printBanner() {
+        // Show banner immediately at startup
+        PrintStream printStream = new PrintStream(System.out, true, StandardCharsets.UTF_8);
+
+        // Get version from the manifest or build properties
+        String version = DevShellApplication.class.getPackage().getImplementationVersion();
+        if (version == null) {
+            version = "unknown";
+        }
+
+        printStream.println(BannerCache.defaultCache().banner("DEV SHELL", TextUtility.Color.BRIGHT_MAGENTA, "version", version));
     }
-}
\ No newline at end of file
+}
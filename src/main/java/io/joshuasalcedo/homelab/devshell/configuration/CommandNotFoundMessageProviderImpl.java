@@ -3,18 +3,38 @@ package io.joshuasalcedo.homelab.devshell.configuration;
 import io.joshuasalcedo.homelab.devshell.utils.CliLogger;
 
 import io.joshuasalcedo.commonlibs.text.TextUtility;
-import io.joshuasalcedo.homelab.devshell.domain.service.InteractiveCommandService;
+import io.joshuasalcedo.homelab.devshell.domain.model.InteractiveCommand;
+import io.joshuasalcedo.homelab.devshell.domain.service.TtyRequirementClassifier;
+import io.joshuasalcedo.homelab.devshell.infrastructure.path.PathExecutableIndex;
+import io.joshuasalcedo.homelab.devshell.infrastructure.process.BackgroundJob;
+import io.joshuasalcedo.homelab.devshell.infrastructure.process.JobManager;
+import io.joshuasalcedo.homelab.devshell.infrastructure.process.ProcessResourceMonitor;
+import io.joshuasalcedo.homelab.devshell.infrastructure.process.ProcessTreeTerminator;
+import io.joshuasalcedo.homelab.devshell.infrastructure.process.ResourceHistory;
+import io.joshuasalcedo.homelab.devshell.infrastructure.process.ResourceUsage;
+import io.joshuasalcedo.homelab.devshell.infrastructure.telemetry.PassThroughProcessEvent;
+import io.joshuasalcedo.homelab.devshell.utils.InterruptScope;
 import org.springframework.shell.result.CommandNotFoundMessageProvider;
 import org.zeroturnaround.exec.ProcessExecutor;
+import org.zeroturnaround.exec.StartedProcess;
 import org.zeroturnaround.exec.stream.LogOutputStream;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.PrintStream;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Custom command not found message provider that attempts to execute unknown commands
@@ -25,100 +45,397 @@ import java.util.concurrent.TimeUnit;
  * @since 1.0.0
  */
 public class CommandNotFoundMessageProviderImpl implements CommandNotFoundMessageProvider {
-    
-    PrintStream out = new PrintStream(System.out, true, StandardCharsets.UTF_8);
 
+    private static final Duration DOUBLE_INTERRUPT_WINDOW = Duration.ofSeconds(1);
+    /** Longest wait for the Ctrl-C handler to finish interrupting a command that has already exited */
+    private static final Duration INTERRUPT_HANDOFF = Duration.ofSeconds(1);
+    private static final int PIPE_BUFFER_SIZE = 8 * 1024;
+
+    private final PrintStream out;
+    private final TtyRequirementClassifier ttyRequirementClassifier;
+    private final JobManager jobManager;
+    private final PathExecutableIndex pathExecutableIndex;
+    private final ProcessResourceMonitor resourceMonitor;
+    private final ResourceHistory resourceHistory;
+    private final Duration summaryThreshold;
 
-    private final InteractiveCommandService interactiveCommandService;
+    /**
+     * @param resourceMonitor measures each command's process tree
+     * @param resourceHistory where measured commands are recorded
+     * @param summaryThreshold commands running at least this long print a resource summary
+     */
+    public CommandNotFoundMessageProviderImpl(TtyRequirementClassifier ttyRequirementClassifier, JobManager jobManager,
+                                              PathExecutableIndex pathExecutableIndex,
+                                              ProcessResourceMonitor resourceMonitor, ResourceHistory resourceHistory,
+                                              Duration summaryThreshold) {
+        this(ttyRequirementClassifier, jobManager, pathExecutableIndex, resourceMonitor, resourceHistory,
+                summaryThreshold, new PrintStream(System.out, true, StandardCharsets.UTF_8));
+    }
 
-    public CommandNotFoundMessageProviderImpl(InteractiveCommandService interactiveCommandService) {
-        this.interactiveCommandService = interactiveCommandService;
+    /**
+     * @param out where streamed output is printed; the terminal by default, a counting sink in benchmarks
+     */
+    public CommandNotFoundMessageProviderImpl(TtyRequirementClassifier ttyRequirementClassifier, JobManager jobManager,
+                                              PathExecutableIndex pathExecutableIndex,
+                                              ProcessResourceMonitor resourceMonitor, ResourceHistory resourceHistory,
+                                              Duration summaryThreshold, PrintStream out) {
+        this.out = out;
+        this.ttyRequirementClassifier = ttyRequirementClassifier;
+        this.jobManager = jobManager;
+        this.pathExecutableIndex = pathExecutableIndex;
+        this.resourceMonitor = resourceMonitor;
+        this.resourceHistory = resourceHistory;
+        this.summaryThreshold = summaryThreshold;
     }
 
 
 
+    /**
+     * The result of running a command line
+     *
+     * @param exitCode the exit code of the command, or a shell-style code when it could not run:
+     *                 127 not found, 126 not startable, 130 interrupted
+     * @param message what to print after the output that was already streamed; empty on success
+     */
+    public record Outcome(int exitCode, String message) {
+    }
+
     @Override
     public String apply(ProviderContext providerContext) {
-        String text = providerContext.text().trim();
+        return execute(providerContext.text()).message();
+    }
+
+    /**
+     * Runs a command line that is not a dev-shell command, streaming its output
+     */
+    public Outcome execute(String commandLine) {
+        return execute(commandLine, Map.of(), null);
+    }
+
+    /**
+     * Runs a command line on behalf of a script or a daemon client. The command reads this process's standard
+     * input, and its standard output and error are copied unchanged to {@code out} and {@code err}, so redirects
+     * and pipes around dev-shell see what the command wrote.
+     *
+     * @param environment variables set for the command on top of the shell's own environment
+     */
+    public Outcome execute(String commandLine, Map<String, String> environment, PrintStream out, PrintStream err) {
+        return execute(commandLine, environment, new Sinks(out, err));
+    }
+
+    /**
+     * Where a piped command's output goes
+     */
+    private record Sinks(PrintStream out, PrintStream err) {
+    }
+
+    /**
+     * A started command, and how to wait for it and the end of its output
+     */
+    private record Running(Process process, Callable<Integer> exitCode) {
+    }
+
+    /**
+     * @param sinks where the command's output is copied, or null to stream it coloured to the terminal
+     */
+    private Outcome execute(String commandLine, Map<String, String> environment, Sinks sinks) {
+        String text = commandLine.trim();
 
         if (text.isEmpty()) {
-            return formatError("Empty command");
+            return failure(2, "Empty command");
+        }
+
+        // 'kill %1' stops background jobs; a PID or a signal option is bash's kill
+        String executable = TtyRequirementClassifier.baseCommand(text);
+        if (executable.equals("kill")) {
+            Optional<Outcome> killed = killJobs(text);
+            if (killed.isPresent()) {
+                return killed.get();
+            }
+        }
+
+        // Answer misspelled commands from the PATH index instead of starting bash just to fail
+        if (pathExecutableIndex.isDefinitelyMissing(executable)) {
+            return new Outcome(127, commandNotFound(executable));
+        }
+
+        // A trailing '&' (but not '&&') runs the command as a background job
+        if (text.endsWith("&") && !text.endsWith("&&")) {
+            return startBackgroundJob(text.substring(0, text.length() - 1).trim());
         }
         
-        // Check if this is a registered interactive command
-        if (interactiveCommandService.isInteractiveCommand(text)) {
-            return executeInteractiveCommand(text);
+        // Decide up front whether the command needs the terminal, so it is not run twice
+        if (ttyRequirementClassifier.classify(text) == TtyRequirementClassifier.ExecutionMode.INTERACTIVE) {
+            return executeInteractiveCommand(text, environment);
         }
         
         // Try to execute as a regular command with streaming output
         StringBuilder errorOutput = new StringBuilder();
-        try {
-            // Execute the command with streaming output using login shell to source profile
-            int exitCode = new ProcessExecutor()
-                    .command("/bin/bash", "-l", "-c", text)
-                    .directory(new File(System.getProperty("user.dir")))
-                    .timeout(30, TimeUnit.SECONDS) // 30 second timeout
-                    .redirectOutput(new LogOutputStream() {
-                        @Override
-                        protected void processLine(String line) {
-                            // Stream output directly to console
-                           out.println(formatSuccess(line));
-                        }
-                    })
-                    .redirectError(new LogOutputStream() {
-                        @Override
-                        protected void processLine(String line) {
-                            // Collect error output to check for TTY errors
-                            errorOutput.append(line).append("\n");
-                            // Stream error output to console in red
-                           out.println(formatError(line));
-                        }
-                    })
-                    .exitValueNormal() // Accept any exit value
-                    .execute()
-                    .getExitValue();
+        AtomicLong outputLines = new AtomicLong();
+        PassThroughProcessEvent event = PassThroughProcessEvent.begin(executable, text, "streaming");
+        ProcessResourceMonitor.Session resources = resourceMonitor.begin(text);
+        Thread waiter = Thread.currentThread();
+        AtomicReference<Process> running = new AtomicReference<>();
+        CountDownLatch interruptSent = new CountDownLatch(1);
+        // Ctrl-C kills the whole process tree and returns to the prompt without waiting for it to die
+        try (InterruptScope scope = InterruptScope.onInterrupt(() -> {
+            Process process = running.get();
+            if (process != null) {
+                ProcessTreeTerminator.terminate(process.toHandle());
+            }
+            waiter.interrupt();
+            interruptSent.countDown();
+        })) {
+            Running started = sinks == null
+                    ? startStreaming(text, environment, outputLines, errorOutput)
+                    : startPiped(text, environment, sinks, outputLines, errorOutput);
+            running.set(started.process());
+            event.setPid(started.process().pid());
+            if (resources != null) {
+                resources.track(started.process().toHandle());
+            }
+            if (scope.wasInterrupted()) {
+                ProcessTreeTerminator.terminate(started.process().toHandle());
+            }
+            int exitCode = started.exitCode().call();
+            if (scope.wasInterrupted()) {
+                // Ctrl-C can land before the wait starts, and the killed command then exits normally
+                throw new InterruptedException();
+            }
+            event.setExitCode(exitCode);
+            if (resources != null) {
+                ResourceUsage usage = resources.finish(exitCode);
+                record(usage);
+                if (usage.wallTime().compareTo(summaryThreshold) >= 0) {
+                    // A script's standard output is its data, so its summary goes to standard error, uncoloured
+                    if (sinks == null) {
+                        out.println(formatInfo("⏱ " + usage.summary()));
+                    } else {
+                        sinks.err().println("⏱ " + usage.summary());
+                    }
+                }
+            }
             
-            // Check if the error suggests it needs interactive mode
-            String errorText = errorOutput.toString().toLowerCase();
-            if (exitCode != 0 && (errorText.contains("not a terminal") || 
-                                  errorText.contains("no tty") || 
-                                  errorText.contains("stdin") ||
-                                  errorText.contains("interactive") ||
-                                  errorText.contains("input must be provided"))) {
-                // Suggest registering as interactive command
-                String baseCommand = text.split("\\s+")[0];
+            // A clear TTY error: remember it so the next run goes straight to the terminal
+            if (ttyRequirementClassifier.isTtyFailure(exitCode, errorOutput.toString())) {
+                InteractiveCommand command = ttyRequirementClassifier.recordTtyFailure(text);
                 CliLogger.debug("Command failed with TTY error: {}", text);
-                return formatError(String.format(
-                    "Command '%s' requires TTY/interactive mode. Register it with: command-iadd \"%s\"", 
-                    baseCommand, baseCommand
+                return failure(exitCode, String.format(
+                    "Command '%s' needs a terminal. Lines matching '%s' now run interactively; run it again to use the terminal.",
+                    executable, command.getCommandName()
                 ));
             }
-            
+
             // Return empty string since output was already streamed
             if (exitCode == 0) {
-                return ""; // Success - output already displayed
+                return new Outcome(0, ""); // Success - output already displayed
             } else {
-                return formatError(String.format("Command exited with code %d", exitCode));
+                return failure(exitCode, String.format("Command exited with code %d", exitCode));
             }
             
         } catch (IOException e) {
             CliLogger.debug("Command not found: {}", text, e);
             String baseCommand = text.split("\\s+")[0];
             // Command not found - show error message with suggestion
-            return formatError(String.format(
+            return failure(127, String.format(
                 "Command '%s' not found. If this is an interactive command, register it with: command-iadd \"%s\"", 
                 baseCommand, baseCommand
             ));
         } catch (InterruptedException _) {
-            Thread.currentThread().interrupt();
-            return formatError("Command interrupted");
+            // Our own Ctrl-C handler interrupted the wait; clear the flag so the prompt keeps working
+            clearInterrupt(interruptSent);
+            recordInterrupted(event, resources);
+            return failure(130, "Command interrupted");
 
         }catch (Exception e){
             CliLogger.debug("Failed to execute system command: {}", text, e);
-            return formatError(String.format("Failed to execute command: %s", e.getMessage()));
+            return failure(126, String.format("Failed to execute command: %s", e.getMessage()));
+        } finally {
+            event.setOutputLines(outputLines.get());
+            event.finish();
         }
     }
     
+    /**
+     * Streams the command's output to the terminal line by line, standard output green and standard error red
+     */
+    private Running startStreaming(String text, Map<String, String> environment, AtomicLong outputLines,
+                                   StringBuilder errorOutput) throws IOException {
+        // Login shell, so the user's profile is sourced
+        StartedProcess started = new ProcessExecutor()
+                .command("/bin/bash", "-l", "-c", text)
+                .directory(new File(System.getProperty("user.dir")))
+                .environment(environment)
+                .redirectOutput(new LogOutputStream() {
+                    @Override
+                    protected void processLine(String line) {
+                        outputLines.incrementAndGet();
+                        out.println(formatSuccess(line));
+                    }
+                })
+                .redirectError(new LogOutputStream() {
+                    @Override
+                    protected void processLine(String line) {
+                        outputLines.incrementAndGet();
+                        // Collect error output to check for TTY errors
+                        errorOutput.append(line).append("\n");
+                        out.println(formatError(line));
+                    }
+                })
+                .exitValueAny()
+                .start();
+        return new Running(started.getProcess(), () -> started.getFuture().get().getExitValue());
+    }
+
+    /**
+     * Copies the command's output byte for byte to the sinks, and lets it read our standard input
+     */
+    private Running startPiped(String text, Map<String, String> environment, Sinks sinks, AtomicLong outputLines,
+                               StringBuilder errorOutput) throws IOException {
+        ProcessBuilder builder = new ProcessBuilder("/bin/bash", "-l", "-c", text)
+                .directory(new File(System.getProperty("user.dir")))
+                .redirectInput(ProcessBuilder.Redirect.INHERIT);
+        builder.environment().putAll(environment);
+        Process process = builder.start();
+        Thread stdout = pipe(process.getInputStream(), sinks.out(), outputLines, null);
+        Thread stderr = pipe(process.getErrorStream(), sinks.err(), outputLines, errorOutput);
+        return new Running(process, () -> {
+            int exitCode = process.waitFor();
+            stdout.join();
+            stderr.join();
+            return exitCode;
+        });
+    }
+
+    /**
+     * Copies a stream on its own thread until the command closes it
+     *
+     * @param captured collects what was copied, or null
+     */
+    private static Thread pipe(InputStream from, PrintStream to, AtomicLong lines, StringBuilder captured) {
+        return Thread.ofPlatform().daemon().name("dev-shell-pipe").start(() -> {
+            byte[] buffer = new byte[PIPE_BUFFER_SIZE];
+            try (from) {
+                int read;
+                while ((read = from.read(buffer)) >= 0) {
+                    to.write(buffer, 0, read);
+                    to.flush();
+                    for (int i = 0; i < read; i++) {
+                        if (buffer[i] == '\n') {
+                            lines.incrementAndGet();
+                        }
+                    }
+                    if (captured != null) {
+                        captured.append(new String(buffer, 0, read, StandardCharsets.UTF_8));
+                    }
+                }
+            } catch (IOException e) {
+                CliLogger.debug("Failed to copy command output: {}", e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Adds a finished command to the history
+     */
+    private void record(ResourceUsage usage) {
+        try {
+            resourceHistory.append(usage);
+        } catch (IOException e) {
+            CliLogger.debug("Failed to record resource usage in {}: {}", resourceHistory.getFile(), e.getMessage());
+        }
+    }
+
+    /**
+     * Clears the interrupt sent by the Ctrl-C handler, first waiting for it to arrive if the killed command
+     * finished before the handler got that far
+     */
+    private static void clearInterrupt(CountDownLatch interruptSent) {
+        long deadline = System.nanoTime() + INTERRUPT_HANDOFF.toNanos();
+        boolean waiting = true;
+        while (waiting) {
+            Thread.interrupted();
+            try {
+                interruptSent.await(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                waiting = false;
+            } catch (InterruptedException _) {
+                // The handler's interrupt arrived while waiting; clear it and check again
+            }
+        }
+        Thread.interrupted();
+    }
+
+    /**
+     * Closes the books on a command killed by Ctrl-C, which exits like a shell's SIGINT (130)
+     */
+    private void recordInterrupted(PassThroughProcessEvent event, ProcessResourceMonitor.Session resources) {
+        event.setExitCode(130);
+        if (resources != null) {
+            record(resources.finish(130));
+        }
+    }
+
+    private String commandNotFound(String command) {
+        List<String> suggestions = pathExecutableIndex.suggest(command, 3);
+        if (suggestions.isEmpty()) {
+            return formatError(String.format("Command '%s' not found", command));
+        }
+        return formatError(String.format("Command '%s' not found. Did you mean: %s?",
+                command, String.join(", ", suggestions)));
+    }
+
+    private Outcome startBackgroundJob(String command) {
+        if (command.isEmpty()) {
+            return failure(2, "Empty command");
+        }
+        try {
+            BackgroundJob job = jobManager.start(command, new File(System.getProperty("user.dir")));
+            return new Outcome(0, formatInfo(String.format("[%d] %d", job.getId(), job.getPid())));
+        } catch (IOException e) {
+            CliLogger.debug("Failed to start background job: {}", command, e);
+            return failure(126, String.format("Failed to start background job: %s", e.getMessage()));
+        }
+    }
+
+    /**
+     * Kills the jobs named by a {@code kill} command line, if every argument is a job spec
+     *
+     * @return the outcome, or empty if the command line is meant for bash's kill
+     */
+    private Optional<Outcome> killJobs(String text) {
+        String[] arguments = text.split("\\s+");
+        List<BackgroundJob> jobs = new ArrayList<>();
+        for (int i = 1; i < arguments.length; i++) {
+            Optional<BackgroundJob> job = jobManager.findBySpec(arguments[i]);
+            if (job.isEmpty()) {
+                // An unknown %n is still a job spec, and bash has no such job either
+                return arguments[i].startsWith("%")
+                        ? Optional.of(failure(1, "No such job: " + arguments[i]))
+                        : Optional.empty();
+            }
+            jobs.add(job.get());
+        }
+        if (jobs.isEmpty()) {
+            return Optional.empty();
+        }
+
+        List<String> messages = new ArrayList<>();
+        boolean allKilled = true;
+        for (BackgroundJob job : jobs) {
+            if (jobManager.kill(job.getId())) {
+                messages.add(formatSuccess("✅ Job [" + job.getId() + "] terminated"));
+            } else {
+                allKilled = false;
+                messages.add(formatError("Job [" + job.getId() + "] is not running"));
+            }
+        }
+        return Optional.of(new Outcome(allKilled ? 0 : 1, String.join("\n", messages)));
+    }
+
+    private Outcome failure(int exitCode, String message) {
+        return new Outcome(exitCode, formatError(message));
+    }
+
     private String formatError(String message) {
         return TextUtility.of(message)
                 .bold()
@@ -132,30 +449,56 @@ public class CommandNotFoundMessageProviderImpl implements CommandNotFoundMessag
                 .format();
     }
     
-    private String executeInteractiveCommand(String command) {
+    private Outcome executeInteractiveCommand(String command, Map<String, String> environment) {
+        PassThroughProcessEvent event = PassThroughProcessEvent.begin(
+                TtyRequirementClassifier.baseCommand(command), command, "interactive");
+        ProcessResourceMonitor.Session resources = resourceMonitor.begin(command);
         try {
-            // Clear any previous error output and show retrying message
-            out.println(formatInfo("🔄 Retrying as interactive command..."));
-            
             // Use ProcessBuilder to inherit IO for interactive commands with login shell
             ProcessBuilder pb = new ProcessBuilder("/bin/bash", "-l", "-c", command);
             pb.directory(new File(System.getProperty("user.dir")));
+            pb.environment().putAll(environment);
             pb.inheritIO(); // This allows the subprocess to use the parent's stdin/stdout/stderr
             
             Process process = pb.start();
-            int exitCode = process.waitFor();
-            
-            if (exitCode == 0) {
-                return ""; // Success
-            } else {
-                return formatError(String.format("Interactive command exited with code %d", exitCode));
+            event.setPid(process.pid());
+            if (resources != null) {
+                resources.track(process.toHandle());
+            }
+            Thread waiter = Thread.currentThread();
+            AtomicLong lastInterrupt = new AtomicLong();
+            // The child shares our TTY and gets Ctrl-C itself (REPLs use it to cancel input),
+            // so only a second Ctrl-C in quick succession kills the process tree
+            try (InterruptScope scope = InterruptScope.onInterrupt(() -> {
+                long now = System.nanoTime();
+                long previous = lastInterrupt.getAndSet(now);
+                if (previous != 0 && now - previous < DOUBLE_INTERRUPT_WINDOW.toNanos()) {
+                    ProcessTreeTerminator.terminate(process.toHandle());
+                    waiter.interrupt();
+                }
+            })) {
+                int exitCode = process.waitFor();
+                event.setExitCode(exitCode);
+                if (resources != null) {
+                    // Time spent in an editor or REPL says nothing about performance, so don't print it
+                    record(resources.finish(exitCode));
+                }
+
+                if (exitCode == 0) {
+                    return new Outcome(0, ""); // Success
+                } else {
+                    return failure(exitCode, String.format("Interactive command exited with code %d", exitCode));
+                }
             }
         } catch (IOException e) {
             CliLogger.debug("Failed to execute interactive command: {}", command, e);
-            return formatError(String.format("Failed to execute interactive command: %s", e.getMessage()));
+            return failure(126, String.format("Failed to execute interactive command: %s", e.getMessage()));
         } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return formatError("Command interrupted");
+            Thread.interrupted();
+            recordInterrupted(event, resources);
+            return failure(130, "Command interrupted");
+        } finally {
+            event.finish();
         }
     }
     
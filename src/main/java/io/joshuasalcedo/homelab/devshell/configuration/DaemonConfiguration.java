@@ -0,0 +1,83 @@
+package io.joshuasalcedo.homelab.devshell.configuration;
+
+import io.joshuasalcedo.homelab.devshell.infrastructure.daemon.DaemonProtocol;
+import io.joshuasalcedo.homelab.devshell.infrastructure.daemon.DaemonServer;
+import io.joshuasalcedo.homelab.devshell.infrastructure.telemetry.ShellCommandTimer;
+import io.joshuasalcedo.homelab.devshell.presentation.shell.OneShotDispatcher;
+import org.jline.terminal.Size;
+import org.jline.terminal.Terminal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.shell.boot.TerminalCustomizer;
+import org.springframework.shell.command.CommandCatalog;
+import org.springframework.shell.command.CommandExecution;
+import org.springframework.shell.config.ShellConversionServiceSupplier;
+import org.springframework.shell.context.ShellContext;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Wires the one-shot command runner, used for {@code dev-shell <command>} and by the resident daemon that serves
+ * thin clients when the shell is started with {@code --daemon}.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+@Configuration
+public class DaemonConfiguration {
+
+    /**
+     * The pass-through runner is only created once a command line actually needs it
+     */
+    @Bean
+    public OneShotDispatcher oneShotDispatcher(CommandCatalog commandCatalog,
+                                               CommandExecution.CommandExecutionHandlerMethodArgumentResolvers argumentResolvers,
+                                               ShellConversionServiceSupplier conversionService,
+                                               Terminal terminal, ShellContext shellContext,
+                                               @Lazy CommandNotFoundMessageProviderImpl commandNotFoundMessageProvider,
+                                               ShellCommandTimer shellCommandTimer) {
+        return new OneShotDispatcher(commandCatalog, argumentResolvers, conversionService.get(), terminal,
+                shellContext, commandNotFoundMessageProvider, shellCommandTimer);
+    }
+
+    /**
+     * A one-shot command only prints its result, so it gets a terminal over stdout instead of the system terminal,
+     * whose tty probing takes a few hundred milliseconds. It is paused so it never reads stdin, which belongs to the
+     * commands run.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "dev-shell.oneshot", havingValue = "true")
+    public TerminalCustomizer oneShotTerminalCustomizer() {
+        Map<String, String> environment = System.getenv();
+        Size size = new Size(columns(environment.get("COLUMNS")), 24);
+        return builder -> builder.system(false)
+                .streams(System.in, System.out)
+                .paused(true)
+                .type(environment.getOrDefault("TERM", "dumb"))
+                .size(size);
+    }
+
+    private static int columns(String value) {
+        try {
+            return value != null ? Integer.parseInt(value.trim()) : 120;
+        } catch (NumberFormatException e) {
+            return 120;
+        }
+    }
+
+    /**
+     * Listens for clients; only created in a shell started with {@code --daemon}
+     */
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(name = "dev-shell.daemon.enabled", havingValue = "true")
+    public DaemonServer daemonServer(OneShotDispatcher oneShotDispatcher,
+                                     @Value("${dev-shell.daemon.socket:}") String socket) {
+        Path path = socket.isBlank() ? DaemonProtocol.defaultSocket() : Path.of(socket);
+        return new DaemonServer(path, oneShotDispatcher);
+    }
+}
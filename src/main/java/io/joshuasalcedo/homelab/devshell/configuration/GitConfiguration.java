@@ -3,12 +3,14 @@ package io.joshuasalcedo.homelab.devshell.configuration;
 import io.joshuasalcedo.homelab.devshell.domain.repository.GitRepository;
 import io.joshuasalcedo.homelab.devshell.domain.service.GitValidationService;
 import io.joshuasalcedo.homelab.devshell.domain.service.SmartCommitService;
+import io.joshuasalcedo.homelab.devshell.utils.CliLogger;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 /**
  * Spring configuration for Git-related services.
  * Wires together the domain services and repository implementations.
+ * Smart commit steps are timed and logged at debug level.
  *
  * @author JoshuaSalcedo
  * @created 7/22/2025
@@ -24,6 +26,8 @@ public class GitConfiguration {
     @Bean
     public SmartCommitService smartCommitService(GitRepository gitRepository, 
                                                GitValidationService validationService) {
-        return new SmartCommitService(gitRepository, validationService);
+        return new SmartCommitService(gitRepository, validationService, (step, elapsedNanos, succeeded) ->
+                CliLogger.debug("Smart commit step {} {} after {} ms", step, succeeded ? "done" : "failed",
+                        elapsedNanos / 1_000_000));
     }
 }
\ No newline at end of file
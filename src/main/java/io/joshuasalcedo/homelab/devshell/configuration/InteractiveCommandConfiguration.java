@@ -1,15 +1,24 @@
 package io.joshuasalcedo.homelab.devshell.configuration;
 
 
-import io.joshuasalcedo.commonlibs.text.TextUtility;
+import io.joshuasalcedo.homelab.devshell.domain.model.InteractiveCommand;
+import io.joshuasalcedo.homelab.devshell.domain.repository.InteractiveCommandRepository;
 import io.joshuasalcedo.homelab.devshell.domain.service.InteractiveCommandService;
+import io.joshuasalcedo.homelab.devshell.domain.service.TtyRequirementClassifier;
+import io.joshuasalcedo.homelab.devshell.domain.value.CommandPatternSet;
+import io.joshuasalcedo.homelab.devshell.infrastructure.command.DeferredInteractiveCommandRepository;
 import io.joshuasalcedo.homelab.devshell.infrastructure.command.FileInteractiveCommandRepositoryAdapter;
+import io.joshuasalcedo.homelab.devshell.infrastructure.startup.BackgroundBootstrap;
+import io.joshuasalcedo.homelab.devshell.utils.CliLogger;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.io.PrintStream;
-import java.util.Arrays;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * InteractiveCommandConfiguration class.
@@ -21,34 +30,86 @@ import java.util.List;
 @Configuration
 public class InteractiveCommandConfiguration {
 
-    private final PrintStream printStream;
+    static final String DEFAULTS_SUFFIX = ".defaults";
 
-    public InteractiveCommandConfiguration(PrintStream printStream) {
-        this.printStream = printStream;
+    /**
+     * Bump when {@link #DEFAULT_COMMANDS} changes, so existing stores are seeded with the additions
+     */
+    static final int DEFAULT_COMMANDS_VERSION = 2;
+
+    static final List<String> DEFAULT_COMMANDS = List.of(
+            "nano", "vim", "vi", "emacs", "less", "more",
+            "htop", "top", "ssh", "telnet", "mysql", "psql",
+            "python", "python3", "node", "claude",
+            // Commands that only need the terminal for some arguments
+            "npm init", "npm login", "yarn init", "pnpm init",
+            "gh auth login", "docker login", "aws configure", "gcloud init"
+    );
+
+    /**
+     * The command store is opened, and seeded with the default commands, by a bootstrap task;
+     * commands that consult it wait for that task
+     */
+    @Bean
+    public InteractiveCommandService interactiveCommandService(BackgroundBootstrap backgroundBootstrap) {
+        CompletableFuture<InteractiveCommandRepository> repository = backgroundBootstrap.submit("interactive-commands", () -> {
+            FileInteractiveCommandRepositoryAdapter store = new FileInteractiveCommandRepositoryAdapter();
+            seedDefaultCommands(store, store.getFile().resolveSibling(store.getFile().getFileName() + DEFAULTS_SUFFIX));
+            return store;
+        });
+        return new InteractiveCommandService(new DeferredInteractiveCommandRepository(repository));
     }
 
+    /**
+     * Decides before execution whether pass-through commands need the terminal
+     */
     @Bean
-    public InteractiveCommandService interactiveCommandService() {
-
-        InteractiveCommandService interactiveCommandService=  new InteractiveCommandService(new FileInteractiveCommandRepositoryAdapter());
-        if(!interactiveCommandService.isInteractiveCommand("nano")){
-            initializeDefaultCommands(interactiveCommandService);
-        }else{
-            printStream.println(TextUtility.of("Nano command already registered. Skipping default commands...").color(TextUtility.Color.BRIGHT_YELLOW).format());
-            return interactiveCommandService;
+    public TtyRequirementClassifier ttyRequirementClassifier(InteractiveCommandService interactiveCommandService) {
+        return new TtyRequirementClassifier(interactiveCommandService);
+    }
+
+    /**
+     * Adds the defaults a store has not been seeded with yet, in one write. The version of the defaults last seeded is
+     * kept in a file next to the store, so existing stores pick up defaults added later, and a default the user
+     * removed only comes back when the defaults change again.
+     * <p>
+     * Writes to the store directly rather than through the service, which prints to the terminal;
+     * this may run while the prompt is already showing
+     *
+     * @param versionFile where the seeded version is kept
+     */
+    static void seedDefaultCommands(InteractiveCommandRepository repository, Path versionFile) {
+        int seeded = seededVersion(versionFile);
+        if (seeded >= DEFAULT_COMMANDS_VERSION) {
+            CliLogger.debug("Default commands version {} already seeded", seeded);
+            return;
         }
 
-        return interactiveCommandService;
+        List<InteractiveCommand> missing = DEFAULT_COMMANDS.stream()
+                .map(CommandPatternSet::normalize)
+                .filter(name -> !repository.existsByCommandName(name))
+                .map(name -> new InteractiveCommand(name, InteractiveCommand.Source.DEFAULT))
+                .toList();
+        repository.saveAll(missing);
+        CliLogger.debug("Registered {} default interactive commands", missing.size());
 
+        try {
+            Files.writeString(versionFile, String.valueOf(DEFAULT_COMMANDS_VERSION), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            // Seeding is idempotent, so it just runs again next time
+            CliLogger.debug("Failed to record default commands version in {}: {}", versionFile, e.getMessage());
+        }
     }
 
-    private void initializeDefaultCommands(InteractiveCommandService interactiveCommandService) {
-        List<String> defaultCommands = Arrays.asList(
-                "nano", "vim", "vi", "emacs", "less", "more",
-                "htop", "top", "ssh", "telnet", "mysql", "psql",
-                "python", "python3", "node", "claude"
-        );
-
-        defaultCommands.forEach(interactiveCommandService::registerCommand);
+    private static int seededVersion(Path versionFile) {
+        if (!Files.exists(versionFile)) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(Files.readString(versionFile, StandardCharsets.UTF_8).trim());
+        } catch (IOException | NumberFormatException e) {
+            CliLogger.debug("Unreadable default commands version in {}: {}", versionFile, e.getMessage());
+            return 0;
+        }
     }
-}
\ No newline at end of file
+}
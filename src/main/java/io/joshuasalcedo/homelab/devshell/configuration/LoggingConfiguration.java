@@ -0,0 +1,49 @@
+package io.joshuasalcedo.homelab.devshell.configuration;
+
+import io.joshuasalcedo.homelab.devshell.infrastructure.logging.AsyncFileLogSink;
+import io.joshuasalcedo.homelab.devshell.utils.CliLogger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Paths;
+import java.util.Locale;
+
+/**
+ * Applies the {@code dev-shell.log.*} properties to {@link CliLogger}.
+ * Spring's {@code logging.level.*} settings only cover the SLF4J loggers, not the console output of the shell.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+@Configuration
+public class LoggingConfiguration {
+
+    public LoggingConfiguration(@Value("${dev-shell.log.level:info}") String level) {
+        try {
+            CliLogger.setLevel(CliLogger.Level.parse(level));
+        } catch (IllegalArgumentException e) {
+            CliLogger.warn("{}, keeping {}", e.getMessage(), CliLogger.getLevel());
+        }
+    }
+
+    /**
+     * Asynchronous log file, which can also receive messages below the console level
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "dev-shell.log.file.enabled", havingValue = "true", matchIfMissing = true)
+    public AsyncFileLogSink asyncFileLogSink(@Value("${dev-shell.log.file.path:${user.home}/.dev-shell/dev-shell.log}") String path,
+                                             @Value("${dev-shell.log.file.level:info}") String level,
+                                             @Value("${dev-shell.log.file.max-size:10MB}") DataSize maxSize,
+                                             @Value("${dev-shell.log.file.max-files:5}") int maxFiles,
+                                             @Value("${dev-shell.log.file.capacity:8192}") int capacity,
+                                             @Value("${dev-shell.log.file.overflow:drop}") String overflow) {
+        AsyncFileLogSink sink = new AsyncFileLogSink(Paths.get(path), capacity, maxSize.toBytes(), maxFiles,
+                AsyncFileLogSink.OverflowPolicy.valueOf(overflow.trim().toUpperCase(Locale.ROOT))).start();
+        CliLogger.setSink(sink, CliLogger.Level.parse(level));
+        return sink;
+    }
+}
@@ -0,0 +1,45 @@
+package io.joshuasalcedo.homelab.devshell.configuration;
+
+import io.joshuasalcedo.homelab.devshell.infrastructure.path.PathExecutableIndex;
+import org.jline.reader.Candidate;
+import org.jline.reader.Completer;
+import org.jline.reader.LineReader;
+import org.jline.reader.ParsedLine;
+
+import java.util.List;
+
+/**
+ * Completes system commands from the PATH index in addition to Spring Shell's own commands.
+ * Only the first word of a line is completed from PATH; arguments are left to the shell commands.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+public class PathCommandCompleter implements Completer {
+
+    private static final int MAX_CANDIDATES = 200;
+    private static final String GROUP = "System Commands";
+
+    private final Completer delegate;
+    private final PathExecutableIndex pathExecutableIndex;
+
+    public PathCommandCompleter(Completer delegate, PathExecutableIndex pathExecutableIndex) {
+        this.delegate = delegate;
+        this.pathExecutableIndex = pathExecutableIndex;
+    }
+
+    @Override
+    public void complete(LineReader reader, ParsedLine line, List<Candidate> candidates) {
+        delegate.complete(reader, line, candidates);
+
+        // An empty prefix would list thousands of executables next to the shell's commands
+        String prefix = line.word().substring(0, line.wordCursor());
+        if (line.wordIndex() != 0 || prefix.isEmpty()) {
+            return;
+        }
+        for (String name : pathExecutableIndex.complete(prefix, MAX_CANDIDATES)) {
+            candidates.add(new Candidate(name, name, GROUP, null, null, null, true));
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package io.joshuasalcedo.homelab.devshell.configuration;
+
+import io.joshuasalcedo.homelab.devshell.infrastructure.path.PathExecutableIndex;
+import org.jline.reader.Completer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.shell.boot.CompleterAutoConfiguration;
+
+/**
+ * Spring configuration for the PATH executable index and system command completion.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+@Configuration
+public class PathIndexConfiguration {
+
+    /**
+     * Index of executables on the login shell's PATH, built in the background at startup.
+     * Not built for a one-shot command, which exits before it would help; bash reports unknown commands itself.
+     */
+    @Bean
+    public PathExecutableIndex pathExecutableIndex(@Value("${dev-shell.oneshot:false}") boolean oneShot) {
+        PathExecutableIndex index = new PathExecutableIndex();
+        if (!oneShot) {
+            index.start();
+        }
+        return index;
+    }
+
+    /**
+     * Adds system commands to Spring Shell's completion; the line reader picks up the primary completer
+     */
+    @Bean
+    @Primary
+    public Completer pathCommandCompleter(CompleterAutoConfiguration.CompleterAdapter completerAdapter,
+                                          PathExecutableIndex pathExecutableIndex) {
+        return new PathCommandCompleter(completerAdapter, pathExecutableIndex);
+    }
+}
@@ -1,5 +1,7 @@
 package io.joshuasalcedo.homelab.devshell.configuration;
 
+import io.joshuasalcedo.homelab.devshell.infrastructure.telemetry.ShellCommandTimer;
+import io.joshuasalcedo.homelab.devshell.utils.StartupTrace;
 import org.eclipse.jgit.api.Git;
 import org.jline.utils.AttributedString;
 import org.jline.utils.AttributedStringBuilder;
@@ -29,8 +31,22 @@ public class PrettyPromptProvider implements PromptProvider {
   private static final AttributedStyle RED =
       AttributedStyle.DEFAULT.foreground(AttributedStyle.RED);
 
+  private final ShellCommandTimer shellCommandTimer;
+  private boolean firstPrompt = true;
+
+  public PrettyPromptProvider(ShellCommandTimer shellCommandTimer) {
+    this.shellCommandTimer = shellCommandTimer;
+  }
+
   @Override
   public AttributedString getPrompt() {
+    // The previous command is done once the next prompt is drawn
+    shellCommandTimer.end();
+    if (firstPrompt) {
+      firstPrompt = false;
+      StartupTrace.mark(StartupTrace.FIRST_PROMPT);
+    }
+
     AttributedStringBuilder builder = new AttributedStringBuilder();
 
     // Get current directory and parse it
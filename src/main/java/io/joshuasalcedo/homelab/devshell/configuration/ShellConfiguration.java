@@ -1,15 +1,22 @@
 package io.joshuasalcedo.homelab.devshell.configuration;
 
-import io.joshuasalcedo.commonlibs.text.BannerGenerator;
 import io.joshuasalcedo.commonlibs.text.TextUtility;
-import io.joshuasalcedo.homelab.devshell.domain.service.InteractiveCommandService;
+import io.joshuasalcedo.homelab.devshell.domain.service.TtyRequirementClassifier;
+import io.joshuasalcedo.homelab.devshell.infrastructure.path.PathExecutableIndex;
+import io.joshuasalcedo.homelab.devshell.infrastructure.process.JobManager;
+import io.joshuasalcedo.homelab.devshell.infrastructure.process.ProcessResourceMonitor;
+import io.joshuasalcedo.homelab.devshell.infrastructure.process.ResourceHistory;
+import io.joshuasalcedo.homelab.devshell.utils.BannerCache;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.shell.result.CommandNotFoundMessageProvider;
 
 import java.io.PrintStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.time.Duration;
 
 /**
  * Configuration for Spring Shell
@@ -22,17 +29,16 @@ public class ShellConfiguration {
 
 
     /**
-     * Custom ApplicationRunner that suppresses the default Spring Shell startup message
+     * Custom ApplicationRunner that suppresses the default Spring Shell startup message.
+     * Only for the interactive shell; one-shot commands and the daemon print nothing of their own.
      */
     @Bean
+    @ConditionalOnProperty(name = "spring.shell.interactive.enabled", havingValue = "true", matchIfMissing = true)
     public ApplicationRunner applicationRunner() {
         return args -> {
             PrintStream printStream = new PrintStream(System.out, true, StandardCharsets.UTF_8);
-           printStream.println(BannerGenerator.create("SHUTDOWN")
-                    .titleColor(TextUtility.Color.BRIGHT_YELLOW)
-                    .showTimestamp()
-                           .addMetadata("Created by", "Joshua Salcedo")
-                    .generateWithAsciiArt());
+            printStream.println(BannerCache.defaultCache().banner("SHUTDOWN", TextUtility.Color.BRIGHT_YELLOW,
+                    "Created by", "Joshua Salcedo"));
         };
     }
     
@@ -40,8 +46,35 @@ public class ShellConfiguration {
      * Custom command not found message provider that executes system commands
      */
     @Bean
-    public CommandNotFoundMessageProvider commandNotFoundMessageProvider(InteractiveCommandService interactiveCommandService) {
-        return new CommandNotFoundMessageProviderImpl(interactiveCommandService);
+    public CommandNotFoundMessageProviderImpl commandNotFoundMessageProvider(TtyRequirementClassifier ttyRequirementClassifier,
+                                                                             JobManager jobManager,
+                                                                             PathExecutableIndex pathExecutableIndex,
+                                                                             ProcessResourceMonitor processResourceMonitor,
+                                                                             ResourceHistory resourceHistory,
+                                                                             @Value("${dev-shell.resources.summary-threshold:5s}") Duration summaryThreshold) {
+        return new CommandNotFoundMessageProviderImpl(ttyRequirementClassifier, jobManager, pathExecutableIndex,
+                processResourceMonitor, resourceHistory, summaryThreshold);
+    }
+
+    /**
+     * Measures CPU, memory and I/O of pass-through commands from /proc
+     */
+    @Bean
+    public ProcessResourceMonitor processResourceMonitor(@Value("${dev-shell.resources.sample-interval:200ms}") Duration sampleInterval) {
+        return new ProcessResourceMonitor(Paths.get("/proc"), sampleInterval);
+    }
+
+    @Bean
+    public ResourceHistory resourceHistory(@Value("${dev-shell.resources.history:${user.home}/.dev-shell/resources.jsonl}") String file) {
+        return new ResourceHistory(Paths.get(file));
+    }
+
+    /**
+     * Background jobs started with a trailing '&'; running jobs are killed when the shell exits
+     */
+    @Bean
+    public JobManager jobManager() {
+        return new JobManager();
     }
 
     @Bean
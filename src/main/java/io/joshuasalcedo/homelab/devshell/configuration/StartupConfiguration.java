@@ -0,0 +1,82 @@
+package io.joshuasalcedo.homelab.devshell.configuration;
+
+import io.joshuasalcedo.homelab.devshell.infrastructure.daemon.DaemonServer;
+import io.joshuasalcedo.homelab.devshell.infrastructure.git.JGitWarmup;
+import io.joshuasalcedo.homelab.devshell.infrastructure.logging.AsyncFileLogSink;
+import io.joshuasalcedo.homelab.devshell.infrastructure.path.PathExecutableIndex;
+import io.joshuasalcedo.homelab.devshell.infrastructure.startup.BackgroundBootstrap;
+import io.joshuasalcedo.homelab.devshell.utils.StartupTrace;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.File;
+import java.util.Set;
+
+/**
+ * Fast startup, switched with {@code dev-shell.startup.lazy}.
+ * <p>
+ * When on, Spring creates beans when they are first used ({@code spring.main.lazy-initialization}), slow
+ * initialization runs as {@link BackgroundBootstrap} tasks while the prompt is already accepting input, and JGit's
+ * classes are loaded on a background thread while the context starts. When off, everything is initialized before
+ * the first prompt, as before.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+@Configuration
+public class StartupConfiguration {
+
+    /**
+     * Beans that do their work when created rather than when used; lazily created, they would never run
+     */
+    private static final Set<Class<?>> EAGER_TYPES = Set.of(
+            LoggingConfiguration.class,
+            AsyncFileLogSink.class,
+            DaemonServer.class,
+            PathExecutableIndex.class,
+            BackgroundBootstrap.class);
+
+    @Bean(destroyMethod = "close")
+    public BackgroundBootstrap backgroundBootstrap(@Value("${dev-shell.startup.lazy:true}") boolean lazy) {
+        return new BackgroundBootstrap(lazy);
+    }
+
+    @Bean
+    public static LazyInitializationExcludeFilter eagerStartupBeans() {
+        return (beanName, beanDefinition, beanType) -> beanType != null
+                && EAGER_TYPES.stream().anyMatch(type -> type.isAssignableFrom(beanType));
+    }
+
+    /**
+     * Starts the JGit warmup as soon as the properties are known, before any bean is created;
+     * added to the application in {@code DevShellApplication.main}. With a single CPU the warmup would only
+     * compete with startup itself, so it is skipped.
+     */
+    public static class JGitWarmupListener implements ApplicationListener<ApplicationEnvironmentPreparedEvent> {
+
+        @Override
+        public void onApplicationEvent(ApplicationEnvironmentPreparedEvent event) {
+            if (event.getEnvironment().getProperty("dev-shell.startup.lazy", Boolean.class, true)
+                    && Runtime.getRuntime().availableProcessors() > 1) {
+                JGitWarmup.start(new File(System.getProperty("user.dir")));
+            }
+        }
+    }
+
+    /**
+     * Marks the context as ready once it is refreshed, before the shell runner takes over the main thread
+     */
+    public static class StartupTraceListener implements ApplicationListener<ApplicationStartedEvent> {
+
+        @Override
+        public void onApplicationEvent(ApplicationStartedEvent event) {
+            StartupTrace.mark(StartupTrace.CONTEXT_READY);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package io.joshuasalcedo.homelab.devshell.configuration;
+
+import io.joshuasalcedo.homelab.devshell.domain.repository.GitRepository;
+import io.joshuasalcedo.homelab.devshell.infrastructure.git.JGitRepositoryAdapter;
+import io.joshuasalcedo.homelab.devshell.infrastructure.telemetry.CommandStatistics;
+import io.joshuasalcedo.homelab.devshell.infrastructure.telemetry.ProfilingSession;
+import io.joshuasalcedo.homelab.devshell.infrastructure.telemetry.ShellCommandTimer;
+import io.joshuasalcedo.homelab.devshell.infrastructure.telemetry.TracingGitRepository;
+import org.jline.reader.LineReader;
+import org.jline.reader.Widget;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.shell.command.CommandCatalog;
+
+import java.nio.file.Paths;
+import java.util.Set;
+
+/**
+ * Wires the Flight Recorder events: git calls go through {@link TracingGitRepository}, and each line accepted at
+ * the prompt is timed by {@link ShellCommandTimer} until the next prompt, which also feeds the per-command
+ * latency histograms in {@link CommandStatistics}.
+ * <p>
+ * Commands are timed around the line reader rather than by proxying the command classes, because Spring Shell
+ * derives command groups from the class of each {@code @ShellComponent}.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+@Configuration
+public class TelemetryConfiguration {
+
+    @Bean
+    @Primary
+    public GitRepository tracingGitRepository(JGitRepositoryAdapter gitRepositoryAdapter) {
+        return new TracingGitRepository(gitRepositoryAdapter);
+    }
+
+    /**
+     * Latency histograms per command, saved when the shell exits
+     */
+    @Bean(destroyMethod = "close")
+    public CommandStatistics commandStatistics(@Value("${dev-shell.stats.file:${user.home}/.dev-shell/stats.json}") String file) {
+        return new CommandStatistics(Paths.get(file));
+    }
+
+    @Bean
+    public ShellCommandTimer shellCommandTimer(ObjectProvider<CommandCatalog> commandCatalog,
+                                               CommandStatistics commandStatistics) {
+        return new ShellCommandTimer(() -> {
+            CommandCatalog catalog = commandCatalog.getIfAvailable();
+            return catalog != null ? catalog.getRegistrations().keySet() : Set.of();
+        }, commandStatistics);
+    }
+
+    @Bean
+    public ProfilingSession profilingSession(@Value("${dev-shell.profile.directory:${user.home}/.dev-shell/profiles}") String directory) {
+        return new ProfilingSession(Paths.get(directory));
+    }
+
+    /**
+     * Starts the command timer whenever the line reader accepts a line
+     */
+    @Bean
+    public static BeanPostProcessor shellCommandTimingPostProcessor(ObjectProvider<ShellCommandTimer> shellCommandTimer) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof LineReader reader) {
+                    Widget acceptLine = reader.getWidgets().get(LineReader.ACCEPT_LINE);
+                    if (acceptLine != null) {
+                        reader.getWidgets().put(LineReader.ACCEPT_LINE, () -> {
+                            shellCommandTimer.getObject().begin(reader.getBuffer().toString());
+                            return acceptLine.apply();
+                        });
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+}
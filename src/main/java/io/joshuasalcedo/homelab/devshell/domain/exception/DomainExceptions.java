@@ -23,6 +23,7 @@ public final class DomainExceptions {
         public static final String NOT_A_REPOSITORY = "E003";
         public static final String NO_REMOTE_REPOSITORY = "E004";
         public static final String UNAUTHORIZED_TO_COMMIT = "E005";
+        public static final String OPERATION_CANCELLED = "E006";
         
         private ErrorCodes() {}
     }
@@ -132,6 +133,33 @@ public final class DomainExceptions {
         }
     }
     
+    /**
+     * Exception thrown when an operation is cancelled by the user or runs past its deadline.
+     * Error Code: E006
+     */
+    public static class OperationCancelledException extends BaseException {
+        private static final String DEFAULT_MESSAGE = "Operation cancelled";
+
+        public OperationCancelledException() {
+            super(ErrorCodes.OPERATION_CANCELLED, DEFAULT_MESSAGE);
+        }
+
+        public OperationCancelledException(String operation) {
+            super(ErrorCodes.OPERATION_CANCELLED,
+                  DEFAULT_MESSAGE + ": " + operation);
+        }
+
+        public OperationCancelledException(String operation, boolean deadlineExceeded) {
+            super(ErrorCodes.OPERATION_CANCELLED,
+                  (deadlineExceeded ? "Operation timed out" : DEFAULT_MESSAGE) + ": " + operation);
+        }
+
+        public OperationCancelledException(String operation, Throwable cause) {
+            super(ErrorCodes.OPERATION_CANCELLED,
+                  DEFAULT_MESSAGE + ": " + operation, cause);
+        }
+    }
+    
     /**
      * Factory methods for creating exceptions
      */
@@ -156,5 +184,9 @@ public final class DomainExceptions {
         public static UnauthorizedToCommitException unauthorizedToCommit(String username) {
             return new UnauthorizedToCommitException(username);
         }
+
+        public static OperationCancelledException operationCancelled(String operation) {
+            return new OperationCancelledException(operation);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,110 @@
+package io.joshuasalcedo.homelab.devshell.domain.model;
+
+import io.joshuasalcedo.homelab.devshell.domain.exception.DomainExceptions;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Cooperative cancellation for long-running operations, with an optional deadline.
+ * A token is bound to the calling thread with {@link #call(Supplier)} so repository adapters
+ * can honour it without every method signature carrying it.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+public final class CancellationToken {
+
+    private static final CancellationToken NONE = new CancellationToken(0, false);
+    private static final ThreadLocal<CancellationToken> CURRENT = ThreadLocal.withInitial(() -> NONE);
+
+    private final long deadlineNanos;
+    private final boolean hasDeadline;
+    private volatile boolean cancelled;
+
+    private CancellationToken(long deadlineNanos, boolean hasDeadline) {
+        this.deadlineNanos = deadlineNanos;
+        this.hasDeadline = hasDeadline;
+    }
+
+    /**
+     * A token that is never cancelled
+     */
+    public static CancellationToken none() {
+        return NONE;
+    }
+
+    /**
+     * A token without a deadline that is cancelled explicitly
+     */
+    public static CancellationToken create() {
+        return new CancellationToken(0, false);
+    }
+
+    /**
+     * A token that cancels itself once the timeout has elapsed
+     */
+    public static CancellationToken withTimeout(Duration timeout) {
+        return new CancellationToken(System.nanoTime() + timeout.toNanos(), true);
+    }
+
+    /**
+     * Gets the token bound to the current thread, or {@link #none()}
+     */
+    public static CancellationToken current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Requests cancellation. Has no effect on {@link #none()}.
+     */
+    public void cancel() {
+        if (this != NONE) {
+            cancelled = true;
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled || isDeadlineExceeded();
+    }
+
+    public boolean isDeadlineExceeded() {
+        return hasDeadline && System.nanoTime() - deadlineNanos >= 0;
+    }
+
+    /**
+     * Throws if this token has been cancelled or its deadline has passed
+     *
+     * @param operation the operation being checked, used in the error message
+     * @throws DomainExceptions.OperationCancelledException if cancelled
+     */
+    public void throwIfCancelled(String operation) {
+        if (isCancelled()) {
+            throw new DomainExceptions.OperationCancelledException(operation, isDeadlineExceeded());
+        }
+    }
+
+    /**
+     * Runs the operation with this token bound to the current thread
+     */
+    public <T> T call(Supplier<T> operation) {
+        CancellationToken previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return operation.get();
+        } finally {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Runs the operation with this token bound to the current thread
+     */
+    public void run(Runnable operation) {
+        call(() -> {
+            operation.run();
+            return null;
+        });
+    }
+}
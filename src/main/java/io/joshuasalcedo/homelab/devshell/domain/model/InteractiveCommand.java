@@ -11,7 +11,24 @@ package io.joshuasalcedo.homelab.devshell.domain.model;
  */
 public class InteractiveCommand {
 
+    /**
+     * How a command ended up in the registry
+     */
+    public enum Source {
+        /** Registered with command-iadd */
+        USER,
+        /** Part of the built-in defaults */
+        DEFAULT,
+        /** Registered automatically after it failed without a TTY */
+        DETECTED,
+        /** Imported from a shared command set */
+        IMPORTED
+    }
+
     private String commandName;
+    private Source source;
+    private int ttyFailures;
+    private long lastTtyFailureAt;
 
     public InteractiveCommand() {
     }
@@ -20,6 +37,18 @@ public class InteractiveCommand {
         this.commandName = commandName;
     }
 
+    public InteractiveCommand(String commandName, Source source) {
+        this.commandName = commandName;
+        this.source = source;
+    }
+
+    public InteractiveCommand(InteractiveCommand other) {
+        this.commandName = other.commandName;
+        this.source = other.source;
+        this.ttyFailures = other.ttyFailures;
+        this.lastTtyFailureAt = other.lastTtyFailureAt;
+    }
+
     public String getCommandName() {
         return commandName;
     }
@@ -27,4 +56,32 @@ public class InteractiveCommand {
     public void setCommandName(String commandName) {
         this.commandName = commandName;
     }
-}
\ No newline at end of file
+
+    public Source getSource() {
+        // Entries stored before sources were tracked were all added by hand
+        return source != null ? source : Source.USER;
+    }
+
+    public void setSource(Source source) {
+        this.source = source;
+    }
+
+    public int getTtyFailures() {
+        return ttyFailures;
+    }
+
+    /**
+     * Epoch millis of the last observed TTY failure, or 0 if none was observed
+     */
+    public long getLastTtyFailureAt() {
+        return lastTtyFailureAt;
+    }
+
+    /**
+     * Records that the command failed because it was run without a TTY
+     */
+    public void recordTtyFailure(long timestamp) {
+        ttyFailures++;
+        lastTtyFailureAt = timestamp;
+    }
+}
@@ -1,6 +1,9 @@
 package io.joshuasalcedo.homelab.devshell.domain.model;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -11,14 +14,49 @@ import java.util.Objects;
  * @created 7/22/2025
  */
 public class WorkingDirectory {
+
+    /**
+     * How a changed file differs, with the letter {@code git status} shows for it
+     */
+    public enum Change {
+        ADDED('A'),
+        MODIFIED('M'),
+        DELETED('D');
+
+        private final char code;
+
+        Change(char code) {
+            this.code = code;
+        }
+
+        public char code() {
+            return code;
+        }
+    }
+
+    private final Map<String, Change> stagedChanges;
+    private final Map<String, Change> unstagedChanges;
     private final List<String> stagedFiles;
     private final List<String> unstagedFiles;
     private final List<String> untrackedFiles;
     private final boolean hasChanges;
 
+    /**
+     * Creates a working directory whose staged and unstaged files are all {@link Change#MODIFIED}
+     */
     public WorkingDirectory(List<String> stagedFiles, List<String> unstagedFiles, List<String> untrackedFiles) {
-        this.stagedFiles = List.copyOf(Objects.requireNonNull(stagedFiles, "Staged files cannot be null"));
-        this.unstagedFiles = List.copyOf(Objects.requireNonNull(unstagedFiles, "Unstaged files cannot be null"));
+        this(modified(Objects.requireNonNull(stagedFiles, "Staged files cannot be null")),
+                modified(Objects.requireNonNull(unstagedFiles, "Unstaged files cannot be null")),
+                untrackedFiles);
+    }
+
+    private WorkingDirectory(Map<String, Change> stagedChanges, Map<String, Change> unstagedChanges, List<String> untrackedFiles) {
+        this.stagedChanges = Collections.unmodifiableMap(new LinkedHashMap<>(
+                Objects.requireNonNull(stagedChanges, "Staged changes cannot be null")));
+        this.unstagedChanges = Collections.unmodifiableMap(new LinkedHashMap<>(
+                Objects.requireNonNull(unstagedChanges, "Unstaged changes cannot be null")));
+        this.stagedFiles = List.copyOf(this.stagedChanges.keySet());
+        this.unstagedFiles = List.copyOf(this.unstagedChanges.keySet());
         this.untrackedFiles = List.copyOf(Objects.requireNonNull(untrackedFiles, "Untracked files cannot be null"));
         this.hasChanges = !stagedFiles.isEmpty() || !unstagedFiles.isEmpty();
     }
@@ -37,6 +75,15 @@ public class WorkingDirectory {
         return new WorkingDirectory(stagedFiles, unstagedFiles, untrackedFiles);
     }
 
+    /**
+     * Creates a working directory with changes, saying for each file how it changed in the index and in the
+     * working tree
+     */
+    public static WorkingDirectory withChanges(Map<String, Change> stagedChanges, Map<String, Change> unstagedChanges,
+                                               List<String> untrackedFiles) {
+        return new WorkingDirectory(stagedChanges, unstagedChanges, untrackedFiles);
+    }
+
     public List<String> getStagedFiles() {
         return stagedFiles;
     }
@@ -49,6 +96,20 @@ public class WorkingDirectory {
         return untrackedFiles;
     }
 
+    /**
+     * Staged files and how each differs from HEAD, in the order of {@link #getStagedFiles()}
+     */
+    public Map<String, Change> getStagedChanges() {
+        return stagedChanges;
+    }
+
+    /**
+     * Unstaged files and how each differs from the index, in the order of {@link #getUnstagedFiles()}
+     */
+    public Map<String, Change> getUnstagedChanges() {
+        return unstagedChanges;
+    }
+
     public boolean hasChanges() {
         return hasChanges;
     }
@@ -85,6 +146,12 @@ public class WorkingDirectory {
         return stagedFiles.size() + unstagedFiles.size();
     }
 
+    private static Map<String, Change> modified(List<String> files) {
+        Map<String, Change> changes = new LinkedHashMap<>();
+        files.forEach(file -> changes.put(file, Change.MODIFIED));
+        return changes;
+    }
+
     @Override
     public String toString() {
         return String.format("WorkingDirectory{staged=%d, unstaged=%d, untracked=%d, hasChanges=%s}",
@@ -7,6 +7,7 @@ import io.joshuasalcedo.homelab.devshell.domain.value.CommitMessage;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * Domain repository interface for Git operations.
@@ -167,4 +168,14 @@ public interface GitRepository {
      * @return true if the remote exists
      */
     boolean hasRemote(Repository repository, String remoteName);
-}
\ No newline at end of file
+
+    /**
+     * Runs an action while no other thread or process writes the repository through this interface.
+     * Writes the action makes itself do not wait, so a sequence of them, like a smart commit, runs as one.
+     * 
+     * @param repository The repository to lock
+     * @param action The work to do while holding the lock
+     * @return The action's result
+     */
+    <T> T withExclusiveAccess(Repository repository, Supplier<T> action);
+}
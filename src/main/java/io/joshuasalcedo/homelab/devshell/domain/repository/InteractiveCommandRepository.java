@@ -2,6 +2,7 @@ package io.joshuasalcedo.homelab.devshell.domain.repository;
 
 
 import io.joshuasalcedo.homelab.devshell.domain.model.InteractiveCommand;
+import io.joshuasalcedo.homelab.devshell.domain.value.CommandPatternSet;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
@@ -22,6 +23,11 @@ public interface InteractiveCommandRepository {
 
     void save(InteractiveCommand command);
 
+    /**
+     * Saves several commands in one write; either all of them are stored or none
+     */
+    void saveAll(List<InteractiveCommand> commands);
+
     void delete(@NotNull InteractiveCommand interactiveCommand);
 
     boolean deleteByCommandName(String commandName);
@@ -31,4 +37,13 @@ public interface InteractiveCommandRepository {
     void deleteAll();
 
     long count();
+
+    /**
+     * Checks the command line against every stored command name and pattern rule.
+     * Implementations should keep the compiled rules between calls; this default compiles them each time.
+     */
+    default boolean matchesCommandLine(String commandLine) {
+        return CommandPatternSet.compile(findAll().stream().map(InteractiveCommand::getCommandName).toList())
+                .matches(commandLine);
+    }
 }
\ No newline at end of file
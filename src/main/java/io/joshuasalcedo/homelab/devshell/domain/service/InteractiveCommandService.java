@@ -4,9 +4,11 @@ package io.joshuasalcedo.homelab.devshell.domain.service;
 import io.joshuasalcedo.commonlibs.text.TextUtility;
 import io.joshuasalcedo.homelab.devshell.domain.model.InteractiveCommand;
 import io.joshuasalcedo.homelab.devshell.domain.repository.InteractiveCommandRepository;
+import io.joshuasalcedo.homelab.devshell.domain.value.CommandPatternSet;
 
 import java.io.PrintStream;
 import java.nio.charset.StandardCharsets;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -26,19 +28,65 @@ public class InteractiveCommandService {
     }
 
     public void registerCommand(String commandName) {
-        if (!repository.existsByCommandName(commandName)) {
-            InteractiveCommand command = new InteractiveCommand();
-            command.setCommandName(commandName);
-            repository.save(command);
-            out.println(TextUtility.of(String.format("Registered interactive command: %s", commandName)).bold().color(TextUtility.Color.YELLOW).format());
+        registerCommand(commandName, InteractiveCommand.Source.USER);
+    }
+
+    /**
+     * Registers a command name, or a pattern rule such as {@code docker run ** -it}
+     */
+    public void registerCommand(String commandName, InteractiveCommand.Source source) {
+        String rule = CommandPatternSet.normalize(commandName);
+        if (!repository.existsByCommandName(rule)) {
+            repository.save(new InteractiveCommand(rule, source));
+            out.println(TextUtility.of(String.format("Registered interactive command: %s", rule)).bold().color(TextUtility.Color.YELLOW).format());
         } else {
-            out.println(TextUtility.of(String.format("InteractiveCommand already registered: %s", commandName)).bold().color(TextUtility.Color.BRIGHT_WHITE).format());
+            out.println(TextUtility.of(String.format("InteractiveCommand already registered: %s", rule)).bold().color(TextUtility.Color.BRIGHT_WHITE).format());
         }
     }
 
-    public boolean isInteractiveCommand(String commandName) {
-        String baseCommand = commandName.split("\\s+")[0];
-        return repository.existsByCommandName(baseCommand);
+    /**
+     * Registers every command that is not registered yet, in a single write
+     *
+     * @param commandNames the commands to register
+     * @param source where the commands come from
+     * @return the commands that were newly registered
+     */
+    public List<String> registerCommands(Collection<String> commandNames, InteractiveCommand.Source source) {
+        List<String> added = commandNames.stream()
+                .map(CommandPatternSet::normalize)
+                .filter(name -> !name.isEmpty())
+                .distinct()
+                .filter(name -> !repository.existsByCommandName(name))
+                .toList();
+        if (!added.isEmpty()) {
+            repository.saveAll(added.stream().map(name -> new InteractiveCommand(name, source)).toList());
+            out.println(TextUtility.of(String.format("Registered %d interactive commands", added.size())).bold().color(TextUtility.Color.YELLOW).format());
+        }
+        return added;
+    }
+
+    /**
+     * Records a TTY failure for a rule and registers it as interactive
+     * so the next matching run gets the terminal directly.
+     *
+     * @param rule the command name or pattern rule matching the invocation that failed
+     * @return the updated registry entry
+     */
+    public InteractiveCommand recordTtyFailure(String rule) {
+        String normalized = CommandPatternSet.normalize(rule);
+        InteractiveCommand command = repository.findByCommandName(normalized)
+                .orElseGet(() -> new InteractiveCommand(normalized, InteractiveCommand.Source.DETECTED));
+        command.recordTtyFailure(System.currentTimeMillis());
+        repository.saveOrUpdate(command);
+        return command;
+    }
+
+    /**
+     * Checks a command line against the registry: first the command name, then the pattern rules
+     */
+    public boolean isInteractiveCommand(String commandLine) {
+        String baseCommand = commandLine.trim().split("\\s+")[0];
+        return repository.existsByCommandName(baseCommand) || repository.matchesCommandLine(commandLine);
     }
 
     public List<InteractiveCommand> getAllCommands() {
@@ -46,7 +94,7 @@ public class InteractiveCommandService {
     }
 
     public void removeCommand(String commandName) {
-        repository.findByCommandName(commandName)
+        repository.findByCommandName(CommandPatternSet.normalize(commandName))
                 .ifPresent(repository::delete);
     }
-}
\ No newline at end of file
+}
@@ -9,22 +9,66 @@ import io.joshuasalcedo.homelab.devshell.domain.value.BranchName;
 import io.joshuasalcedo.homelab.devshell.domain.value.CommitMessage;
 
 import java.util.Objects;
+import java.util.function.Supplier;
 
 /**
  * Domain service that orchestrates the smart commit workflow.
  * Implements the business logic for creating safe commits with temporary branches.
+ * Each step of the workflow is timed and reported to a {@link StepListener}.
  *
  * @author JoshuaSalcedo
  * @created 7/22/2025
  */
 public class SmartCommitService {
     
+    /**
+     * The timed steps of {@link #executeSmartCommit(Repository, String)}, in the order they run
+     */
+    public enum Step {
+        /** Working directory status and the current branch, before anything changes */
+        STATUS,
+        CREATE_BRANCH,
+        CHECKOUT,
+        STAGE_TRACKED,
+        /** Finding the untracked files and staging them */
+        STAGE_UNTRACKED,
+        /** Status again, for the file list in the message */
+        SECOND_STATUS,
+        BUILD_MESSAGE,
+        COMMIT,
+        CHECKOUT_BACK,
+        MERGE,
+        DELETE_BRANCH
+    }
+
+    /**
+     * Told how long each step of a smart commit took, on the thread running the commit
+     */
+    @FunctionalInterface
+    public interface StepListener {
+
+        StepListener NONE = (step, elapsedNanos, succeeded) -> { };
+
+        /**
+         * @param elapsedNanos time the step took, including a failure
+         * @param succeeded    false when the step threw; no later step of that commit is reported
+         */
+        void onStep(Step step, long elapsedNanos, boolean succeeded);
+    }
+
     private final GitRepository gitRepository;
     private final GitValidationService validationService;
+    private final StepListener stepListener;
 
     public SmartCommitService(GitRepository gitRepository, GitValidationService validationService) {
+        this(gitRepository, validationService, StepListener.NONE);
+    }
+
+    public SmartCommitService(GitRepository gitRepository, GitValidationService validationService,
+                              StepListener stepListener) {
         this.gitRepository = Objects.requireNonNull(gitRepository, "Git repository cannot be null");
         this.validationService = Objects.requireNonNull(validationService, "Validation service cannot be null");
+        this.stepListener = Objects.requireNonNull(stepListener, "Step listener cannot be null");
     }
 
     /**
@@ -50,57 +94,72 @@ public class SmartCommitService {
         // Step 1: Check if in git repository
         validationService.validateRepository(repository);
         
-        // Step 2: Check if there are changes to commit (including untracked files)
-        WorkingDirectory workingDir = gitRepository.getWorkingDirectoryStatus(repository);
-        if (!workingDir.hasAnythingToShow()) {
-            throw new DomainExceptions.NoChangesToCommitException();
-        }
-        
-        // Get current branch
-        Branch currentBranch = gitRepository.getCurrentBranch(repository);
+        // Another shell committing in the same repository would commit onto our temporary branch, or switch away from it
+        return gitRepository.withExclusiveAccess(repository, () -> commitOnTemporaryBranch(repository, commitMessage));
+    }
+
+    /**
+     * Steps 2 to 11 of the workflow; the caller holds exclusive access to the repository
+     */
+    private Commit commitOnTemporaryBranch(Repository repository, CommitMessage commitMessage) {
+        // Step 2: Check if there are changes to commit (including untracked files), and get current branch
+        Branch currentBranch = step(Step.STATUS, () -> {
+            WorkingDirectory workingDir = gitRepository.getWorkingDirectoryStatus(repository);
+            if (!workingDir.hasAnythingToShow()) {
+                throw new DomainExceptions.NoChangesToCommitException();
+            }
+            return gitRepository.getCurrentBranch(repository);
+        });
         
         // Step 3: Create temporary branch
         BranchName tempBranchName = BranchName.temporary();
-        Branch tempBranch = gitRepository.createBranch(repository, tempBranchName);
+        Branch tempBranch = step(Step.CREATE_BRANCH, () -> gitRepository.createBranch(repository, tempBranchName));
         CliLogger.info("Created temporary branch: {}", tempBranchName);
         
         try {
             // Step 4: Switch to temporary branch
-            gitRepository.switchToBranch(repository, tempBranch);
+            step(Step.CHECKOUT, () -> gitRepository.switchToBranch(repository, tempBranch));
             
             // Step 5: Stage all files (tracked changes + untracked files)
-            gitRepository.stageTrackedFiles(repository);
+            step(Step.STAGE_TRACKED, () -> gitRepository.stageTrackedFiles(repository));
             
             // Also stage all untracked files
-            WorkingDirectory currentWorkingDir = gitRepository.getWorkingDirectoryStatus(repository);
-            if (!currentWorkingDir.getUntrackedFiles().isEmpty()) {
-                gitRepository.stageFiles(repository, currentWorkingDir.getUntrackedFiles());
-                CliLogger.info("Staged {} untracked files", currentWorkingDir.getUntrackedFiles().size());
-            }
+            step(Step.STAGE_UNTRACKED, () -> {
+                WorkingDirectory currentWorkingDir = gitRepository.getWorkingDirectoryStatus(repository);
+                if (!currentWorkingDir.getUntrackedFiles().isEmpty()) {
+                    gitRepository.stageFiles(repository, currentWorkingDir.getUntrackedFiles());
+                    CliLogger.info("Staged {} untracked files", currentWorkingDir.getUntrackedFiles().size());
+                }
+            });
             
             // Step 6: Get updated working directory status to get file list
-            WorkingDirectory updatedWorkingDir = gitRepository.getWorkingDirectoryStatus(repository);
+            WorkingDirectory updatedWorkingDir = step(Step.SECOND_STATUS,
+                () -> gitRepository.getWorkingDirectoryStatus(repository));
             
             // Step 7: Generate enhanced commit message with file list
-            CommitMessage enhancedMessage = CommitMessage.withFileList(
+            CommitMessage enhancedMessage = step(Step.BUILD_MESSAGE, () -> CommitMessage.withFileList(
                 commitMessage.getValue(), 
                 updatedWorkingDir.getAllModifiedFiles()
-            );
+            ));
             
             // Step 8: Commit on temporary branch
-            Commit commit = gitRepository.createCommit(repository, enhancedMessage, tempBranch.getName());
+            Commit commit = step(Step.COMMIT,
+                () -> gitRepository.createCommit(repository, enhancedMessage, tempBranch.getName()));
             CliLogger.info("Created commit on temporary branch: {}", commit.getHash());
             
-            // Step 9: Switch back to original branch
-            gitRepository.switchToBranch(repository, currentBranch);
-            
-            // Step 10: Merge temporary branch
-            gitRepository.mergeBranch(repository, tempBranch, currentBranch);
-            CliLogger.info("Merged temporary branch into: {}", currentBranch.getName());
-            
-            // Step 11: Delete temporary branch
-            gitRepository.deleteBranch(repository, tempBranch);
-            CliLogger.info("Deleted temporary branch: {}", tempBranchName);
+            // Once the commit exists, finish the workflow even if cancelled so it is not lost
+            CancellationToken.none().run(() -> {
+                // Step 9: Switch back to original branch
+                step(Step.CHECKOUT_BACK, () -> gitRepository.switchToBranch(repository, currentBranch));
+                
+                // Step 10: Merge temporary branch
+                step(Step.MERGE, () -> gitRepository.mergeBranch(repository, tempBranch, currentBranch));
+                CliLogger.info("Merged temporary branch into: {}", currentBranch.getName());
+                
+                // Step 11: Delete temporary branch
+                step(Step.DELETE_BRANCH, () -> gitRepository.deleteBranch(repository, tempBranch));
+                CliLogger.info("Deleted temporary branch: {}", tempBranchName);
+            });
             
             CliLogger.info("Smart commit workflow completed successfully");
             return commit;
@@ -108,10 +167,13 @@ public class SmartCommitService {
         } catch (Exception e) {
             CliLogger.error("Smart commit workflow failed, attempting cleanup", e);
             
-            // Cleanup: try to switch back to original branch and delete temp branch
+            // Cleanup: try to switch back to original branch and delete temp branch.
+            // Runs without the caller's token, otherwise a cancellation would also abort the cleanup.
             try {
-                gitRepository.switchToBranch(repository, currentBranch);
-                gitRepository.deleteBranch(repository, tempBranch);
+                CancellationToken.none().run(() -> {
+                    gitRepository.switchToBranch(repository, currentBranch);
+                    gitRepository.deleteBranch(repository, tempBranch);
+                });
             } catch (Exception cleanupException) {
                 CliLogger.warn("Cleanup failed after smart commit error", cleanupException);
             }
@@ -140,4 +202,23 @@ public class SmartCommitService {
         
         return commit;
     }
-}
\ No newline at end of file
+
+    private <T> T step(Step step, Supplier<T> action) {
+        long started = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            T result = action.get();
+            succeeded = true;
+            return result;
+        } finally {
+            stepListener.onStep(step, System.nanoTime() - started, succeeded);
+        }
+    }
+
+    private void step(Step step, Runnable action) {
+        step(step, () -> {
+            action.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,220 @@
+package io.joshuasalcedo.homelab.devshell.domain.service;
+
+import io.joshuasalcedo.homelab.devshell.domain.model.InteractiveCommand;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Decides before execution whether a command line needs the terminal.
+ * Consults the interactive command registry and its pattern rules first, then heuristics for well-known binaries,
+ * so commands that need a TTY are not run once in streaming mode just to watch them fail.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+public class TtyRequirementClassifier {
+
+    public enum ExecutionMode {
+        /** Run with inherited stdin/stdout/stderr */
+        INTERACTIVE,
+        /** Run with captured, line-streamed output */
+        STREAMING
+    }
+
+    /** Full-screen programs and tools that always read from the terminal */
+    private static final Set<String> ALWAYS_INTERACTIVE = Set.of(
+            "vim", "vi", "nvim", "nano", "emacs", "pico", "micro",
+            "less", "more", "most", "man",
+            "top", "htop", "btop", "atop", "watch", "nmtui", "ranger", "mc",
+            "tmux", "screen", "fzf", "tig", "lazygit", "k9s",
+            "visudo", "vipw", "passwd", "su"
+    );
+
+    /** Interpreters and clients that open a REPL when given no arguments */
+    private static final Set<String> REPL_WITHOUT_ARGUMENTS = Set.of(
+            "python", "python2", "python3", "ipython", "node", "deno", "bun",
+            "irb", "ruby", "php", "lua", "ghci", "scala", "jshell", "clj", "R",
+            "bash", "sh", "zsh", "fish",
+            "mysql", "psql", "sqlite3", "mongo", "mongosh", "redis-cli",
+            "ftp", "sftp", "telnet", "bc"
+    );
+
+    /** ssh options that consume the following argument */
+    private static final Set<String> SSH_OPTIONS_WITH_VALUE = Set.of(
+            "-b", "-c", "-D", "-E", "-e", "-F", "-I", "-i", "-J", "-L", "-l",
+            "-m", "-O", "-o", "-p", "-Q", "-R", "-S", "-W", "-w"
+    );
+
+    /** Prefixes that run the command that follows them */
+    private static final Set<String> WRAPPERS = Set.of("env", "time", "nice", "nohup", "command", "exec");
+
+    /** Error fragments that only show up when a program needed a terminal */
+    private static final List<String> TTY_ERRORS = List.of(
+            "not a terminal",
+            "not to a terminal",
+            "not a tty",
+            "no tty",
+            "input device is not a tty",
+            "inappropriate ioctl for device",
+            "must be run from a terminal",
+            "stdin is not a terminal",
+            "open terminal failed"
+    );
+
+    private final InteractiveCommandService interactiveCommandService;
+
+    public TtyRequirementClassifier(InteractiveCommandService interactiveCommandService) {
+        this.interactiveCommandService = interactiveCommandService;
+    }
+
+    /**
+     * Classifies a command line as interactive or streaming
+     *
+     * @param commandLine the command line as typed at the prompt
+     * @return how the command should be executed
+     */
+    public ExecutionMode classify(String commandLine) {
+        List<String> tokens = commandTokens(commandLine);
+        if (tokens.isEmpty()) {
+            return ExecutionMode.STREAMING;
+        }
+
+        String command = tokens.get(0);
+        if (interactiveCommandService.isInteractiveCommand(String.join(" ", tokens))) {
+            return ExecutionMode.INTERACTIVE;
+        }
+        return needsTerminal(command, tokens.subList(1, tokens.size()))
+                ? ExecutionMode.INTERACTIVE
+                : ExecutionMode.STREAMING;
+    }
+
+    /**
+     * Checks whether a failed streaming run failed because it had no TTY
+     *
+     * @param exitCode the exit code of the command
+     * @param errorOutput everything the command wrote to stderr
+     */
+    public boolean isTtyFailure(int exitCode, String errorOutput) {
+        if (exitCode == 0 || errorOutput == null || errorOutput.isEmpty()) {
+            return false;
+        }
+        String text = errorOutput.toLowerCase(Locale.ROOT);
+        return TTY_ERRORS.stream().anyMatch(text::contains);
+    }
+
+    /**
+     * Records a TTY failure and registers a rule for the failing invocation so it runs interactively from now on.
+     * Only that invocation is registered, so one failed {@code docker exec -it} leaves {@code docker ps} streaming.
+     *
+     * @param commandLine the command line that failed
+     * @return the registry entry, or null if the line has no command
+     */
+    public InteractiveCommand recordTtyFailure(String commandLine) {
+        String rule = ttyFailureRule(commandLine);
+        return rule.isEmpty() ? null : interactiveCommandService.recordTtyFailure(rule);
+    }
+
+    /**
+     * Builds the rule registered after a TTY failure: the command and its arguments up to the last option,
+     * with the operands after it replaced by {@code **}. {@code docker exec -it web bash} becomes
+     * {@code docker exec -it **} and {@code kubectl -n prod exec -ti pod -- sh} becomes
+     * {@code kubectl -n prod exec -ti **}; a line without options is kept whole.
+     */
+    public static String ttyFailureRule(String commandLine) {
+        List<String> tokens = commandTokens(commandLine);
+        int end = 0;
+        int lastOption = -1;
+        // Stop at '--' and at tokens the pattern syntax would read as wildcards
+        while (end < tokens.size() && !tokens.get(end).equals("--")
+                && tokens.get(end).indexOf('*') < 0 && tokens.get(end).indexOf('?') < 0) {
+            if (end > 0 && tokens.get(end).startsWith("-")) {
+                lastOption = end;
+            }
+            end++;
+        }
+        int kept = lastOption >= 0 ? lastOption + 1 : Math.max(end, 1);
+        return kept >= tokens.size()
+                ? String.join(" ", tokens)
+                : String.join(" ", tokens.subList(0, kept)) + " **";
+    }
+
+    /**
+     * Gets the command that will actually run, skipping variable assignments and wrappers like env or time
+     */
+    public static String baseCommand(String commandLine) {
+        List<String> tokens = commandTokens(commandLine);
+        return tokens.isEmpty() ? "" : tokens.get(0);
+    }
+
+    private boolean needsTerminal(String command, List<String> args) {
+        if (ALWAYS_INTERACTIVE.contains(command)) {
+            return true;
+        }
+        if (REPL_WITHOUT_ARGUMENTS.contains(command)) {
+            return args.stream().allMatch(arg -> arg.equals("-i") || arg.equals("--interactive"));
+        }
+        return switch (command) {
+            // ssh without a remote command opens a login session
+            case "ssh", "mosh" -> countOperands(args, SSH_OPTIONS_WITH_VALUE) <= 1;
+            // sudo may ask for a password, and only reads it from the terminal
+            case "sudo" -> !args.contains("-n");
+            case "docker", "podman", "kubectl" -> args.contains("-it") || args.contains("-ti")
+                    || (args.contains("-i") && args.contains("-t"));
+            case "git" -> gitNeedsTerminal(args);
+            case "crontab" -> args.contains("-e");
+            default -> false;
+        };
+    }
+
+    private static boolean gitNeedsTerminal(List<String> args) {
+        if (args.isEmpty()) {
+            return false;
+        }
+        List<String> options = args.subList(1, args.size());
+        return switch (args.get(0)) {
+            case "add", "checkout", "reset", "restore", "stash" -> options.contains("-p") || options.contains("--patch")
+                    || options.contains("-i") || options.contains("--interactive");
+            case "rebase", "clean" -> options.contains("-i") || options.contains("--interactive");
+            // commit without a message opens the editor
+            case "commit" -> options.stream().noneMatch(arg -> arg.startsWith("--message") || arg.startsWith("--file")
+                    || arg.startsWith("--reuse-message") || arg.equals("--no-edit")
+                    || (arg.startsWith("-") && !arg.startsWith("--") && (arg.contains("m") || arg.contains("F") || arg.contains("C"))));
+            default -> false;
+        };
+    }
+
+    private static long countOperands(List<String> args, Set<String> optionsWithValue) {
+        long operands = 0;
+        for (int i = 0; i < args.size(); i++) {
+            String arg = args.get(i);
+            if (optionsWithValue.contains(arg)) {
+                i++;
+            } else if (!arg.startsWith("-")) {
+                operands++;
+            }
+        }
+        return operands;
+    }
+
+    private static List<String> commandTokens(String commandLine) {
+        if (commandLine == null || commandLine.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = Arrays.asList(commandLine.trim().split("\\s+"));
+        int start = 0;
+        while (start < tokens.size()
+                && (WRAPPERS.contains(tokens.get(start)) || isAssignment(tokens.get(start)))) {
+            start++;
+        }
+        return tokens.subList(start, tokens.size());
+    }
+
+    private static boolean isAssignment(String token) {
+        int equals = token.indexOf('=');
+        return equals > 0 && token.substring(0, equals).matches("[A-Za-z_][A-Za-z0-9_]*");
+    }
+}
@@ -0,0 +1,272 @@
+package io.joshuasalcedo.homelab.devshell.domain.value;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Value object holding the interactive-command rules compiled into one automaton.
+ * <p>
+ * A rule is a list of whitespace-separated token patterns matched against the start of a command line:
+ * {@code *} matches any characters within a token, {@code ?} one character, and a {@code **} token any number
+ * of whole tokens. Every rule implicitly ends with {@code **}, so {@code vim} matches {@code vim notes.txt},
+ * {@code git rebase -i} matches {@code git rebase -i HEAD~3} and {@code docker run ** -it} matches
+ * {@code docker run --rm -it alpine}.
+ * <p>
+ * All rules are combined into a single NFA over characters, which is turned into a DFA lazily as lines are
+ * matched. Once warm, matching a line costs one table lookup per character however many rules there are.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+public final class CommandPatternSet {
+
+    public static final CommandPatternSet EMPTY = compile(List.of());
+
+    /** DFA states kept before new ones are computed on the fly instead of cached */
+    private static final int MAX_CACHED_STATES = 4096;
+    private static final char SEPARATOR = ' ';
+
+    private final List<String> patterns;
+    private final NfaState[] nfa;
+    private final Map<BitSet, DfaState> dfaStates = new HashMap<>();
+    private final DfaState start;
+    private final DfaState dead;
+
+    /**
+     * One NFA state: at most one labelled edge plus any number of epsilon edges
+     */
+    private static final class NfaState {
+        enum Label { NONE, LITERAL, TOKEN_CHAR, SEPARATOR }
+
+        final int id;
+        final List<NfaState> epsilon = new ArrayList<>(2);
+        Label label = Label.NONE;
+        char literal;
+        NfaState next;
+        boolean accepting;
+
+        NfaState(int id) {
+            this.id = id;
+        }
+
+        boolean accepts(char c) {
+            return switch (label) {
+                case NONE -> false;
+                case LITERAL -> c == literal;
+                case TOKEN_CHAR -> c != SEPARATOR;
+                case SEPARATOR -> c == SEPARATOR;
+            };
+        }
+    }
+
+    /**
+     * A set of NFA states. Transitions are filled in as they are first taken; a racing reader that
+     * still sees null simply computes the transition under the lock.
+     */
+    private static final class DfaState {
+        final BitSet states;
+        final boolean accepting;
+        final DfaState[] ascii = new DfaState[128];
+        final Map<Character, DfaState> other = new ConcurrentHashMap<>();
+
+        DfaState(BitSet states, boolean accepting) {
+            this.states = states;
+            this.accepting = accepting;
+        }
+    }
+
+    private CommandPatternSet(List<String> patterns) {
+        this.patterns = patterns;
+        List<NfaState> states = new ArrayList<>();
+        NfaState root = newState(states);
+        for (String pattern : patterns) {
+            NfaState first = newState(states);
+            root.epsilon.add(first);
+            addPattern(states, first, pattern);
+        }
+        this.nfa = states.toArray(NfaState[]::new);
+        this.start = dfaState(closure(List.of(root)));
+        this.dead = dfaState(new BitSet());
+    }
+
+    /**
+     * Compiles rules into a matcher. Blank rules are ignored.
+     */
+    public static CommandPatternSet compile(Collection<String> patterns) {
+        return new CommandPatternSet(patterns.stream()
+                .map(CommandPatternSet::normalize)
+                .filter(pattern -> !pattern.isEmpty())
+                .distinct()
+                .toList());
+    }
+
+    /**
+     * Trims a rule and collapses runs of whitespace, so equal rules are stored once
+     */
+    public static String normalize(String pattern) {
+        return pattern == null ? "" : String.join(" ", pattern.trim().split("\\s+"));
+    }
+
+    /**
+     * Checks whether a rule uses wildcards or more than one token, so it cannot be looked up by command name
+     */
+    public static boolean isPattern(String rule) {
+        String normalized = normalize(rule);
+        return normalized.indexOf(SEPARATOR) >= 0 || normalized.indexOf('*') >= 0 || normalized.indexOf('?') >= 0;
+    }
+
+    /**
+     * Checks whether any rule matches the command line
+     */
+    public boolean matches(String commandLine) {
+        if (commandLine == null || patterns.isEmpty()) {
+            return false;
+        }
+        // The line is read as " token token ...", so every token starts with a separator
+        DfaState state = start;
+        boolean separatorPending = true;
+        for (int i = 0; i < commandLine.length() && state != dead; i++) {
+            char c = commandLine.charAt(i);
+            if (Character.isWhitespace(c)) {
+                separatorPending = true;
+                continue;
+            }
+            if (separatorPending) {
+                state = step(state, SEPARATOR);
+                separatorPending = false;
+            }
+            state = step(state, c);
+        }
+        return state.accepting;
+    }
+
+    public List<String> patterns() {
+        return patterns;
+    }
+
+    public int size() {
+        return patterns.size();
+    }
+
+    private void addPattern(List<NfaState> states, NfaState first, String pattern) {
+        NfaState current = first;
+        for (String token : pattern.split(" ")) {
+            if (token.equals("**")) {
+                current = anyTokens(states, current);
+                continue;
+            }
+            current = labelled(states, current, NfaState.Label.SEPARATOR, SEPARATOR);
+            for (char c : token.toCharArray()) {
+                if (c == '*') {
+                    // Loop on any token character, then leave through an epsilon edge
+                    current.label = NfaState.Label.TOKEN_CHAR;
+                    current.next = current;
+                    NfaState after = newState(states);
+                    current.epsilon.add(after);
+                    current = after;
+                } else if (c == '?') {
+                    current = labelled(states, current, NfaState.Label.TOKEN_CHAR, c);
+                } else {
+                    current = labelled(states, current, NfaState.Label.LITERAL, c);
+                }
+            }
+        }
+        anyTokens(states, current).accepting = true;
+    }
+
+    /**
+     * Adds zero or more whole tokens after {@code from}
+     *
+     * @return the state to continue the pattern from
+     */
+    private static NfaState anyTokens(List<NfaState> states, NfaState from) {
+        NfaState firstChar = labelled(states, from, NfaState.Label.SEPARATOR, SEPARATOR);
+        NfaState moreChars = labelled(states, firstChar, NfaState.Label.TOKEN_CHAR, SEPARATOR);
+        moreChars.label = NfaState.Label.TOKEN_CHAR;
+        moreChars.next = moreChars;
+        moreChars.epsilon.add(from);
+        NfaState after = newState(states);
+        from.epsilon.add(after);
+        return after;
+    }
+
+    private static NfaState labelled(List<NfaState> states, NfaState from, NfaState.Label label, char literal) {
+        NfaState to = newState(states);
+        from.label = label;
+        from.literal = literal;
+        from.next = to;
+        return to;
+    }
+
+    private static NfaState newState(List<NfaState> states) {
+        NfaState state = new NfaState(states.size());
+        states.add(state);
+        return state;
+    }
+
+    private DfaState step(DfaState from, char c) {
+        DfaState next = c < 128 ? from.ascii[c] : from.other.get(c);
+        return next != null ? next : computeStep(from, c);
+    }
+
+    private synchronized DfaState computeStep(DfaState from, char c) {
+        List<NfaState> targets = new ArrayList<>();
+        for (int i = from.states.nextSetBit(0); i >= 0; i = from.states.nextSetBit(i + 1)) {
+            if (nfa[i].accepts(c)) {
+                targets.add(nfa[i].next);
+            }
+        }
+        BitSet states = closure(targets);
+        DfaState next = dfaStates.get(states);
+        if (next == null) {
+            if (dfaStates.size() >= MAX_CACHED_STATES) {
+                // Pathological rule sets fall back to plain NFA simulation rather than growing without bound
+                return new DfaState(states, isAccepting(states));
+            }
+            next = dfaState(states);
+        }
+        if (c < 128) {
+            from.ascii[c] = next;
+        } else {
+            from.other.put(c, next);
+        }
+        return next;
+    }
+
+    private DfaState dfaState(BitSet states) {
+        return dfaStates.computeIfAbsent(states, key -> new DfaState(key, isAccepting(key)));
+    }
+
+    private boolean isAccepting(BitSet states) {
+        for (int i = states.nextSetBit(0); i >= 0; i = states.nextSetBit(i + 1)) {
+            if (nfa[i].accepting) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static BitSet closure(List<NfaState> from) {
+        BitSet visited = new BitSet();
+        List<NfaState> pending = new ArrayList<>(from);
+        while (!pending.isEmpty()) {
+            NfaState state = pending.remove(pending.size() - 1);
+            if (!visited.get(state.id)) {
+                visited.set(state.id);
+                pending.addAll(state.epsilon);
+            }
+        }
+        return visited;
+    }
+
+    @Override
+    public String toString() {
+        return "CommandPatternSet" + patterns;
+    }
+}
@@ -0,0 +1,77 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.command;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads and writes shareable sets of interactive commands, so a team can keep one list in a repository.
+ * Exports are JSON ({@code {"version":1,"commands":["vim","psql"]}}); imports also accept
+ * plain text with one command per line and {@code #} comments.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+public final class CommandSetFile {
+
+    public static final int VERSION = 1;
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private CommandSetFile() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    private record CommandSet(int version, List<String> commands) {
+    }
+
+    /**
+     * Reads the command names from a command set file
+     *
+     * @throws IOException if the file cannot be read or is not a valid command set
+     */
+    public static List<String> read(Path path) throws IOException {
+        String content = Files.readString(path, StandardCharsets.UTF_8);
+        if (content.trim().startsWith("{")) {
+            try {
+                CommandSet set = GSON.fromJson(content, CommandSet.class);
+                if (set == null || set.commands() == null) {
+                    throw new IOException("No 'commands' list in " + path);
+                }
+                if (set.version() > VERSION) {
+                    throw new IOException("Unsupported command set version " + set.version() + " in " + path);
+                }
+                return set.commands();
+            } catch (JsonParseException e) {
+                throw new IOException("Invalid command set " + path + ": " + e.getMessage(), e);
+            }
+        }
+
+        List<String> commands = new ArrayList<>();
+        for (String line : content.split("\\R")) {
+            String command = line.strip();
+            if (!command.isEmpty() && !command.startsWith("#")) {
+                commands.add(command);
+            }
+        }
+        return commands;
+    }
+
+    /**
+     * Writes the command names as a JSON command set
+     */
+    public static void write(Path path, List<String> commands) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Files.writeString(path, GSON.toJson(new CommandSet(VERSION, commands)) + "\n", StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,97 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.command;
+
+import io.joshuasalcedo.homelab.devshell.domain.model.InteractiveCommand;
+import io.joshuasalcedo.homelab.devshell.domain.repository.InteractiveCommandRepository;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Repository whose store is still being opened, usually by a background bootstrap task.
+ * Every call waits until it is ready, which is normally long before the first command that needs it.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+public class DeferredInteractiveCommandRepository implements InteractiveCommandRepository {
+
+    private final CompletableFuture<? extends InteractiveCommandRepository> repository;
+
+    public DeferredInteractiveCommandRepository(CompletableFuture<? extends InteractiveCommandRepository> repository) {
+        this.repository = repository;
+    }
+
+    public boolean isReady() {
+        return repository.isDone();
+    }
+
+    private InteractiveCommandRepository delegate() {
+        try {
+            return repository.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException("Could not open the interactive command store", e.getCause());
+        }
+    }
+
+    @Override
+    public Optional<InteractiveCommand> findByCommandName(String commandName) {
+        return delegate().findByCommandName(commandName);
+    }
+
+    @Override
+    public boolean existsByCommandName(String commandName) {
+        return delegate().existsByCommandName(commandName);
+    }
+
+    @Override
+    public List<InteractiveCommand> findAll() {
+        return delegate().findAll();
+    }
+
+    @Override
+    public void save(InteractiveCommand command) {
+        delegate().save(command);
+    }
+
+    @Override
+    public void saveAll(List<InteractiveCommand> commands) {
+        delegate().saveAll(commands);
+    }
+
+    @Override
+    public void delete(@NotNull InteractiveCommand interactiveCommand) {
+        delegate().delete(interactiveCommand);
+    }
+
+    @Override
+    public boolean deleteByCommandName(String commandName) {
+        return delegate().deleteByCommandName(commandName);
+    }
+
+    @Override
+    public void saveOrUpdate(InteractiveCommand command) {
+        delegate().saveOrUpdate(command);
+    }
+
+    @Override
+    public void deleteAll() {
+        delegate().deleteAll();
+    }
+
+    @Override
+    public long count() {
+        return delegate().count();
+    }
+
+    @Override
+    public boolean matchesCommandLine(String commandLine) {
+        return delegate().matchesCommandLine(commandLine);
+    }
+}
@@ -4,25 +4,54 @@ import io.joshuasalcedo.homelab.devshell.utils.CliLogger;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
 import com.google.gson.reflect.TypeToken;
 import io.joshuasalcedo.homelab.devshell.domain.model.InteractiveCommand;
 import io.joshuasalcedo.homelab.devshell.domain.repository.InteractiveCommandRepository;
+import io.joshuasalcedo.homelab.devshell.domain.value.CommandPatternSet;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.*;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
 
 /**
  * FileInteractiveCommandRepositoryAdapter class.
  * Uses GSON to persist InteractiveCommand objects in a JSON file as a database.
+ * <p>
+ * Changes are appended to a journal ({@code commands.json.journal}, one JSON record per line) and
+ * periodically compacted into the snapshot ({@code commands.json}) through a temp file, fsync and
+ * atomic rename, so a crash never leaves a half-written store. Loading replays the snapshot plus the journal.
+ * <p>
+ * Several dev-shell processes can share the store. Writers hold an exclusive lock on {@code commands.json.lock}
+ * while they refresh, append and compact, and then bump a generation counter kept in that file. Readers map the
+ * counter into memory and are served from an immutable in-memory snapshot without locking or system calls;
+ * the files are only re-read when the counter moves. Edits made by hand do not move the counter, so the files'
+ * modification time and size are also checked, at most once per {@link #DEFAULT_STAT_INTERVAL}.
  *
  * @author JoshuaSalcedo
  * @created 7/22/2025 9:19 PM
@@ -30,71 +59,201 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
  */
 public class FileInteractiveCommandRepositoryAdapter implements InteractiveCommandRepository {
 
-    private final String filePath;
+    public static final Duration DEFAULT_STAT_INTERVAL = Duration.ofSeconds(5);
+    public static final int DEFAULT_COMPACTION_THRESHOLD = 64;
+    private static final String JOURNAL_SUFFIX = ".journal";
+    private static final String LOCK_SUFFIX = ".lock";
+    private static final VarHandle LONG_VIEW = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    /**
+     * A file lock belongs to the whole JVM, so instances sharing a file must also share the in-JVM lock
+     */
+    private static final Map<Path, ReentrantLock> LOCKS = new ConcurrentHashMap<>();
+
+    private final Path file;
+    private final Path journal;
+    private final Path lockFile;
     private final Gson gson;
-    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Gson journalGson;
+    private final ReentrantLock lock;
     private final Type commandListType = new TypeToken<List<InteractiveCommand>>(){}.getType();
+    private final long statIntervalNanos;
+    private final int compactionThreshold;
+    private MappedByteBuffer generation;
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private volatile long lastValidatedNanos;
+    private volatile CompiledRules rules = new CompiledRules(Map.of(), CommandPatternSet.EMPTY);
+
+    /**
+     * Size and modification time of a file, or -1 when it does not exist
+     */
+    private record FileStamp(long modifiedMillis, long size) {
+        static final FileStamp MISSING = new FileStamp(-1, -1);
+    }
+
+    /**
+     * The store as of the given snapshot and journal stamps and generation.
+     * The map and its commands are never modified after publication.
+     */
+    private record Snapshot(Map<String, InteractiveCommand> commands, FileStamp snapshotStamp,
+                            FileStamp journalStamp, int journalRecords, long generation) {
+        static final Snapshot EMPTY = new Snapshot(Map.of(), FileStamp.MISSING, FileStamp.MISSING, 0, -1);
+    }
+
+    /**
+     * The rules compiled from one version of the commands map
+     */
+    private record CompiledRules(Map<String, InteractiveCommand> commands, CommandPatternSet patterns) {
+    }
+
+    /**
+     * Work done while holding both the in-JVM lock and the file lock
+     */
+    @FunctionalInterface
+    private interface LockedOperation<T> {
+        T run() throws IOException;
+    }
+
+    /**
+     * One line of the journal
+     */
+    private record JournalEntry(Operation op, InteractiveCommand command, String name, List<InteractiveCommand> commands) {
+        enum Operation { PUT, PUT_ALL, DELETE, CLEAR }
+
+        static JournalEntry put(InteractiveCommand command) {
+            return new JournalEntry(Operation.PUT, command, command.getCommandName(), null);
+        }
+
+        static JournalEntry putAll(List<InteractiveCommand> commands) {
+            return new JournalEntry(Operation.PUT_ALL, null, null, commands);
+        }
+
+        static JournalEntry delete(String name) {
+            return new JournalEntry(Operation.DELETE, null, name, null);
+        }
+
+        static JournalEntry clear() {
+            return new JournalEntry(Operation.CLEAR, null, null, null);
+        }
+
+        /**
+         * @return false if the entry changed nothing and need not be written
+         */
+        boolean applyTo(Map<String, InteractiveCommand> target) {
+            return switch (op) {
+                case PUT -> {
+                    target.put(name, command);
+                    yield true;
+                }
+                case PUT_ALL -> {
+                    commands.forEach(each -> target.put(each.getCommandName(), each));
+                    yield !commands.isEmpty();
+                }
+                case DELETE -> target.remove(name) != null;
+                case CLEAR -> {
+                    boolean changed = !target.isEmpty();
+                    target.clear();
+                    yield changed;
+                }
+            };
+        }
+    }
 
     public FileInteractiveCommandRepositoryAdapter() {
-        this.filePath = System.getProperty("user.home") + "/.dev-shell/commands.json";
+        this(Paths.get(System.getProperty("user.home"), ".dev-shell", "commands.json"));
+    }
+
+    public FileInteractiveCommandRepositoryAdapter(Path file) {
+        this(file, DEFAULT_STAT_INTERVAL, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    public FileInteractiveCommandRepositoryAdapter(Path file, Duration statInterval) {
+        this(file, statInterval, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    public FileInteractiveCommandRepositoryAdapter(Path file, Duration statInterval, int compactionThreshold) {
+        this.file = file;
+        this.journal = file.resolveSibling(file.getFileName() + JOURNAL_SUFFIX);
+        this.lockFile = file.resolveSibling(file.getFileName() + LOCK_SUFFIX);
+        this.lock = LOCKS.computeIfAbsent(file.toAbsolutePath().normalize(), key -> new ReentrantLock());
+        this.statIntervalNanos = statInterval.toNanos();
+        this.compactionThreshold = compactionThreshold;
         this.gson = new GsonBuilder()
                 .setPrettyPrinting()
                 .create();
-        
+        this.journalGson = new Gson();
+
         initializeFile();
     }
 
+    public Path getFile() {
+        return file;
+    }
+
     private void initializeFile() {
         try {
-            Path path = Paths.get(filePath);
-            Path parentDir = path.getParent();
-            
+            Path parentDir = file.getParent();
+
             // Create parent directories if they don't exist
             if (parentDir != null && !Files.exists(parentDir)) {
                 Files.createDirectories(parentDir);
             }
-            
-            // Create the file with empty array if it doesn't exist
-            if (!Files.exists(path)) {
-                writeCommands(new ArrayList<>());
-                CliLogger.info("Created new commands file at: {}", filePath);
-            }
+
+            locked(() -> {
+                mapGeneration();
+                // Create the file with empty array if it doesn't exist
+                if (!Files.exists(file)) {
+                    writeSnapshot(List.of());
+                    bumpGeneration();
+                    CliLogger.info("Created new commands file at: {}", file);
+                }
+                refresh(true);
+                if (snapshot.journalRecords() >= compactionThreshold) {
+                    compactLocked();
+                }
+                return null;
+            });
         } catch (IOException e) {
-            CliLogger.error("Failed to initialize commands file at {}: {}", filePath, e.getMessage());
+            CliLogger.error("Failed to initialize commands file at {}: {}", file, e.getMessage());
             throw new RuntimeException("Could not initialize commands file", e);
         }
     }
 
+    /**
+     * Maps the generation counter. Must hold the file lock, since the lock file may still need its eight bytes.
+     */
+    private void mapGeneration() throws IOException {
+        try (FileChannel channel = FileChannel.open(lockFile,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (channel.size() < Long.BYTES) {
+                channel.write(ByteBuffer.allocate(Long.BYTES), 0);
+                channel.force(false);
+            }
+            // The mapping stays valid after the channel is closed
+            generation = channel.map(FileChannel.MapMode.READ_WRITE, 0, Long.BYTES);
+        }
+    }
+
     @Override
     public Optional<InteractiveCommand> findByCommandName(String commandName) {
         if (commandName == null || commandName.trim().isEmpty()) {
             return Optional.empty();
         }
-        
-        lock.readLock().lock();
-        try {
-            List<InteractiveCommand> commands = readCommands();
-            return commands.stream()
-                    .filter(cmd -> commandName.equals(cmd.getCommandName()))
-                    .findFirst();
-        } finally {
-            lock.readLock().unlock();
-        }
+        // Copy so callers can modify the result without touching the shared snapshot
+        return Optional.ofNullable(current().commands().get(commandName))
+                .map(InteractiveCommand::new);
     }
 
     @Override
     public boolean existsByCommandName(String commandName) {
-        return findByCommandName(commandName).isPresent();
+        return commandName != null && current().commands().containsKey(commandName);
     }
 
     @Override
     public List<InteractiveCommand> findAll() {
-        lock.readLock().lock();
-        try {
-            return new ArrayList<>(readCommands());
-        } finally {
-            lock.readLock().unlock();
-        }
+        return current().commands().values().stream()
+                .map(InteractiveCommand::new)
+                .collect(Collectors.toCollection(ArrayList::new));
     }
 
     @Override
@@ -102,76 +261,31 @@ public class FileInteractiveCommandRepositoryAdapter implements InteractiveComma
         if (command == null) {
             throw new IllegalArgumentException("Command cannot be null");
         }
-        
-        lock.writeLock().lock();
-        try {
-            List<InteractiveCommand> commands = readCommands();
-            
-            // Update existing or add new
-            boolean updated = false;
-            for (int i = 0; i < commands.size(); i++) {
-                if (commands.get(i).getCommandName().equals(command.getCommandName())) {
-                    commands.set(i, command);
-                    updated = true;
-                    break;
-                }
-            }
-            
-            if (!updated) {
-                commands.add(command);
-            }
-            
-            writeCommands(commands);
-            CliLogger.info("Saved command: {}", command.getCommandName());
-        } finally {
-            lock.writeLock().unlock();
-        }
+
+        // Update existing or add new, keeping the original position
+        append(JournalEntry.put(new InteractiveCommand(command)));
+        CliLogger.info("Saved command: {}", command.getCommandName());
     }
 
+    /**
+     * Saves all commands as a single journal record, so they are stored together or not at all
+     */
     @Override
-    public void delete(@NotNull InteractiveCommand interactiveCommand) {
-        lock.writeLock().lock();
-        try {
-            List<InteractiveCommand> commands = readCommands();
-            boolean removed = commands.removeIf(cmd -> 
-                cmd.getCommandName().equals(interactiveCommand.getCommandName())
-            );
-            
-            if (removed) {
-                writeCommands(commands);
-                CliLogger.info("Deleted command: {}", interactiveCommand.getCommandName());
-            } else {
-                CliLogger.warn("Command not found for deletion: {}", interactiveCommand.getCommandName());
-            }
-        } finally {
-            lock.writeLock().unlock();
+    public void saveAll(List<InteractiveCommand> commands) {
+        if (commands == null || commands.stream().anyMatch(command -> command == null || command.getCommandName() == null)) {
+            throw new IllegalArgumentException("Commands cannot be null");
         }
-    }
-
-
-    private List<InteractiveCommand> readCommands() {
-        try (Reader reader = new FileReader(filePath)) {
-            List<InteractiveCommand> commands = gson.fromJson(reader, commandListType);
-            return commands != null ? commands : new ArrayList<>();
-        } catch (FileNotFoundException e) {
-            CliLogger.warn("Commands file not found, returning empty list");
-            return new ArrayList<>();
-        } catch (IOException e) {
-            CliLogger.error("Error reading commands file: {}", e.getMessage());
-            throw new RuntimeException("Failed to read commands", e);
-        } catch (Exception e) {
-            CliLogger.error("Error parsing commands JSON: {}", e.getMessage());
-            return new ArrayList<>();
+        if (append(JournalEntry.putAll(commands.stream().map(InteractiveCommand::new).toList()))) {
+            CliLogger.info("Saved {} commands", commands.size());
         }
     }
 
-    private void writeCommands(List<InteractiveCommand> commands) {
-        try (Writer writer = new FileWriter(filePath)) {
-            gson.toJson(commands, commandListType, writer);
-            writer.flush();
-        } catch (IOException e) {
-            CliLogger.error("Error writing commands to file: {}", e.getMessage());
-            throw new RuntimeException("Failed to write commands", e);
+    @Override
+    public void delete(@NotNull InteractiveCommand interactiveCommand) {
+        if (deleteByCommandName(interactiveCommand.getCommandName())) {
+            CliLogger.info("Deleted command: {}", interactiveCommand.getCommandName());
+        } else {
+            CliLogger.warn("Command not found for deletion: {}", interactiveCommand.getCommandName());
         }
     }
 
@@ -182,22 +296,11 @@ public class FileInteractiveCommandRepositoryAdapter implements InteractiveComma
      */
     @Override
     public boolean deleteByCommandName(String commandName) {
-        lock.writeLock().lock();
-        try {
-            List<InteractiveCommand> commands = readCommands();
-            boolean removed = commands.removeIf(cmd -> 
-                cmd.getCommandName().equals(commandName)
-            );
-            
-            if (removed) {
-                writeCommands(commands);
-                CliLogger.info("Deleted command by name: {}", commandName);
-            }
-            
-            return removed;
-        } finally {
-            lock.writeLock().unlock();
+        boolean removed = append(JournalEntry.delete(commandName));
+        if (removed) {
+            CliLogger.info("Deleted command by name: {}", commandName);
         }
+        return removed;
     }
 
     /**
@@ -214,13 +317,22 @@ public class FileInteractiveCommandRepositoryAdapter implements InteractiveComma
      */
     @Override
     public void deleteAll() {
-        lock.writeLock().lock();
-        try {
-            writeCommands(new ArrayList<>());
-            CliLogger.info("Deleted all commands");
-        } finally {
-            lock.writeLock().unlock();
+        append(JournalEntry.clear());
+        CliLogger.info("Deleted all commands");
+    }
+
+    /**
+     * Matches against the rules compiled from the current snapshot; they are only recompiled when the commands change
+     */
+    @Override
+    public boolean matchesCommandLine(String commandLine) {
+        Map<String, InteractiveCommand> commands = current().commands();
+        CompiledRules compiled = rules;
+        if (compiled.commands() != commands) {
+            compiled = new CompiledRules(commands, CommandPatternSet.compile(commands.keySet()));
+            rules = compiled;
         }
+        return compiled.patterns().matches(commandLine);
     }
 
     /**
@@ -229,11 +341,266 @@ public class FileInteractiveCommandRepositoryAdapter implements InteractiveComma
      */
     @Override
     public long count() {
-        lock.readLock().lock();
+        return current().commands().size();
+    }
+
+    /**
+     * Folds the journal into the snapshot file now, instead of waiting for the threshold
+     */
+    public void compact() {
         try {
-            return readCommands().size();
+            locked(() -> {
+                refresh(true);
+                compactLocked();
+                return null;
+            });
+        } catch (IOException e) {
+            CliLogger.error("Error compacting commands file: {}", e.getMessage());
+            throw new RuntimeException("Failed to compact commands", e);
+        }
+    }
+
+    /**
+     * Must hold the file lock and have refreshed
+     */
+    private void compactLocked() throws IOException {
+        List<InteractiveCommand> commands = new ArrayList<>(snapshot.commands().values());
+        writeSnapshot(commands);
+        // A crash before this point only means the journal is replayed again; its records are idempotent
+        Files.deleteIfExists(journal);
+        snapshot = new Snapshot(snapshot.commands(), stamp(file), FileStamp.MISSING, 0, bumpGeneration());
+        CliLogger.debug("Compacted commands journal into {}", file);
+    }
+
+    /**
+     * Gets the current snapshot, re-reading the files only if another process changed them
+     */
+    private Snapshot current() {
+        boolean changed = readGeneration() != snapshot.generation();
+        if ((changed || System.nanoTime() - lastValidatedNanos >= statIntervalNanos) && lock.tryLock()) {
+            // Whoever holds the lock is already refreshing or writing; keep serving the old snapshot
+            try {
+                refresh(false);
+            } finally {
+                lock.unlock();
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Runs an operation while holding the in-JVM lock and the exclusive lock on the lock file,
+     * so no other thread or process writes the store at the same time
+     */
+    private <T> T locked(LockedOperation<T> operation) throws IOException {
+        lock.lock();
+        try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock ignored = channel.lock()) {
+            return operation.run();
         } finally {
-            lock.readLock().unlock();
+            lock.unlock();
+        }
+    }
+
+    private long readGeneration() {
+        return (long) LONG_VIEW.getVolatile(generation, 0);
+    }
+
+    /**
+     * Tells every process sharing the store that it changed. Must hold the file lock.
+     */
+    private long bumpGeneration() {
+        long next = readGeneration() + 1;
+        LONG_VIEW.setVolatile(generation, 0, next);
+        return next;
+    }
+
+    /**
+     * Applies an entry to the latest commands, appends it to the journal and publishes the result.
+     * Always works from the files' current state so changes made by other processes are kept.
+     *
+     * @return false if the entry changed nothing
+     */
+    private boolean append(JournalEntry entry) {
+        try {
+            return locked(() -> {
+                refresh(true);
+                Map<String, InteractiveCommand> commands = new LinkedHashMap<>(snapshot.commands());
+                if (!entry.applyTo(commands)) {
+                    return false;
+                }
+
+                byte[] line = (journalGson.toJson(entry) + "\n").getBytes(StandardCharsets.UTF_8);
+                try (FileChannel channel = FileChannel.open(journal,
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                    ByteBuffer buffer = ByteBuffer.wrap(line);
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                    channel.force(false);
+                }
+
+                snapshot = new Snapshot(Collections.unmodifiableMap(commands), snapshot.snapshotStamp(),
+                        stamp(journal), snapshot.journalRecords() + 1, bumpGeneration());
+                lastValidatedNanos = System.nanoTime();
+
+                if (snapshot.journalRecords() >= compactionThreshold) {
+                    compactLocked();
+                }
+                return true;
+            });
+        } catch (IOException e) {
+            CliLogger.error("Error writing commands to file: {}", e.getMessage());
+            throw new RuntimeException("Failed to write commands", e);
+        }
+    }
+
+    /**
+     * Reloads the snapshot and journal if either changed on disk. Must hold the in-JVM lock.
+     *
+     * @param exclusive whether the file lock is held too; only then may a torn journal tail be cut off or a
+     *                  corrupt snapshot moved aside, since without it another process may still be writing them
+     */
+    private void refresh(boolean exclusive) {
+        lastValidatedNanos = System.nanoTime();
+        try {
+            // Read the counter and stamps before the files: if a writer is halfway through, they are
+            // older than what gets read, and the next lookup reads the files again
+            long currentGeneration = readGeneration();
+            FileStamp snapshotStamp = stamp(file);
+            FileStamp journalStamp = stamp(journal);
+            if (snapshotStamp.equals(snapshot.snapshotStamp()) && journalStamp.equals(snapshot.journalStamp())) {
+                if (currentGeneration != snapshot.generation()) {
+                    snapshot = new Snapshot(snapshot.commands(), snapshotStamp, journalStamp,
+                            snapshot.journalRecords(), currentGeneration);
+                }
+                return;
+            }
+
+            Map<String, InteractiveCommand> commands = new LinkedHashMap<>(readSnapshot(exclusive));
+            int records = replayJournal(commands, exclusive);
+            snapshot = new Snapshot(Collections.unmodifiableMap(commands), snapshotStamp, journalStamp,
+                    records, currentGeneration);
+        } catch (IOException e) {
+            CliLogger.error("Error reading commands file: {}", e.getMessage());
+            throw new RuntimeException("Failed to read commands", e);
+        }
+    }
+
+    private Map<String, InteractiveCommand> readSnapshot(boolean exclusive) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            List<InteractiveCommand> commands = gson.fromJson(reader, commandListType);
+            return index(commands != null ? commands : List.of());
+        } catch (NoSuchFileException e) {
+            CliLogger.warn("Commands file not found, returning empty list");
+            return Map.of();
+        } catch (JsonParseException e) {
+            if (!exclusive) {
+                // Another process may have replaced it since; the next writer moves it aside if it is still corrupt
+                CliLogger.warn("Commands file is corrupt, reading it as empty: {}", e.getMessage());
+                return Map.of();
+            }
+            // Keep the damaged file for inspection instead of overwriting it on the next compaction
+            Path corrupt = file.resolveSibling(file.getFileName() + ".corrupt-" + System.currentTimeMillis());
+            Files.move(file, corrupt, StandardCopyOption.REPLACE_EXISTING);
+            CliLogger.error("Commands file is corrupt, moved it to {}: {}", corrupt, e.getMessage());
+            return Map.of();
+        }
+    }
+
+    /**
+     * Applies every complete journal record. A torn last line from a crash mid-append is ignored,
+     * and cut off when {@code repair} is set.
+     *
+     * @return the number of records applied
+     */
+    private int replayJournal(Map<String, InteractiveCommand> commands, boolean repair) throws IOException {
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(journal);
+        } catch (NoSuchFileException e) {
+            return 0;
+        }
+
+        int records = 0;
+        int start = 0;
+        int validLength = 0;
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] != '\n') {
+                continue;
+            }
+            String line = new String(bytes, start, i - start, StandardCharsets.UTF_8);
+            start = i + 1;
+            validLength = start;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                JournalEntry entry = journalGson.fromJson(line, JournalEntry.class);
+                if (entry != null && entry.op() != null) {
+                    entry.applyTo(commands);
+                    records++;
+                }
+            } catch (JsonParseException e) {
+                CliLogger.warn("Skipping unreadable commands journal record: {}", e.getMessage());
+            }
+        }
+
+        if (validLength < bytes.length && repair) {
+            CliLogger.warn("Discarding incomplete commands journal record ({} bytes)", bytes.length - validLength);
+            try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.WRITE)) {
+                channel.truncate(validLength);
+                channel.force(false);
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Writes the snapshot to a temp file, syncs it and renames it over the old one
+     */
+    private void writeSnapshot(List<InteractiveCommand> commands) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(gson.toJson(commands, commandListType).getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        syncDirectory();
+    }
+
+    /**
+     * Makes the rename durable. Not every platform can open a directory, so this is best effort.
+     */
+    private void syncDirectory() {
+        Path parent = file.toAbsolutePath().getParent();
+        try (FileChannel channel = FileChannel.open(parent, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            CliLogger.debug("Could not sync directory {}: {}", parent, e.getMessage());
+        }
+    }
+
+    private static FileStamp stamp(Path path) throws IOException {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return new FileStamp(attributes.lastModifiedTime().toMillis(), attributes.size());
+        } catch (NoSuchFileException e) {
+            return FileStamp.MISSING;
+        }
+    }
+
+    private static Map<String, InteractiveCommand> index(List<InteractiveCommand> commands) {
+        Map<String, InteractiveCommand> indexed = new LinkedHashMap<>();
+        for (InteractiveCommand command : commands) {
+            if (command != null && command.getCommandName() != null) {
+                indexed.putIfAbsent(command.getCommandName(), command);
+            }
         }
+        return Collections.unmodifiableMap(indexed);
     }
-}
\ No newline at end of file
+}
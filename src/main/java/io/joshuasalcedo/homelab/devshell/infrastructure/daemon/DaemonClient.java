@@ -0,0 +1,138 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.daemon;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.OptionalInt;
+
+/**
+ * Runs a command in a {@link DaemonServer} instead of starting the shell.
+ * <p>
+ * The client forwards its arguments, working directory and environment, copies the daemon's output frames
+ * straight to its own standard output and error, and returns the exit code. Ctrl-C is forwarded as a
+ * {@link DaemonProtocol#CANCEL} frame. The terminal and standard input are not: the daemon answers commands that
+ * need them, pass-through commands, and requests it is too busy to start with {@link DaemonProtocol#RUN_LOCALLY}.
+ * It is meant to run before anything else in {@code main}, so it
+ * touches as few classes as it can.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+public final class DaemonClient {
+
+    private DaemonClient() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Runs the arguments as a command line in the daemon
+     *
+     * @return the command's exit code, or empty if no daemon answered or it asked for a local run
+     */
+    public static OptionalInt run(Path socket, List<String> argv) {
+        DaemonProtocol.Request request = new DaemonProtocol.Request();
+        request.argv = argv;
+        request.cwd = System.getProperty("user.dir");
+        request.env = System.getenv();
+        request.columns = parseInt(System.getenv("COLUMNS"));
+        return send(socket, request, new FileOutputStream(FileDescriptor.out), new FileOutputStream(FileDescriptor.err));
+    }
+
+    /**
+     * Asks the daemon to stop
+     *
+     * @return false if no daemon was listening
+     */
+    public static boolean stop(Path socket) {
+        DaemonProtocol.Request request = new DaemonProtocol.Request();
+        request.action = DaemonProtocol.ACTION_STOP;
+        return send(socket, request, OutputStream.nullOutputStream(), OutputStream.nullOutputStream()).isPresent();
+    }
+
+    /**
+     * Checks whether a daemon answers on the socket
+     */
+    public static boolean isRunning(Path socket) {
+        DaemonProtocol.Request request = new DaemonProtocol.Request();
+        request.action = DaemonProtocol.ACTION_PING;
+        return send(socket, request, OutputStream.nullOutputStream(), OutputStream.nullOutputStream()).isPresent();
+    }
+
+    static OptionalInt send(Path socket, DaemonProtocol.Request request, OutputStream out, OutputStream err) {
+        if (!Files.exists(socket)) {
+            return OptionalInt.empty();
+        }
+        request.build = DaemonProtocol.currentBuild();
+        SocketChannel channel;
+        try {
+            channel = SocketChannel.open(StandardProtocolFamily.UNIX);
+            channel.connect(UnixDomainSocketAddress.of(socket));
+        } catch (IOException e) {
+            return OptionalInt.empty();
+        }
+
+        Thread cancelOnInterrupt = new Thread(() -> sendCancel(channel), "dev-shell-daemon-cancel");
+        Runtime.getRuntime().addShutdownHook(cancelOnInterrupt);
+        boolean answered = false;
+        try (channel) {
+            DaemonProtocol.write(channel, DaemonProtocol.REQUEST, DaemonProtocol.encode(request));
+            while (true) {
+                DaemonProtocol.Frame frame = DaemonProtocol.read(channel);
+                if (frame == null) {
+                    // A daemon that died mid-command may have done part of it, so only a silent one is retried locally
+                    return answered ? OptionalInt.of(1) : OptionalInt.empty();
+                }
+                answered = true;
+                switch (frame.type()) {
+                    case DaemonProtocol.STDOUT -> out.write(frame.payload());
+                    case DaemonProtocol.STDERR -> err.write(frame.payload());
+                    case DaemonProtocol.EXIT -> {
+                        out.flush();
+                        err.flush();
+                        return OptionalInt.of(frame.exitCode());
+                    }
+                    case DaemonProtocol.RUN_LOCALLY -> {
+                        return OptionalInt.empty();
+                    }
+                    default -> throw new IOException("Unexpected frame type " + (char) frame.type());
+                }
+            }
+        } catch (IOException e) {
+            return answered ? OptionalInt.of(1) : OptionalInt.empty();
+        } finally {
+            try {
+                Runtime.getRuntime().removeShutdownHook(cancelOnInterrupt);
+            } catch (IllegalStateException e) {
+                // Already shutting down; the hook is running
+            }
+        }
+    }
+
+    /**
+     * Runs from the shutdown hook on Ctrl-C: tell the daemon, and give the command a moment to stop
+     */
+    private static void sendCancel(SocketChannel channel) {
+        try {
+            DaemonProtocol.write(channel, DaemonProtocol.CANCEL, new byte[0]);
+            Thread.sleep(200);
+        } catch (IOException | InterruptedException e) {
+            // The connection is gone; nothing left to cancel
+        }
+    }
+
+    private static int parseInt(String value) {
+        try {
+            return value == null ? 0 : Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.daemon;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.CodeSource;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Frames exchanged between a dev-shell client and the resident daemon over a Unix domain socket.
+ * <p>
+ * Every frame is a type byte, a big-endian length and that many bytes of payload. The client opens with a
+ * {@link #REQUEST} and may send {@link #CANCEL} when Ctrl-C is pressed; the daemon answers with any number of
+ * {@link #STDOUT} and {@link #STDERR} frames followed by {@link #EXIT}, or with {@link #RUN_LOCALLY} when the
+ * client should start the shell itself.
+ * <p>
+ * The client encodes its request by hand so that a one-shot command never loads a JSON library;
+ * the daemon parses it with Gson.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+public final class DaemonProtocol {
+
+    public static final int VERSION = 1;
+
+    /** Client to daemon: the {@link Request} as JSON */
+    public static final byte REQUEST = 'Q';
+    /** Client to daemon: Ctrl-C was pressed; no payload */
+    public static final byte CANCEL = 'C';
+    /** Daemon to client: bytes for standard output */
+    public static final byte STDOUT = 'O';
+    /** Daemon to client: bytes for standard error */
+    public static final byte STDERR = 'E';
+    /** Daemon to client: the exit code as a big-endian int; the last frame */
+    public static final byte EXIT = 'X';
+    /** Daemon to client: the request can't be served remotely; the payload says why */
+    public static final byte RUN_LOCALLY = 'L';
+
+    public static final String ACTION_RUN = "run";
+    public static final String ACTION_STOP = "stop";
+    public static final String ACTION_PING = "ping";
+
+    private static final int MAX_FRAME = 16 * 1024 * 1024;
+
+    /**
+     * What the client asks the daemon to do
+     */
+    public static final class Request {
+        public int version = VERSION;
+        public String action = ACTION_RUN;
+        /** The build the client was started from, see {@link #currentBuild()} */
+        public String build;
+        public List<String> argv = List.of();
+        public String cwd;
+        public Map<String, String> env = Map.of();
+        public int columns;
+    }
+
+    public record Frame(byte type, byte[] payload) {
+
+        public String text() {
+            return new String(payload, StandardCharsets.UTF_8);
+        }
+
+        public int exitCode() {
+            return ByteBuffer.wrap(payload).getInt();
+        }
+    }
+
+    private DaemonProtocol() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * The daemon socket: the {@code dev-shell.daemon.socket} system property, the {@code DEV_SHELL_DAEMON_SOCKET}
+     * environment variable, or {@code ~/.dev-shell/daemon.sock}
+     */
+    public static Path defaultSocket() {
+        String configured = System.getProperty("dev-shell.daemon.socket", System.getenv("DEV_SHELL_DAEMON_SOCKET"));
+        if (configured != null && !configured.isBlank()) {
+            return Path.of(configured);
+        }
+        return Path.of(System.getProperty("user.home"), ".dev-shell", "daemon.sock");
+    }
+
+    /**
+     * Identifies the code this JVM runs: the jar or classes directory and when it was last modified.
+     * A daemon only serves clients of the same build, so a rebuilt jar isn't answered by stale code.
+     */
+    public static String currentBuild() {
+        try {
+            CodeSource source = DaemonProtocol.class.getProtectionDomain().getCodeSource();
+            if (source == null || source.getLocation() == null) {
+                return "unknown";
+            }
+            Path location = Path.of(source.getLocation().toURI());
+            return location + "@" + Files.getLastModifiedTime(location).toMillis();
+        } catch (IOException | URISyntaxException | RuntimeException e) {
+            return "unknown";
+        }
+    }
+
+    public static void write(WritableByteChannel channel, byte type, byte[] payload) throws IOException {
+        write(channel, type, payload, 0, payload.length);
+    }
+
+    /**
+     * Writes one frame; callers writing from several threads must synchronize
+     */
+    public static void write(WritableByteChannel channel, byte type, byte[] payload, int offset, int length) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(5).put(type).putInt(length).flip();
+        ByteBuffer body = ByteBuffer.wrap(payload, offset, length);
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        while (body.hasRemaining()) {
+            channel.write(body);
+        }
+    }
+
+    public static void writeExit(WritableByteChannel channel, int exitCode) throws IOException {
+        write(channel, EXIT, ByteBuffer.allocate(4).putInt(exitCode).array());
+    }
+
+    /**
+     * Reads one frame
+     *
+     * @return null if the other side closed the connection between frames
+     */
+    public static Frame read(ReadableByteChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(5);
+        if (!readFully(channel, header, true)) {
+            return null;
+        }
+        header.flip();
+        byte type = header.get();
+        int length = header.getInt();
+        if (length < 0 || length > MAX_FRAME) {
+            throw new IOException("Invalid frame length " + length);
+        }
+        ByteBuffer payload = ByteBuffer.allocate(length);
+        readFully(channel, payload, false);
+        return new Frame(type, payload.array());
+    }
+
+    private static boolean readFully(ReadableByteChannel channel, ByteBuffer buffer, boolean eofAllowed) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                if (eofAllowed && buffer.position() == 0) {
+                    return false;
+                }
+                throw new EOFException("Connection closed in the middle of a frame");
+            }
+        }
+        return true;
+    }
+
+    public static byte[] encode(Request request) {
+        StringBuilder json = new StringBuilder(1024);
+        json.append("{\"version\":").append(request.version);
+        json.append(",\"action\":");
+        appendString(json, request.action);
+        json.append(",\"build\":");
+        appendString(json, request.build);
+        json.append(",\"argv\":[");
+        for (int i = 0; i < request.argv.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            appendString(json, request.argv.get(i));
+        }
+        json.append("],\"cwd\":");
+        appendString(json, request.cwd);
+        json.append(",\"env\":{");
+        boolean first = true;
+        for (Map.Entry<String, String> variable : request.env.entrySet()) {
+            if (!first) {
+                json.append(',');
+            }
+            first = false;
+            appendString(json, variable.getKey());
+            json.append(':');
+            appendString(json, variable.getValue());
+        }
+        json.append("},\"columns\":").append(request.columns).append('}');
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+}
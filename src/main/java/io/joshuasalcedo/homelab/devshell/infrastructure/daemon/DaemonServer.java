@@ -0,0 +1,433 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.daemon;
+
+import com.google.gson.Gson;
+import io.joshuasalcedo.homelab.devshell.utils.CliLogger;
+import io.joshuasalcedo.homelab.devshell.utils.InterruptScope;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serves dev-shell commands to {@link DaemonClient}s over a Unix domain socket, so a one-shot command
+ * doesn't pay for starting a JVM and a Spring context.
+ * <p>
+ * Each connection gets a virtual thread, but requests run one at a time: commands read the working directory
+ * from the {@code user.dir} property, which is set to the client's directory for the length of the request.
+ * A request that can't start within {@link #BUSY_WAIT} is told to run locally instead, so one long command never
+ * holds up other clients.
+ * Output reaches the client through {@link RoutedOutputStream}, so everything the command prints, however it
+ * prints it, ends up in the client's streams. A {@link DaemonProtocol#CANCEL} frame or a dropped connection is
+ * delivered to the command like Ctrl-C, through its {@link InterruptScope}.
+ * <p>
+ * The socket and a directory created for it are only accessible by the current user. A client of a different
+ * build is told to run locally and the daemon stops, so the next start picks up the new code.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+public class DaemonServer implements AutoCloseable {
+
+    /**
+     * Runs requests for the daemon
+     */
+    public interface RequestHandler {
+
+        /**
+         * @return why the request needs the client's own terminal, or null to run it in the daemon
+         */
+        String runLocallyReason(DaemonProtocol.Request request);
+
+        /**
+         * Runs a request with the client's directory as {@code user.dir}
+         *
+         * @return the exit code for the client
+         */
+        int handle(DaemonProtocol.Request request, PrintStream out, PrintStream err) throws Exception;
+    }
+
+    /** How long a request waits for the one running before it is sent back to run in the client */
+    static final Duration BUSY_WAIT = Duration.ofMillis(250);
+    private static final int OUTPUT_BUFFER_SIZE = 8 * 1024;
+    private static final Gson GSON = new Gson();
+
+    private final Path socket;
+    private final RequestHandler handler;
+    private final String build;
+    private final ReentrantLock requestLock = new ReentrantLock();
+    private final CountDownLatch closedLatch = new CountDownLatch(1);
+    private ServerSocketChannel server;
+    private volatile boolean closed;
+
+    public DaemonServer(Path socket, RequestHandler handler) {
+        this(socket, handler, DaemonProtocol.currentBuild());
+    }
+
+    /**
+     * @param build the build clients must match, see {@link DaemonProtocol#currentBuild()}
+     */
+    DaemonServer(Path socket, RequestHandler handler, String build) {
+        this.socket = Objects.requireNonNull(socket, "Socket path cannot be null");
+        this.handler = Objects.requireNonNull(handler, "Request handler cannot be null");
+        this.build = build;
+    }
+
+    /**
+     * Binds the socket, replacing one left behind by a daemon that died, and starts accepting clients
+     *
+     * @throws IllegalStateException if another daemon is listening on the socket
+     */
+    public synchronized DaemonServer start() {
+        try {
+            Path parent = socket.toAbsolutePath().getParent();
+            if (parent != null && !Files.isDirectory(parent)) {
+                Files.createDirectories(parent);
+                setPermissions(parent, "rwx------");
+            }
+            removeStaleSocket();
+            server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+            server.bind(UnixDomainSocketAddress.of(socket));
+            setPermissions(socket, "rw-------");
+        } catch (IOException e) {
+            throw new RuntimeException("Could not open daemon socket " + socket, e);
+        }
+        Thread.ofPlatform().daemon().name("dev-shell-daemon").start(this::acceptClients);
+        CliLogger.info("dev-shell daemon listening on {}", socket);
+        return this;
+    }
+
+    public Path getSocket() {
+        return socket;
+    }
+
+    /**
+     * Blocks until the daemon is closed, by {@link #close()} or a client's stop request
+     */
+    public void awaitClosed() throws InterruptedException {
+        closedLatch.await();
+    }
+
+    /**
+     * Stops accepting clients and removes the socket; a request already running is left to finish
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (server != null) {
+                server.close();
+            }
+            Files.deleteIfExists(socket);
+        } catch (IOException e) {
+            CliLogger.debug("Failed to remove daemon socket {}: {}", socket, e.getMessage());
+        } finally {
+            closedLatch.countDown();
+        }
+    }
+
+    private void removeStaleSocket() throws IOException {
+        if (!Files.exists(socket, LinkOption.NOFOLLOW_LINKS)) {
+            return;
+        }
+        try (SocketChannel ignored = SocketChannel.open(UnixDomainSocketAddress.of(socket))) {
+            throw new IllegalStateException("A dev-shell daemon is already listening on " + socket);
+        } catch (IOException e) {
+            // Nobody answers: the daemon that made it is gone
+            Files.deleteIfExists(socket);
+        }
+    }
+
+    private void acceptClients() {
+        while (!closed) {
+            try {
+                SocketChannel client = server.accept();
+                Thread.ofVirtual().name("dev-shell-daemon-request").start(() -> serve(client));
+            } catch (ClosedChannelException e) {
+                break;
+            } catch (IOException e) {
+                if (!closed) {
+                    CliLogger.debug("Failed to accept daemon client: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serve(SocketChannel client) {
+        try (SocketChannel channel = client) {
+            DaemonProtocol.Frame first = DaemonProtocol.read(channel);
+            if (first == null || first.type() != DaemonProtocol.REQUEST) {
+                return;
+            }
+            DaemonProtocol.Request request = decode(first.payload());
+            if (request.version != DaemonProtocol.VERSION) {
+                runLocally(channel, "the daemon speaks protocol version " + DaemonProtocol.VERSION);
+                return;
+            }
+            switch (request.action) {
+                case DaemonProtocol.ACTION_PING -> DaemonProtocol.writeExit(channel, 0);
+                case DaemonProtocol.ACTION_STOP -> {
+                    DaemonProtocol.writeExit(channel, 0);
+                    close();
+                }
+                case DaemonProtocol.ACTION_RUN -> run(channel, request);
+                default -> runLocally(channel, "unknown action " + request.action);
+            }
+        } catch (IOException e) {
+            CliLogger.debug("Daemon request failed: {}", e.getMessage());
+        }
+    }
+
+    private void run(SocketChannel channel, DaemonProtocol.Request request) throws IOException {
+        if (!Objects.equals(build, request.build)) {
+            runLocally(channel, "the daemon runs a different build; it is stopping");
+            close();
+            return;
+        }
+        String reason = handler.runLocallyReason(request);
+        if (reason != null) {
+            runLocally(channel, reason);
+            return;
+        }
+        if (!acquireRequestLock()) {
+            runLocally(channel, "the daemon is busy with another command");
+            return;
+        }
+        try {
+            runHoldingLock(channel, request);
+        } finally {
+            requestLock.unlock();
+        }
+    }
+
+    private boolean acquireRequestLock() {
+        try {
+            return requestLock.tryLock(BUSY_WAIT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void runHoldingLock(SocketChannel channel, DaemonProtocol.Request request) throws IOException {
+        Object writeLock = new Object();
+        FrameOutputStream stdout = new FrameOutputStream(channel, DaemonProtocol.STDOUT, writeLock);
+        FrameOutputStream stderr = new FrameOutputStream(channel, DaemonProtocol.STDERR, writeLock);
+        PrintStream out = new PrintStream(stdout, true, StandardCharsets.UTF_8);
+        PrintStream err = new PrintStream(stderr, true, StandardCharsets.UTF_8);
+        RequestState state = new RequestState(Thread.currentThread());
+        Thread.ofVirtual().name("dev-shell-daemon-cancel").start(() -> watchForCancel(channel, state));
+
+        int exitCode;
+        try {
+            exitCode = runInClientDirectory(request, out, err, stdout, stderr, state);
+        } finally {
+            state.finished = true;
+            // A cancel that arrived as the command ended must not leak into the next request on this thread
+            Thread.interrupted();
+        }
+        out.flush();
+        err.flush();
+        synchronized (writeLock) {
+            writeUninterruptibly(() -> DaemonProtocol.writeExit(channel, exitCode));
+        }
+    }
+
+    private int runInClientDirectory(DaemonProtocol.Request request, PrintStream out, PrintStream err,
+                                     OutputStream stdout, OutputStream stderr, RequestState state) {
+        String previousDirectory = System.getProperty("user.dir");
+        try (RoutedOutputStream.Binding ignored = RoutedOutputStream.bind(stdout, stderr)) {
+            state.running = true;
+            if (request.cwd != null && Files.isDirectory(Path.of(request.cwd))) {
+                System.setProperty("user.dir", request.cwd);
+            }
+            return handler.handle(request, out, err);
+        } catch (Exception e) {
+            CliLogger.debug("Daemon command failed: {}", String.join(" ", request.argv), e);
+            err.println("dev-shell: " + e.getMessage());
+            return 1;
+        } finally {
+            state.running = false;
+            System.setProperty("user.dir", previousDirectory);
+        }
+    }
+
+    /**
+     * Turns a cancel frame, or the client going away, into Ctrl-C for the running command
+     */
+    private void watchForCancel(SocketChannel channel, RequestState state) {
+        try {
+            DaemonProtocol.Frame frame;
+            do {
+                frame = DaemonProtocol.read(channel);
+                if (frame == null || frame.type() == DaemonProtocol.CANCEL) {
+                    cancel(state);
+                }
+            } while (frame != null);
+        } catch (IOException e) {
+            // The request finished and closed the channel, or the client vanished
+            cancel(state);
+        }
+    }
+
+    private void cancel(RequestState state) {
+        if (state.finished) {
+            return;
+        }
+        // Only a running command owns the innermost scope; one not started yet is simply interrupted
+        if (!state.running || !InterruptScope.interruptCurrent()) {
+            state.worker.interrupt();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Write {
+        void run() throws IOException;
+    }
+
+    /**
+     * Writing to a socket channel from an interrupted thread closes the channel. Cancelling a command interrupts
+     * its thread, and the interrupt may land after the command finished, so keep it away from the client's socket.
+     */
+    private static void writeUninterruptibly(Write write) throws IOException {
+        boolean interrupted = Thread.interrupted();
+        try {
+            write.run();
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void runLocally(SocketChannel channel, String reason) throws IOException {
+        DaemonProtocol.write(channel, DaemonProtocol.RUN_LOCALLY, reason.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static DaemonProtocol.Request decode(byte[] payload) throws IOException {
+        try {
+            DaemonProtocol.Request request = GSON.fromJson(new String(payload, StandardCharsets.UTF_8),
+                    DaemonProtocol.Request.class);
+            if (request == null) {
+                throw new IOException("Empty request");
+            }
+            if (request.action == null) {
+                request.action = DaemonProtocol.ACTION_RUN;
+            }
+            if (request.argv == null) {
+                request.argv = List.of();
+            }
+            if (request.env == null) {
+                request.env = Map.of();
+            }
+            return request;
+        } catch (RuntimeException e) {
+            throw new IOException("Malformed request: " + e.getMessage(), e);
+        }
+    }
+
+    private static void setPermissions(Path path, String permissions) throws IOException {
+        try {
+            Files.setPosixFilePermissions(path, PosixFilePermissions.fromString(permissions));
+        } catch (UnsupportedOperationException e) {
+            CliLogger.debug("Cannot restrict permissions of {} on this file system", path);
+        }
+    }
+
+    private static final class RequestState {
+        final Thread worker;
+        volatile boolean running;
+        volatile boolean finished;
+
+        RequestState(Thread worker) {
+            this.worker = worker;
+        }
+    }
+
+    /**
+     * Buffers output and sends it as frames of one type, when flushed or full
+     */
+    private static final class FrameOutputStream extends OutputStream {
+
+        private final SocketChannel channel;
+        private final byte type;
+        private final Object writeLock;
+        private final byte[] buffer = new byte[OUTPUT_BUFFER_SIZE];
+        private int count;
+        private boolean broken;
+
+        FrameOutputStream(SocketChannel channel, byte type, Object writeLock) {
+            this.channel = channel;
+            this.type = type;
+            this.writeLock = writeLock;
+        }
+
+        @Override
+        public synchronized void write(int b) {
+            if (count == buffer.length) {
+                flushBuffer();
+            }
+            buffer[count++] = (byte) b;
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            if (len >= buffer.length) {
+                flushBuffer();
+                send(b, off, len);
+                return;
+            }
+            if (len > buffer.length - count) {
+                flushBuffer();
+            }
+            System.arraycopy(b, off, buffer, count, len);
+            count += len;
+        }
+
+        @Override
+        public synchronized void flush() {
+            flushBuffer();
+        }
+
+        private void flushBuffer() {
+            if (count > 0) {
+                send(buffer, 0, count);
+                count = 0;
+            }
+        }
+
+        private void send(byte[] bytes, int offset, int length) {
+            if (broken) {
+                return;
+            }
+            synchronized (writeLock) {
+                try {
+                    writeUninterruptibly(() -> DaemonProtocol.write(channel, type, bytes, offset, length));
+                } catch (IOException e) {
+                    // The client is gone and the command is being cancelled; its remaining output has nowhere to go
+                    broken = true;
+                }
+            }
+        }
+    }
+}
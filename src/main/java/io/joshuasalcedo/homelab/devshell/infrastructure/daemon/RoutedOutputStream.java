@@ -0,0 +1,92 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.daemon;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * An output stream that writes to whatever the current thread was bound to, or to the process's own stream.
+ * <p>
+ * The daemon installs these as {@link System#out} and {@link System#err} before anything captures them,
+ * then binds each request's thread to its client's socket. The binding is inherited by threads the request
+ * starts, such as the ones pumping a pass-through command's output, so their output reaches the same client.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+public final class RoutedOutputStream extends OutputStream {
+
+    private static RoutedOutputStream stdout;
+    private static RoutedOutputStream stderr;
+
+    private final OutputStream fallback;
+    private final InheritableThreadLocal<OutputStream> target = new InheritableThreadLocal<>();
+
+    private RoutedOutputStream(OutputStream fallback) {
+        this.fallback = fallback;
+    }
+
+    /**
+     * Replaces {@link System#out} and {@link System#err} with routed streams; later calls do nothing
+     */
+    public static synchronized void installOnSystemStreams() {
+        if (stdout != null) {
+            return;
+        }
+        stdout = new RoutedOutputStream(new FileOutputStream(FileDescriptor.out));
+        stderr = new RoutedOutputStream(new FileOutputStream(FileDescriptor.err));
+        System.setOut(new PrintStream(stdout, true, StandardCharsets.UTF_8));
+        System.setErr(new PrintStream(stderr, true, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Sends the current thread's standard output and error to the given streams until the binding is closed.
+     * Without {@link #installOnSystemStreams()} this does nothing.
+     */
+    public static synchronized Binding bind(OutputStream out, OutputStream err) {
+        RoutedOutputStream routedOut = stdout;
+        RoutedOutputStream routedErr = stderr;
+        if (routedOut == null) {
+            return () -> { };
+        }
+        routedOut.target.set(out);
+        routedErr.target.set(err);
+        return () -> {
+            routedOut.target.remove();
+            routedErr.target.remove();
+        };
+    }
+
+    /**
+     * Undoes a {@link #bind(OutputStream, OutputStream)}
+     */
+    @FunctionalInterface
+    public interface Binding extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private OutputStream current() {
+        OutputStream bound = target.get();
+        return bound != null ? bound : fallback;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        current().write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        current().write(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        current().flush();
+    }
+}
@@ -8,10 +8,13 @@ import io.joshuasalcedo.homelab.devshell.domain.repository.GitRepository;
 import io.joshuasalcedo.homelab.devshell.domain.value.BranchName;
 import io.joshuasalcedo.homelab.devshell.domain.value.CommitMessage;
 import io.joshuasalcedo.homelab.devshell.domain.value.Author;
+import org.eclipse.jgit.api.AddCommand;
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.Status;
 import org.eclipse.jgit.api.errors.GitAPIException;
 import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.EmptyProgressMonitor;
+import org.eclipse.jgit.lib.ProgressMonitor;
 import org.eclipse.jgit.lib.Ref;
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.revwalk.RevCommit;
@@ -27,11 +30,16 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
  * JGit implementation of the GitRepository interface.
  * This adapter translates domain operations into JGit API calls.
+ * Operations honour the {@link CancellationToken} bound to the calling thread: long JGit calls
+ * get a cancellable progress monitor and walks are checked per entry. Each write is one JGit call
+ * made after the last check, so a cancelled operation never leaves a half-staged index; a merge
+ * cancelled after its checkout stays on the target branch with nothing merged.
  *
  * @author JoshuaSalcedo
  * @created 7/22/2025
@@ -130,26 +138,35 @@ public class JGitRepositoryAdapter implements GitRepository {
 
     @Override
     public WorkingDirectory getWorkingDirectoryStatus(io.joshuasalcedo.homelab.devshell.domain.model.Repository repository) {
+        CancellationToken token = CancellationToken.current();
+        token.throwIfCancelled("git status");
         try (Git git = openGit(repository.getRootPath())) {
-            Status status = git.status().call();
+            Status status = git.status().setProgressMonitor(progressMonitor(token)).call();
+            // The walk may stop early when cancelled; never return a partial status
+            token.throwIfCancelled("git status");
 
-            List<String> stagedFiles = new ArrayList<>(status.getAdded());
-            stagedFiles.addAll(status.getChanged());
-            stagedFiles.addAll(status.getRemoved());
+            Map<String, WorkingDirectory.Change> stagedChanges = new LinkedHashMap<>();
+            status.getAdded().forEach(file -> stagedChanges.put(file, WorkingDirectory.Change.ADDED));
+            status.getChanged().forEach(file -> stagedChanges.put(file, WorkingDirectory.Change.MODIFIED));
+            status.getRemoved().forEach(file -> stagedChanges.put(file, WorkingDirectory.Change.DELETED));
 
-            List<String> unstagedFiles = new ArrayList<>(status.getModified());
-            unstagedFiles.addAll(status.getMissing());
+            Map<String, WorkingDirectory.Change> unstagedChanges = new LinkedHashMap<>();
+            status.getModified().forEach(file -> unstagedChanges.put(file, WorkingDirectory.Change.MODIFIED));
+            status.getMissing().forEach(file -> unstagedChanges.put(file, WorkingDirectory.Change.DELETED));
 
             List<String> untrackedFiles = new ArrayList<>(status.getUntracked());
 
             // Debug logging
-            CliLogger.debug("Git Status - Added: {}, Changed: {}, Removed: {}, Modified: {}, Missing: {}, Untracked: {}", 
-                status.getAdded().size(), status.getChanged().size(), status.getRemoved().size(),
-                status.getModified().size(), status.getMissing().size(), status.getUntracked().size());
+            if (CliLogger.isEnabled(CliLogger.Level.DEBUG)) {
+                CliLogger.debug("Git Status - Added: {}, Changed: {}, Removed: {}, Modified: {}, Missing: {}, Untracked: {}",
+                    status.getAdded().size(), status.getChanged().size(), status.getRemoved().size(),
+                    status.getModified().size(), status.getMissing().size(), status.getUntracked().size());
+            }
 
-            return WorkingDirectory.withChanges(stagedFiles, unstagedFiles, untrackedFiles);
+            return WorkingDirectory.withChanges(stagedChanges, unstagedChanges, untrackedFiles);
 
         } catch (GitAPIException | IOException e) {
+            rethrowIfCancelled(token, "git status", e);
             CliLogger.error("Failed to get working directory status: {}", e.getMessage());
             throw new RuntimeException("Failed to get repository status", e);
         }
@@ -192,150 +209,186 @@ public class JGitRepositoryAdapter implements GitRepository {
 
     @Override
     public Branch createBranch(io.joshuasalcedo.homelab.devshell.domain.model.Repository repository, BranchName branchName) {
-        try (Git git = openGit(repository.getRootPath())) {
-            Ref ref = git.branchCreate()
-                .setName(branchName.getValue())
-                .call();
-
-            String commitHash = ref.getObjectId().getName();
-            return Branch.temporary(branchName.getValue(), commitHash);
-
-        } catch (GitAPIException | IOException e) {
-            CliLogger.error("Failed to create branch {}: {}", branchName, e.getMessage());
-            throw new RuntimeException("Failed to create branch: " + branchName, e);
-        }
+        return withExclusiveAccess(repository, () -> {
+            try (Git git = openGit(repository.getRootPath())) {
+                Ref ref = git.branchCreate()
+                    .setName(branchName.getValue())
+                    .call();
+
+                String commitHash = ref.getObjectId().getName();
+                return Branch.temporary(branchName.getValue(), commitHash);
+
+            } catch (GitAPIException | IOException e) {
+                CliLogger.error("Failed to create branch {}: {}", branchName, e.getMessage());
+                throw new RuntimeException("Failed to create branch: " + branchName, e);
+            }
+        });
     }
 
     @Override
     public void switchToBranch(io.joshuasalcedo.homelab.devshell.domain.model.Repository repository, Branch branch) {
-        try (Git git = openGit(repository.getRootPath())) {
-            git.checkout()
-                .setName(branch.getName())
-                .call();
-
-            CliLogger.debug("Switched to branch: {}", branch.getName());
-
-        } catch (GitAPIException | IOException e) {
-            CliLogger.error("Failed to switch to branch {}: {}", branch.getName(), e.getMessage());
-            throw new RuntimeException("Failed to switch to branch: " + branch.getName(), e);
-        }
+        exclusive(repository, () -> {
+            CancellationToken token = CancellationToken.current();
+            token.throwIfCancelled("git checkout " + branch.getName());
+            try (Git git = openGit(repository.getRootPath())) {
+                git.checkout()
+                    .setName(branch.getName())
+                    .setProgressMonitor(progressMonitor(token))
+                    .call();
+
+                CliLogger.debug("Switched to branch: {}", branch.getName());
+
+            } catch (GitAPIException | IOException e) {
+                rethrowIfCancelled(token, "git checkout " + branch.getName(), e);
+                CliLogger.error("Failed to switch to branch {}: {}", branch.getName(), e.getMessage());
+                throw new RuntimeException("Failed to switch to branch: " + branch.getName(), e);
+            }
+        });
     }
 
     @Override
     public void deleteBranch(io.joshuasalcedo.homelab.devshell.domain.model.Repository repository, Branch branch) {
-        try (Git git = openGit(repository.getRootPath())) {
-            git.branchDelete()
-                .setBranchNames(branch.getName())
-                .setForce(true)
-                .call();
-
-            CliLogger.debug("Deleted branch: {}", branch.getName());
-
-        } catch (GitAPIException | IOException e) {
-            CliLogger.error("Failed to delete branch {}: {}", branch.getName(), e.getMessage());
-            throw new RuntimeException("Failed to delete branch: " + branch.getName(), e);
-        }
+        exclusive(repository, () -> {
+            try (Git git = openGit(repository.getRootPath())) {
+                git.branchDelete()
+                    .setBranchNames(branch.getName())
+                    .setForce(true)
+                    .call();
+
+                CliLogger.debug("Deleted branch: {}", branch.getName());
+
+            } catch (GitAPIException | IOException e) {
+                CliLogger.error("Failed to delete branch {}: {}", branch.getName(), e.getMessage());
+                throw new RuntimeException("Failed to delete branch: " + branch.getName(), e);
+            }
+        });
     }
 
     @Override
     public void stageTrackedFiles(io.joshuasalcedo.homelab.devshell.domain.model.Repository repository) {
-        try (Git git = openGit(repository.getRootPath())) {
-            Status status = git.status().call();
-
-            // Stage modified and deleted files (tracked files only)
-            for (String modified : status.getModified()) {
-                git.add().addFilepattern(modified).call();
-            }
+        exclusive(repository, () -> {
+            CancellationToken token = CancellationToken.current();
+            token.throwIfCancelled("git add");
+            try (Git git = openGit(repository.getRootPath())) {
+                Status status = git.status().setProgressMonitor(progressMonitor(token)).call();
+                if (status.getModified().isEmpty() && status.getMissing().isEmpty()) {
+                    return;
+                }
+                token.throwIfCancelled("git add");
 
-            for (String missing : status.getMissing()) {
-                git.rm().addFilepattern(missing).call();
-            }
+                // Stage modified and deleted files (tracked files only) in one index write, like 'git add -u'
+                AddCommand add = git.add().setUpdate(true);
+                status.getModified().forEach(add::addFilepattern);
+                status.getMissing().forEach(add::addFilepattern);
+                add.call();
 
-            CliLogger.debug("Staged all tracked files");
+                CliLogger.debug("Staged all tracked files");
 
-        } catch (GitAPIException | IOException e) {
-            CliLogger.error("Failed to stage tracked files: {}", e.getMessage());
-            throw new RuntimeException("Failed to stage tracked files", e);
-        }
+            } catch (GitAPIException | IOException e) {
+                rethrowIfCancelled(token, "git add", e);
+                CliLogger.error("Failed to stage tracked files: {}", e.getMessage());
+                throw new RuntimeException("Failed to stage tracked files", e);
+            }
+        });
     }
 
     @Override
     public void stageFiles(io.joshuasalcedo.homelab.devshell.domain.model.Repository repository, List<String> files) {
-        try (Git git = openGit(repository.getRootPath())) {
-            for (String file : files) {
-                git.add().addFilepattern(file).call();
+        exclusive(repository, () -> {
+            CancellationToken token = CancellationToken.current();
+            if (files.isEmpty()) {
+                return;
             }
-
-            CliLogger.debug("Staged {} files", files.size());
-
-        } catch (GitAPIException | IOException e) {
-            CliLogger.error("Failed to stage files: {}", e.getMessage());
-            throw new RuntimeException("Failed to stage files", e);
-        }
+            token.throwIfCancelled("git add");
+            try (Git git = openGit(repository.getRootPath())) {
+                // One index write for all files, instead of rewriting the index per path
+                AddCommand add = git.add();
+                files.forEach(add::addFilepattern);
+                add.call();
+
+                CliLogger.debug("Staged {} files", files.size());
+
+            } catch (GitAPIException | IOException e) {
+                CliLogger.error("Failed to stage files: {}", e.getMessage());
+                throw new RuntimeException("Failed to stage files", e);
+            }
+        });
     }
 
     @Override
     public Commit createCommit(io.joshuasalcedo.homelab.devshell.domain.model.Repository repository, 
                               CommitMessage message, String branchName) {
-        try (Git git = openGit(repository.getRootPath())) {
-            String authorString = getConfiguredAuthor(repository);
-            Author author = Author.fromGitFormat(authorString);
+        return withExclusiveAccess(repository, () -> {
+            CancellationToken.current().throwIfCancelled("git commit");
+            try (Git git = openGit(repository.getRootPath())) {
+                String authorString = getConfiguredAuthor(repository);
+                Author author = Author.fromGitFormat(authorString);
 
-            RevCommit jgitCommit = git.commit()
-                .setMessage(message.getValue())
-                .setAuthor(author.getName(), author.getEmail())
-                .call();
+                RevCommit jgitCommit = git.commit()
+                    .setMessage(message.getValue())
+                    .setAuthor(author.getName(), author.getEmail())
+                    .call();
 
-            LocalDateTime timestamp = LocalDateTime.ofInstant(
-                Instant.ofEpochSecond(jgitCommit.getCommitTime()), 
-                ZoneId.systemDefault()
-            );
-
-            // Get the list of changed files from the current status
-            Status status = git.status().call();
-            List<String> changedFiles = new ArrayList<>(status.getAdded());
-            changedFiles.addAll(status.getChanged());
-            changedFiles.addAll(status.getRemoved());
-
-            return Commit.fromHistory(
-                jgitCommit.getId().getName(),
-                message,
-                author.toGitFormat(),
-                timestamp,
-                changedFiles,
-                branchName
-            );
+                LocalDateTime timestamp = LocalDateTime.ofInstant(
+                    Instant.ofEpochSecond(jgitCommit.getCommitTime()), 
+                    ZoneId.systemDefault()
+                );
 
-        } catch (GitAPIException | IOException e) {
-            CliLogger.error("Failed to create commit: {}", e.getMessage());
-            throw new RuntimeException("Failed to create commit", e);
-        }
+                // Get the list of changed files from the current status
+                Status status = git.status().call();
+                List<String> changedFiles = new ArrayList<>(status.getAdded());
+                changedFiles.addAll(status.getChanged());
+                changedFiles.addAll(status.getRemoved());
+
+                return Commit.fromHistory(
+                    jgitCommit.getId().getName(),
+                    message,
+                    author.toGitFormat(),
+                    timestamp,
+                    changedFiles,
+                    branchName
+                );
+
+            } catch (GitAPIException | IOException e) {
+                CliLogger.error("Failed to create commit: {}", e.getMessage());
+                throw new RuntimeException("Failed to create commit", e);
+            }
+        });
     }
 
     @Override
     public void mergeBranch(io.joshuasalcedo.homelab.devshell.domain.model.Repository repository, 
                            Branch sourceBranch, Branch targetBranch) {
-        try (Git git = openGit(repository.getRootPath())) {
-            // Ensure we're on the target branch
-            git.checkout().setName(targetBranch.getName()).call();
-
-            // Merge source branch into target
-            git.merge()
-                .include(git.getRepository().resolve(sourceBranch.getName()))
-                .setMessage("Merge branch '" + sourceBranch.getName() + "' into " + targetBranch.getName())
-                .call();
-
-            CliLogger.debug("Merged branch {} into {}", sourceBranch.getName(), targetBranch.getName());
-
-        } catch (GitAPIException | IOException e) {
-            CliLogger.error("Failed to merge branch {} into {}: {}", 
-                sourceBranch.getName(), targetBranch.getName(), e.getMessage());
-            throw new RuntimeException("Failed to merge branches", e);
-        }
+        exclusive(repository, () -> {
+            CancellationToken token = CancellationToken.current();
+            token.throwIfCancelled("git merge " + sourceBranch.getName());
+            try (Git git = openGit(repository.getRootPath())) {
+                // Ensure we're on the target branch
+                git.checkout().setName(targetBranch.getName()).setProgressMonitor(progressMonitor(token)).call();
+                token.throwIfCancelled("git merge " + sourceBranch.getName());
+
+                // Merge source branch into target
+                git.merge()
+                    .include(git.getRepository().resolve(sourceBranch.getName()))
+                    .setMessage("Merge branch '" + sourceBranch.getName() + "' into " + targetBranch.getName())
+                    .setProgressMonitor(progressMonitor(token))
+                    .call();
+
+                CliLogger.debug("Merged branch {} into {}", sourceBranch.getName(), targetBranch.getName());
+
+            } catch (GitAPIException | IOException e) {
+                rethrowIfCancelled(token, "git merge " + sourceBranch.getName(), e);
+                CliLogger.error("Failed to merge branch {} into {}: {}", 
+                    sourceBranch.getName(), targetBranch.getName(), e.getMessage());
+                throw new RuntimeException("Failed to merge branches", e);
+            }
+        });
     }
 
     @Override
     public void pushBranch(io.joshuasalcedo.homelab.devshell.domain.model.Repository repository, Branch branch) {
+        CancellationToken token = CancellationToken.current();
+        token.throwIfCancelled("git push " + branch.getName());
         try (Git git = openGit(repository.getRootPath())) {
             // Check if the branch exists locally
             List<Ref> branches = git.branchList().call();
@@ -352,11 +405,13 @@ public class JGitRepositoryAdapter implements GitRepository {
             git.push()
                 .setRemote("origin")
                 .add(branch.getName())
+                .setProgressMonitor(progressMonitor(token))
                 .call();
 
             CliLogger.debug("Pushed branch {} to origin", branch.getName());
 
         } catch (org.eclipse.jgit.api.errors.TransportException e) {
+            rethrowIfCancelled(token, "git push " + branch.getName(), e);
             if (e.getMessage().contains("Authentication is required") || e.getMessage().contains("CredentialsProvider")) {
                 CliLogger.error("Push failed due to authentication: {}", e.getMessage());
                 throw new RuntimeException("Push failed: Git credentials not configured. " +
@@ -367,6 +422,7 @@ public class JGitRepositoryAdapter implements GitRepository {
                 throw new RuntimeException("Push failed: " + e.getMessage(), e);
             }
         } catch (GitAPIException | IOException e) {
+            rethrowIfCancelled(token, "git push " + branch.getName(), e);
             CliLogger.error("Failed to push branch {}: {}", branch.getName(), e.getMessage());
             throw new RuntimeException("Failed to push branch: " + branch.getName() + ". " + e.getMessage(), e);
         }
@@ -374,12 +430,15 @@ public class JGitRepositoryAdapter implements GitRepository {
 
     @Override
     public List<Commit> getCommitHistory(io.joshuasalcedo.homelab.devshell.domain.model.Repository repository, int maxCount) {
+        CancellationToken token = CancellationToken.current();
         try (Git git = openGit(repository.getRootPath())) {
             List<Commit> commits = new ArrayList<>();
+            String branchName = git.getRepository().getBranch();
 
             Iterable<RevCommit> jgitCommits = git.log().setMaxCount(maxCount).call();
 
             for (RevCommit jgitCommit : jgitCommits) {
+                token.throwIfCancelled("git log");
                 LocalDateTime timestamp = LocalDateTime.ofInstant(
                     Instant.ofEpochSecond(jgitCommit.getCommitTime()), 
                     ZoneId.systemDefault()
@@ -395,7 +454,7 @@ public class JGitRepositoryAdapter implements GitRepository {
                     authorString,
                     timestamp,
                     List.of(), // File list would require additional API calls
-                    git.getRepository().getBranch()
+                    branchName
                 ));
             }
 
@@ -449,6 +508,39 @@ public class JGitRepositoryAdapter implements GitRepository {
         return getRemotes(repository).contains(remoteName);
     }
 
+    /**
+     * Holds the repository's write lock, shared with every other adapter and dev-shell process using it
+     */
+    @Override
+    public <T> T withExclusiveAccess(io.joshuasalcedo.homelab.devshell.domain.model.Repository repository,
+                                     Supplier<T> action) {
+        return RepositoryLock.of(repository.getRootPath()).hold(action);
+    }
+
+    private void exclusive(io.joshuasalcedo.homelab.devshell.domain.model.Repository repository, Runnable action) {
+        withExclusiveAccess(repository, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private ProgressMonitor progressMonitor(CancellationToken token) {
+        return new EmptyProgressMonitor() {
+            @Override
+            public boolean isCancelled() {
+                return token.isCancelled();
+            }
+        };
+    }
+
+    private void rethrowIfCancelled(CancellationToken token, String operation, Exception e) {
+        // JGit reports a cancelled monitor as CanceledException or CancelledException depending on the command
+        if (token.isCancelled()) {
+            CliLogger.debug("{} cancelled: {}", operation, e.getMessage());
+            throw new DomainExceptions.OperationCancelledException(operation, e);
+        }
+    }
+
     private Git openGit(Path repositoryPath) throws IOException {
         File gitDir = repositoryPath.resolve(".git").toFile();
         Repository jgitRepo = new FileRepositoryBuilder()
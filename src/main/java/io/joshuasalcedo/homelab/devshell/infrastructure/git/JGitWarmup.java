@@ -0,0 +1,79 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.git;
+
+import io.joshuasalcedo.homelab.devshell.utils.CliLogger;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads and initializes the JGit classes the prompt and the git commands need, on a background thread.
+ * JGit is a few thousand classes; loading them while Spring is still starting takes that work off the first
+ * prompt and the first git command. Nothing here writes to the repository.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+public final class JGitWarmup {
+
+    /**
+     * Classes behind status, staging and commits that opening a repository alone does not load
+     */
+    private static final List<String> CLASSES = List.of(
+            "org.eclipse.jgit.api.Git",
+            "org.eclipse.jgit.api.StatusCommand",
+            "org.eclipse.jgit.api.AddCommand",
+            "org.eclipse.jgit.api.CommitCommand",
+            "org.eclipse.jgit.api.LogCommand",
+            "org.eclipse.jgit.api.ListBranchCommand",
+            "org.eclipse.jgit.lib.IndexDiff",
+            "org.eclipse.jgit.dircache.DirCache",
+            "org.eclipse.jgit.treewalk.FileTreeIterator",
+            "org.eclipse.jgit.treewalk.filter.PathFilterGroup",
+            "org.eclipse.jgit.internal.storage.file.ObjectDirectory",
+            "org.eclipse.jgit.internal.storage.file.RefDirectory");
+
+    private JGitWarmup() {
+    }
+
+    /**
+     * Starts the warmup on a daemon thread
+     *
+     * @param directory where the shell starts; its repository, if any, is opened and HEAD read
+     */
+    public static Thread start(File directory) {
+        return Thread.ofPlatform().name("jgit-warmup").daemon().priority(Thread.MIN_PRIORITY)
+                .start(() -> run(directory));
+    }
+
+    static void run(File directory) {
+        long start = System.nanoTime();
+        ClassLoader loader = JGitWarmup.class.getClassLoader();
+        for (String name : CLASSES) {
+            try {
+                Class.forName(name, true, loader);
+            } catch (ClassNotFoundException | LinkageError e) {
+                CliLogger.debug("JGit warmup skipped {}: {}", name, e.getMessage());
+            }
+        }
+
+        FileRepositoryBuilder builder = new FileRepositoryBuilder().readEnvironment().findGitDir(directory);
+        if (builder.getGitDir() != null) {
+            try (Repository repository = builder.build(); RevWalk walk = new RevWalk(repository)) {
+                repository.getBranch();
+                ObjectId head = repository.resolve("HEAD");
+                if (head != null) {
+                    walk.parseCommit(head);
+                }
+            } catch (Exception e) {
+                CliLogger.debug("JGit warmup could not read {}: {}", builder.getGitDir(), e.getMessage());
+            }
+        }
+        CliLogger.debug("JGit warmup took {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+}
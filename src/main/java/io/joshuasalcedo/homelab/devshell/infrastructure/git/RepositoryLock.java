@@ -0,0 +1,131 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.git;
+
+import io.joshuasalcedo.homelab.devshell.domain.exception.DomainExceptions;
+import io.joshuasalcedo.homelab.devshell.domain.model.CancellationToken;
+import io.joshuasalcedo.homelab.devshell.utils.CliLogger;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serializes writes to one repository across threads and dev-shell processes: an in-JVM lock per repository plus
+ * an exclusive lock on {@code .git/dev-shell-lock}. It is re-entrant, and only the outermost holder takes the file
+ * lock, so a smart commit can hold it across its steps while each step takes it again.
+ * <p>
+ * JGit's own {@code index.lock} and ref locks only make single writes atomic: a second writer fails instead of
+ * waiting, and nothing stops it from committing onto a branch another smart commit has checked out.
+ * <p>
+ * Waiting for either lock polls the {@link CancellationToken} bound to the calling thread, so Ctrl-C gets back to
+ * the prompt while another pane's smart commit holds the repository.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+final class RepositoryLock {
+
+    static final String LOCK_FILE = "dev-shell-lock";
+
+    /** How often a waiter checks for cancellation, and the longest pause between attempts on the file lock */
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(50);
+    private static final String WAITING = "waiting for the repository lock";
+
+    /**
+     * A file lock belongs to the whole JVM, so adapters sharing a repository must also share the in-JVM lock
+     */
+    private static final Map<Path, RepositoryLock> LOCKS = new ConcurrentHashMap<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Path gitDir;
+    private FileChannel channel;
+
+    private RepositoryLock(Path gitDir) {
+        this.gitDir = gitDir;
+    }
+
+    static RepositoryLock of(Path repositoryPath) {
+        return LOCKS.computeIfAbsent(repositoryPath.toAbsolutePath().normalize(),
+                root -> new RepositoryLock(root.resolve(".git")));
+    }
+
+    <T> T hold(Supplier<T> action) {
+        CancellationToken token = CancellationToken.current();
+        lock(token);
+        try {
+            if (lock.getHoldCount() == 1) {
+                lockFile(token);
+            }
+            return action.get();
+        } finally {
+            if (lock.getHoldCount() == 1) {
+                unlockFile();
+            }
+            lock.unlock();
+        }
+    }
+
+    boolean isHeldByCurrentThread() {
+        return lock.isHeldByCurrentThread();
+    }
+
+    private void lock(CancellationToken token) {
+        try {
+            while (!lock.tryLock(POLL_INTERVAL.toNanos(), TimeUnit.NANOSECONDS)) {
+                token.throwIfCancelled(WAITING);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DomainExceptions.OperationCancelledException(WAITING, e);
+        }
+    }
+
+    /**
+     * Polls for the file lock with a growing pause, since a blocking {@link FileChannel#lock()} cannot be cancelled
+     */
+    private void lockFile(CancellationToken token) {
+        // A worktree's or submodule's .git is a file pointing elsewhere; those are only locked within this JVM
+        if (!Files.isDirectory(gitDir)) {
+            return;
+        }
+        try {
+            channel = FileChannel.open(gitDir.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            long pauseMillis = 1;
+            while (channel.tryLock() == null) {
+                token.throwIfCancelled(WAITING);
+                Thread.sleep(pauseMillis);
+                pauseMillis = Math.min(pauseMillis * 2, POLL_INTERVAL.toMillis());
+            }
+        } catch (IOException e) {
+            unlockFile();
+            CliLogger.error("Failed to lock repository {}: {}", gitDir.getParent(), e.getMessage());
+            throw new RuntimeException("Failed to lock repository: " + gitDir.getParent(), e);
+        } catch (InterruptedException e) {
+            unlockFile();
+            Thread.currentThread().interrupt();
+            throw new DomainExceptions.OperationCancelledException(WAITING, e);
+        }
+    }
+
+    private void unlockFile() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            // Closing the channel releases its lock
+            channel.close();
+        } catch (IOException e) {
+            CliLogger.debug("Failed to release repository lock {}: {}", gitDir, e.getMessage());
+        } finally {
+            channel = null;
+        }
+    }
+}
@@ -0,0 +1,386 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.git;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.ResetCommand;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.internal.storage.file.ObjectDirectory;
+import org.eclipse.jgit.internal.storage.file.PackInserter;
+import org.eclipse.jgit.lib.BatchRefUpdate;
+import org.eclipse.jgit.lib.CommitBuilder;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.NullProgressMonitor;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectInserter;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.RefUpdate;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.lib.StoredConfig;
+import org.eclipse.jgit.lib.TreeFormatter;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.transport.ReceiveCommand;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+
+/**
+ * Generates reproducible git repositories for benchmarks and load tests: the same {@link Spec} always produces
+ * the same files, commits and branches, down to the object ids.
+ * <p>
+ * Objects are written straight into packs through a batched {@link PackInserter}, without a working tree or an
+ * index, and each commit only rebuilds the trees on the paths it changed. A repository with a hundred thousand
+ * commits is written in seconds rather than the hours that {@code git add}/{@code git commit} would take. The
+ * working tree is checked out once at the end, when asked for.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+public final class SyntheticRepositoryGenerator {
+
+    public static final String BRANCH = "main";
+    public static final String BRANCH_PREFIX = "branch-";
+
+    /**
+     * Objects written before the pack is flushed and a new one started
+     */
+    private static final int BATCH_OBJECTS = 200_000;
+    private static final Instant EPOCH = Instant.parse("2026-01-01T00:00:00Z");
+    private static final String[] WORDS = {
+            "public", "static", "final", "return", "value", "count", "index", "result", "buffer", "repository",
+            "commit", "branch", "status", "shell", "command", "process", "stream", "config", "list", "map"};
+
+    /**
+     * How file sizes spread around {@link Spec#fileSize()}
+     */
+    public enum SizeDistribution {
+        /** Every file has the same size */
+        FIXED,
+        /** Anywhere from one byte to twice the size */
+        UNIFORM,
+        /** Mostly small files with a long tail of large ones, like real source trees */
+        LOG_NORMAL;
+
+        public static SizeDistribution parse(String name) {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        }
+
+        int sample(SplittableRandom random, int size) {
+            return switch (this) {
+                case FIXED -> size;
+                case UNIFORM -> size == 0 ? 0 : 1 + random.nextInt(2 * size);
+                case LOG_NORMAL -> (int) Math.min(64L * size, Math.round(size * Math.exp(gaussian(random))));
+            };
+        }
+    }
+
+    /**
+     * What to generate
+     *
+     * @param seed           the same seed gives the same repository
+     * @param files          files in the first commit
+     * @param depth          directories above each file
+     * @param fanOut         subdirectories per directory
+     * @param fileSize       typical file size in bytes
+     * @param sizes          how sizes spread around {@code fileSize}
+     * @param commits        commits on {@value #BRANCH}, including the first one that adds every file
+     * @param filesPerCommit files changed by each later commit
+     * @param branches       branches besides {@value #BRANCH}, each at a random commit of its history
+     * @param binaryRatio    fraction of files with random bytes instead of text
+     */
+    public record Spec(long seed, int files, int depth, int fanOut, int fileSize, SizeDistribution sizes,
+                       int commits, int filesPerCommit, int branches, double binaryRatio) {
+
+        public Spec {
+            if (files < 1 || depth < 0 || fanOut < 1 || fileSize < 0 || commits < 1 || filesPerCommit < 1
+                    || branches < 0 || binaryRatio < 0 || binaryRatio > 1 || sizes == null) {
+                throw new IllegalArgumentException("Invalid repository spec: " + this);
+            }
+        }
+
+        /**
+         * A small source-like repository: three levels of eight directories, 1 KiB log-normal files,
+         * 100 commits of 5 files each and 10 branches
+         */
+        public static Spec defaults(long seed, int files) {
+            return new Spec(seed, files, 3, 8, 1024, SizeDistribution.LOG_NORMAL, 100, 5, 10, 0.0);
+        }
+
+        /**
+         * Path of a generated file, relative to the repository
+         */
+        public String path(int index) {
+            SplittableRandom random = random(seed, index, -1);
+            StringBuilder path = new StringBuilder();
+            for (int level = 0; level < depth; level++) {
+                path.append("dir-").append(random.nextInt(fanOut)).append('/');
+            }
+            return path.append("file-").append(index).append(binary(index) ? ".bin" : ".txt").toString();
+        }
+
+        boolean binary(int index) {
+            return binaryRatio > 0 && random(seed, index, -2).nextDouble() < binaryRatio;
+        }
+    }
+
+    /**
+     * What was generated
+     */
+    public record Result(Path directory, ObjectId head, int files, int commits, int branches, long objects,
+                         long contentBytes, Duration elapsed) {
+    }
+
+    private SyntheticRepositoryGenerator() {
+    }
+
+    /**
+     * Generates a repository into an empty or missing directory
+     *
+     * @param checkout also write the working tree and index of {@value #BRANCH}; without it only
+     *                 {@code .git} is filled in
+     * @throws IllegalArgumentException if the directory has files in it
+     */
+    public static Result generate(Path directory, Spec spec, boolean checkout) throws IOException, GitAPIException {
+        Instant started = Instant.now();
+        if (Files.exists(directory)) {
+            try (Stream<Path> entries = Files.list(directory)) {
+                if (entries.findAny().isPresent()) {
+                    throw new IllegalArgumentException("Directory is not empty: " + directory);
+                }
+            }
+        }
+        Files.createDirectories(directory);
+
+        try (Git git = Git.init().setDirectory(directory.toFile()).setInitialBranch(BRANCH).call()) {
+            Repository repository = git.getRepository();
+            StoredConfig config = repository.getConfig();
+            config.setString("user", null, "name", "Synthetic");
+            config.setString("user", null, "email", "synthetic@example.com");
+            config.save();
+
+            Writer writer = new Writer(repository, spec);
+            List<ObjectId> history = writer.writeHistory();
+            writeRefs(repository, spec, history);
+
+            if (checkout) {
+                git.reset().setMode(ResetCommand.ResetType.HARD).setRef(BRANCH).call();
+            }
+            return new Result(directory, history.getLast(), spec.files(), history.size(), spec.branches(),
+                    writer.objects, writer.contentBytes, Duration.between(started, Instant.now()));
+        }
+    }
+
+    private static void writeRefs(Repository repository, Spec spec, List<ObjectId> history) throws IOException {
+        RefUpdate main = repository.updateRef(Constants.R_HEADS + BRANCH);
+        main.setNewObjectId(history.getLast());
+        main.setExpectedOldObjectId(ObjectId.zeroId());
+        RefUpdate.Result result = main.update();
+        if (result != RefUpdate.Result.NEW) {
+            throw new IOException("Could not create " + BRANCH + ": " + result);
+        }
+
+        BatchRefUpdate branches = repository.getRefDatabase().newBatchUpdate();
+        SplittableRandom random = random(spec.seed(), -3, -3);
+        for (int i = 0; i < spec.branches(); i++) {
+            ObjectId target = history.get(random.nextInt(history.size()));
+            branches.addCommand(new ReceiveCommand(ObjectId.zeroId(), target,
+                    Constants.R_HEADS + String.format("%s%04d", BRANCH_PREFIX, i)));
+        }
+        try (RevWalk walk = new RevWalk(repository)) {
+            branches.execute(walk, NullProgressMonitor.INSTANCE);
+        }
+        for (ReceiveCommand command : branches.getCommands()) {
+            if (command.getResult() != ReceiveCommand.Result.OK) {
+                throw new IOException("Could not create " + command.getRefName() + ": " + command.getResult());
+            }
+        }
+    }
+
+    /**
+     * Writes blobs, trees and commits, keeping the tree of the latest commit in memory
+     */
+    private static final class Writer {
+
+        private final Repository repository;
+        private final Spec spec;
+        private final Directory root = new Directory();
+        private final int[] revisions;
+        private long objects;
+        private long contentBytes;
+        private long batched;
+        private PackInserter inserter;
+
+        Writer(Repository repository, Spec spec) {
+            this.repository = repository;
+            this.spec = spec;
+            this.revisions = new int[spec.files()];
+        }
+
+        List<ObjectId> writeHistory() throws IOException {
+            List<ObjectId> history = new ArrayList<>(spec.commits());
+            SplittableRandom changes = random(spec.seed(), -4, -4);
+            inserter = newInserter();
+            try {
+                for (int index = 0; index < spec.files(); index++) {
+                    root.put(spec.path(index), blob(index));
+                }
+                ObjectId parent = null;
+                for (int commit = 0; commit < spec.commits(); commit++) {
+                    String message;
+                    if (commit == 0) {
+                        message = "Add " + spec.files() + " files";
+                    } else {
+                        for (int change = 0; change < spec.filesPerCommit(); change++) {
+                            int index = changes.nextInt(spec.files());
+                            revisions[index]++;
+                            root.put(spec.path(index), blob(index));
+                        }
+                        message = "Change " + spec.filesPerCommit() + " files (" + commit + ")";
+                    }
+                    parent = commit(root.write(this), parent, message, commit);
+                    history.add(parent);
+                    flushIfFull();
+                }
+                inserter.flush();
+            } finally {
+                inserter.close();
+            }
+            return history;
+        }
+
+        private ObjectId blob(int index) throws IOException {
+            SplittableRandom random = random(spec.seed(), index, revisions[index]);
+            int size = spec.sizes().sample(random, spec.fileSize());
+            byte[] content = spec.binary(index) ? binary(random, size) : text(random, index, revisions[index], size);
+            contentBytes += content.length;
+            return insert(Constants.OBJ_BLOB, content);
+        }
+
+        private ObjectId commit(ObjectId tree, ObjectId parent, String message, int number) throws IOException {
+            PersonIdent ident = new PersonIdent("Synthetic", "synthetic@example.com",
+                    EPOCH.plusSeconds(60L * number), ZoneOffset.UTC);
+            CommitBuilder commit = new CommitBuilder();
+            commit.setTreeId(tree);
+            if (parent != null) {
+                commit.setParentId(parent);
+            }
+            commit.setAuthor(ident);
+            commit.setCommitter(ident);
+            commit.setMessage(message);
+            objects++;
+            batched++;
+            return inserter.insert(commit);
+        }
+
+        ObjectId insert(int type, byte[] content) throws IOException {
+            objects++;
+            batched++;
+            return inserter.insert(type, content);
+        }
+
+        private void flushIfFull() throws IOException {
+            if (batched >= BATCH_OBJECTS) {
+                inserter.flush();
+                inserter.close();
+                inserter = newInserter();
+                batched = 0;
+            }
+        }
+
+        private PackInserter newInserter() {
+            PackInserter packInserter = ((ObjectDirectory) repository.getObjectDatabase()).newPackInserter();
+            // Every object is new; looking each one up in the existing packs would only slow the writes down
+            packInserter.checkExisting(false);
+            packInserter.setCompressionLevel(Deflater.BEST_SPEED);
+            return packInserter;
+        }
+    }
+
+    /**
+     * One directory of the current tree; its id is kept until something below it changes
+     */
+    private static final class Directory {
+
+        /**
+         * Files by name and directories by name plus {@code /}, which is the order git sorts tree entries in
+         */
+        private final TreeMap<String, Object> entries = new TreeMap<>();
+        private ObjectId id;
+
+        void put(String path, ObjectId blob) {
+            id = null;
+            int slash = path.indexOf('/');
+            if (slash < 0) {
+                entries.put(path, blob);
+                return;
+            }
+            Directory child = (Directory) entries.computeIfAbsent(path.substring(0, slash + 1), key -> new Directory());
+            child.put(path.substring(slash + 1), blob);
+        }
+
+        ObjectId write(Writer writer) throws IOException {
+            if (id != null) {
+                return id;
+            }
+            TreeFormatter tree = new TreeFormatter();
+            for (Map.Entry<String, Object> entry : entries.entrySet()) {
+                if (entry.getValue() instanceof Directory directory) {
+                    String name = entry.getKey().substring(0, entry.getKey().length() - 1);
+                    tree.append(name, FileMode.TREE, directory.write(writer));
+                } else {
+                    tree.append(entry.getKey(), FileMode.REGULAR_FILE, (ObjectId) entry.getValue());
+                }
+            }
+            id = writer.insert(Constants.OBJ_TREE, tree.toByteArray());
+            return id;
+        }
+    }
+
+    private static byte[] text(SplittableRandom random, int index, int revision, int size) {
+        StringBuilder text = new StringBuilder(size + 64)
+                .append("// file ").append(index).append(" revision ").append(revision).append('\n');
+        while (text.length() < size) {
+            int words = 3 + random.nextInt(8);
+            for (int word = 0; word < words; word++) {
+                text.append(WORDS[random.nextInt(WORDS.length)]).append(word + 1 < words ? ' ' : ';');
+            }
+            text.append('\n');
+        }
+        text.setLength(Math.max(size, text.indexOf("\n") + 1));
+        return text.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] binary(SplittableRandom random, int size) {
+        byte[] content = new byte[size];
+        random.nextBytes(content);
+        return content;
+    }
+
+    /**
+     * Standard normal sample, by Box-Muller
+     */
+    private static double gaussian(SplittableRandom random) {
+        return Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+
+    /**
+     * Independent random stream per seed, file and revision, so no part of a repository depends on the order
+     * in which other parts were generated
+     */
+    private static SplittableRandom random(long seed, long index, long revision) {
+        return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + index * 0xC2B2AE3D27D4EB4FL + revision);
+    }
+}
@@ -0,0 +1,304 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.logging;
+
+import io.joshuasalcedo.homelab.devshell.utils.CliLogger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes {@link CliLogger} output to a log file without blocking the shell.
+ * <p>
+ * Callers copy each record into a {@link LogRingBuffer} and return. A single writer thread drains the buffer
+ * in batches, encodes them into one buffer and writes that to a {@link FileChannel} in one call. The file is
+ * rotated to {@code .1}, {@code .2}, ... once it grows past the size limit. When the buffer is full, records are
+ * either dropped and counted, or the caller waits for space, depending on the {@link OverflowPolicy}.
+ * <p>
+ * Several dev-shell processes may append to the same file. Writes use {@code O_APPEND}, and a process that finds
+ * the file was already rotated by another one reopens it instead of rotating again.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+public class AsyncFileLogSink implements CliLogger.Sink, AutoCloseable {
+
+    public enum OverflowPolicy {
+        /** Drop the record and count it; the shell never waits on the log */
+        DROP,
+        /** Wait until the writer frees a slot */
+        BLOCK
+    }
+
+    private static final int BATCH_SIZE = 256;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final long IDLE_PARK_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long BLOCKED_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS")
+            .withZone(ZoneId.systemDefault());
+
+    private final Path file;
+    private final long maxFileSize;
+    private final int maxFiles;
+    private final OverflowPolicy overflowPolicy;
+    private final LogRingBuffer buffer;
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final Thread writer;
+
+    // Only touched by the writer thread
+    private final StringBuilder line = new StringBuilder(256);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private final ByteBuffer output = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+    private FileChannel channel;
+    private Object fileKey;
+    private long fileSize;
+    private long reportedDropped;
+
+    private volatile boolean writerParked;
+    private volatile boolean closed;
+
+    /**
+     * @param file the log file
+     * @param capacity the number of records buffered before the overflow policy applies
+     * @param maxFileSize the size in bytes after which the file is rotated
+     * @param maxFiles how many rotated files to keep
+     * @param overflowPolicy what to do when the buffer is full
+     */
+    public AsyncFileLogSink(Path file, int capacity, long maxFileSize, int maxFiles, OverflowPolicy overflowPolicy) {
+        this.file = Objects.requireNonNull(file, "Log file cannot be null");
+        this.maxFileSize = maxFileSize;
+        this.maxFiles = Math.max(1, maxFiles);
+        this.overflowPolicy = Objects.requireNonNull(overflowPolicy, "Overflow policy cannot be null");
+        this.buffer = new LogRingBuffer(capacity);
+        this.writer = Thread.ofPlatform().daemon().name("dev-shell-log-writer").unstarted(this::runWriter);
+    }
+
+    /**
+     * Opens the file and starts the writer thread
+     */
+    public AsyncFileLogSink start() {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            open();
+        } catch (IOException e) {
+            throw new RuntimeException("Could not open log file " + file, e);
+        }
+        writer.start();
+        return this;
+    }
+
+    @Override
+    public void append(CliLogger.Level level, CharSequence message) {
+        if (closed) {
+            return;
+        }
+        long timestamp = System.currentTimeMillis();
+        Thread current = Thread.currentThread();
+        String thread = current.getName().isEmpty() ? "virtual-" + current.threadId() : current.getName();
+
+        while (!buffer.offer(level, timestamp, thread, message)) {
+            if (overflowPolicy == OverflowPolicy.DROP || closed || current == writer) {
+                dropped.incrementAndGet();
+                return;
+            }
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(BLOCKED_PARK_NANOS);
+        }
+        if (writerParked) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * Records dropped because the buffer was full
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Records written to the file
+     */
+    public long getWritten() {
+        return written.get();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Writes everything still buffered, then stops the writer and closes the file
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runWriter() {
+        try {
+            while (true) {
+                int drained = buffer.drain(this::encode, BATCH_SIZE);
+                if (drained > 0) {
+                    // Keep filling the same write while records keep coming, up to the buffer size
+                    if (output.position() > WRITE_BUFFER_SIZE / 2 || buffer.isEmpty()) {
+                        flush();
+                    }
+                    continue;
+                }
+                flush();
+                if (closed) {
+                    break;
+                }
+                writerParked = true;
+                // Check again after announcing the park, so a record offered in between is not left waiting
+                if (buffer.isEmpty() && !closed) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                writerParked = false;
+            }
+        } catch (IOException | RuntimeException e) {
+            closed = true;
+            System.err.println("dev-shell: log file disabled after write failure: " + e.getMessage());
+        } finally {
+            try {
+                if (channel != null) {
+                    channel.close();
+                }
+            } catch (IOException ignored) {
+                // Nothing left to report it to
+            }
+        }
+    }
+
+    private void encode(LogRingBuffer.Entry entry) {
+        line.setLength(0);
+        long droppedSoFar = dropped.get();
+        if (droppedSoFar > reportedDropped) {
+            line.append(TIMESTAMP.format(Instant.ofEpochMilli(entry.timestamp())))
+                    .append("  WARN --- [dev-shell-log-writer] : ")
+                    .append(droppedSoFar - reportedDropped).append(" log records dropped, buffer full\n");
+            reportedDropped = droppedSoFar;
+        }
+        line.append(TIMESTAMP.format(Instant.ofEpochMilli(entry.timestamp())))
+                .append(' ');
+        String level = entry.level().name();
+        for (int i = level.length(); i < 5; i++) {
+            line.append(' ');
+        }
+        line.append(level).append(" --- [").append(entry.thread()).append("] : ")
+                .append(entry.text()).append('\n');
+        written.incrementAndGet();
+
+        if (output.position() > 0 && fileSize + output.position() + line.length() > maxFileSize) {
+            // Write what fits first, so the rotation happens between records rather than after the whole batch
+            flushUnchecked();
+        }
+        CharBuffer chars = CharBuffer.wrap(line);
+        encoder.reset();
+        while (true) {
+            CoderResult result = encoder.encode(chars, output, true);
+            if (result.isOverflow()) {
+                flushUnchecked();
+                continue;
+            }
+            encoder.flush(output);
+            break;
+        }
+    }
+
+    private void flushUnchecked() {
+        try {
+            flush();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write log file", e);
+        }
+    }
+
+    private void flush() throws IOException {
+        if (output.position() == 0) {
+            return;
+        }
+        output.flip();
+        // Other processes may have appended too, so ask the file rather than trusting the count
+        fileSize = channel.size();
+        if (fileSize > 0 && fileSize + output.remaining() > maxFileSize) {
+            rotate();
+        }
+        while (output.hasRemaining()) {
+            fileSize += channel.write(output);
+        }
+        output.clear();
+    }
+
+    /**
+     * Shifts {@code dev-shell.log} to {@code .1}, {@code .1} to {@code .2} and so on, dropping the oldest
+     */
+    private void rotate() throws IOException {
+        if (!fileKey.equals(currentFileKey())) {
+            // Another process rotated it already; start writing to the new file
+            channel.close();
+            open();
+            return;
+        }
+        channel.close();
+        for (int i = maxFiles - 1; i >= 1; i--) {
+            Path from = rotated(i);
+            if (Files.exists(from)) {
+                Files.move(from, rotated(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(file, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+        open();
+    }
+
+    private Path rotated(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+
+    private void open() throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        fileKey = currentFileKey();
+        fileSize = channel.size();
+    }
+
+    private Object currentFileKey() throws IOException {
+        try {
+            Object key = Files.readAttributes(file, BasicFileAttributes.class).fileKey();
+            // Platforms without file keys can't tell rotations apart; treat the file as ours
+            return key != null ? key : file;
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.logging;
+
+import io.joshuasalcedo.homelab.devshell.utils.CliLogger;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free queue of log records for any number of producers and consumers.
+ * <p>
+ * This is Dmitry Vyukov's bounded MPMC queue: each slot carries a sequence number that says whether it is
+ * free for the producer at a given position or filled for the consumer at that position, so producers and
+ * consumers only contend on one compare-and-set each. The slots are allocated up front and their text
+ * buffers reused, so offering a record allocates nothing once the buffers have grown to the usual message size.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+public class LogRingBuffer {
+
+    /** Slot buffers that grew past this are replaced after use, so one huge message doesn't pin memory */
+    private static final int MAX_RETAINED_TEXT = 8 * 1024;
+
+    /**
+     * One log record. Only the producer that claimed the slot, and then the consumer that took it, touch it.
+     */
+    public static final class Entry {
+        private long timestamp;
+        private CliLogger.Level level;
+        private String thread;
+        private StringBuilder text = new StringBuilder(128);
+
+        public long timestamp() {
+            return timestamp;
+        }
+
+        public CliLogger.Level level() {
+            return level;
+        }
+
+        public String thread() {
+            return thread;
+        }
+
+        public CharSequence text() {
+            return text;
+        }
+    }
+
+    /**
+     * Receives entries while they are still owned by the consumer
+     */
+    @FunctionalInterface
+    public interface EntryHandler {
+        void handle(Entry entry);
+    }
+
+    private final Entry[] entries;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong enqueuePosition = new AtomicLong();
+    private final AtomicLong dequeuePosition = new AtomicLong();
+
+    /**
+     * @param capacity the number of slots, rounded up to a power of two
+     */
+    public LogRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Buffer capacity must be positive");
+        }
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.entries = new Entry[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            entries[i] = new Entry();
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Copies a record into the next free slot
+     *
+     * @return false if the buffer is full
+     */
+    public boolean offer(CliLogger.Level level, long timestamp, String thread, CharSequence text) {
+        long position = enqueuePosition.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (enqueuePosition.compareAndSet(position, position + 1)) {
+                    Entry entry = entries[index];
+                    entry.timestamp = timestamp;
+                    entry.level = level;
+                    entry.thread = thread;
+                    entry.text.setLength(0);
+                    entry.text.append(text);
+                    // Publish the slot to the consumer waiting for this position
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = enqueuePosition.get();
+            } else if (difference < 0) {
+                // The slot still holds the record from one lap ago
+                return false;
+            } else {
+                position = enqueuePosition.get();
+            }
+        }
+    }
+
+    /**
+     * Hands up to {@code max} records to the handler, oldest first, and frees their slots
+     *
+     * @return the number of records handled
+     */
+    public int drain(EntryHandler handler, int max) {
+        int drained = 0;
+        while (drained < max) {
+            long position = dequeuePosition.get();
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - (position + 1);
+            if (difference < 0) {
+                break;
+            }
+            if (difference > 0 || !dequeuePosition.compareAndSet(position, position + 1)) {
+                continue;
+            }
+            Entry entry = entries[index];
+            try {
+                handler.handle(entry);
+            } finally {
+                if (entry.text.capacity() > MAX_RETAINED_TEXT) {
+                    entry.text = new StringBuilder(128);
+                }
+                entry.thread = null;
+                // Free the slot for the producer one lap ahead
+                sequences.set(index, position + mask + 1);
+            }
+            drained++;
+        }
+        return drained;
+    }
+
+    public boolean isEmpty() {
+        return dequeuePosition.get() >= enqueuePosition.get();
+    }
+
+    public int capacity() {
+        return entries.length;
+    }
+}
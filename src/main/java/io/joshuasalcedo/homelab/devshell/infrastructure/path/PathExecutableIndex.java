@@ -0,0 +1,399 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.path;
+
+import io.joshuasalcedo.homelab.devshell.utils.CliLogger;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory index of every executable on PATH, like bash's {@code hash} table.
+ * Built in parallel in the background and kept current with a WatchService on the PATH directories.
+ * Used for instant "command not found" answers, typo suggestions and completion of system commands.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+public class PathExecutableIndex implements AutoCloseable {
+
+    public static final int MAX_SUGGESTION_DISTANCE = 2;
+    private static final Duration LOGIN_SHELL_TIMEOUT = Duration.ofSeconds(10);
+    private static final String PATH_MARKER = "__DEV_SHELL_PATH__";
+    private static final Pattern PLAIN_WORD = Pattern.compile("[A-Za-z0-9._+-]+");
+
+    private final Map<Path, Map<String, Path>> directoryEntries = new ConcurrentHashMap<>();
+    private final CountDownLatch ready = new CountDownLatch(1);
+    private volatile List<Path> directories = List.of();
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), new TreeSet<>(), Set.of());
+    private volatile WatchService watchService;
+    private volatile boolean closed;
+
+    /**
+     * Immutable view swapped in whole, so readers never lock
+     */
+    private record Snapshot(Map<String, Path> executables, NavigableSet<String> names, Set<String> shellNames) {
+    }
+
+    /**
+     * Builds the index on a background thread and starts watching PATH
+     */
+    public void start() {
+        Thread.ofVirtual().name("path-index").start(() -> {
+            try {
+                LoginShellEnvironment environment = loadLoginShellEnvironment();
+                build(environment.path(), environment.shellNames());
+                watch();
+            } catch (Exception e) {
+                CliLogger.debug("PATH index unavailable: {}", e.getMessage());
+            } finally {
+                ready.countDown();
+            }
+        });
+    }
+
+    /**
+     * Scans the given PATH in parallel and replaces the index
+     *
+     * @param path a PATH value, directories separated by the platform separator
+     * @param shellNames builtins, keywords, functions and aliases the shell also accepts as commands
+     */
+    public void build(String path, Set<String> shellNames) {
+        List<Path> dirs = parsePath(path);
+        directoryEntries.clear();
+        dirs.parallelStream().forEach(dir -> directoryEntries.put(dir, scan(dir)));
+        directories = dirs;
+        publish(Set.copyOf(shellNames));
+        ready.countDown();
+        CliLogger.debug("Indexed {} executables in {} PATH directories", snapshot.executables().size(), dirs.size());
+    }
+
+    public boolean isReady() {
+        return ready.getCount() == 0;
+    }
+
+    /**
+     * Waits until the first build has finished
+     *
+     * @return true if the index is ready
+     */
+    public boolean awaitReady(Duration timeout) {
+        try {
+            return ready.await(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public Optional<Path> resolve(String command) {
+        return Optional.ofNullable(snapshot.executables().get(command));
+    }
+
+    /**
+     * Checks whether a command is known, either as an executable on PATH or to the shell itself
+     */
+    public boolean contains(String command) {
+        Snapshot current = snapshot;
+        return current.executables().containsKey(command) || current.shellNames().contains(command);
+    }
+
+    /**
+     * Answers "command not found" without starting a shell.
+     * Only plain words are judged; paths, expansions and anything unusual go to bash.
+     * A miss is double-checked on disk, so a stale index never rejects a real command.
+     *
+     * @param command the base command of a line
+     * @return true only if the command is definitely not runnable
+     */
+    public boolean isDefinitelyMissing(String command) {
+        if (!isReady() || command == null || !PLAIN_WORD.matcher(command).matches() || contains(command)) {
+            return false;
+        }
+        for (Path dir : directories) {
+            if (Files.isExecutable(dir.resolve(command))) {
+                return false;
+            }
+        }
+        return !snapshot.executables().isEmpty();
+    }
+
+    /**
+     * Gets known commands starting with a prefix, in alphabetical order
+     */
+    public List<String> complete(String prefix, int limit) {
+        NavigableSet<String> names = snapshot.names();
+        List<String> matches = new ArrayList<>();
+        for (String name : names.tailSet(prefix, true)) {
+            if (!name.startsWith(prefix) || matches.size() >= limit) {
+                break;
+            }
+            matches.add(name);
+        }
+        return matches;
+    }
+
+    /**
+     * Suggests known commands within {@link #MAX_SUGGESTION_DISTANCE} edits of a misspelled one
+     *
+     * @param command the misspelled command
+     * @param limit the maximum number of suggestions
+     * @return suggestions, closest first
+     */
+    public List<String> suggest(String command, int limit) {
+        record Match(String name, int distance) {
+        }
+        List<Match> matches = new ArrayList<>();
+        for (String name : snapshot.names()) {
+            if (Math.abs(name.length() - command.length()) > MAX_SUGGESTION_DISTANCE) {
+                continue;
+            }
+            int distance = editDistance(command, name, MAX_SUGGESTION_DISTANCE);
+            if (distance <= MAX_SUGGESTION_DISTANCE) {
+                matches.add(new Match(name, distance));
+            }
+        }
+        return matches.stream()
+                .sorted(Comparator.comparingInt(Match::distance).thenComparing(Match::name))
+                .limit(limit)
+                .map(Match::name)
+                .toList();
+    }
+
+    public int size() {
+        return snapshot.executables().size();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        WatchService service = watchService;
+        if (service != null) {
+            try {
+                service.close();
+            } catch (IOException e) {
+                CliLogger.debug("Failed to close PATH watcher: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Optimal string alignment distance, giving up once every path exceeds the bound
+     */
+    static int editDistance(String a, String b, int bound) {
+        int[] previousPrevious = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                // Transposed neighbours count as one edit: "gti" -> "git"
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, previousPrevious[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > bound) {
+                return bound + 1;
+            }
+            int[] recycled = previousPrevious;
+            previousPrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+
+    private synchronized void publish(Set<String> shellNames) {
+        // Earlier PATH entries win, as in the shell
+        Map<String, Path> executables = new HashMap<>();
+        for (Path dir : directories) {
+            directoryEntries.getOrDefault(dir, Map.of()).forEach(executables::putIfAbsent);
+        }
+        NavigableSet<String> names = new TreeSet<>(executables.keySet());
+        names.addAll(shellNames);
+        snapshot = new Snapshot(Map.copyOf(executables), names, shellNames);
+    }
+
+    private Map<String, Path> scan(Path dir) {
+        Map<String, Path> entries = new HashMap<>();
+        if (!Files.isDirectory(dir)) {
+            return entries;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            for (Path entry : stream) {
+                if (Files.isRegularFile(entry) && Files.isExecutable(entry)) {
+                    entries.put(entry.getFileName().toString(), entry);
+                }
+            }
+        } catch (IOException e) {
+            CliLogger.debug("Failed to scan PATH directory {}: {}", dir, e.getMessage());
+        }
+        return entries;
+    }
+
+    private void watch() throws IOException {
+        if (closed) {
+            return;
+        }
+        WatchService service = FileSystems.getDefault().newWatchService();
+        watchService = service;
+        Map<WatchKey, Path> keys = new HashMap<>();
+        for (Path dir : directories) {
+            if (Files.isDirectory(dir)) {
+                try {
+                    keys.put(dir.register(service, StandardWatchEventKinds.ENTRY_CREATE,
+                            StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY), dir);
+                } catch (IOException e) {
+                    CliLogger.debug("Cannot watch PATH directory {}: {}", dir, e.getMessage());
+                }
+            }
+        }
+
+        Thread.ofVirtual().name("path-index-watch").start(() -> {
+            try {
+                while (!closed) {
+                    WatchKey key = service.take();
+                    // Package managers touch many files at once; rescan each directory once per burst
+                    Set<Path> changed = new LinkedHashSet<>();
+                    do {
+                        Path dir = keys.get(key);
+                        key.pollEvents();
+                        key.reset();
+                        if (dir != null) {
+                            changed.add(dir);
+                        }
+                    } while ((key = service.poll(200, TimeUnit.MILLISECONDS)) != null);
+
+                    changed.forEach(dir -> directoryEntries.put(dir, scan(dir)));
+                    publish(snapshot.shellNames());
+                    CliLogger.debug("Refreshed PATH index for {}", changed);
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                // Shutting down
+            }
+        });
+    }
+
+    record LoginShellEnvironment(String path, Set<String> shellNames) {
+    }
+
+    /**
+     * Reads PATH and the shell's own command names from a login shell, which is what pass-through commands run in
+     */
+    private LoginShellEnvironment loadLoginShellEnvironment() {
+        return loadLoginShellEnvironment(List.of("/bin/bash", "-l", "-c",
+                "printf '\\n" + PATH_MARKER + "%s\\n' \"$PATH\"; compgen -b -k -A function -A alias"), LOGIN_SHELL_TIMEOUT);
+    }
+
+    /**
+     * Runs the command and parses its output, giving up on it once the timeout passes
+     *
+     * <p>A profile that waits for input or never exits would otherwise keep the index from ever becoming ready,
+     * so stdin is empty, the output is read on its own thread and the shell and its children are killed at the
+     * deadline.
+     */
+    LoginShellEnvironment loadLoginShellEnvironment(List<String> command, Duration timeout) {
+        LoginShellEnvironment fallback = new LoginShellEnvironment(Optional.ofNullable(System.getenv("PATH")).orElse(""), Set.of());
+        ProcessBuilder pb = new ProcessBuilder(command);
+        pb.redirectInput(ProcessBuilder.Redirect.from(new File("/dev/null")));
+        pb.redirectError(ProcessBuilder.Redirect.DISCARD);
+        Process process;
+        try {
+            process = pb.start();
+        } catch (IOException e) {
+            CliLogger.debug("Failed to read login shell PATH, using inherited PATH: {}", e.getMessage());
+            return fallback;
+        }
+
+        CompletableFuture<LoginShellEnvironment> output = new CompletableFuture<>();
+        Thread.ofVirtual().name("path-index-login-shell").start(() -> {
+            try {
+                output.complete(parseLoginShellOutput(process, fallback));
+            } catch (IOException e) {
+                output.completeExceptionally(e);
+            }
+        });
+
+        try {
+            // The reader finishes once every process holding the pipe has exited, so wait on it rather than the shell
+            return output.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            CliLogger.debug("Login shell did not finish within {}, using inherited PATH", timeout);
+            return fallback;
+        } catch (ExecutionException e) {
+            CliLogger.debug("Failed to read login shell PATH, using inherited PATH: {}", e.getCause().getMessage());
+            return fallback;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return fallback;
+        } finally {
+            process.descendants().forEach(ProcessHandle::destroyForcibly);
+            process.destroyForcibly();
+        }
+    }
+
+    private static LoginShellEnvironment parseLoginShellOutput(Process process, LoginShellEnvironment fallback) throws IOException {
+        String path = null;
+        Set<String> shellNames = new HashSet<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // Profiles may print banners; only trust what follows the marker
+                if (line.startsWith(PATH_MARKER)) {
+                    path = line.substring(PATH_MARKER.length());
+                } else if (path != null && !line.isBlank()) {
+                    shellNames.add(line.trim());
+                }
+            }
+        }
+        return new LoginShellEnvironment(path != null ? path : fallback.path(), shellNames);
+    }
+
+    private static List<Path> parsePath(String path) {
+        Set<Path> dirs = new LinkedHashSet<>();
+        for (String entry : path.split(File.pathSeparator)) {
+            // An empty entry means the current directory, which is not indexable
+            if (!entry.isBlank()) {
+                dirs.add(Path.of(entry).toAbsolutePath().normalize());
+            }
+        }
+        return List.copyOf(dirs);
+    }
+}
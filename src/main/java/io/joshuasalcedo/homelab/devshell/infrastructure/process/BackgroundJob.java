@@ -0,0 +1,137 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.process;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Consumer;
+
+/**
+ * A pass-through command running in the background.
+ * Output is kept in an {@link OutputRingBuffer} and can be followed while the job runs.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+public class BackgroundJob {
+
+    public enum State { RUNNING, DONE, KILLED }
+
+    private final int id;
+    private final String command;
+    private final Process process;
+    private final Instant startedAt;
+    private final OutputRingBuffer output;
+    private final CountDownLatch streamsDrained = new CountDownLatch(2);
+
+    private volatile Consumer<String> follower;
+    private volatile boolean killed;
+    private volatile Instant finishedAt;
+
+    BackgroundJob(int id, String command, Process process, OutputRingBuffer output) {
+        this.id = id;
+        this.command = command;
+        this.process = process;
+        this.output = output;
+        this.startedAt = Instant.now();
+    }
+
+    /**
+     * Records a line of output and forwards it to the current follower, if any
+     */
+    synchronized void onLine(String line) {
+        output.append(line);
+        Consumer<String> current = follower;
+        if (current != null) {
+            current.accept(line);
+        }
+    }
+
+    void onStreamClosed() {
+        streamsDrained.countDown();
+    }
+
+    void markKilled() {
+        killed = true;
+    }
+
+    void markFinished() {
+        finishedAt = Instant.now();
+    }
+
+    /**
+     * Replays the buffered output into the sink and keeps forwarding new lines to it
+     * until {@link #unfollow()} is called.
+     */
+    public synchronized void follow(Consumer<String> sink) {
+        output.snapshot().forEach(sink);
+        this.follower = sink;
+    }
+
+    public void unfollow() {
+        this.follower = null;
+    }
+
+    /**
+     * Waits until the process has exited and all of its output has been read
+     *
+     * @return the process exit code
+     */
+    public int awaitExit() throws InterruptedException {
+        int exitCode = process.waitFor();
+        streamsDrained.await();
+        return exitCode;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getCommand() {
+        return command;
+    }
+
+    public Process getProcess() {
+        return process;
+    }
+
+    public long getPid() {
+        return process.pid();
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public State getState() {
+        if (process.isAlive()) {
+            return State.RUNNING;
+        }
+        return killed ? State.KILLED : State.DONE;
+    }
+
+    /**
+     * Gets the exit code, or null while the job is still running
+     */
+    public Integer getExitCode() {
+        return process.isAlive() ? null : process.exitValue();
+    }
+
+    public Duration getRuntime() {
+        Instant end = process.isAlive() ? Instant.now() : (finishedAt != null ? finishedAt : Instant.now());
+        return Duration.between(startedAt, end);
+    }
+
+    public List<String> getOutput(int lines) {
+        return output.tail(lines);
+    }
+
+    public List<String> getOutput() {
+        return output.snapshot();
+    }
+
+    public long getDroppedLines() {
+        return output.getDroppedLines();
+    }
+}
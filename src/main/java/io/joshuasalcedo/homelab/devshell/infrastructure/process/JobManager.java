@@ -0,0 +1,157 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.process;
+
+import io.joshuasalcedo.homelab.devshell.domain.service.TtyRequirementClassifier;
+import io.joshuasalcedo.homelab.devshell.infrastructure.telemetry.PassThroughProcessEvent;
+import io.joshuasalcedo.homelab.devshell.utils.CliLogger;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Starts and tracks pass-through commands running in the background.
+ * Each job is read by virtual threads, so many concurrent jobs do not tie up platform threads.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+public class JobManager implements AutoCloseable {
+
+    public static final int DEFAULT_BUFFER_CHARS = 256 * 1024;
+    private static final int MAX_FINISHED_JOBS = 50;
+    private static final Path SETSID = Path.of("/usr/bin/setsid");
+
+    private final AtomicInteger nextId = new AtomicInteger(1);
+    private final Map<Integer, BackgroundJob> jobs = new ConcurrentSkipListMap<>();
+    private final int bufferChars;
+
+    public JobManager() {
+        this(DEFAULT_BUFFER_CHARS);
+    }
+
+    public JobManager(int bufferChars) {
+        this.bufferChars = bufferChars;
+    }
+
+    /**
+     * Starts a command in the background using a login shell
+     *
+     * @param command the command line to run
+     * @param directory the working directory for the command
+     * @return the started job
+     * @throws IOException if the process could not be started
+     */
+    public BackgroundJob start(String command, File directory) throws IOException {
+        ProcessBuilder pb = Files.isExecutable(SETSID)
+                // Own session: Ctrl-C at the prompt must not reach background jobs
+                ? new ProcessBuilder(SETSID.toString(), "/bin/bash", "-l", "-c", command)
+                : new ProcessBuilder("/bin/bash", "-l", "-c", command);
+        pb.directory(directory);
+        // Background jobs must never read from the shell's terminal
+        pb.redirectInput(ProcessBuilder.Redirect.from(new File("/dev/null")));
+
+        PassThroughProcessEvent event = PassThroughProcessEvent.begin(
+                TtyRequirementClassifier.baseCommand(command), command, "background");
+        Process process = pb.start();
+        event.setPid(process.pid());
+        BackgroundJob job = new BackgroundJob(nextId.getAndIncrement(), command, process, new OutputRingBuffer(bufferChars));
+        jobs.put(job.getId(), job);
+        pruneFinishedJobs();
+
+        Thread.ofVirtual().name("job-" + job.getId() + "-stdout").start(() -> pump(process.getInputStream(), job));
+        Thread.ofVirtual().name("job-" + job.getId() + "-stderr").start(() -> pump(process.getErrorStream(), job));
+        process.onExit().thenRun(() -> {
+            job.markFinished();
+            // The event covers the whole life of the job, not just starting it
+            event.setExitCode(process.exitValue());
+            event.finish();
+        });
+
+        CliLogger.debug("Started job [{}] pid {}: {}", job.getId(), job.getPid(), command);
+        return job;
+    }
+
+    public List<BackgroundJob> list() {
+        return new ArrayList<>(jobs.values());
+    }
+
+    public Optional<BackgroundJob> find(int id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    /**
+     * Finds a job by its spec, {@code %n}.
+     * A bare number is not a job spec: to {@code kill} it is a process id.
+     *
+     * @return the job, or empty if the spec is malformed or names no known job
+     */
+    public Optional<BackgroundJob> findBySpec(String spec) {
+        if (!spec.startsWith("%")) {
+            return Optional.empty();
+        }
+        try {
+            return find(Integer.parseInt(spec.substring(1)));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Terminates a running job and every process it spawned
+     *
+     * @return true if the job was running and has been signalled
+     */
+    public boolean kill(int id) {
+        BackgroundJob job = jobs.get(id);
+        if (job == null || !job.getProcess().isAlive()) {
+            return false;
+        }
+        job.markKilled();
+        ProcessTreeTerminator.terminate(job.getProcess().toHandle());
+        CliLogger.debug("Killed job [{}] pid {}", id, job.getPid());
+        return true;
+    }
+
+    /**
+     * Kills every job that is still running, used when the shell exits
+     */
+    @Override
+    public void close() {
+        jobs.keySet().forEach(this::kill);
+    }
+
+    private void pump(InputStream stream, BackgroundJob job) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                job.onLine(line);
+            }
+        } catch (IOException e) {
+            CliLogger.debug("Output of job [{}] closed: {}", job.getId(), e.getMessage());
+        } finally {
+            job.onStreamClosed();
+        }
+    }
+
+    private void pruneFinishedJobs() {
+        List<Integer> finished = jobs.values().stream()
+                .filter(job -> job.getState() != BackgroundJob.State.RUNNING)
+                .map(BackgroundJob::getId)
+                .toList();
+        for (int i = 0; i < finished.size() - MAX_FINISHED_JOBS; i++) {
+            jobs.remove(finished.get(i));
+        }
+    }
+}
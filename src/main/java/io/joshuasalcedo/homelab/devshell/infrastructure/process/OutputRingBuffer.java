@@ -0,0 +1,81 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.process;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bounded, line-oriented buffer for the output of a background job.
+ * Keeps at most {@code maxChars} characters; the oldest lines are evicted first.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+public class OutputRingBuffer {
+
+    private final int maxChars;
+    private final ArrayDeque<String> lines = new ArrayDeque<>();
+    private int usedChars;
+    private long droppedLines;
+
+    public OutputRingBuffer(int maxChars) {
+        if (maxChars <= 0) {
+            throw new IllegalArgumentException("Buffer capacity must be positive");
+        }
+        this.maxChars = maxChars;
+    }
+
+    /**
+     * Appends a line, evicting the oldest lines when the budget is exceeded.
+     * A single line larger than the whole budget keeps only its tail.
+     */
+    public synchronized void append(String line) {
+        String entry = line.length() > maxChars ? line.substring(line.length() - maxChars) : line;
+        lines.addLast(entry);
+        usedChars += entry.length();
+
+        while (usedChars > maxChars) {
+            usedChars -= lines.removeFirst().length();
+            droppedLines++;
+        }
+    }
+
+    /**
+     * Gets the last {@code count} buffered lines, oldest first
+     */
+    public synchronized List<String> tail(int count) {
+        int skip = Math.max(0, lines.size() - count);
+        List<String> result = new ArrayList<>(lines.size() - skip);
+        for (String line : lines) {
+            if (skip > 0) {
+                skip--;
+            } else {
+                result.add(line);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets every buffered line, oldest first
+     */
+    public synchronized List<String> snapshot() {
+        return new ArrayList<>(lines);
+    }
+
+    public synchronized int size() {
+        return lines.size();
+    }
+
+    public synchronized int getUsedChars() {
+        return usedChars;
+    }
+
+    /**
+     * Gets the number of lines evicted to stay within the budget
+     */
+    public synchronized long getDroppedLines() {
+        return droppedLines;
+    }
+}
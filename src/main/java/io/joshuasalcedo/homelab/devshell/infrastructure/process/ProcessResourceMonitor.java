@@ -0,0 +1,224 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.process;
+
+import io.joshuasalcedo.homelab.devshell.utils.CliLogger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Measures the resources a pass-through command uses, from {@code /proc}, the way {@code /usr/bin/time} would.
+ * <p>
+ * CPU time and storage I/O come from the counters the kernel adds to dev-shell's own {@code /proc/self/stat}
+ * and {@code /proc/self/io} when it reaps a child, which include every descendant the child waited for.
+ * The difference before and after a command is therefore exact even for processes too short to sample. Background
+ * jobs that finish while the command runs are counted too, as is dev-shell's own disk I/O in the meantime.
+ * <p>
+ * Memory can only be sampled: while the command runs, the resident memory of every process in the tree is read
+ * at each interval, and the peak is the largest sum seen or the largest peak a single process reports.
+ * <p>
+ * On platforms without {@code /proc} the monitor is unavailable and measures nothing.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+public class ProcessResourceMonitor {
+
+    /** USER_HZ; the kernel reports CPU times in these ticks on every Linux architecture we run on */
+    private static final long CLOCK_TICKS_PER_SECOND = 100;
+    public static final Duration DEFAULT_SAMPLE_INTERVAL = Duration.ofMillis(200);
+
+    private final Path procRoot;
+    private final Duration sampleInterval;
+    private final boolean available;
+
+    public ProcessResourceMonitor() {
+        this(Paths.get("/proc"), DEFAULT_SAMPLE_INTERVAL);
+    }
+
+    /**
+     * @param procRoot where proc is mounted
+     * @param sampleInterval how often to read the memory of the process tree
+     */
+    public ProcessResourceMonitor(Path procRoot, Duration sampleInterval) {
+        this.procRoot = Objects.requireNonNull(procRoot, "Proc root cannot be null");
+        this.sampleInterval = Objects.requireNonNull(sampleInterval, "Sample interval cannot be null");
+        this.available = Files.isReadable(procRoot.resolve("self").resolve("stat"));
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * Takes the baseline for a command about to start
+     *
+     * @return the session, or null if {@code /proc} is not available
+     */
+    public Session begin(String commandLine) {
+        if (!available) {
+            return null;
+        }
+        return new Session(commandLine);
+    }
+
+    /**
+     * Measurement of one command. Not shared between threads, apart from the sampler it starts.
+     */
+    public final class Session {
+
+        private final String commandLine;
+        private final String directory = System.getProperty("user.dir");
+        private final Instant startedAt = Instant.now();
+        private final long startNanos = System.nanoTime();
+        private final long[] cpuBefore;
+        private final long[] ioBefore;
+        private final Set<Long> seen = new HashSet<>();
+        private volatile long peakRssBytes;
+        private volatile boolean finished;
+        private Thread sampler;
+
+        private Session(String commandLine) {
+            this.commandLine = commandLine;
+            this.cpuBefore = readChildrenCpu();
+            this.ioBefore = readIo("self");
+        }
+
+        /**
+         * Samples the memory of a started process and its descendants until {@link #finish(int)}
+         */
+        public void track(ProcessHandle root) {
+            sampler = Thread.ofVirtual().name("resource-sampler-" + root.pid()).start(() -> {
+                while (!finished && root.isAlive()) {
+                    sample(LongStream.concat(LongStream.of(root.pid()), root.descendants().mapToLong(ProcessHandle::pid)));
+                    try {
+                        TimeUnit.NANOSECONDS.sleep(sampleInterval.toNanos());
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            });
+        }
+
+        /**
+         * Reads the resident memory of the given processes once
+         */
+        void sample(LongStream pids) {
+            long totalRss = 0;
+            long peak = peakRssBytes;
+            for (long pid : pids.toArray()) {
+                long[] memory = readMemory(pid);
+                if (memory == null) {
+                    continue;
+                }
+                synchronized (seen) {
+                    seen.add(pid);
+                }
+                totalRss += memory[0];
+                peak = Math.max(peak, memory[1]);
+            }
+            peakRssBytes = Math.max(peak, totalRss);
+        }
+
+        /**
+         * Stops sampling and measures the command. Call once the process has exited and been waited for.
+         */
+        public ResourceUsage finish(int exitCode) {
+            finished = true;
+            if (sampler != null) {
+                sampler.interrupt();
+            }
+            Duration wallTime = Duration.ofNanos(System.nanoTime() - startNanos);
+            long[] cpuAfter = readChildrenCpu();
+            long[] ioAfter = readIo("self");
+            int processes;
+            synchronized (seen) {
+                processes = seen.size();
+            }
+            return new ResourceUsage(commandLine, directory, startedAt, wallTime,
+                    ticks(cpuAfter[0] - cpuBefore[0]), ticks(cpuAfter[1] - cpuBefore[1]),
+                    peakRssBytes, Math.max(0, ioAfter[0] - ioBefore[0]), Math.max(0, ioAfter[1] - ioBefore[1]),
+                    processes, exitCode);
+        }
+    }
+
+    /**
+     * The user and system CPU ticks of every child dev-shell has reaped, {@code cutime} and {@code cstime}
+     */
+    long[] readChildrenCpu() {
+        try {
+            String stat = Files.readString(procRoot.resolve("self").resolve("stat"));
+            // The command name may contain spaces and parentheses, so count fields from the last ')'
+            String[] fields = stat.substring(stat.lastIndexOf(')') + 2).trim().split(" ");
+            return new long[]{Long.parseLong(fields[13]), Long.parseLong(fields[14])};
+        } catch (IOException | RuntimeException e) {
+            CliLogger.debug("Could not read CPU times from {}: {}", procRoot, e.getMessage());
+            return new long[2];
+        }
+    }
+
+    /**
+     * Storage bytes read and written; zero when the file can't be read, e.g. for another user's process
+     */
+    long[] readIo(String pid) {
+        long[] io = new long[2];
+        for (String line : readLines(procRoot.resolve(pid).resolve("io"))) {
+            if (line.startsWith("read_bytes:")) {
+                io[0] = parseNumber(line);
+            } else if (line.startsWith("write_bytes:")) {
+                io[1] = parseNumber(line);
+            }
+        }
+        return io;
+    }
+
+    /**
+     * The current and peak resident memory of a process in bytes, or null if it is gone
+     */
+    long[] readMemory(long pid) {
+        List<String> lines = readLines(procRoot.resolve(Long.toString(pid)).resolve("status"));
+        if (lines.isEmpty()) {
+            return null;
+        }
+        long[] memory = new long[2];
+        for (String line : lines) {
+            if (line.startsWith("VmRSS:")) {
+                memory[0] = parseNumber(line) * 1024;
+            } else if (line.startsWith("VmHWM:")) {
+                memory[1] = parseNumber(line) * 1024;
+            }
+        }
+        return memory;
+    }
+
+    private static List<String> readLines(Path file) {
+        try {
+            return Files.readAllLines(file);
+        } catch (IOException e) {
+            return List.of();
+        }
+    }
+
+    private static long parseNumber(String line) {
+        String[] parts = line.trim().split("\\s+");
+        try {
+            return parts.length > 1 ? Long.parseLong(parts[1]) : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static Duration ticks(long ticks) {
+        return Duration.ofMillis(Math.max(0, ticks) * 1000 / CLOCK_TICKS_PER_SECOND);
+    }
+}
@@ -0,0 +1,79 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.process;
+
+import io.joshuasalcedo.homelab.devshell.utils.CliLogger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Terminates a process together with every process it spawned.
+ * Sends SIGTERM to the whole tree right away and SIGKILL to whatever survives the grace period.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+public final class ProcessTreeTerminator {
+
+    public static final Duration DEFAULT_GRACE_PERIOD = Duration.ofSeconds(2);
+
+    private ProcessTreeTerminator() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Terminates the process tree without blocking the caller.
+     * Escalation to SIGKILL happens on a virtual thread.
+     *
+     * @param root the top of the tree, usually the login shell we started
+     * @param gracePeriod how long the tree may take to exit after SIGTERM
+     */
+    public static void terminate(ProcessHandle root, Duration gracePeriod) {
+        // Collect descendants before signalling: once the root dies they are re-parented and unreachable
+        List<ProcessHandle> tree = new ArrayList<>();
+        tree.add(root);
+        root.descendants().forEach(tree::add);
+
+        // Root first, so a shell running "a; b" cannot move on to the next command
+        tree.forEach(ProcessHandle::destroy);
+        CliLogger.debug("Sent SIGTERM to {} processes under pid {}", tree.size(), root.pid());
+
+        Thread.ofVirtual().name("terminate-" + root.pid()).start(() -> escalate(tree, gracePeriod));
+    }
+
+    public static void terminate(ProcessHandle root) {
+        terminate(root, DEFAULT_GRACE_PERIOD);
+    }
+
+    private static void escalate(List<ProcessHandle> tree, Duration gracePeriod) {
+        long deadline = System.nanoTime() + gracePeriod.toNanos();
+        for (ProcessHandle handle : tree) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            try {
+                handle.onExit().get(remaining, TimeUnit.NANOSECONDS);
+            } catch (Exception e) {
+                // Timed out or interrupted; anything still alive is killed below
+            }
+        }
+
+        // Include anything forked while we were waiting
+        Set<ProcessHandle> survivors = new LinkedHashSet<>();
+        for (ProcessHandle handle : tree) {
+            if (handle.isAlive()) {
+                survivors.add(handle);
+                handle.descendants().forEach(survivors::add);
+            }
+        }
+        if (!survivors.isEmpty()) {
+            survivors.forEach(ProcessHandle::destroyForcibly);
+            CliLogger.debug("Sent SIGKILL to {} processes that ignored SIGTERM", survivors.size());
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.process;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import io.joshuasalcedo.homelab.devshell.utils.CliLogger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * History of {@link ResourceUsage} records, one JSON object per line in {@code ~/.dev-shell/resources.jsonl}.
+ * <p>
+ * Records are appended under a lock on {@code resources.jsonl.lock}, so several dev-shell processes can share the
+ * file. Once it grows past the size limit, the older half is dropped.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+public class ResourceHistory {
+
+    public static final long DEFAULT_MAX_BYTES = 2L * 1024 * 1024;
+    /** Earlier runs a run is compared with; recent runs say more about a regression than old ones */
+    private static final int COMPARED_RUNS = 20;
+
+    /**
+     * A recorded run, with the median wall time of the earlier runs of the same command line
+     *
+     * @param usage the run
+     * @param typicalWallTime the median of up to 20 earlier runs, or null if this is the first
+     */
+    public record Run(ResourceUsage usage, Duration typicalWallTime) {
+
+        /**
+         * How much slower than usual the run was, e.g. 0.5 for 50% slower; null without earlier runs
+         */
+        public Double change() {
+            if (typicalWallTime == null || typicalWallTime.isZero()) {
+                return null;
+            }
+            return (double) usage.wallTime().toMillis() / typicalWallTime.toMillis() - 1;
+        }
+    }
+
+    /** Stored form, with plain numbers rather than java.time types */
+    private static final class Line {
+        String command;
+        String directory;
+        long startedAt;
+        long wallMs;
+        long userMs;
+        long systemMs;
+        long peakRss;
+        long read;
+        long written;
+        int processes;
+        int exitCode;
+
+        static Line of(ResourceUsage usage) {
+            Line line = new Line();
+            line.command = usage.commandLine();
+            line.directory = usage.directory();
+            line.startedAt = usage.startedAt().toEpochMilli();
+            line.wallMs = usage.wallTime().toMillis();
+            line.userMs = usage.userCpu().toMillis();
+            line.systemMs = usage.systemCpu().toMillis();
+            line.peakRss = usage.peakRssBytes();
+            line.read = usage.readBytes();
+            line.written = usage.writeBytes();
+            line.processes = usage.processes();
+            line.exitCode = usage.exitCode();
+            return line;
+        }
+
+        ResourceUsage usage() {
+            return new ResourceUsage(command, directory, Instant.ofEpochMilli(startedAt), Duration.ofMillis(wallMs),
+                    Duration.ofMillis(userMs), Duration.ofMillis(systemMs), peakRss, read, written, processes, exitCode);
+        }
+    }
+
+    private final Path file;
+    private final Path lockFile;
+    private final long maxBytes;
+    private final Gson gson = new Gson();
+
+    public ResourceHistory(Path file) {
+        this(file, DEFAULT_MAX_BYTES);
+    }
+
+    public ResourceHistory(Path file, long maxBytes) {
+        this.file = Objects.requireNonNull(file, "History file cannot be null");
+        this.lockFile = file.resolveSibling(file.getFileName() + ".lock");
+        this.maxBytes = maxBytes;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Appends a run, trimming the file first if it is too large
+     */
+    public void append(ResourceUsage usage) throws IOException {
+        byte[] bytes = (gson.toJson(Line.of(usage)) + "\n").getBytes(StandardCharsets.UTF_8);
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (FileChannel lock = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock ignored = lock.lock()) {
+            if (Files.exists(file) && Files.size(file) + bytes.length > maxBytes) {
+                trim();
+            }
+            try (FileChannel channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+        }
+    }
+
+    /**
+     * Every recorded run, oldest first. Lines that can't be read are skipped.
+     */
+    public List<ResourceUsage> readAll() throws IOException {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            return List.of();
+        }
+        List<ResourceUsage> runs = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                Line stored = gson.fromJson(line, Line.class);
+                if (stored != null && stored.command != null) {
+                    runs.add(stored.usage());
+                }
+            } catch (JsonParseException e) {
+                CliLogger.debug("Skipping unreadable line in {}: {}", file, e.getMessage());
+            }
+        }
+        return runs;
+    }
+
+    /**
+     * The latest runs, newest first, compared with the earlier runs of the same command line
+     *
+     * @param filter only runs whose command line contains this, or null for all
+     * @param limit how many runs to return
+     */
+    public List<Run> recent(String filter, int limit) throws IOException {
+        List<ResourceUsage> all = readAll();
+        Map<String, List<Long>> earlierWallTimes = new HashMap<>();
+        List<Run> runs = new ArrayList<>();
+        for (ResourceUsage usage : all) {
+            List<Long> earlier = earlierWallTimes.computeIfAbsent(usage.commandLine(), key -> new ArrayList<>());
+            if (filter == null || usage.commandLine().contains(filter)) {
+                runs.add(new Run(usage, median(earlier)));
+            }
+            earlier.add(usage.wallTime().toMillis());
+            if (earlier.size() > COMPARED_RUNS) {
+                earlier.remove(0);
+            }
+        }
+        List<Run> newestFirst = new ArrayList<>(runs.subList(Math.max(0, runs.size() - Math.max(0, limit)), runs.size()));
+        Collections.reverse(newestFirst);
+        return newestFirst;
+    }
+
+    private static Duration median(List<Long> millis) {
+        if (millis.isEmpty()) {
+            return null;
+        }
+        List<Long> sorted = millis.stream().sorted().toList();
+        int middle = sorted.size() / 2;
+        long median = sorted.size() % 2 == 1 ? sorted.get(middle) : (sorted.get(middle - 1) + sorted.get(middle)) / 2;
+        return Duration.ofMillis(median);
+    }
+
+    /**
+     * Keeps the newer half of the file. Must hold the lock.
+     */
+    private void trim() throws IOException {
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temp, lines.subList(lines.size() / 2, lines.size()), StandardCharsets.UTF_8);
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
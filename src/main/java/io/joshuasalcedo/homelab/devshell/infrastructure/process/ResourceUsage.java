@@ -0,0 +1,65 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.process;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Resources used by one pass-through command and every process it started.
+ *
+ * @param commandLine the command as typed
+ * @param directory the working directory it ran in
+ * @param startedAt when it started
+ * @param wallTime how long it ran
+ * @param userCpu CPU time spent in user mode by the whole process tree
+ * @param systemCpu CPU time spent in the kernel by the whole process tree
+ * @param peakRssBytes the largest resident memory seen, summed over the processes running at the same time
+ * @param readBytes bytes read from storage
+ * @param writeBytes bytes written to storage
+ * @param processes how many processes of the tree were seen while sampling
+ * @param exitCode the exit code of the command
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+public record ResourceUsage(String commandLine, String directory, Instant startedAt, Duration wallTime,
+                            Duration userCpu, Duration systemCpu, long peakRssBytes, long readBytes,
+                            long writeBytes, int processes, int exitCode) {
+
+    public Duration totalCpu() {
+        return userCpu.plus(systemCpu);
+    }
+
+    /**
+     * One-line summary, e.g. {@code 12.3s wall, 20.1s user, 1.2s sys, 410 MB peak RSS, 12 MB read, 3 MB written}
+     */
+    public String summary() {
+        return String.format("%s wall, %s user, %s sys, %s peak RSS, %s read, %s written",
+                formatDuration(wallTime), formatDuration(userCpu), formatDuration(systemCpu),
+                formatBytes(peakRssBytes), formatBytes(readBytes), formatBytes(writeBytes));
+    }
+
+    public static String formatDuration(Duration duration) {
+        long millis = duration.toMillis();
+        if (millis < 1_000) {
+            return millis + "ms";
+        }
+        if (millis < 60_000) {
+            return String.format("%.1fs", millis / 1_000.0);
+        }
+        return String.format("%dm%02ds", millis / 60_000, (millis / 1_000) % 60);
+    }
+
+    public static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        if (bytes < 1024 * 1024) {
+            return String.format("%.0f KB", bytes / 1024.0);
+        }
+        if (bytes < 1024L * 1024 * 1024) {
+            return String.format("%.0f MB", bytes / (1024.0 * 1024));
+        }
+        return String.format("%.1f GB", bytes / (1024.0 * 1024 * 1024));
+    }
+}
@@ -0,0 +1,108 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.startup;
+
+import io.joshuasalcedo.homelab.devshell.utils.CliLogger;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs slow initialization work off the startup path, so the first prompt does not wait for it.
+ * Each task gets its own virtual thread; whoever needs its result joins the returned future, which only blocks
+ * if the task is still running.
+ * <p>
+ * With background bootstrap off, tasks run on the calling thread before {@link #submit} returns, which restores
+ * the old eager behavior.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+public class BackgroundBootstrap implements AutoCloseable {
+
+    private final boolean background;
+    private final Map<String, CompletableFuture<?>> tasks = new ConcurrentHashMap<>();
+
+    public BackgroundBootstrap(boolean background) {
+        this.background = background;
+    }
+
+    public boolean isBackground() {
+        return background;
+    }
+
+    /**
+     * Starts a task
+     *
+     * @param name shown in the thread name and the debug log
+     * @param task the work; its exception completes the future exceptionally
+     * @return the task's result
+     */
+    public <T> CompletableFuture<T> submit(String name, Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        tasks.put(name, future);
+        Runnable run = () -> {
+            long start = System.nanoTime();
+            try {
+                future.complete(task.call());
+                CliLogger.debug("Bootstrap task {} took {} ms", name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            } catch (Throwable e) {
+                CliLogger.debug("Bootstrap task {} failed: {}", name, e.getMessage());
+                future.completeExceptionally(e);
+            }
+        };
+        if (background) {
+            Thread.ofVirtual().name("bootstrap-" + name).start(run);
+        } else {
+            run.run();
+        }
+        return future;
+    }
+
+    /**
+     * @return the names of the tasks that have not finished yet
+     */
+    public List<String> pending() {
+        return tasks.entrySet().stream()
+                .filter(entry -> !entry.getValue().isDone())
+                .map(Map.Entry::getKey)
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * Waits for every task submitted so far; failed tasks count as finished
+     *
+     * @return true if all tasks finished within the timeout
+     */
+    public boolean awaitAll(Duration timeout) {
+        try {
+            CompletableFuture.allOf(tasks.values().toArray(CompletableFuture[]::new))
+                    .get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (ExecutionException e) {
+            return pending().isEmpty();
+        } catch (TimeoutException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Gives running tasks a moment to finish, so a short-lived shell does not exit halfway through a file write
+     */
+    @Override
+    public void close() {
+        if (!awaitAll(Duration.ofSeconds(5))) {
+            CliLogger.debug("Bootstrap tasks still running at shutdown: {}", pending());
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.telemetry;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import io.joshuasalcedo.homelab.devshell.utils.CliLogger;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Latency histograms per command, kept across sessions in {@code ~/.dev-shell/stats.json}.
+ * <p>
+ * Each command has an all-time histogram plus one for this week and one for last week, so the trend shows
+ * whether the same command got slower, for instance after an upgrade. The file holds a few kilobytes per command
+ * however often it runs.
+ * <p>
+ * Latencies recorded by this process are kept in memory and added to the file on {@link #save()}, while holding
+ * a lock on {@code stats.json.lock}, so several dev-shell processes can share the file without losing samples.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+public class CommandStatistics implements AutoCloseable {
+
+    /** Commands tracked at most; new commands beyond this are not recorded */
+    private static final int MAX_COMMANDS = 256;
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * Latency summary of one command
+     *
+     * @param command the dev-shell command, or the executable of a pass-through command
+     * @param count calls recorded in total
+     * @param p50Micros median latency
+     * @param p90Micros 90th percentile latency
+     * @param p99Micros 99th percentile latency
+     * @param maxMicros slowest call
+     * @param trend change of this week's median against last week's, e.g. 0.25 for 25% slower;
+     *              null when either week has no calls
+     */
+    public record CommandStats(String command, long count, long p50Micros, long p90Micros, long p99Micros,
+                               long maxMicros, Double trend) {
+    }
+
+    /** Stored form of a histogram: only the used buckets */
+    private static final class StoredHistogram {
+        String week;
+        long max;
+        int[] buckets;
+        long[] counts;
+
+        static StoredHistogram of(String week, LatencyHistogram histogram) {
+            StoredHistogram stored = new StoredHistogram();
+            stored.week = week;
+            stored.max = histogram.maxMicros();
+            stored.buckets = histogram.usedBuckets();
+            stored.counts = new long[stored.buckets.length];
+            for (int i = 0; i < stored.buckets.length; i++) {
+                stored.counts[i] = histogram.countAt(stored.buckets[i]);
+            }
+            return stored;
+        }
+
+        LatencyHistogram histogram() {
+            return LatencyHistogram.of(buckets, counts, max);
+        }
+    }
+
+    private static final class StoredCommand {
+        StoredHistogram total;
+        StoredHistogram current;
+        StoredHistogram previous;
+    }
+
+    private static final class StoredFile {
+        int version = FORMAT_VERSION;
+        Map<String, StoredCommand> commands = new LinkedHashMap<>();
+    }
+
+    private final Path file;
+    private final Path lockFile;
+    private final Clock clock;
+    private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+
+    /** Latencies not yet added to the file, all from {@link #pendingWeek} */
+    private final Map<String, LatencyHistogram> pending = new HashMap<>();
+    private LocalDate pendingWeek;
+
+    public CommandStatistics(Path file) {
+        this(file, Clock.systemDefaultZone());
+    }
+
+    public CommandStatistics(Path file, Clock clock) {
+        this.file = Objects.requireNonNull(file, "Statistics file cannot be null");
+        this.lockFile = file.resolveSibling(file.getFileName() + ".lock");
+        this.clock = Objects.requireNonNull(clock, "Clock cannot be null");
+    }
+
+    /**
+     * Records one call of a command
+     */
+    public synchronized void record(String command, long nanos) {
+        if (command == null || command.isBlank()) {
+            return;
+        }
+        LocalDate week = currentWeek();
+        if (pendingWeek != null && !pendingWeek.equals(week) && !pending.isEmpty()) {
+            // Keep each week's calls apart on disk
+            saveQuietly();
+        }
+        pendingWeek = week;
+        LatencyHistogram histogram = pending.get(command);
+        if (histogram == null) {
+            if (pending.size() >= MAX_COMMANDS) {
+                return;
+            }
+            histogram = new LatencyHistogram();
+            pending.put(command, histogram);
+        }
+        histogram.recordNanos(nanos);
+    }
+
+    /**
+     * Adds the calls recorded since the last save to the file
+     */
+    public synchronized void save() throws IOException {
+        if (pending.isEmpty()) {
+            return;
+        }
+        locked(() -> {
+            StoredFile stored = read();
+            merge(stored, pending, pendingWeek);
+            write(stored);
+            return null;
+        });
+        pending.clear();
+    }
+
+    /**
+     * Saves, then summarizes every command in the file, most called first
+     */
+    public synchronized List<CommandStats> summarize() throws IOException {
+        save();
+        StoredFile stored = Files.exists(file) ? locked(this::read) : new StoredFile();
+        String thisWeek = currentWeek().toString();
+        String lastWeek = currentWeek().minusWeeks(1).toString();
+
+        return stored.commands.entrySet().stream()
+                .filter(entry -> entry.getValue().total != null)
+                .map(entry -> {
+                    StoredCommand command = entry.getValue();
+                    LatencyHistogram total = command.total.histogram();
+                    LatencyHistogram current = histogramFor(command, thisWeek);
+                    LatencyHistogram previous = histogramFor(command, lastWeek);
+                    Double trend = current.isEmpty() || previous.isEmpty() || previous.percentileMicros(50) == 0
+                            ? null
+                            : (double) current.percentileMicros(50) / previous.percentileMicros(50) - 1;
+                    return new CommandStats(entry.getKey(), total.count(), total.percentileMicros(50),
+                            total.percentileMicros(90), total.percentileMicros(99), total.maxMicros(), trend);
+                })
+                .sorted(Comparator.comparingLong(CommandStats::count).reversed()
+                        .thenComparing(CommandStats::command))
+                .toList();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public void close() {
+        saveQuietly();
+    }
+
+    private void saveQuietly() {
+        try {
+            save();
+        } catch (IOException | RuntimeException e) {
+            CliLogger.debug("Failed to save command statistics to {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Adds this process's calls to the stored histograms, moving this week to last week when a new week began
+     */
+    private static void merge(StoredFile stored, Map<String, LatencyHistogram> calls, LocalDate week) {
+        String thisWeek = week.toString();
+        String lastWeek = week.minusWeeks(1).toString();
+        for (Map.Entry<String, LatencyHistogram> entry : calls.entrySet()) {
+            StoredCommand command = stored.commands.get(entry.getKey());
+            if (command == null) {
+                if (stored.commands.size() >= MAX_COMMANDS) {
+                    continue;
+                }
+                command = new StoredCommand();
+                stored.commands.put(entry.getKey(), command);
+            }
+            command.total = add(command.total, null, entry.getValue());
+
+            String currentWeek = command.current != null ? command.current.week : null;
+            if (thisWeek.equals(currentWeek)) {
+                command.current = add(command.current, thisWeek, entry.getValue());
+            } else if (currentWeek == null || currentWeek.compareTo(thisWeek) < 0) {
+                command.previous = lastWeek.equals(currentWeek) ? command.current : null;
+                command.current = add(null, thisWeek, entry.getValue());
+            } else if (command.previous != null && thisWeek.equals(command.previous.week)) {
+                // Another process already moved on to a new week; these calls belong to the one before
+                command.previous = add(command.previous, thisWeek, entry.getValue());
+            }
+        }
+    }
+
+    private static StoredHistogram add(StoredHistogram stored, String week, LatencyHistogram calls) {
+        LatencyHistogram merged = stored != null ? stored.histogram() : new LatencyHistogram();
+        merged.add(calls);
+        return StoredHistogram.of(week, merged);
+    }
+
+    private static LatencyHistogram histogramFor(StoredCommand command, String week) {
+        if (command.current != null && week.equals(command.current.week)) {
+            return command.current.histogram();
+        }
+        if (command.previous != null && week.equals(command.previous.week)) {
+            return command.previous.histogram();
+        }
+        return new LatencyHistogram();
+    }
+
+    private LocalDate currentWeek() {
+        return LocalDate.now(clock).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    private StoredFile read() throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            StoredFile stored = gson.fromJson(reader, StoredFile.class);
+            if (stored == null || stored.commands == null || stored.version != FORMAT_VERSION) {
+                return new StoredFile();
+            }
+            return stored;
+        } catch (NoSuchFileException e) {
+            return new StoredFile();
+        } catch (JsonParseException e) {
+            // Statistics are not worth failing over; start again rather than keep failing
+            CliLogger.warn("Ignoring unreadable statistics file {}: {}", file, e.getMessage());
+            return new StoredFile();
+        }
+    }
+
+    private void write(StoredFile stored) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(gson.toJson(stored).getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @FunctionalInterface
+    private interface LockedOperation<T> {
+        T run() throws IOException;
+    }
+
+    /**
+     * Runs an operation while holding the lock on the lock file, so other processes don't save at the same time
+     */
+    private <T> T locked(LockedOperation<T> operation) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock ignored = channel.lock()) {
+            return operation.run();
+        }
+    }
+}
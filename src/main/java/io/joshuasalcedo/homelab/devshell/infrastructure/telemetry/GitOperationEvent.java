@@ -0,0 +1,38 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.telemetry;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event covering one {@link io.joshuasalcedo.homelab.devshell.domain.repository.GitRepository} call.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+@Name(GitOperationEvent.NAME)
+@Label("Git Operation")
+@Category({"Dev Shell", "Git"})
+@Description("A git operation performed through JGit")
+@StackTrace(false)
+public class GitOperationEvent extends Event {
+
+    public static final String NAME = "io.joshuasalcedo.devshell.GitOperation";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Repository Path")
+    String repositoryPath;
+
+    @Label("File Count")
+    @Description("Files staged or reported by the operation, or 0 when it does not deal with files")
+    int fileCount;
+
+    @Label("Succeeded")
+    boolean succeeded;
+}
@@ -0,0 +1,152 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.telemetry;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Fixed-size histogram of latencies with logarithmic buckets.
+ * <p>
+ * Values are kept in microseconds. Each power of two is split into {@value #SUB_BUCKETS} linear buckets, so a
+ * percentile read back is within about 6% of the recorded value, from one microsecond up to about 19 hours,
+ * in {@value #BUCKET_COUNT} counters however many values are recorded. Longer values are counted in the last bucket.
+ * Histograms of the same command can be added together, which is how sessions are merged on disk.
+ * <p>
+ * Not thread-safe; callers synchronize.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    /** Values from 2^36 microseconds up land in the last bucket */
+    private static final int MAX_EXPONENT = 36;
+    static final int BUCKET_COUNT = SUB_BUCKETS + (MAX_EXPONENT - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long count;
+    private long maxMicros;
+
+    /**
+     * Records one latency
+     */
+    public void recordNanos(long nanos) {
+        recordMicros(TimeUnit.NANOSECONDS.toMicros(Math.max(0, nanos)));
+    }
+
+    public void recordMicros(long micros) {
+        long value = Math.max(0, micros);
+        counts[bucketOf(value)]++;
+        count++;
+        maxMicros = Math.max(maxMicros, value);
+    }
+
+    /**
+     * Adds every value recorded in another histogram to this one
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        maxMicros = Math.max(maxMicros, other.maxMicros);
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public long maxMicros() {
+        return maxMicros;
+    }
+
+    /**
+     * The latency at or below which the given share of values fall
+     *
+     * @param percentile between 0 and 100
+     * @return the value in microseconds, or 0 if nothing was recorded
+     */
+    public long percentileMicros(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestValueIn(i), maxMicros);
+            }
+        }
+        return maxMicros;
+    }
+
+    /**
+     * Indexes of the non-empty buckets, for storing the histogram compactly
+     */
+    public int[] usedBuckets() {
+        return IntStream.range(0, BUCKET_COUNT).filter(i -> counts[i] > 0).toArray();
+    }
+
+    public long countAt(int bucket) {
+        return counts[bucket];
+    }
+
+    /**
+     * Rebuilds a histogram from {@link #usedBuckets()} and their counts; unknown buckets are ignored
+     */
+    public static LatencyHistogram of(int[] buckets, long[] bucketCounts, long maxMicros) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        if (buckets != null && bucketCounts != null) {
+            for (int i = 0; i < Math.min(buckets.length, bucketCounts.length); i++) {
+                if (buckets[i] >= 0 && buckets[i] < BUCKET_COUNT && bucketCounts[i] > 0) {
+                    histogram.counts[buckets[i]] += bucketCounts[i];
+                    histogram.count += bucketCounts[i];
+                }
+            }
+        }
+        histogram.maxMicros = histogram.count > 0 ? Math.max(0, maxMicros) : 0;
+        return histogram;
+    }
+
+    public LatencyHistogram copy() {
+        LatencyHistogram copy = new LatencyHistogram();
+        copy.add(this);
+        return copy;
+    }
+
+    static int bucketOf(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int highestBit = 63 - Long.numberOfLeadingZeros(micros);
+        if (highestBit >= MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int shift = highestBit - SUB_BUCKET_BITS;
+        int subBucket = (int) (micros >>> shift) - SUB_BUCKETS;
+        return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket;
+    }
+
+    static long highestValueIn(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+        int subBucket = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyHistogram{count=" + count + ", p50=" + percentileMicros(50) + "µs, max=" + maxMicros
+                + "µs, buckets=" + Arrays.stream(counts).filter(c -> c > 0).count() + "}";
+    }
+}
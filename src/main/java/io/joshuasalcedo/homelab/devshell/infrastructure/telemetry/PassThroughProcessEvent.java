@@ -0,0 +1,82 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.telemetry;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event covering a system command run through the login shell.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+@Name(PassThroughProcessEvent.NAME)
+@Label("Pass-through Process")
+@Category({"Dev Shell", "Processes"})
+@Description("A command that is not a dev-shell command, run with bash -l -c")
+@StackTrace(false)
+public class PassThroughProcessEvent extends Event {
+
+    public static final String NAME = "io.joshuasalcedo.devshell.PassThroughProcess";
+
+    @Label("Executable")
+    String executable;
+
+    @Label("Command Line")
+    String commandLine;
+
+    @Label("Mode")
+    @Description("streaming, interactive or background")
+    String mode;
+
+    @Label("Process Id")
+    long pid;
+
+    @Label("Exit Code")
+    @Description("The exit code, or -1 if the process did not finish")
+    int exitCode = -1;
+
+    @Label("Output Lines")
+    @Description("Lines streamed from stdout and stderr; 0 when the process used the terminal directly")
+    long outputLines;
+
+    /**
+     * Starts timing a process
+     */
+    public static PassThroughProcessEvent begin(String executable, String commandLine, String mode) {
+        PassThroughProcessEvent event = new PassThroughProcessEvent();
+        if (event.isEnabled()) {
+            event.executable = executable;
+            event.commandLine = commandLine;
+            event.mode = mode;
+        }
+        event.begin();
+        return event;
+    }
+
+    public void setPid(long pid) {
+        this.pid = pid;
+    }
+
+    public void setExitCode(int exitCode) {
+        this.exitCode = exitCode;
+    }
+
+    public void setOutputLines(long outputLines) {
+        this.outputLines = outputLines;
+    }
+
+    /**
+     * Ends timing and records the event if a recording wants it
+     */
+    public void finish() {
+        end();
+        if (shouldCommit()) {
+            commit();
+        }
+    }
+}
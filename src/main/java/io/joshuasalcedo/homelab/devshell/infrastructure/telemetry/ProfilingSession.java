@@ -0,0 +1,191 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.telemetry;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Controls a Flight Recorder recording of the dev-shell events plus CPU samples, and summarizes it.
+ * <p>
+ * Recordings are written to the profile directory when stopped, as plain {@code .jfr} files that JDK Mission
+ * Control or {@code jfr print} can open as well.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+public class ProfilingSession {
+
+    private static final String EXECUTION_SAMPLE = "jdk.ExecutionSample";
+    private static final Duration SAMPLE_PERIOD = Duration.ofMillis(20);
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    /**
+     * Time spent in one command, git operation, process or method
+     *
+     * @param name what was timed, prefixed with its kind
+     * @param count how many events or samples
+     * @param total the summed duration; zero for samples
+     * @param max the longest single duration; zero for samples
+     */
+    public record Consumer(String name, long count, Duration total, Duration max) {
+    }
+
+    /**
+     * @param file the recording that was read, or null for the running recording
+     * @param events the dev-shell events, longest total first
+     * @param hotMethods the methods most often on top of the stack, most samples first
+     */
+    public record Summary(Path file, List<Consumer> events, List<Consumer> hotMethods) {
+    }
+
+    private final Path directory;
+    private Recording recording;
+    private Path lastFile;
+
+    public ProfilingSession(Path directory) {
+        this.directory = directory;
+    }
+
+    public synchronized boolean isRecording() {
+        return recording != null;
+    }
+
+    /**
+     * Starts recording
+     *
+     * @throws IllegalStateException if a recording is already running
+     */
+    public synchronized void start() {
+        if (recording != null) {
+            throw new IllegalStateException("A recording is already running");
+        }
+        Recording started = new Recording();
+        started.setName("dev-shell");
+        for (String event : List.of(ShellCommandEvent.NAME, GitOperationEvent.NAME, PassThroughProcessEvent.NAME)) {
+            started.enable(event).withThreshold(Duration.ZERO);
+        }
+        started.enable(EXECUTION_SAMPLE).withPeriod(SAMPLE_PERIOD);
+        started.setToDisk(true);
+        started.start();
+        recording = started;
+    }
+
+    /**
+     * Stops recording and writes it to the profile directory
+     *
+     * @return the written file
+     * @throws IllegalStateException if nothing is recording
+     */
+    public synchronized Path stop() {
+        if (recording == null) {
+            throw new IllegalStateException("No recording is running");
+        }
+        Recording stopping = recording;
+        recording = null;
+        try {
+            Files.createDirectories(directory);
+            Path file = directory.resolve("dev-shell-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr");
+            stopping.stop();
+            stopping.dump(file);
+            lastFile = file;
+            return file;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write recording to " + directory, e);
+        } finally {
+            stopping.close();
+        }
+    }
+
+    /**
+     * Summarizes the running recording so far, or the last one stopped
+     *
+     * @param top how many entries to keep in each list
+     * @return empty if there is nothing to summarize
+     */
+    public synchronized Optional<Summary> summary(int top) {
+        try {
+            if (recording != null) {
+                Path snapshot = Files.createTempFile("dev-shell-", ".jfr");
+                try {
+                    recording.dump(snapshot);
+                    Summary summary = summarize(snapshot, top);
+                    return Optional.of(new Summary(null, summary.events(), summary.hotMethods()));
+                } finally {
+                    Files.deleteIfExists(snapshot);
+                }
+            }
+            if (lastFile != null && Files.exists(lastFile)) {
+                return Optional.of(summarize(lastFile, top));
+            }
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read recording", e);
+        }
+    }
+
+    /**
+     * Summarizes a recording file
+     */
+    public static Summary summarize(Path file, int top) throws IOException {
+        Map<String, long[]> events = new HashMap<>();
+        Map<String, long[]> methods = new HashMap<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+            String type = event.getEventType().getName();
+            String name = switch (type) {
+                case ShellCommandEvent.NAME -> "command " + event.getString("command");
+                case GitOperationEvent.NAME -> "git " + event.getString("operation");
+                case PassThroughProcessEvent.NAME -> "process " + event.getString("executable");
+                case EXECUTION_SAMPLE -> topFrame(event.getStackTrace());
+                default -> null;
+            };
+            if (name == null) {
+                continue;
+            }
+            if (type.equals(EXECUTION_SAMPLE)) {
+                methods.computeIfAbsent(name, key -> new long[3])[0]++;
+            } else {
+                long nanos = event.getDuration().toNanos();
+                long[] totals = events.computeIfAbsent(name, key -> new long[3]);
+                totals[0]++;
+                totals[1] += nanos;
+                totals[2] = Math.max(totals[2], nanos);
+            }
+        }
+        return new Summary(file, top(events, top, 1), top(methods, top, 0));
+    }
+
+    private static List<Consumer> top(Map<String, long[]> totals, int top, int sortIndex) {
+        return totals.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, long[]> entry) -> entry.getValue()[sortIndex])
+                        .reversed())
+                .limit(Math.max(0, top))
+                .map(entry -> new Consumer(entry.getKey(), entry.getValue()[0],
+                        Duration.ofNanos(entry.getValue()[1]), Duration.ofNanos(entry.getValue()[2])))
+                .toList();
+    }
+
+    private static String topFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return null;
+        }
+        RecordedFrame frame = stackTrace.getFrames().get(0);
+        RecordedMethod method = frame.getMethod();
+        return method.getType().getName() + "." + method.getName();
+    }
+}
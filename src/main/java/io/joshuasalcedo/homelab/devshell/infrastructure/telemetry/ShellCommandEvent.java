@@ -0,0 +1,39 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.telemetry;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event covering one line entered at the prompt, from pressing enter until the next prompt.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+@Name(ShellCommandEvent.NAME)
+@Label("Shell Command")
+@Category({"Dev Shell", "Commands"})
+@Description("A command line entered at the dev-shell prompt")
+@StackTrace(false)
+public class ShellCommandEvent extends Event {
+
+    public static final String NAME = "io.joshuasalcedo.devshell.ShellCommand";
+
+    @Label("Command")
+    @Description("The dev-shell command, or the executable of a pass-through command")
+    String command;
+
+    @Label("Command Line")
+    String commandLine;
+
+    @Label("Built-in")
+    @Description("Whether the command is a dev-shell command rather than a pass-through process")
+    boolean builtIn;
+
+    @Label("Working Directory")
+    String workingDirectory;
+}
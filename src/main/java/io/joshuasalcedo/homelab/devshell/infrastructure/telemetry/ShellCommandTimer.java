@@ -0,0 +1,131 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.telemetry;
+
+import io.joshuasalcedo.homelab.devshell.domain.service.TtyRequirementClassifier;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Times each line entered at the prompt as a {@link ShellCommandEvent} and in the {@link CommandStatistics}.
+ * <p>
+ * {@link #begin(String)} is called when the line is accepted and {@link #end()} when the next prompt is drawn,
+ * so the timing covers the command, the pass-through process it may start and printing its result, whichever
+ * command class handled it. Only the shell thread reads lines, so one pending command is enough.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+public class ShellCommandTimer {
+
+    private record Pending(String command, long startNanos, ShellCommandEvent event) {
+    }
+
+    /** sudo options that consume the following argument */
+    private static final Set<String> SUDO_OPTIONS_WITH_VALUE = Set.of("-u", "-g", "-h", "-p", "-C", "-D", "-r", "-t", "-U");
+
+    private final Supplier<Set<String>> commandNames;
+    private final CommandStatistics statistics;
+    private volatile Pending pending;
+
+    /**
+     * @param commandNames the names of the dev-shell commands, asked for lazily once a command is timed
+     */
+    public ShellCommandTimer(Supplier<Set<String>> commandNames) {
+        this(commandNames, null);
+    }
+
+    /**
+     * @param commandNames the names of the dev-shell commands, asked for lazily once a command is timed
+     * @param statistics where to record latencies, or null to only emit events
+     */
+    public ShellCommandTimer(Supplier<Set<String>> commandNames, CommandStatistics statistics) {
+        this.commandNames = commandNames;
+        this.statistics = statistics;
+    }
+
+    /**
+     * Starts timing a line, replacing one that was never finished
+     */
+    public void begin(String commandLine) {
+        if (commandLine == null || commandLine.isBlank()) {
+            pending = null;
+            return;
+        }
+        String line = commandLine.trim();
+        String builtIn = builtInCommand(line);
+        // Pass-through lines are grouped by the program that runs, not by a leading FOO=1, env or time
+        String command = builtIn != null ? builtIn : passThroughCommand(line);
+
+        ShellCommandEvent event = new ShellCommandEvent();
+        if (event.isEnabled()) {
+            event.commandLine = line;
+            event.command = command;
+            event.builtIn = builtIn != null;
+            event.workingDirectory = Path.of(System.getProperty("user.dir")).toString();
+        }
+        event.begin();
+        pending = new Pending(command, System.nanoTime(), event);
+    }
+
+    /**
+     * Finishes timing the current line, if there is one
+     */
+    public void end() {
+        Pending finished = pending;
+        if (finished == null) {
+            return;
+        }
+        pending = null;
+        if (statistics != null) {
+            statistics.record(finished.command(), System.nanoTime() - finished.startNanos());
+        }
+        finished.event().commit();
+    }
+
+    private static String passThroughCommand(String line) {
+        String command = TtyRequirementClassifier.baseCommand(line);
+        if (command.equals("sudo")) {
+            String elevated = afterSudo(line);
+            if (!elevated.isEmpty()) {
+                return elevated;
+            }
+        }
+        // A line of nothing but assignments still sets variables, so keep it under its first word
+        return command.isEmpty() ? line.split("\\s+", 2)[0] : command;
+    }
+
+    /**
+     * The command sudo runs, past its options
+     */
+    private static String afterSudo(String line) {
+        String[] tokens = line.split("\\s+");
+        int i = 0;
+        while (i < tokens.length && !tokens[i].equals("sudo")) {
+            i++;
+        }
+        for (i++; i < tokens.length && tokens[i].startsWith("-"); i++) {
+            if (SUDO_OPTIONS_WITH_VALUE.contains(tokens[i])) {
+                i++;
+            }
+        }
+        return i < tokens.length
+                ? TtyRequirementClassifier.baseCommand(String.join(" ", List.of(tokens).subList(i, tokens.length)))
+                : "";
+    }
+
+    /**
+     * The longest dev-shell command name the line starts with, or null for a pass-through command
+     */
+    private String builtInCommand(String line) {
+        String match = null;
+        for (String name : commandNames.get()) {
+            if ((line.equals(name) || line.startsWith(name + " ")) && (match == null || name.length() > match.length())) {
+                match = name;
+            }
+        }
+        return match;
+    }
+}
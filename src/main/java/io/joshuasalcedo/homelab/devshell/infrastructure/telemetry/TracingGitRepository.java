@@ -0,0 +1,175 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.telemetry;
+
+import io.joshuasalcedo.homelab.devshell.domain.model.Branch;
+import io.joshuasalcedo.homelab.devshell.domain.model.Commit;
+import io.joshuasalcedo.homelab.devshell.domain.model.Repository;
+import io.joshuasalcedo.homelab.devshell.domain.model.WorkingDirectory;
+import io.joshuasalcedo.homelab.devshell.domain.repository.GitRepository;
+import io.joshuasalcedo.homelab.devshell.domain.value.BranchName;
+import io.joshuasalcedo.homelab.devshell.domain.value.CommitMessage;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Decorator that records a {@link GitOperationEvent} for every call to the wrapped {@link GitRepository}.
+ * <p>
+ * When no recording has the event enabled, each call costs one allocation that escape analysis removes and a
+ * flag check, so the decorator stays in place permanently.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+public class TracingGitRepository implements GitRepository {
+
+    private static final ToIntFunction<Object> NO_FILES = result -> 0;
+
+    private final GitRepository delegate;
+
+    public TracingGitRepository(GitRepository delegate) {
+        this.delegate = Objects.requireNonNull(delegate, "GitRepository cannot be null");
+    }
+
+    @Override
+    public Optional<Repository> findRepository(Path repositoryPath) {
+        return trace("findRepository", repositoryPath, () -> delegate.findRepository(repositoryPath), NO_FILES);
+    }
+
+    @Override
+    public Repository initializeRepository(Path repositoryPath, String repositoryName) {
+        return trace("initializeRepository", repositoryPath,
+                () -> delegate.initializeRepository(repositoryPath, repositoryName), NO_FILES);
+    }
+
+    @Override
+    public WorkingDirectory getWorkingDirectoryStatus(Repository repository) {
+        return trace("getWorkingDirectoryStatus", pathOf(repository),
+                () -> delegate.getWorkingDirectoryStatus(repository),
+                status -> status.getStagedFiles().size() + status.getUnstagedFiles().size()
+                        + status.getUntrackedFiles().size());
+    }
+
+    @Override
+    public Branch getCurrentBranch(Repository repository) {
+        return trace("getCurrentBranch", pathOf(repository), () -> delegate.getCurrentBranch(repository), NO_FILES);
+    }
+
+    @Override
+    public List<Branch> getAllBranches(Repository repository) {
+        return trace("getAllBranches", pathOf(repository), () -> delegate.getAllBranches(repository), NO_FILES);
+    }
+
+    @Override
+    public Branch createBranch(Repository repository, BranchName branchName) {
+        return trace("createBranch", pathOf(repository), () -> delegate.createBranch(repository, branchName), NO_FILES);
+    }
+
+    @Override
+    public void switchToBranch(Repository repository, Branch branch) {
+        run("switchToBranch", pathOf(repository), 0, () -> delegate.switchToBranch(repository, branch));
+    }
+
+    @Override
+    public void deleteBranch(Repository repository, Branch branch) {
+        run("deleteBranch", pathOf(repository), 0, () -> delegate.deleteBranch(repository, branch));
+    }
+
+    @Override
+    public void stageTrackedFiles(Repository repository) {
+        run("stageTrackedFiles", pathOf(repository), 0, () -> delegate.stageTrackedFiles(repository));
+    }
+
+    @Override
+    public void stageFiles(Repository repository, List<String> files) {
+        run("stageFiles", pathOf(repository), files == null ? 0 : files.size(),
+                () -> delegate.stageFiles(repository, files));
+    }
+
+    @Override
+    public Commit createCommit(Repository repository, CommitMessage message, String branchName) {
+        return trace("createCommit", pathOf(repository),
+                () -> delegate.createCommit(repository, message, branchName), NO_FILES);
+    }
+
+    @Override
+    public void mergeBranch(Repository repository, Branch sourceBranch, Branch targetBranch) {
+        run("mergeBranch", pathOf(repository), 0, () -> delegate.mergeBranch(repository, sourceBranch, targetBranch));
+    }
+
+    @Override
+    public void pushBranch(Repository repository, Branch branch) {
+        run("pushBranch", pathOf(repository), 0, () -> delegate.pushBranch(repository, branch));
+    }
+
+    @Override
+    public List<Commit> getCommitHistory(Repository repository, int maxCount) {
+        return trace("getCommitHistory", pathOf(repository),
+                () -> delegate.getCommitHistory(repository, maxCount), NO_FILES);
+    }
+
+    @Override
+    public String getConfiguredAuthor(Repository repository) {
+        return trace("getConfiguredAuthor", pathOf(repository), () -> delegate.getConfiguredAuthor(repository), NO_FILES);
+    }
+
+    @Override
+    public boolean hasUncommittedChanges(Repository repository) {
+        return trace("hasUncommittedChanges", pathOf(repository),
+                () -> delegate.hasUncommittedChanges(repository), NO_FILES);
+    }
+
+    @Override
+    public List<String> getRemotes(Repository repository) {
+        return trace("getRemotes", pathOf(repository), () -> delegate.getRemotes(repository), NO_FILES);
+    }
+
+    @Override
+    public boolean hasRemote(Repository repository, String remoteName) {
+        return trace("hasRemote", pathOf(repository), () -> delegate.hasRemote(repository, remoteName), NO_FILES);
+    }
+
+    /**
+     * Not traced itself: the calls made inside it are
+     */
+    @Override
+    public <T> T withExclusiveAccess(Repository repository, Supplier<T> action) {
+        return delegate.withExclusiveAccess(repository, action);
+    }
+
+    private <T> T trace(String operation, Path repositoryPath, Supplier<T> call, ToIntFunction<? super T> fileCount) {
+        GitOperationEvent event = new GitOperationEvent();
+        event.begin();
+        boolean succeeded = false;
+        T result = null;
+        try {
+            result = call.get();
+            succeeded = true;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = operation;
+                event.repositoryPath = repositoryPath != null ? repositoryPath.toString() : null;
+                event.fileCount = succeeded && result != null ? fileCount.applyAsInt(result) : 0;
+                event.succeeded = succeeded;
+                event.commit();
+            }
+        }
+    }
+
+    private void run(String operation, Path repositoryPath, int fileCount, Runnable call) {
+        trace(operation, repositoryPath, () -> {
+            call.run();
+            return fileCount;
+        }, Integer::intValue);
+    }
+
+    private static Path pathOf(Repository repository) {
+        return repository != null ? repository.getRootPath() : null;
+    }
+}
@@ -0,0 +1,245 @@
+package io.joshuasalcedo.homelab.devshell.presentation.shell;
+
+import io.joshuasalcedo.commonlibs.text.TextUtility;
+import io.joshuasalcedo.homelab.devshell.infrastructure.git.SyntheticRepositoryGenerator;
+import io.joshuasalcedo.homelab.devshell.infrastructure.process.ResourceHistory;
+import io.joshuasalcedo.homelab.devshell.infrastructure.process.ResourceUsage;
+import io.joshuasalcedo.homelab.devshell.infrastructure.telemetry.CommandStatistics;
+import io.joshuasalcedo.homelab.devshell.infrastructure.telemetry.ProfilingSession;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Spring Shell commands for looking at where the shell spends its time.
+ * Profiles use JDK Flight Recorder, so no agent or network access is needed.
+ * {@code bench-gen} creates the repositories that performance work is measured against.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+@ShellComponent
+public class DiagnosticsCommands {
+
+    private static final DateTimeFormatter RUN_TIME = DateTimeFormatter.ofPattern("MM-dd HH:mm")
+            .withZone(ZoneId.systemDefault());
+
+    private final ProfilingSession profilingSession;
+    private final CommandStatistics commandStatistics;
+    private final ResourceHistory resourceHistory;
+
+    public DiagnosticsCommands(ProfilingSession profilingSession, CommandStatistics commandStatistics,
+                               ResourceHistory resourceHistory) {
+        this.profilingSession = profilingSession;
+        this.commandStatistics = commandStatistics;
+        this.resourceHistory = resourceHistory;
+    }
+
+    @ShellMethod(key = "resources", value = "Show CPU, memory and I/O of recent pass-through commands, compared with their earlier runs")
+    public String resources(@ShellOption(value = "--command", defaultValue = ShellOption.NULL, help = "Only command lines containing this") String command,
+                            @ShellOption(value = "--count", defaultValue = "15") int count) {
+        List<ResourceHistory.Run> runs;
+        try {
+            runs = resourceHistory.recent(command, count);
+        } catch (IOException e) {
+            return formatError("Failed to read resource history: " + e.getMessage());
+        }
+        if (runs.isEmpty()) {
+            return command == null ? "No commands recorded yet" : "No recorded commands contain: " + command;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(TextUtility.of("📈 Recent commands (" + resourceHistory.getFile() + ")").bold().format())
+                .append('\n');
+        sb.append(String.format("  %-11s %8s %8s %8s %8s %8s %8s  %-7s %s%n",
+                "when", "wall", "user", "sys", "rss", "read", "write", "vs.usual", "command"));
+        for (ResourceHistory.Run run : runs) {
+            ResourceUsage usage = run.usage();
+            sb.append(String.format("  %-11s %8s %8s %8s %8s %8s %8s  %-7s %s%s%n",
+                    RUN_TIME.format(usage.startedAt()),
+                    ResourceUsage.formatDuration(usage.wallTime()),
+                    ResourceUsage.formatDuration(usage.userCpu()),
+                    ResourceUsage.formatDuration(usage.systemCpu()),
+                    ResourceUsage.formatBytes(usage.peakRssBytes()),
+                    ResourceUsage.formatBytes(usage.readBytes()),
+                    ResourceUsage.formatBytes(usage.writeBytes()),
+                    formatTrend(run.change()),
+                    usage.commandLine(),
+                    usage.exitCode() != 0 ? " (exit " + usage.exitCode() + ")" : ""));
+        }
+        sb.append("  vs.usual: wall time against the median of the previous runs of the same command");
+        return sb.toString();
+    }
+
+    @ShellMethod(key = "stats", value = "Show latency percentiles per command across sessions, with this week's trend")
+    public String stats(@ShellOption(value = "--top", defaultValue = "20") int top) {
+        List<CommandStatistics.CommandStats> stats;
+        try {
+            stats = commandStatistics.summarize();
+        } catch (IOException e) {
+            return formatError("Failed to read statistics: " + e.getMessage());
+        }
+        if (stats.isEmpty()) {
+            return "No commands recorded yet";
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(TextUtility.of("⏱ Command latency (" + commandStatistics.getFile() + ")").bold().format())
+                .append('\n');
+        sb.append(String.format("  %-20s %8s %9s %9s %9s %9s  %s%n",
+                "command", "calls", "p50", "p90", "p99", "max", "trend"));
+        for (CommandStatistics.CommandStats command : stats.stream().limit(Math.max(0, top)).toList()) {
+            sb.append(String.format("  %-20s %8d %9s %9s %9s %9s  %s%n",
+                    command.command(), command.count(),
+                    formatMicros(command.p50Micros()), formatMicros(command.p90Micros()),
+                    formatMicros(command.p99Micros()), formatMicros(command.maxMicros()),
+                    formatTrend(command.trend())));
+        }
+        if (stats.size() > top) {
+            sb.append(String.format("  … %d more%n", stats.size() - top));
+        }
+        sb.append("  trend: median this week against last week");
+        return sb.toString();
+    }
+
+    @ShellMethod(key = "profile", value = "Record commands, git operations and processes with Flight Recorder: start, stop or summary")
+    public String profile(@ShellOption(value = "action", defaultValue = "summary") String action,
+                          @ShellOption(value = "--top", defaultValue = "10") int top) {
+        try {
+            return switch (action.trim().toLowerCase(Locale.ROOT)) {
+                case "start" -> {
+                    profilingSession.start();
+                    yield formatInfo("⏺ Recording started; run 'profile stop' to save it");
+                }
+                case "stop" -> formatInfo("⏹ Recording saved to " + profilingSession.stop()) + "\n"
+                        + summary(top);
+                case "summary" -> summary(top);
+                default -> formatError("Unknown action: " + action + " (use start, stop or summary)");
+            };
+        } catch (IllegalStateException e) {
+            return formatError(e.getMessage());
+        }
+    }
+
+    @ShellMethod(key = "bench-gen", value = "Generate a reproducible git repository for benchmarks and load tests")
+    public String benchGen(@ShellOption(value = "directory", help = "Empty or missing directory to generate into") String directory,
+                           @ShellOption(value = "--seed", defaultValue = "42") long seed,
+                           @ShellOption(value = "--files", defaultValue = "1000") int files,
+                           @ShellOption(value = "--depth", defaultValue = "3", help = "Directories above each file") int depth,
+                           @ShellOption(value = "--fan-out", defaultValue = "8", help = "Subdirectories per directory") int fanOut,
+                           @ShellOption(value = "--file-size", defaultValue = "1024", help = "Typical file size in bytes") int fileSize,
+                           @ShellOption(value = "--sizes", defaultValue = "log-normal", help = "fixed, uniform or log-normal") String sizes,
+                           @ShellOption(value = "--commits", defaultValue = "100") int commits,
+                           @ShellOption(value = "--files-per-commit", defaultValue = "5") int filesPerCommit,
+                           @ShellOption(value = "--branches", defaultValue = "10") int branches,
+                           @ShellOption(value = "--binary-ratio", defaultValue = "0") double binaryRatio,
+                           @ShellOption(value = "--no-checkout", defaultValue = "false", help = "Only write .git") boolean noCheckout) {
+        SyntheticRepositoryGenerator.Result result;
+        try {
+            SyntheticRepositoryGenerator.Spec spec = new SyntheticRepositoryGenerator.Spec(seed, files, depth, fanOut,
+                    fileSize, SyntheticRepositoryGenerator.SizeDistribution.parse(sizes), commits, filesPerCommit,
+                    branches, binaryRatio);
+            Path target = Paths.get(directory).toAbsolutePath();
+            result = SyntheticRepositoryGenerator.generate(target, spec, !noCheckout);
+        } catch (IllegalArgumentException e) {
+            return formatError(e.getMessage());
+        } catch (Exception e) {
+            return formatError("Failed to generate repository: " + e.getMessage());
+        }
+
+        return formatInfo("🧪 Generated " + result.directory()) + "\n"
+                + String.format("  %d files, %d commits, %d branches, %d objects, %s of content in %s%n",
+                result.files(), result.commits(), result.branches(), result.objects(),
+                ResourceUsage.formatBytes(result.contentBytes()), formatDuration(result.elapsed()))
+                + "  HEAD " + result.head().getName();
+    }
+
+    private String summary(int top) {
+        Optional<ProfilingSession.Summary> summary = profilingSession.summary(top);
+        if (summary.isEmpty()) {
+            return "No recording yet; start one with: profile start";
+        }
+
+        ProfilingSession.Summary result = summary.get();
+        StringBuilder sb = new StringBuilder();
+        sb.append(TextUtility.of(result.file() != null
+                        ? "📊 Recording " + result.file()
+                        : "📊 Recording in progress")
+                .bold()
+                .format()).append('\n');
+
+        sb.append("\nTop time consumers:\n");
+        appendTable(sb, result.events(), true);
+        sb.append("\nHot methods (CPU samples):\n");
+        appendTable(sb, result.hotMethods(), false);
+        return sb.toString();
+    }
+
+    private void appendTable(StringBuilder sb, List<ProfilingSession.Consumer> consumers, boolean timed) {
+        if (consumers.isEmpty()) {
+            sb.append("  (none recorded)\n");
+            return;
+        }
+        for (ProfilingSession.Consumer consumer : consumers) {
+            if (timed) {
+                sb.append(String.format("  %10s total  %5d×  %10s max  %s%n",
+                        formatDuration(consumer.total()), consumer.count(), formatDuration(consumer.max()),
+                        consumer.name()));
+            } else {
+                sb.append(String.format("  %6d samples  %s%n", consumer.count(), consumer.name()));
+            }
+        }
+    }
+
+    private String formatDuration(Duration duration) {
+        return formatMicros(duration.toNanos() / 1_000);
+    }
+
+    private String formatMicros(long micros) {
+        if (micros < 1_000) {
+            return micros + "µs";
+        }
+        if (micros < 1_000_000) {
+            return String.format("%.1fms", micros / 1_000.0);
+        }
+        return String.format("%.2fs", micros / 1_000_000.0);
+    }
+
+    private String formatTrend(Double trend) {
+        if (trend == null) {
+            return "–";
+        }
+        String text = String.format("%+.0f%%", trend * 100);
+        if (Math.abs(trend) < 0.1) {
+            return text;
+        }
+        // Slower is what we are looking for, so it stands out
+        return TextUtility.of(text)
+                .color(trend > 0 ? TextUtility.Color.RED : TextUtility.Color.GREEN)
+                .format();
+    }
+
+    private String formatInfo(String message) {
+        return TextUtility.of(message)
+                .color(TextUtility.Color.CYAN)
+                .format();
+    }
+
+    private String formatError(String message) {
+        return TextUtility.of(message)
+                .bold()
+                .color(TextUtility.Color.RED)
+                .format();
+    }
+}
@@ -3,6 +3,7 @@ package io.joshuasalcedo.homelab.devshell.presentation.shell;
 import io.joshuasalcedo.homelab.devshell.utils.CliLogger;
 
 import io.joshuasalcedo.homelab.devshell.domain.exception.DomainExceptions;
+import io.joshuasalcedo.homelab.devshell.domain.model.CancellationToken;
 import io.joshuasalcedo.homelab.devshell.domain.model.Commit;
 import io.joshuasalcedo.homelab.devshell.domain.model.Repository;
 import io.joshuasalcedo.homelab.devshell.domain.model.WorkingDirectory;
@@ -10,6 +11,7 @@ import io.joshuasalcedo.homelab.devshell.domain.repository.GitRepository;
 import io.joshuasalcedo.homelab.devshell.domain.service.GitValidationService;
 import io.joshuasalcedo.homelab.devshell.domain.service.SmartCommitService;
 import io.joshuasalcedo.homelab.devshell.domain.value.Author;
+import io.joshuasalcedo.homelab.devshell.utils.InterruptScope;
 import org.springframework.shell.standard.ShellComponent;
 import org.springframework.shell.standard.ShellMethod;
 import org.springframework.shell.standard.ShellOption;
@@ -19,9 +21,12 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Scanner;
+import java.util.TreeMap;
+import java.util.function.Supplier;
 
 /**
  * Spring Shell commands for Git operations.
@@ -81,9 +86,9 @@ public class GitCommands {
             }
             
             // Execute smart commit workflow
-            Commit commit = push ? 
+            Commit commit = cancellable(() -> push ?
                 smartCommitService.executeSmartCommitWithPush(repository, message, true) :
-                smartCommitService.executeSmartCommit(repository, message);
+                smartCommitService.executeSmartCommit(repository, message));
             
             String result = String.format("✅ Smart commit successful!\n" +
                 "📝 Commit: %s\n" +
@@ -109,6 +114,8 @@ public class GitCommands {
             return "❌ Error: Unauthorized to commit. Check your git configuration.";
         } catch (DomainExceptions.NoRemoteRepositoryException e) {
             return "❌ Error: No remote repository configured. Cannot push changes.";
+        } catch (DomainExceptions.OperationCancelledException e) {
+            return "⚠️  " + e.getMessage();
         } catch (RuntimeException e) {
             String errorMsg = e.getMessage();
             if (errorMsg != null && (errorMsg.contains("Push failed: Git credentials not configured") || 
@@ -138,16 +145,20 @@ public class GitCommands {
      * Shows the current git status
      */
     @ShellMethod(value = "Show git repository status", key = "status")
-    public String status() {
+    public String status(@ShellOption(value = "--porcelain", defaultValue = "false",
+            help = "Stable output for scripts: one 'XY path' line per file") boolean porcelain) {
+        if (porcelain) {
+            return porcelainStatus();
+        }
         try {
             Repository repository = findCurrentRepository();
             
             // Validate repository using validation service
             validationService.validateRepository(repository);
             
-            CliLogger.debug("Checking status for repository at: {}", repository.getRootPath());
+            CliLogger.debug("Checking status for repository at: {}", repository::getRootPath);
             
-            WorkingDirectory workingDir = gitRepository.getWorkingDirectoryStatus(repository);
+            WorkingDirectory workingDir = cancellable(() -> gitRepository.getWorkingDirectoryStatus(repository));
             
             StringBuilder result = new StringBuilder();
             result.append(String.format("📁 Repository: %s\n", repository.getName()));
@@ -186,12 +197,37 @@ public class GitCommands {
             
         } catch (DomainExceptions.NotARepositoryException e) {
             return "❌ Error: Not a git repository. Please run 'git init' first or navigate to a git repository.";
+        } catch (DomainExceptions.OperationCancelledException e) {
+            return "⚠️  " + e.getMessage();
         } catch (Exception e) {
             CliLogger.error("Error getting repository status", e);
             return "❌ Error getting status: " + e.getMessage();
         }
     }
 
+    /**
+     * Status in the layout of {@code git status --porcelain}: X is the index and Y the working tree, each
+     * {@code A}, {@code M}, {@code D} or blank, and {@code ??} marks an untracked file. Failures are thrown, so
+     * scripts get a non-zero exit code.
+     */
+    private String porcelainStatus() {
+        Repository repository = findCurrentRepository();
+        validationService.validateRepository(repository);
+        WorkingDirectory workingDir = cancellable(() -> gitRepository.getWorkingDirectoryStatus(repository));
+
+        Map<String, char[]> codes = new TreeMap<>();
+        workingDir.getStagedChanges().forEach((file, change) ->
+                codes.computeIfAbsent(file, key -> new char[]{' ', ' '})[0] = change.code());
+        workingDir.getUnstagedChanges().forEach((file, change) ->
+                codes.computeIfAbsent(file, key -> new char[]{' ', ' '})[1] = change.code());
+
+        StringBuilder result = new StringBuilder();
+        codes.forEach((file, code) -> result.append(code[0]).append(code[1]).append(' ').append(file).append('\n'));
+        workingDir.getUntrackedFiles().stream().sorted()
+                .forEach(file -> result.append("?? ").append(file).append('\n'));
+        return result.isEmpty() ? null : result.substring(0, result.length() - 1);
+    }
+
     /**
      * Initializes a new git repository
      */
@@ -223,7 +259,7 @@ public class GitCommands {
             // Validate repository using validation service
             validationService.validateRepository(repository);
             
-            var commits = gitRepository.getCommitHistory(repository, count);
+            var commits = cancellable(() -> gitRepository.getCommitHistory(repository, count));
             
             if (commits.isEmpty()) {
                 return "📝 No commits found in this repository";
@@ -243,6 +279,8 @@ public class GitCommands {
             
         } catch (DomainExceptions.NotARepositoryException e) {
             return "❌ Error: Not a git repository";
+        } catch (DomainExceptions.OperationCancelledException e) {
+            return "⚠️  " + e.getMessage();
         } catch (Exception e) {
             CliLogger.error("Error getting commit history", e);
             return "❌ Error getting history: " + e.getMessage();
@@ -444,7 +482,7 @@ public class GitCommands {
             Repository repository = findCurrentRepository();
             validationService.validateRepository(repository);
             
-            WorkingDirectory workingDir = gitRepository.getWorkingDirectoryStatus(repository);
+            WorkingDirectory workingDir = cancellable(() -> gitRepository.getWorkingDirectoryStatus(repository));
             List<String> untrackedFiles = workingDir.getUntrackedFiles();
             
             if (untrackedFiles.isEmpty()) {
@@ -482,7 +520,10 @@ public class GitCommands {
             }
             
             // Add files to staging
-            gitRepository.stageFiles(repository, filesToAdd);
+            cancellable(() -> {
+                gitRepository.stageFiles(repository, filesToAdd);
+                return null;
+            });
             
             StringBuilder result = new StringBuilder();
             result.append("✅ Added ").append(filesToAdd.size()).append(" file(s) to staging:\n");
@@ -493,6 +534,8 @@ public class GitCommands {
             
             return result.toString();
             
+        } catch (DomainExceptions.OperationCancelledException e) {
+            return "⚠️  " + e.getMessage();
         } catch (Exception e) {
             CliLogger.error("Error adding files", e);
             return "❌ Error adding files: " + e.getMessage();
@@ -569,6 +612,18 @@ public class GitCommands {
             """;
     }
 
+    /**
+     * Runs a git operation that Ctrl-C cancels cooperatively.
+     * Replaces Spring Shell's handler, which interrupts the command thread and would make
+     * JGit's file channels close mid-write.
+     */
+    private <T> T cancellable(Supplier<T> operation) {
+        CancellationToken token = CancellationToken.create();
+        try (InterruptScope scope = InterruptScope.onInterrupt(token::cancel)) {
+            return token.call(operation);
+        }
+    }
+
     private Repository findCurrentRepository() {
         var currentPath = Paths.get(System.getProperty("user.dir"));
         
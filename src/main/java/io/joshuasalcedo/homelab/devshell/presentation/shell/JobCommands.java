@@ -0,0 +1,123 @@
+package io.joshuasalcedo.homelab.devshell.presentation.shell;
+
+import io.joshuasalcedo.commonlibs.text.TextUtility;
+import io.joshuasalcedo.homelab.devshell.infrastructure.process.BackgroundJob;
+import io.joshuasalcedo.homelab.devshell.infrastructure.process.JobManager;
+import io.joshuasalcedo.homelab.devshell.utils.InterruptScope;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Spring Shell commands for background jobs.
+ * Commands ending with '&' are started as jobs and managed here. {@code kill %n} is not a shell command, so
+ * {@code kill <pid>} and {@code kill -9 <pid>} still reach bash; the pass-through provider picks out job specs.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+@ShellComponent
+public class JobCommands {
+
+    private final JobManager jobManager;
+    private final PrintStream out;
+
+    public JobCommands(JobManager jobManager, PrintStream out) {
+        this.jobManager = jobManager;
+        this.out = out;
+    }
+
+    @ShellMethod(key = "jobs", value = "List background jobs (stop one with kill %<id>)")
+    public String listJobs() {
+        List<BackgroundJob> jobs = jobManager.list();
+        if (jobs.isEmpty()) {
+            return "No background jobs";
+        }
+
+        StringBuilder sb = new StringBuilder("📋 Background jobs:\n");
+        for (BackgroundJob job : jobs) {
+            String state = job.getState() == BackgroundJob.State.DONE
+                    ? "Done(" + job.getExitCode() + ")"
+                    : job.getState().name().charAt(0) + job.getState().name().substring(1).toLowerCase();
+            sb.append(String.format("  [%d] %-10s pid %-8d %-8s %s%n",
+                    job.getId(), state, job.getPid(), formatDuration(job.getRuntime()), job.getCommand()));
+        }
+        return sb.toString();
+    }
+
+    @ShellMethod(key = "fg", value = "Bring a background job to the foreground and wait for it (Ctrl-C kills it)")
+    public String foreground(@ShellOption(value = "id") String id) {
+        Optional<BackgroundJob> job = findJob(id);
+        if (job.isEmpty()) {
+            return formatError("No such job: " + id);
+        }
+
+        BackgroundJob backgroundJob = job.get();
+        out.println(TextUtility.of(backgroundJob.getCommand()).color(TextUtility.Color.CYAN).format());
+        backgroundJob.follow(line -> out.println(TextUtility.of(line).color(TextUtility.Color.GREEN).format()));
+        Thread waiter = Thread.currentThread();
+        try (InterruptScope scope = InterruptScope.onInterrupt(() -> {
+            jobManager.kill(backgroundJob.getId());
+            waiter.interrupt();
+        })) {
+            int exitCode = backgroundJob.awaitExit();
+            return exitCode == 0 ? "" : formatError(String.format("Job [%d] exited with code %d", backgroundJob.getId(), exitCode));
+        } catch (InterruptedException e) {
+            Thread.interrupted();
+            return formatError("Job [" + backgroundJob.getId() + "] interrupted");
+        } finally {
+            backgroundJob.unfollow();
+        }
+    }
+
+    @ShellMethod(key = "job-output", value = "Show the buffered output of a background job")
+    public String jobOutput(@ShellOption(value = "id") String id,
+                            @ShellOption(value = "--lines", defaultValue = "0", help = "Only show the last N lines") int lines) {
+        Optional<BackgroundJob> job = findJob(id);
+        if (job.isEmpty()) {
+            return formatError("No such job: " + id);
+        }
+
+        BackgroundJob backgroundJob = job.get();
+        List<String> output = lines > 0 ? backgroundJob.getOutput(lines) : backgroundJob.getOutput();
+        StringBuilder sb = new StringBuilder();
+        if (backgroundJob.getDroppedLines() > 0) {
+            sb.append(TextUtility.of(String.format("… %d older lines dropped", backgroundJob.getDroppedLines()))
+                    .color(TextUtility.Color.YELLOW)
+                    .format()).append("\n");
+        }
+        output.forEach(line -> sb.append(line).append("\n"));
+        return sb.toString();
+    }
+
+    /**
+     * These commands only ever take a job, so the id may be given with or without the {@code %}
+     */
+    private Optional<BackgroundJob> findJob(String id) {
+        return jobManager.findBySpec(id.startsWith("%") ? id : "%" + id);
+    }
+
+    private String formatDuration(Duration duration) {
+        long seconds = duration.toSeconds();
+        if (seconds < 60) {
+            return seconds + "s";
+        }
+        if (seconds < 3600) {
+            return String.format("%dm%02ds", seconds / 60, seconds % 60);
+        }
+        return String.format("%dh%02dm", seconds / 3600, (seconds % 3600) / 60);
+    }
+
+    private String formatError(String message) {
+        return TextUtility.of(message)
+                .bold()
+                .color(TextUtility.Color.RED)
+                .format();
+    }
+}
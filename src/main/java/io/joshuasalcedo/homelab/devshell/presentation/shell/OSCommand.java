@@ -4,6 +4,8 @@ package io.joshuasalcedo.homelab.devshell.presentation.shell;
 import io.joshuasalcedo.commonlibs.text.TextUtility;
 import io.joshuasalcedo.homelab.devshell.domain.model.InteractiveCommand;
 import io.joshuasalcedo.homelab.devshell.domain.service.InteractiveCommandService;
+import io.joshuasalcedo.homelab.devshell.domain.value.CommandPatternSet;
+import io.joshuasalcedo.homelab.devshell.infrastructure.command.CommandSetFile;
 import io.joshuasalcedo.homelab.devshell.utils.AliasSetter;
 import org.jline.reader.LineReader;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,6 +14,9 @@ import org.springframework.shell.standard.ShellComponent;
 import org.springframework.shell.standard.ShellMethod;
 import org.springframework.shell.standard.ShellOption;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
 
 /**
@@ -94,8 +99,8 @@ public class OSCommand {
         return home + "/.bashrc";
     }
     
-    @ShellMethod(key = "command-iadd", value = "Register a command as interactive (requires TTY)")
-    public String addInteractiveCommand(@ShellOption(value = "command") String commandName) {
+    @ShellMethod(key = "command-iadd", value = "Register a command or a pattern rule like \"docker run ** -it\" as interactive (requires TTY)")
+    public String addInteractiveCommand(@ShellOption(value = "command", help = "Command name, or tokens where * matches within a token and ** any tokens") String commandName) {
         interactiveCommandService.registerCommand(commandName);
         return TextUtility.of("✅ Command '" + commandName + "' registered as interactive")
                 .color(TextUtility.Color.GREEN)
@@ -110,10 +115,66 @@ public class OSCommand {
         }
         
         StringBuilder sb = new StringBuilder("📋 Registered Interactive Commands:\n");
-        commands.forEach(cmd -> sb.append("  • ").append(cmd.getCommandName()).append("\n"));
+        commands.forEach(cmd -> {
+            sb.append("  • ").append(cmd.getCommandName());
+            if (CommandPatternSet.isPattern(cmd.getCommandName())) {
+                sb.append(" [rule]");
+            }
+            if (cmd.getSource() != InteractiveCommand.Source.USER) {
+                sb.append(" (").append(cmd.getSource().name().toLowerCase()).append(")");
+            }
+            if (cmd.getTtyFailures() > 0) {
+                sb.append(" - ").append(cmd.getTtyFailures()).append(" TTY failure(s)");
+            }
+            sb.append("\n");
+        });
         return sb.toString();
     }
 
+    @ShellMethod(key = "command-import", value = "Import interactive commands from a shared command set file")
+    public String importInteractiveCommands(@ShellOption(value = "file") String file) {
+        Path path = resolve(file);
+        try {
+            List<String> imported = interactiveCommandService.registerCommands(CommandSetFile.read(path), InteractiveCommand.Source.IMPORTED);
+            return TextUtility.of("✅ Imported " + imported.size() + " interactive command(s) from " + path
+                            + (imported.isEmpty() ? "" : ": " + String.join(", ", imported)))
+                    .color(TextUtility.Color.GREEN)
+                    .format();
+        } catch (IOException e) {
+            return TextUtility.of("❌ Failed to import " + path + ": " + e.getMessage())
+                    .color(TextUtility.Color.RED)
+                    .bold()
+                    .format();
+        }
+    }
+
+    @ShellMethod(key = "command-export", value = "Export interactive commands to a shareable command set file")
+    public String exportInteractiveCommands(@ShellOption(value = "file") String file,
+                                            @ShellOption(value = "--include-detected", defaultValue = "false",
+                                                    help = "Also export commands detected on this machine") boolean includeDetected) {
+        Path path = resolve(file);
+        List<String> commands = interactiveCommandService.getAllCommands().stream()
+                .filter(cmd -> includeDetected || cmd.getSource() != InteractiveCommand.Source.DETECTED)
+                .map(InteractiveCommand::getCommandName)
+                .toList();
+        try {
+            CommandSetFile.write(path, commands);
+            return TextUtility.of("✅ Exported " + commands.size() + " interactive command(s) to " + path)
+                    .color(TextUtility.Color.GREEN)
+                    .format();
+        } catch (IOException e) {
+            return TextUtility.of("❌ Failed to export " + path + ": " + e.getMessage())
+                    .color(TextUtility.Color.RED)
+                    .bold()
+                    .format();
+        }
+    }
+
+    private Path resolve(String file) {
+        // Relative to the directory the user cd'ed into, not where the shell was started
+        return Paths.get(System.getProperty("user.dir")).resolve(file).normalize();
+    }
+
     @ShellMethod(key = "command-iremove", value = "Remove a command from interactive list")
     public String removeInteractiveCommand(@ShellOption(value = "command") String commandName) {
         interactiveCommandService.removeCommand(commandName);
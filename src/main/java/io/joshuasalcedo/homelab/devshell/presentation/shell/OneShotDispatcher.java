@@ -0,0 +1,207 @@
+package io.joshuasalcedo.homelab.devshell.presentation.shell;
+
+import io.joshuasalcedo.commonlibs.text.TextUtility;
+import io.joshuasalcedo.homelab.devshell.configuration.CommandNotFoundMessageProviderImpl;
+import io.joshuasalcedo.homelab.devshell.domain.service.TtyRequirementClassifier;
+import io.joshuasalcedo.homelab.devshell.infrastructure.daemon.DaemonProtocol;
+import io.joshuasalcedo.homelab.devshell.infrastructure.daemon.DaemonServer;
+import io.joshuasalcedo.homelab.devshell.infrastructure.telemetry.ShellCommandTimer;
+import io.joshuasalcedo.homelab.devshell.utils.CliLogger;
+import org.jline.terminal.Terminal;
+import org.jline.utils.AttributedCharSequence;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.shell.command.CommandCatalog;
+import org.springframework.shell.command.CommandExecution;
+import org.springframework.shell.context.ShellContext;
+
+import java.io.PrintStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Runs one command line given as program arguments, without a line reader or prompt.
+ * <p>
+ * Arguments starting with a dev-shell command are evaluated by Spring Shell's {@link CommandExecution} and
+ * their result printed; anything else is run like an unknown command at the prompt, through
+ * {@link CommandNotFoundMessageProviderImpl}, but with its standard output and error kept apart and uncoloured and
+ * its standard input passed through, so it can sit in a pipeline. A single argument is taken as a whole command line, so
+ * {@code dev-shell 'ls | wc -l'} works; several are quoted, so each stays one word.
+ * <p>
+ * Exit codes follow the shell: 0 on success, 1 when a dev-shell command fails, 2 for bad arguments, and the
+ * pass-through command's own code otherwise. Commands that report a failure by returning a message starting with
+ * {@value #FAILURE_MARK} count as failed, and the message goes to stderr.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+public class OneShotDispatcher implements DaemonServer.RequestHandler {
+
+    /** dev-shell commands that read from the terminal */
+    private static final Set<String> TERMINAL_COMMANDS = Set.of("set-alias", "auth");
+    private static final Pattern PLAIN_WORD = Pattern.compile("[A-Za-z0-9_./=:,+@%^-]+");
+    /** How the git and system commands start an error message they return instead of throwing */
+    static final String FAILURE_MARK = "❌";
+
+    private final CommandCatalog commandCatalog;
+    private final CommandExecution.CommandExecutionHandlerMethodArgumentResolvers argumentResolvers;
+    private final ConversionService conversionService;
+    private final Terminal terminal;
+    private final ShellContext shellContext;
+    private final CommandNotFoundMessageProviderImpl passThrough;
+    private final ShellCommandTimer shellCommandTimer;
+
+    public OneShotDispatcher(CommandCatalog commandCatalog,
+                             CommandExecution.CommandExecutionHandlerMethodArgumentResolvers argumentResolvers,
+                             ConversionService conversionService, Terminal terminal, ShellContext shellContext,
+                             CommandNotFoundMessageProviderImpl passThrough, ShellCommandTimer shellCommandTimer) {
+        this.commandCatalog = commandCatalog;
+        this.argumentResolvers = argumentResolvers;
+        this.conversionService = conversionService;
+        this.terminal = terminal;
+        this.shellContext = shellContext;
+        this.passThrough = passThrough;
+        this.shellCommandTimer = shellCommandTimer;
+    }
+
+    @Override
+    public String runLocallyReason(DaemonProtocol.Request request) {
+        return runLocallyReason(request.argv);
+    }
+
+    /**
+     * Only dev-shell commands run in the daemon. A pass-through command gains nothing from a warm JVM, needs the
+     * caller's standard input, and could run for as long as it likes while other clients wait.
+     *
+     * @return why the arguments should run in the caller, or null to run them in the daemon
+     */
+    public String runLocallyReason(List<String> argv) {
+        if (argv.isEmpty()) {
+            return "the interactive shell needs the terminal";
+        }
+        String command = findCommand(argv);
+        if (command != null) {
+            return TERMINAL_COMMANDS.contains(command) ? "'" + command + "' reads from the terminal" : null;
+        }
+        return "'" + TtyRequirementClassifier.baseCommand(toCommandLine(argv)) + "' is not a dev-shell command";
+    }
+
+    @Override
+    public int handle(DaemonProtocol.Request request, PrintStream out, PrintStream err) {
+        Map<String, String> environment = new HashMap<>(request.env);
+        if (request.columns > 0) {
+            environment.putIfAbsent("COLUMNS", Integer.toString(request.columns));
+        }
+        return run(request.argv, environment, out, err);
+    }
+
+    /**
+     * Runs the arguments as one command line
+     *
+     * @param environment variables for pass-through commands, on top of the shell's own
+     * @return the exit code
+     */
+    public int run(List<String> argv, Map<String, String> environment, PrintStream out, PrintStream err) {
+        if (argv.isEmpty()) {
+            err.println(formatError("No command given"));
+            return 2;
+        }
+        String commandLine = toCommandLine(argv);
+        shellCommandTimer.begin(commandLine);
+        try {
+            if (findCommand(argv) != null) {
+                return runCommand(argv, out, err);
+            }
+            CommandNotFoundMessageProviderImpl.Outcome outcome = passThrough.execute(commandLine, environment, out, err);
+            if (!outcome.message().isEmpty()) {
+                (outcome.exitCode() == 0 ? out : err).println(outcome.message());
+            }
+            return outcome.exitCode();
+        } finally {
+            shellCommandTimer.end();
+        }
+    }
+
+    private int runCommand(List<String> argv, PrintStream out, PrintStream err) {
+        CommandExecution execution = CommandExecution.of(argumentResolvers.getResolvers(), null, terminal,
+                shellContext, conversionService, commandCatalog);
+        try {
+            Object result = execution.evaluate(argv.toArray(String[]::new));
+            if (result instanceof Throwable failure) {
+                err.println(formatError(messageOf(failure)));
+                return 1;
+            }
+            if (result instanceof String message && message.startsWith(FAILURE_MARK)) {
+                err.println(message);
+                return 1;
+            }
+            if (result != null) {
+                out.println(result instanceof AttributedCharSequence text ? text.toAnsi(terminal) : result);
+            }
+            return 0;
+        } catch (CommandExecution.CommandParserExceptionsException e) {
+            String problems = e.getParserExceptions().stream()
+                    .map(Throwable::getMessage)
+                    .collect(Collectors.joining("\n"));
+            err.println(formatError(problems));
+            return 2;
+        } catch (RuntimeException e) {
+            Throwable failure = e instanceof CommandExecution.CommandExecutionException && e.getCause() != null
+                    ? e.getCause() : e;
+            CliLogger.debug("Command failed: {}", String.join(" ", argv), failure);
+            err.println(formatError(messageOf(failure)));
+            return 1;
+        }
+    }
+
+    /**
+     * The longest dev-shell command the arguments start with, or null for a pass-through command
+     */
+    String findCommand(List<String> argv) {
+        Set<String> names = commandCatalog.getRegistrations().keySet();
+        StringBuilder prefix = new StringBuilder();
+        String match = null;
+        for (String word : argv) {
+            if (!prefix.isEmpty()) {
+                prefix.append(' ');
+            }
+            prefix.append(word);
+            if (names.contains(prefix.toString())) {
+                match = prefix.toString();
+            }
+        }
+        return match;
+    }
+
+    /**
+     * Joins arguments into a bash command line
+     */
+    static String toCommandLine(List<String> argv) {
+        if (argv.size() == 1) {
+            return argv.getFirst();
+        }
+        return argv.stream().map(OneShotDispatcher::quote).collect(Collectors.joining(" "));
+    }
+
+    private static String quote(String word) {
+        if (PLAIN_WORD.matcher(word).matches()) {
+            return word;
+        }
+        return "'" + word.replace("'", "'\\''") + "'";
+    }
+
+    private static String messageOf(Throwable failure) {
+        return failure.getMessage() != null ? failure.getMessage() : failure.getClass().getSimpleName();
+    }
+
+    private String formatError(String message) {
+        return TextUtility.of(message)
+                .bold()
+                .color(TextUtility.Color.RED)
+                .format();
+    }
+}
@@ -152,4 +152,21 @@ public class SystemCommands {
             return String.format("❌ Error listing directory: %s", e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Shows or changes the level of the shell's own log output
+     */
+    @ShellMethod(value = "Show or set the log level (debug, info, warn, error, off)", key = "log-level")
+    public String logLevel(@ShellOption(value = "level", defaultValue = ShellOption.NULL) String level) {
+        if (level == null) {
+            return String.format("📝 Log level: %s (log file: %s)", CliLogger.getLevel().name().toLowerCase(),
+                    CliLogger.getSinkLevel().name().toLowerCase());
+        }
+        try {
+            CliLogger.setLevel(CliLogger.Level.parse(level));
+            return String.format("📝 Log level set to: %s", CliLogger.getLevel().name().toLowerCase());
+        } catch (IllegalArgumentException e) {
+            return String.format("❌ %s", e.getMessage());
+        }
+    }
+}
@@ -16,6 +16,11 @@ public class AliasSetter {
      * @return The File object representing the JAR file, or null if not found
      */
     private static File findJar() {
+        // run.sh runs an extracted copy of the jar; the original is the one to point at
+        String launchedJar = System.getProperty("dev-shell.jar");
+        if (launchedJar != null && new File(launchedJar).isFile()) {
+            return new File(launchedJar);
+        }
         try {
             // Get the location of this class
             URL location = AliasSetter.class.getProtectionDomain().getCodeSource().getLocation();
@@ -47,6 +52,27 @@ public class AliasSetter {
         return null;
     }
 
+    /**
+     * Finds the run.sh launcher, which starts the shell with its class-data cache.
+     *
+     * @param jar the jar found by {@link #findJar()}, may be null
+     * @return the launcher script, or null if there is none
+     */
+    private static File findLauncher(File jar) {
+        String launcher = System.getProperty("dev-shell.launcher");
+        if (launcher != null && new File(launcher).isFile()) {
+            return new File(launcher);
+        }
+        // target/dev-shell.jar -> run.sh in the project directory
+        if (jar != null && jar.getParentFile() != null && jar.getParentFile().getParentFile() != null) {
+            File script = new File(jar.getParentFile().getParentFile(), "run.sh");
+            if (script.isFile() && script.canExecute()) {
+                return script;
+            }
+        }
+        return null;
+    }
+
     public static String printAliasCommand(String aliasName) {
         File jar = findJar();
         if (jar == null) {
@@ -66,6 +92,11 @@ public class AliasSetter {
         if (System.getProperty("os.name").toLowerCase().contains("windows")) {
             // Return Windows batch file content
             return String.format("@echo off\njava -jar \"%s\" %%*", jarPath);
+        }
+
+        File launcher = findLauncher(jar);
+        if (launcher != null) {
+            return String.format("alias %s=\"'%s'\"", aliasName, launcher.getAbsolutePath());
         } else {
             // Return Unix/Linux/Mac alias command - use double quotes to avoid escaping issues
             return String.format("alias %s=\"java -jar '%s'\"", aliasName, jarPath);
@@ -0,0 +1,104 @@
+package io.joshuasalcedo.homelab.devshell.utils;
+
+import io.joshuasalcedo.commonlibs.text.BannerGenerator;
+import io.joshuasalcedo.commonlibs.text.TextUtility;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps rendered ASCII-art banners on disk, so startup prints a file instead of generating the art again.
+ * A banner's file name is derived from its title, color and metadata, so changing any of them renders a new one.
+ * <p>
+ * The art is cached without a timestamp; the current time is added below it on every print.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+public class BannerCache {
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final Path directory;
+
+    public BannerCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * The cache in {@code ~/.dev-shell/banners}, or in {@code -Ddev-shell.banner.cache}
+     */
+    public static BannerCache defaultCache() {
+        String directory = System.getProperty("dev-shell.banner.cache");
+        return new BannerCache(directory != null
+                ? Paths.get(directory)
+                : Paths.get(System.getProperty("user.home"), ".dev-shell", "banners"));
+    }
+
+    /**
+     * Gets a banner, rendering and storing it on a cache miss
+     *
+     * @param title the text drawn as ASCII art
+     * @param titleColor color of the art
+     * @param metadata lines shown under the art, in order
+     * @return the banner followed by the current time
+     */
+    public String banner(String title, TextUtility.Color titleColor, Map<String, String> metadata) {
+        Path file = directory.resolve(fileName(title, titleColor, metadata));
+        String art = read(file);
+        if (art == null) {
+            BannerGenerator generator = BannerGenerator.create(title).titleColor(titleColor);
+            metadata.forEach(generator::addMetadata);
+            art = generator.generateWithAsciiArt();
+            write(file, art);
+        }
+        return art + System.lineSeparator()
+                + TextUtility.of(LocalDateTime.now().format(TIMESTAMP)).color(TextUtility.Color.GRAY).format();
+    }
+
+    /**
+     * Convenience for a banner with a single metadata line
+     */
+    public String banner(String title, TextUtility.Color titleColor, String key, String value) {
+        Map<String, String> metadata = new LinkedHashMap<>();
+        metadata.put(key, value);
+        return banner(title, titleColor, metadata);
+    }
+
+    static String fileName(String title, TextUtility.Color titleColor, Map<String, String> metadata) {
+        String slug = title.toLowerCase().replaceAll("[^a-z0-9]+", "-");
+        int hash = (title + "|" + titleColor + "|" + metadata).hashCode();
+        return slug + "-" + Integer.toHexString(hash) + ".txt";
+    }
+
+    private static String read(Path file) {
+        try {
+            return Files.readString(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Best effort: a banner that cannot be stored is simply rendered again next time
+     */
+    private void write(Path file, String art) {
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            Files.writeString(temp, art, StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            CliLogger.debug("Could not cache banner {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -4,61 +4,252 @@ import io.joshuasalcedo.commonlibs.text.TextUtility;
 
 import java.io.PrintStream;
 import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.function.Supplier;
 
 /**
  * CliLogger class with placeholder support.
+ * <p>
+ * Messages below the current {@link Level} return before anything is formatted, so a disabled call costs a
+ * volatile read. Arguments that are expensive to compute can be passed as {@link Supplier}s, which are only
+ * called when the message is printed. The colour codes for each level are built once, and messages are
+ * formatted into a per-thread buffer.
+ * <p>
+ * The level starts at {@code INFO}, or the {@code dev-shell.log.level} system property or
+ * {@code DEV_SHELL_LOG_LEVEL} environment variable when set, and can be changed at runtime.
+ * A {@link Sink} can receive messages as well, with its own level, so diagnostics can go to a log file
+ * without reaching the terminal.
  *
  * @author JoshuaSalcedo
  * @created 7/22/2025 10:01 PM
  * @since ${PROJECT.version}
  */
 public class CliLogger {
+
+    public enum Level {
+        DEBUG(TextUtility.Color.GRAY),
+        INFO(TextUtility.Color.BLUE),
+        WARN(TextUtility.Color.YELLOW),
+        ERROR(TextUtility.Color.RED),
+        /** Prints nothing */
+        OFF(null);
+
+        private final String prefix;
+        private final String suffix;
+
+        Level(TextUtility.Color color) {
+            if (color == null) {
+                prefix = "";
+                suffix = "";
+                return;
+            }
+            // Let TextUtility build the escape codes once, around a marker, and keep what surrounds it
+            String sample = TextUtility.of(MARKER).bold().color(color).format();
+            int marker = sample.indexOf(MARKER);
+            prefix = marker >= 0 ? sample.substring(0, marker) : "";
+            suffix = marker >= 0 ? sample.substring(marker + MARKER.length()) : "";
+        }
+
+        /**
+         * Parses a level name case-insensitively; {@code warning} and {@code none} are accepted too
+         *
+         * @throws IllegalArgumentException if the name is not a level
+         */
+        public static Level parse(String name) {
+            String normalized = name == null ? "" : name.trim().toUpperCase(Locale.ROOT);
+            return switch (normalized) {
+                case "WARNING" -> WARN;
+                case "NONE" -> OFF;
+                case "TRACE" -> DEBUG;
+                default -> {
+                    try {
+                        yield valueOf(normalized);
+                    } catch (IllegalArgumentException e) {
+                        throw new IllegalArgumentException("Unknown log level: " + name);
+                    }
+                }
+            };
+        }
+    }
+
+    private static final String MARKER = "\u0000";
+    private static final int MAX_RETAINED_BUFFER = 8 * 1024;
     private static final PrintStream out = new PrintStream(System.out, true, StandardCharsets.UTF_8);
-    
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    /**
+     * Receives messages in addition to the console. The message buffer is reused after the call returns.
+     */
+    @FunctionalInterface
+    public interface Sink {
+        void append(Level level, CharSequence message);
+    }
+
+    private static volatile Level threshold = initialLevel();
+    private static volatile Sink sink;
+    private static volatile Level sinkThreshold = Level.OFF;
+    /** The lowest level printed anywhere, so a disabled call needs a single comparison */
+    private static volatile int enabledFrom = threshold.ordinal();
+
     private CliLogger(){
         throw new IllegalStateException("Utility class");
     }
 
+    public static Level getLevel() {
+        return threshold;
+    }
+
+    public static synchronized void setLevel(Level level) {
+        threshold = level;
+        enabledFrom = Math.min(level.ordinal(), sinkThreshold.ordinal());
+    }
+
+    /**
+     * Also sends messages at or above the level to the sink; pass null to remove it
+     */
+    public static synchronized void setSink(Sink newSink, Level level) {
+        sink = newSink;
+        sinkThreshold = newSink != null ? level : Level.OFF;
+        enabledFrom = Math.min(threshold.ordinal(), sinkThreshold.ordinal());
+    }
+
+    public static Level getSinkLevel() {
+        return sinkThreshold;
+    }
+
+    /**
+     * Checks whether messages at the level are printed; use it to guard logging that needs work to prepare
+     */
+    public static boolean isEnabled(Level level) {
+        return level.ordinal() >= enabledFrom && level != Level.OFF;
+    }
+
+    public static void warn(String message) {
+        if (isEnabled(Level.WARN)) log(Level.WARN, message, null, null, null, 0);
+    }
+
+    public static void warn(String message, Object arg) {
+        if (isEnabled(Level.WARN)) log(Level.WARN, message, arg, null, null, 1);
+    }
+
+    public static void warn(String message, Object arg1, Object arg2) {
+        if (isEnabled(Level.WARN)) log(Level.WARN, message, arg1, arg2, null, 2);
+    }
+
     public static void warn(String message, Object... args){
-        String formattedMessage = formatMessage(message, args);
-        println(formattedMessage, TextUtility.Color.YELLOW);
+        if (isEnabled(Level.WARN)) log(Level.WARN, message, null, null, args, args == null ? 0 : args.length);
+    }
+
+    public static void warn(String message, Supplier<?>... args) {
+        if (isEnabled(Level.WARN)) log(Level.WARN, message, null, null, args, args.length);
+    }
+
+    public static void info(String message) {
+        if (isEnabled(Level.INFO)) log(Level.INFO, message, null, null, null, 0);
+    }
+
+    public static void info(String message, Object arg) {
+        if (isEnabled(Level.INFO)) log(Level.INFO, message, arg, null, null, 1);
+    }
+
+    public static void info(String message, Object arg1, Object arg2) {
+        if (isEnabled(Level.INFO)) log(Level.INFO, message, arg1, arg2, null, 2);
     }
 
     public static void info(String message, Object... args){
-        String formattedMessage = formatMessage(message, args);
-        println(formattedMessage, TextUtility.Color.BLUE);
+        if (isEnabled(Level.INFO)) log(Level.INFO, message, null, null, args, args == null ? 0 : args.length);
+    }
+
+    public static void info(String message, Supplier<?>... args) {
+        if (isEnabled(Level.INFO)) log(Level.INFO, message, null, null, args, args.length);
+    }
+
+    public static void error(String message) {
+        if (isEnabled(Level.ERROR)) log(Level.ERROR, message, null, null, null, 0);
+    }
+
+    public static void error(String message, Object arg) {
+        if (isEnabled(Level.ERROR)) log(Level.ERROR, message, arg, null, null, 1);
+    }
+
+    public static void error(String message, Object arg1, Object arg2) {
+        if (isEnabled(Level.ERROR)) log(Level.ERROR, message, arg1, arg2, null, 2);
     }
 
     public static void error(String message, Object... args){
-        String formattedMessage = formatMessage(message, args);
-        println(formattedMessage, TextUtility.Color.RED);
+        if (isEnabled(Level.ERROR)) log(Level.ERROR, message, null, null, args, args == null ? 0 : args.length);
+    }
+
+    public static void error(String message, Supplier<?>... args) {
+        if (isEnabled(Level.ERROR)) log(Level.ERROR, message, null, null, args, args.length);
+    }
+
+    public static void debug(String message) {
+        if (isEnabled(Level.DEBUG)) log(Level.DEBUG, message, null, null, null, 0);
+    }
+
+    public static void debug(String message, Object arg) {
+        if (isEnabled(Level.DEBUG)) log(Level.DEBUG, message, arg, null, null, 1);
+    }
+
+    public static void debug(String message, Object arg1, Object arg2) {
+        if (isEnabled(Level.DEBUG)) log(Level.DEBUG, message, arg1, arg2, null, 2);
     }
 
     public static void debug(String message, Object... args){
-        String formattedMessage = formatMessage(message, args);
-        println(formattedMessage, TextUtility.Color.GRAY);
+        if (isEnabled(Level.DEBUG)) log(Level.DEBUG, message, null, null, args, args == null ? 0 : args.length);
+    }
+
+    public static void debug(String message, Supplier<?>... args) {
+        if (isEnabled(Level.DEBUG)) log(Level.DEBUG, message, null, null, args, args.length);
+    }
+
+    /**
+     * Formats a message the way it would be printed, without the colour codes
+     */
+    static String format(String message, Object... args) {
+        StringBuilder buffer = new StringBuilder();
+        formatMessage(buffer, message, null, null, args, args == null ? 0 : args.length);
+        return buffer.toString();
     }
 
-    private static void println(String message, TextUtility.Color color){
-        out.println(TextUtility.of(message)
-                .bold()
-                .color(color)
-                .format());
+    /**
+     * Takes the first two arguments separately so the fixed-arity methods need no array
+     */
+    private static void log(Level level, String message, Object arg1, Object arg2, Object[] args, int count) {
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        formatMessage(buffer, message, arg1, arg2, args, count);
+        Sink currentSink = sink;
+        if (currentSink != null && level.compareTo(sinkThreshold) >= 0) {
+            currentSink.append(level, buffer);
+        }
+        if (level.compareTo(threshold) >= 0) {
+            buffer.insert(0, level.prefix).append(level.suffix);
+            out.println(buffer);
+        }
+        if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+            // Don't let one huge message pin a large buffer to the thread
+            BUFFER.remove();
+        }
     }
-    
-    private static String formatMessage(String message, Object... args) {
-        if (args == null || args.length == 0) {
-            return message;
+
+    private static void formatMessage(StringBuilder result, String message, Object arg1, Object arg2, Object[] args, int count) {
+        if (message == null) {
+            result.append("null");
+            return;
         }
-        
-        StringBuilder result = new StringBuilder();
         int argIndex = 0;
         int i = 0;
-        
+
         while (i < message.length()) {
             if (i < message.length() - 1 && message.charAt(i) == '{' && message.charAt(i + 1) == '}') {
-                if (argIndex < args.length) {
-                    result.append(args[argIndex] != null ? args[argIndex].toString() : "null");
+                if (argIndex < count) {
+                    Object arg = args != null ? args[argIndex] : argIndex == 0 ? arg1 : arg2;
+                    if (arg instanceof Supplier<?> supplier) {
+                        arg = supplier.get();
+                    }
+                    result.append(arg);
                     argIndex++;
                 } else {
                     result.append("{}");
@@ -69,7 +260,17 @@ public class CliLogger {
                 i++;
             }
         }
-        
-        return result.toString();
     }
-}
\ No newline at end of file
+
+    private static Level initialLevel() {
+        String configured = System.getProperty("dev-shell.log.level", System.getenv("DEV_SHELL_LOG_LEVEL"));
+        if (configured == null || configured.isBlank()) {
+            return Level.INFO;
+        }
+        try {
+            return Level.parse(configured);
+        } catch (IllegalArgumentException e) {
+            return Level.INFO;
+        }
+    }
+}
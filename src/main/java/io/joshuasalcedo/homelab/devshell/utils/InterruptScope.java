@@ -0,0 +1,75 @@
+package io.joshuasalcedo.homelab.devshell.utils;
+
+import org.jline.utils.Signals;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Temporarily routes Ctrl-C (SIGINT) to an action.
+ * The previous handler (JLine's or Spring Shell's) is restored on close.
+ * A Ctrl-C that arrives some other way, such as from a daemon client, is delivered with {@link #interruptCurrent()}.
+ *
+ * <pre>
+ * try (InterruptScope scope = InterruptScope.onInterrupt(() -> cancel())) {
+ *     ...
+ * }
+ * </pre>
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+public final class InterruptScope implements AutoCloseable {
+
+    private static final String SIGNAL = "INT";
+    private static final AtomicReference<InterruptScope> CURRENT = new AtomicReference<>();
+
+    private final Object previousHandler;
+    private final Runnable action;
+    private final InterruptScope outer;
+    private volatile boolean interrupted;
+
+    private InterruptScope(Runnable action) {
+        this.action = action;
+        this.previousHandler = Signals.register(SIGNAL, this::interrupt);
+        this.outer = CURRENT.getAndSet(this);
+    }
+
+    public static InterruptScope onInterrupt(Runnable action) {
+        return new InterruptScope(action);
+    }
+
+    /**
+     * Runs the action of the innermost open scope, as if Ctrl-C had been pressed
+     *
+     * @return false if no scope is open
+     */
+    public static boolean interruptCurrent() {
+        InterruptScope scope = CURRENT.get();
+        if (scope == null) {
+            return false;
+        }
+        scope.interrupt();
+        return true;
+    }
+
+    /**
+     * Checks whether Ctrl-C was pressed while this scope was active
+     */
+    public boolean wasInterrupted() {
+        return interrupted;
+    }
+
+    private void interrupt() {
+        interrupted = true;
+        action.run();
+    }
+
+    @Override
+    public void close() {
+        CURRENT.compareAndSet(this, outer);
+        if (previousHandler != null) {
+            Signals.unregister(SIGNAL, previousHandler);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package io.joshuasalcedo.homelab.devshell.utils;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Startup milestones, such as the context being ready or the first prompt, for the startup benchmark.
+ * <p>
+ * Each milestone is logged at debug level. When {@code -Ddev-shell.startup.trace=<file>} is set it is also
+ * appended to that file as {@code name millis classes}: milliseconds since the JVM started and the number of
+ * classes loaded so far.
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+public final class StartupTrace {
+
+    public static final String PROPERTY = "dev-shell.startup.trace";
+    public static final String CONTEXT_READY = "context-ready";
+    public static final String FIRST_PROMPT = "first-prompt";
+    public static final String ONE_SHOT_DONE = "one-shot-done";
+
+    /**
+     * One line of a trace file
+     */
+    public record Mark(String name, long millis, long classes) {
+    }
+
+    private StartupTrace() {
+    }
+
+    public static void mark(String name) {
+        String file = System.getProperty(PROPERTY);
+        if (file == null || file.isBlank()) {
+            ProcessHandle.current().info().startInstant().ifPresent(start ->
+                    CliLogger.debug("Startup: {} after {} ms", name, Duration.between(start, Instant.now()).toMillis()));
+            return;
+        }
+        // The management beans cost a few classes of their own, so they are only touched when tracing
+        long millis = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+        long classes = ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount();
+        CliLogger.debug("Startup: {} after {} ms, {} classes loaded", name, millis, classes);
+        try {
+            Files.writeString(Paths.get(file), name + " " + millis + " " + classes + System.lineSeparator(),
+                    StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            CliLogger.debug("Could not write startup trace {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Reads a trace file back
+     *
+     * @return the last mark with that name
+     */
+    public static Optional<Mark> read(Path file, String name) throws IOException {
+        Mark found = null;
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            String[] parts = line.trim().split(" ");
+            if (parts.length == 3 && parts[0].equals(name)) {
+                found = new Mark(name, Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+            }
+        }
+        return Optional.ofNullable(found);
+    }
+}
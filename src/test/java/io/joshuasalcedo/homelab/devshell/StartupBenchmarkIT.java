@@ -0,0 +1,226 @@
+package io.joshuasalcedo.homelab.devshell;
+
+import io.joshuasalcedo.homelab.devshell.utils.StartupTrace;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Startup benchmark. Launches the packaged jar in fresh JVMs and measures, per run:
+ * <ul>
+ *     <li>time until the Spring context is ready and until the first prompt, from {@link StartupTrace} marks</li>
+ *     <li>wall time of a one-shot {@code status} in a small repository</li>
+ *     <li>classes loaded at the first prompt and by the one-shot command</li>
+ * </ul>
+ * The 50th and 90th percentiles and the maximum are printed and written to {@code target/startup-benchmark.properties}.
+ * The build fails when a median is more than the threshold above the baseline, which is committed with the tests
+ * so every machine checks against the same numbers. A missing baseline fails the run too, unless it is being
+ * recorded.
+ * <p>
+ * Run with {@code ./mvnw -P startup-bench verify}. Settings, as system properties:
+ * <ul>
+ *     <li>{@code startup.bench.runs} measured runs per scenario (10), after {@code startup.bench.warmup} (1)</li>
+ *     <li>{@code startup.bench.threshold} allowed regression of a median, as a fraction (0.15)</li>
+ *     <li>{@code startup.bench.baseline} baseline file (src/test/resources/startup-baseline.properties);
+ *         {@code startup.bench.update-baseline=true} records the results as the new baseline</li>
+ *     <li>{@code startup.bench.jar}, {@code startup.bench.java} and {@code startup.bench.jvm-args} for what is launched</li>
+ * </ul>
+ */
+class StartupBenchmarkIT {
+
+    private static final Path JAR = Paths.get(System.getProperty("startup.bench.jar", "target/dev-shell.jar"));
+    private static final String JAVA = System.getProperty("startup.bench.java",
+            Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+    private static final List<String> JVM_ARGS = Arrays.stream(System.getProperty("startup.bench.jvm-args", "").split("\\s+"))
+            .filter(arg -> !arg.isBlank())
+            .toList();
+    private static final int RUNS = Integer.getInteger("startup.bench.runs", 10);
+    private static final int WARMUP = Integer.getInteger("startup.bench.warmup", 1);
+    private static final double THRESHOLD = Double.parseDouble(System.getProperty("startup.bench.threshold", "0.15"));
+    private static final Path BASELINE = Paths.get(System.getProperty("startup.bench.baseline",
+            "src/test/resources/startup-baseline.properties"));
+    private static final Path REPORT = Paths.get(System.getProperty("startup.bench.report", "target/startup-benchmark.properties"));
+    private static final long TIMEOUT_SECONDS = 120;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void startupStaysWithinBaseline() throws Exception {
+        assumeTrue(Files.isRegularFile(JAR), JAR + " not found; package the application first");
+        boolean updateBaseline = Boolean.getBoolean("startup.bench.update-baseline");
+        assertTrue(updateBaseline || Files.isRegularFile(BASELINE), "No startup baseline at " + BASELINE
+                + "; record one with -Dstartup.bench.update-baseline=true");
+        Path repository = createRepository(tempDir.resolve("repository"));
+
+        Map<String, List<Long>> samples = new LinkedHashMap<>();
+        for (int run = -WARMUP; run < RUNS; run++) {
+            Map<String, Long> measured = new LinkedHashMap<>();
+            measured.putAll(interactive(repository, run));
+            measured.putAll(oneShotStatus(repository, run));
+            if (run >= 0) {
+                measured.forEach((metric, value) -> samples.computeIfAbsent(metric, key -> new ArrayList<>()).add(value));
+            }
+        }
+
+        Properties report = new Properties();
+        System.out.printf("%nStartup benchmark, %d runs of %s%n", RUNS, JAR);
+        System.out.printf("%-26s %8s %8s %8s%n", "metric", "p50", "p90", "max");
+        samples.forEach((metric, values) -> {
+            long p50 = percentile(values, 50);
+            long p90 = percentile(values, 90);
+            long max = percentile(values, 100);
+            System.out.printf("%-26s %8d %8d %8d%n", metric, p50, p90, max);
+            report.setProperty(metric + ".p50", Long.toString(p50));
+            report.setProperty(metric + ".p90", Long.toString(p90));
+            report.setProperty(metric + ".max", Long.toString(max));
+        });
+        store(report, REPORT);
+
+        if (updateBaseline) {
+            store(report, BASELINE);
+            System.out.println("Recorded baseline " + BASELINE);
+            return;
+        }
+        Properties baseline = new Properties();
+        try (Reader reader = Files.newBufferedReader(BASELINE, StandardCharsets.UTF_8)) {
+            baseline.load(reader);
+        }
+        List<String> regressions = new ArrayList<>();
+        for (String metric : samples.keySet()) {
+            String expected = baseline.getProperty(metric + ".p50");
+            long actual = Long.parseLong(report.getProperty(metric + ".p50"));
+            if (expected != null && actual > Long.parseLong(expected) * (1 + THRESHOLD)) {
+                regressions.add(String.format("%s median %d, baseline %s", metric, actual, expected));
+            }
+        }
+        assertTrue(regressions.isEmpty(), String.format("Startup regressed more than %.0f%% against %s:%n%s",
+                THRESHOLD * 100, BASELINE, String.join(System.lineSeparator(), regressions)));
+    }
+
+    /**
+     * Starts the interactive shell, waits for its first prompt and exits it
+     */
+    private Map<String, Long> interactive(Path repository, int run) throws Exception {
+        Path trace = tempDir.resolve("interactive-" + run + ".trace");
+        Process process = launch(repository, trace, List.of());
+        try {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+            Optional<StartupTrace.Mark> prompt = Optional.empty();
+            while (prompt.isEmpty() && process.isAlive() && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+                prompt = Files.exists(trace) ? StartupTrace.read(trace, StartupTrace.FIRST_PROMPT) : Optional.empty();
+            }
+            assertTrue(prompt.isPresent(), "The shell showed no prompt");
+            try (Writer writer = new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8)) {
+                writer.write("exit\n");
+            } catch (IOException e) {
+                // Already gone
+            }
+
+            StartupTrace.Mark context = StartupTrace.read(trace, StartupTrace.CONTEXT_READY)
+                    .orElseThrow(() -> new AssertionError("No context-ready mark in " + trace));
+            Map<String, Long> measured = new LinkedHashMap<>();
+            measured.put("context-ready.ms", context.millis());
+            measured.put("first-prompt.ms", prompt.get().millis());
+            measured.put("first-prompt.classes", prompt.get().classes());
+            return measured;
+        } finally {
+            if (!process.waitFor(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    /**
+     * Runs {@code dev-shell status} to completion
+     */
+    private Map<String, Long> oneShotStatus(Path repository, int run) throws Exception {
+        Path trace = tempDir.resolve("status-" + run + ".trace");
+        long start = System.nanoTime();
+        Process process = launch(repository, trace, List.of("--no-daemon", "status"));
+        process.getOutputStream().close();
+        assertTrue(process.waitFor(TIMEOUT_SECONDS, TimeUnit.SECONDS), "status did not finish");
+        long wall = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertEquals(0, process.exitValue(), "status failed");
+
+        Map<String, Long> measured = new LinkedHashMap<>();
+        measured.put("one-shot-status.ms", wall);
+        StartupTrace.read(trace, StartupTrace.ONE_SHOT_DONE)
+                .ifPresent(mark -> measured.put("one-shot-status.classes", mark.classes()));
+        return measured;
+    }
+
+    /**
+     * Launches the jar with its own home directory, so runs share no history, caches or logs with the user
+     */
+    private Process launch(Path directory, Path trace, List<String> arguments) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(JAVA);
+        command.addAll(JVM_ARGS);
+        command.add("-Duser.home=" + tempDir.resolve("home"));
+        command.add("-D" + StartupTrace.PROPERTY + "=" + trace);
+        command.add("-jar");
+        command.add(JAR.toAbsolutePath().toString());
+        command.addAll(arguments);
+        return new ProcessBuilder(command)
+                .directory(directory.toFile())
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+    }
+
+    private static Path createRepository(Path directory) throws Exception {
+        Files.createDirectories(directory);
+        try (Git git = Git.init().setDirectory(directory.toFile()).call()) {
+            for (int i = 0; i < 20; i++) {
+                Files.writeString(directory.resolve("file" + i + ".txt"), "line " + i + "\n");
+            }
+            PersonIdent author = new PersonIdent("Bench", "bench@example.com");
+            git.add().addFilepattern(".").call();
+            git.commit().setMessage("Initial commit").setAuthor(author).setCommitter(author).setSign(false).call();
+        }
+        Files.writeString(directory.resolve("file0.txt"), "changed\n");
+        Files.writeString(directory.resolve("untracked.txt"), "new\n");
+        return directory;
+    }
+
+    /**
+     * Nearest-rank percentile
+     */
+    static long percentile(List<Long> values, int percentile) {
+        List<Long> sorted = values.stream().sorted().toList();
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.size());
+        return sorted.get(Math.max(0, Math.min(sorted.size() - 1, rank - 1)));
+    }
+
+    private static void store(Properties properties, Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            properties.store(writer, "dev-shell startup benchmark, milliseconds and loaded classes");
+        }
+    }
+}
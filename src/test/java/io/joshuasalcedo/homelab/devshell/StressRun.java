@@ -0,0 +1,314 @@
+package io.joshuasalcedo.homelab.devshell;
+
+import com.google.gson.GsonBuilder;
+import io.joshuasalcedo.homelab.devshell.infrastructure.telemetry.LatencyHistogram;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a stress workload from {@code stress.threads} threads (8) and {@code stress.processes} child JVMs (3) at
+ * once, and reports throughput and latency per operation. Child JVMs run the test class's {@code main}, which hands
+ * its arguments to {@link #child(String[], Worker)}; they write their samples to a file the parent reads back.
+ * All workers wait at a start gate, so the processes overlap with the threads instead of trailing behind their
+ * JVM startup.
+ * <p>
+ * Reports are printed and written to {@code target/stress/<name>.json} ({@code -Dstress.report-directory}).
+ *
+ * @author JoshuaSalcedo
+ * @created 10/18/2026
+ * @since ${PROJECT.version}
+ */
+public final class StressRun {
+
+    public static final int THREADS = Integer.getInteger("stress.threads", 8);
+    public static final int PROCESSES = Integer.getInteger("stress.processes", 3);
+    private static final Duration TIMEOUT = Duration.ofMinutes(Long.getLong("stress.timeout-minutes", 10));
+    private static final Path REPORT_DIRECTORY = Paths.get(System.getProperty("stress.report-directory", "target/stress"));
+
+    private StressRun() {
+    }
+
+    /**
+     * One timed operation of one worker
+     *
+     * @param detail what the operation produced, such as a commit id, or why it failed
+     */
+    public record Sample(String worker, String operation, boolean succeeded, long nanos, String detail) {
+
+        String toLine() {
+            return String.join("\t", worker, operation, String.valueOf(succeeded), String.valueOf(nanos),
+                    detail.replace('\t', ' ').replace('\n', ' '));
+        }
+
+        static Sample parse(String line) {
+            String[] fields = line.split("\t", 5);
+            return new Sample(fields[0], fields[1], Boolean.parseBoolean(fields[2]), Long.parseLong(fields[3]),
+                    fields.length > 4 ? fields[4] : "");
+        }
+    }
+
+    /**
+     * The workload of one thread or process
+     */
+    @FunctionalInterface
+    public interface Worker {
+        void run(String name, Recorder recorder) throws Exception;
+    }
+
+    /**
+     * Times a worker's operations. Not thread-safe; every worker has its own
+     */
+    public static final class Recorder {
+
+        private final String worker;
+        private final List<Sample> samples = new ArrayList<>();
+
+        Recorder(String worker) {
+            this.worker = worker;
+        }
+
+        /**
+         * Runs and records an operation. A failure is recorded with its root cause, not thrown
+         *
+         * @param action returns the operation's detail
+         * @return the detail, or empty if the operation failed
+         */
+        public Optional<String> run(String operation, Callable<String> action) {
+            long started = System.nanoTime();
+            try {
+                String detail = action.call();
+                samples.add(new Sample(worker, operation, true, System.nanoTime() - started, detail == null ? "" : detail));
+                return Optional.of(detail == null ? "" : detail);
+            } catch (Exception e) {
+                Throwable cause = e;
+                while (cause.getCause() != null) {
+                    cause = cause.getCause();
+                }
+                samples.add(new Sample(worker, operation, false, System.nanoTime() - started,
+                        cause.getClass().getSimpleName() + ": " + cause.getMessage()));
+                return Optional.empty();
+            }
+        }
+
+        /**
+         * Records a broken invariant seen by the worker itself, such as a write it cannot read back
+         */
+        public void violation(String operation, String detail) {
+            samples.add(new Sample(worker, operation, false, 0, "VIOLATION " + detail));
+        }
+    }
+
+    /**
+     * Runs the worker in every thread and child process and returns all their samples
+     *
+     * @param main the class whose {@code main} runs the worker in a child JVM
+     * @param arguments passed to the children's {@code main}, before the worker name and samples file
+     */
+    public static List<Sample> run(Worker worker, Class<?> main, List<String> arguments, Path workDirectory)
+            throws Exception {
+        Path gate = workDirectory.resolve("start");
+        List<Process> processes = new ArrayList<>();
+        List<Path> sampleFiles = new ArrayList<>();
+        for (int i = 0; i < PROCESSES; i++) {
+            Path samples = workDirectory.resolve("process-" + i + ".samples");
+            List<String> command = new ArrayList<>(List.of(
+                    Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                    "-Dstress.gate=" + gate));
+            if (ManagementFactory.getRuntimeMXBean().getInputArguments().contains("--enable-preview")) {
+                command.add("--enable-preview");
+            }
+            // Failsafe's own class path is a manifest-only jar
+            command.addAll(List.of("-cp",
+                    System.getProperty("surefire.test.class.path", System.getProperty("java.class.path")),
+                    main.getName()));
+            command.addAll(arguments);
+            command.add("process-" + i);
+            command.add(samples.toString());
+            processes.add(new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(workDirectory.resolve("process-" + i + ".log").toFile())
+                    .start());
+            sampleFiles.add(samples);
+        }
+        awaitReady(sampleFiles, processes);
+
+        List<List<Sample>> threadSamples = Collections.synchronizedList(new ArrayList<>());
+        List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            String name = "thread-" + i;
+            threads.add(Thread.ofPlatform().name(name).start(() -> {
+                Recorder recorder = new Recorder(name);
+                try {
+                    start.await();
+                    worker.run(name, recorder);
+                } catch (Throwable e) {
+                    errors.add(e);
+                } finally {
+                    threadSamples.add(recorder.samples);
+                }
+            }));
+        }
+        Files.createFile(gate);
+        start.countDown();
+
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        for (Thread thread : threads) {
+            thread.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            if (thread.isAlive()) {
+                throw new IllegalStateException(thread.getName() + " did not finish within " + TIMEOUT);
+            }
+        }
+        List<Sample> samples = new ArrayList<>();
+        threadSamples.forEach(samples::addAll);
+        for (int i = 0; i < processes.size(); i++) {
+            Process process = processes.get(i);
+            if (!process.waitFor(Math.max(1, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                process.destroyForcibly();
+                throw new IllegalStateException("process-" + i + " did not finish within " + TIMEOUT);
+            }
+            if (process.exitValue() != 0) {
+                throw new IllegalStateException("process-" + i + " exited with code " + process.exitValue() + ":\n"
+                        + Files.readString(workDirectory.resolve("process-" + i + ".log")));
+            }
+            for (String line : Files.readAllLines(sampleFiles.get(i), StandardCharsets.UTF_8)) {
+                samples.add(Sample.parse(line));
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new IllegalStateException("A worker thread failed", errors.getFirst());
+        }
+        return samples;
+    }
+
+    /**
+     * The child side of {@link #run}: waits at the start gate, runs the worker and writes its samples
+     *
+     * @param args the children's arguments, ending with the worker name and samples file
+     */
+    public static void child(String[] args, Worker worker) throws Exception {
+        String name = args[args.length - 2];
+        Path samples = Paths.get(args[args.length - 1]);
+        Path gate = Paths.get(System.getProperty("stress.gate"));
+        Files.createFile(readyFile(samples));
+        while (!Files.exists(gate)) {
+            Thread.sleep(1);
+        }
+
+        Recorder recorder = new Recorder(name);
+        worker.run(name, recorder);
+        List<String> lines = recorder.samples.stream().map(Sample::toLine).toList();
+        Files.write(samples, lines, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The arguments a child's {@code main} received before the worker name and samples file
+     */
+    public static List<String> arguments(String[] args) {
+        return Arrays.asList(args).subList(0, args.length - 2);
+    }
+
+    /**
+     * Prints throughput and latency per operation and writes them, with the invariant violations, as JSON
+     *
+     * @return the violations recorded by the workers followed by the given ones
+     */
+    public static List<String> report(String name, List<Sample> samples, Duration elapsed, List<String> violations)
+            throws IOException {
+        List<String> allViolations = new ArrayList<>();
+        samples.stream()
+                .filter(sample -> sample.detail().startsWith("VIOLATION "))
+                .forEach(sample -> allViolations.add(sample.worker() + " " + sample.operation() + ": "
+                        + sample.detail().substring("VIOLATION ".length())));
+        allViolations.addAll(violations);
+
+        Map<String, List<Sample>> byOperation = new TreeMap<>();
+        samples.stream()
+                .filter(sample -> !sample.detail().startsWith("VIOLATION "))
+                .forEach(sample -> byOperation.computeIfAbsent(sample.operation(), key -> new ArrayList<>()).add(sample));
+
+        double seconds = elapsed.toNanos() / 1e9;
+        StringBuilder table = new StringBuilder(String.format("%nStress %s, %d threads, %d processes, %.1f s%n",
+                name, THREADS, PROCESSES, seconds));
+        table.append(String.format("%-16s %7s %7s %9s %10s %10s %10s %10s%n", "operation", "ok", "failed", "ops/s",
+                "p50 us", "p99 us", "p99.9 us", "max us"));
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Sample>> entry : byOperation.entrySet()) {
+            LatencyHistogram histogram = new LatencyHistogram();
+            Map<String, Integer> failures = new TreeMap<>();
+            long succeeded = 0;
+            for (Sample sample : entry.getValue()) {
+                histogram.recordNanos(sample.nanos());
+                if (sample.succeeded()) {
+                    succeeded++;
+                } else {
+                    failures.merge(sample.detail().split(":", 2)[0], 1, Integer::sum);
+                }
+            }
+            long failed = entry.getValue().size() - succeeded;
+            double throughput = seconds == 0 ? 0 : succeeded / seconds;
+
+            Map<String, Object> operation = new LinkedHashMap<>();
+            operation.put("succeeded", succeeded);
+            operation.put("failed", failed);
+            operation.put("failures", failures);
+            operation.put("opsPerSecond", Math.round(throughput * 10) / 10.0);
+            operation.put("p50Micros", histogram.percentileMicros(50));
+            operation.put("p99Micros", histogram.percentileMicros(99));
+            operation.put("p999Micros", histogram.percentileMicros(99.9));
+            operation.put("maxMicros", histogram.maxMicros());
+            operations.put(entry.getKey(), operation);
+            table.append(String.format("%-16s %7d %7d %9.1f %10d %10d %10d %10d%n", entry.getKey(), succeeded, failed,
+                    throughput, histogram.percentileMicros(50), histogram.percentileMicros(99),
+                    histogram.percentileMicros(99.9), histogram.maxMicros()));
+        }
+        allViolations.forEach(violation -> table.append("VIOLATION ").append(violation).append('\n'));
+        System.out.print(table);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("name", name);
+        result.put("threads", THREADS);
+        result.put("processes", PROCESSES);
+        result.put("elapsedMillis", elapsed.toMillis());
+        result.put("operations", operations);
+        result.put("violations", allViolations);
+        Files.createDirectories(REPORT_DIRECTORY);
+        Files.writeString(REPORT_DIRECTORY.resolve(name + ".json"),
+                new GsonBuilder().setPrettyPrinting().create().toJson(result), StandardCharsets.UTF_8);
+        return allViolations;
+    }
+
+    private static void awaitReady(List<Path> sampleFiles, List<Process> processes) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+        for (int i = 0; i < sampleFiles.size(); i++) {
+            while (!Files.exists(readyFile(sampleFiles.get(i)))) {
+                if (!processes.get(i).isAlive() || System.nanoTime() > deadline) {
+                    throw new IllegalStateException("process-" + i + " did not start");
+                }
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    private static Path readyFile(Path samples) {
+        return samples.resolveSibling(samples.getFileName() + ".ready");
+    }
+}
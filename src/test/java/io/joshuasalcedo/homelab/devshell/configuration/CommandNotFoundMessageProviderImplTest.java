@@ -0,0 +1,158 @@
+package io.joshuasalcedo.homelab.devshell.configuration;
+
+import io.joshuasalcedo.homelab.devshell.domain.repository.InteractiveCommandRepository;
+import io.joshuasalcedo.homelab.devshell.domain.service.InteractiveCommandService;
+import io.joshuasalcedo.homelab.devshell.domain.service.TtyRequirementClassifier;
+import io.joshuasalcedo.homelab.devshell.infrastructure.path.PathExecutableIndex;
+import io.joshuasalcedo.homelab.devshell.infrastructure.process.BackgroundJob;
+import io.joshuasalcedo.homelab.devshell.infrastructure.process.JobManager;
+import io.joshuasalcedo.homelab.devshell.infrastructure.process.ProcessResourceMonitor;
+import io.joshuasalcedo.homelab.devshell.infrastructure.process.ResourceHistory;
+import io.joshuasalcedo.homelab.devshell.infrastructure.process.ResourceUsage;
+import io.joshuasalcedo.homelab.devshell.utils.InterruptScope;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for CommandNotFoundMessageProviderImpl
+ */
+@ExtendWith(MockitoExtension.class)
+class CommandNotFoundMessageProviderImplTest {
+
+    @Mock
+    private InteractiveCommandRepository repository;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testStreamedOutputGoesToGivenStream() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        CommandNotFoundMessageProviderImpl provider = provider(new JobManager(), output);
+
+        CommandNotFoundMessageProviderImpl.Outcome outcome = provider.execute("printf 'one\\ntwo\\n'; echo three >&2");
+
+        assertEquals(0, outcome.exitCode());
+        String printed = output.toString(StandardCharsets.UTF_8);
+        assertTrue(printed.contains("one"), printed);
+        assertTrue(printed.contains("two"), printed);
+        assertTrue(printed.contains("three"), printed);
+    }
+
+    @Test
+    void testPipedOutputKeepsStreamsApartAndUncoloured() {
+        ByteArrayOutputStream terminal = new ByteArrayOutputStream();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        CommandNotFoundMessageProviderImpl provider = provider(new JobManager(), terminal);
+
+        CommandNotFoundMessageProviderImpl.Outcome outcome = provider.execute(
+                "printf 'one\\ntwo'; echo three >&2; exit 4", Map.of("GREETING", "hi"),
+                new PrintStream(out, true, StandardCharsets.UTF_8), new PrintStream(err, true, StandardCharsets.UTF_8));
+
+        assertEquals(4, outcome.exitCode());
+        // Byte for byte: no colour codes and no newline added to the unterminated last line
+        assertEquals("one\ntwo", out.toString(StandardCharsets.UTF_8));
+        assertEquals("three\n", err.toString(StandardCharsets.UTF_8));
+        assertEquals("", terminal.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testFailureMentioningStdinIsNotTreatedAsTtyError() {
+        CommandNotFoundMessageProviderImpl provider = provider(new JobManager(), new ByteArrayOutputStream());
+
+        CommandNotFoundMessageProviderImpl.Outcome outcome =
+                provider.execute("echo 'no input on stdin in non-interactive mode' >&2; exit 3");
+
+        assertEquals(3, outcome.exitCode());
+        assertTrue(outcome.message().contains("exited with code 3"), outcome.message());
+        verify(repository, never()).saveOrUpdate(any());
+    }
+
+    @Test
+    void testInterruptedCommandIsStillRecorded() throws Exception {
+        CommandNotFoundMessageProviderImpl provider = provider(new JobManager(), new ByteArrayOutputStream());
+        ResourceHistory history = new ResourceHistory(tempDir.resolve("resources.jsonl"));
+
+        CompletableFuture<CommandNotFoundMessageProviderImpl.Outcome> outcome =
+                CompletableFuture.supplyAsync(() -> provider.execute("sleep 30"));
+        // Press Ctrl-C once sleep is running, not while the shell is still starting
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (ProcessHandle.current().descendants().noneMatch(CommandNotFoundMessageProviderImplTest::isSleep)
+                && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(InterruptScope.interruptCurrent());
+
+        assertEquals(130, outcome.get(5, TimeUnit.SECONDS).exitCode());
+        List<ResourceUsage> recorded = history.readAll();
+        assertEquals(1, recorded.size());
+        assertEquals("sleep 30", recorded.getFirst().commandLine());
+        assertEquals(130, recorded.getFirst().exitCode());
+    }
+
+    @Test
+    void testKillWithJobSpecStopsBackgroundJob() throws Exception {
+        try (JobManager jobManager = new JobManager()) {
+            BackgroundJob job = jobManager.start("sleep 60", tempDir.toFile());
+            CommandNotFoundMessageProviderImpl provider = provider(jobManager, new ByteArrayOutputStream());
+
+            CommandNotFoundMessageProviderImpl.Outcome outcome = provider.execute("kill %" + job.getId());
+
+            assertEquals(0, outcome.exitCode(), outcome.message());
+            assertTrue(job.getProcess().waitFor(5, TimeUnit.SECONDS));
+            assertEquals(BackgroundJob.State.KILLED, job.getState());
+            assertEquals(1, provider.execute("kill %" + job.getId()).exitCode(), "the job is no longer running");
+            assertEquals(1, provider.execute("kill %999").exitCode());
+        }
+    }
+
+    @Test
+    void testKillWithPidOrSignalGoesToBash() throws Exception {
+        Process first = new ProcessBuilder("sleep", "60").start();
+        Process second = new ProcessBuilder("sleep", "60").start();
+        try (JobManager jobManager = new JobManager()) {
+            CommandNotFoundMessageProviderImpl provider = provider(jobManager, new ByteArrayOutputStream());
+
+            assertEquals(0, provider.execute("kill " + first.pid()).exitCode());
+            assertEquals(0, provider.execute("kill -9 " + second.pid()).exitCode());
+
+            assertTrue(first.waitFor(5, TimeUnit.SECONDS));
+            assertTrue(second.waitFor(5, TimeUnit.SECONDS));
+            assertEquals(137, second.exitValue(), "killed by SIGKILL");
+        } finally {
+            first.destroyForcibly();
+            second.destroyForcibly();
+        }
+    }
+
+    private static boolean isSleep(ProcessHandle process) {
+        return process.info().command().map(command -> command.endsWith("/sleep")).orElse(false);
+    }
+
+    private CommandNotFoundMessageProviderImpl provider(JobManager jobManager, ByteArrayOutputStream output) {
+        return new CommandNotFoundMessageProviderImpl(
+                new TtyRequirementClassifier(new InteractiveCommandService(repository)), jobManager,
+                new PathExecutableIndex(), new ProcessResourceMonitor(),
+                new ResourceHistory(tempDir.resolve("resources.jsonl")), Duration.ofDays(1),
+                new PrintStream(output, true, StandardCharsets.UTF_8));
+    }
+}
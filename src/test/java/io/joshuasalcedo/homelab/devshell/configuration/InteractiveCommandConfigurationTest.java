@@ -0,0 +1,72 @@
+package io.joshuasalcedo.homelab.devshell.configuration;
+
+import io.joshuasalcedo.homelab.devshell.domain.model.InteractiveCommand;
+import io.joshuasalcedo.homelab.devshell.infrastructure.command.FileInteractiveCommandRepositoryAdapter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the default commands seeded by InteractiveCommandConfiguration
+ */
+class InteractiveCommandConfigurationTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path file;
+    private Path versionFile;
+
+    @BeforeEach
+    void setUp() {
+        file = tempDir.resolve("commands.json");
+        versionFile = tempDir.resolve("commands.json" + InteractiveCommandConfiguration.DEFAULTS_SUFFIX);
+    }
+
+    @Test
+    void testSeedsNewStore() throws Exception {
+        FileInteractiveCommandRepositoryAdapter store = new FileInteractiveCommandRepositoryAdapter(file);
+
+        InteractiveCommandConfiguration.seedDefaultCommands(store, versionFile);
+
+        assertEquals(InteractiveCommandConfiguration.DEFAULT_COMMANDS.size(), store.count());
+        assertEquals(String.valueOf(InteractiveCommandConfiguration.DEFAULT_COMMANDS_VERSION),
+                Files.readString(versionFile));
+    }
+
+    @Test
+    void testUpgradesStoreSeededBeforeArgumentDefaults() {
+        // A store written by an earlier version: first-token defaults plus a user command, and no version file
+        FileInteractiveCommandRepositoryAdapter old = new FileInteractiveCommandRepositoryAdapter(file);
+        old.saveAll(List.of(
+                new InteractiveCommand("nano", InteractiveCommand.Source.DEFAULT),
+                new InteractiveCommand("vim", InteractiveCommand.Source.DEFAULT),
+                new InteractiveCommand("k9s", InteractiveCommand.Source.USER)));
+
+        FileInteractiveCommandRepositoryAdapter store = new FileInteractiveCommandRepositoryAdapter(file);
+        InteractiveCommandConfiguration.seedDefaultCommands(store, versionFile);
+
+        assertTrue(store.matchesCommandLine("npm init -y"));
+        assertTrue(store.matchesCommandLine("gh auth login"));
+        assertFalse(store.matchesCommandLine("npm install"));
+        assertEquals(InteractiveCommand.Source.USER, store.findByCommandName("k9s").orElseThrow().getSource());
+        assertEquals(InteractiveCommandConfiguration.DEFAULT_COMMANDS.size() + 1, store.count());
+    }
+
+    @Test
+    void testRemovedDefaultStaysRemoved() {
+        FileInteractiveCommandRepositoryAdapter store = new FileInteractiveCommandRepositoryAdapter(file);
+        InteractiveCommandConfiguration.seedDefaultCommands(store, versionFile);
+
+        assertTrue(store.deleteByCommandName("nano"));
+        InteractiveCommandConfiguration.seedDefaultCommands(store, versionFile);
+
+        assertFalse(store.existsByCommandName("nano"));
+    }
+}
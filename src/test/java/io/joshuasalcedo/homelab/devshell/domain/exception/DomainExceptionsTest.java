@@ -31,6 +31,7 @@ class DomainExceptionsTest {
         assertEquals("E003", DomainExceptions.ErrorCodes.NOT_A_REPOSITORY);
         assertEquals("E004", DomainExceptions.ErrorCodes.NO_REMOTE_REPOSITORY);
         assertEquals("E005", DomainExceptions.ErrorCodes.UNAUTHORIZED_TO_COMMIT);
+        assertEquals("E006", DomainExceptions.ErrorCodes.OPERATION_CANCELLED);
     }
 
     // Tests for CommitMessageRequiredException
@@ -210,6 +211,41 @@ class DomainExceptionsTest {
         assertEquals(cause, exception.getCause());
     }
 
+    // Tests for OperationCancelledException
+    @Test
+    void testOperationCancelledException_WithOperation() {
+        // When
+        var exception = new DomainExceptions.OperationCancelledException("git status");
+        
+        // Then
+        assertEquals(DomainExceptions.ErrorCodes.OPERATION_CANCELLED, exception.getErrorCode());
+        assertEquals("Operation cancelled: git status", exception.getMessage());
+    }
+
+    @Test
+    void testOperationCancelledException_DeadlineExceeded() {
+        // When
+        var exception = new DomainExceptions.OperationCancelledException("git push main", true);
+        
+        // Then
+        assertEquals(DomainExceptions.ErrorCodes.OPERATION_CANCELLED, exception.getErrorCode());
+        assertEquals("Operation timed out: git push main", exception.getMessage());
+    }
+
+    @Test
+    void testOperationCancelledException_WithCause() {
+        // Given
+        Throwable cause = new RuntimeException("operation canceled");
+        
+        // When
+        var exception = new DomainExceptions.OperationCancelledException("git log", cause);
+        
+        // Then
+        assertEquals(DomainExceptions.ErrorCodes.OPERATION_CANCELLED, exception.getErrorCode());
+        assertEquals("Operation cancelled: git log", exception.getMessage());
+        assertEquals(cause, exception.getCause());
+    }
+
     // Tests for Factory methods
     @Test
     void testFactoryMethods() {
@@ -239,5 +275,10 @@ class DomainExceptionsTest {
         var unauthorizedException = DomainExceptions.Factory.unauthorizedToCommit(username);
         assertTrue(unauthorizedException instanceof DomainExceptions.UnauthorizedToCommitException);
         assertEquals(DomainExceptions.ErrorCodes.UNAUTHORIZED_TO_COMMIT, unauthorizedException.getErrorCode());
+        
+        // Test operationCancelled factory method
+        var cancelledException = DomainExceptions.Factory.operationCancelled("git status");
+        assertTrue(cancelledException instanceof DomainExceptions.OperationCancelledException);
+        assertEquals(DomainExceptions.ErrorCodes.OPERATION_CANCELLED, cancelledException.getErrorCode());
     }
 }
\ No newline at end of file
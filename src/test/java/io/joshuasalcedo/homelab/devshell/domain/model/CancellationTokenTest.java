@@ -0,0 +1,73 @@
+package io.joshuasalcedo.homelab.devshell.domain.model;
+
+import io.joshuasalcedo.homelab.devshell.domain.exception.DomainExceptions;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.Duration;
+
+/**
+ * Unit tests for CancellationToken
+ */
+class CancellationTokenTest {
+
+    @Test
+    void testNoneIsNeverCancelled() {
+        CancellationToken token = CancellationToken.none();
+        token.cancel();
+
+        assertFalse(token.isCancelled());
+        assertDoesNotThrow(() -> token.throwIfCancelled("git status"));
+    }
+
+    @Test
+    void testCancel() {
+        CancellationToken token = CancellationToken.create();
+        assertFalse(token.isCancelled());
+
+        token.cancel();
+
+        assertTrue(token.isCancelled());
+        assertFalse(token.isDeadlineExceeded());
+        var exception = assertThrows(DomainExceptions.OperationCancelledException.class,
+            () -> token.throwIfCancelled("git status"));
+        assertEquals("Operation cancelled: git status", exception.getMessage());
+    }
+
+    @Test
+    void testDeadline() {
+        CancellationToken expired = CancellationToken.withTimeout(Duration.ZERO);
+        CancellationToken pending = CancellationToken.withTimeout(Duration.ofHours(1));
+
+        assertTrue(expired.isCancelled());
+        assertTrue(expired.isDeadlineExceeded());
+        assertFalse(pending.isCancelled());
+        var exception = assertThrows(DomainExceptions.OperationCancelledException.class,
+            () -> expired.throwIfCancelled("git push"));
+        assertEquals("Operation timed out: git push", exception.getMessage());
+    }
+
+    @Test
+    void testCallBindsTokenToCurrentThread() {
+        CancellationToken outer = CancellationToken.create();
+        CancellationToken inner = CancellationToken.create();
+        assertSame(CancellationToken.none(), CancellationToken.current());
+
+        outer.run(() -> {
+            assertSame(outer, CancellationToken.current());
+            assertSame(inner, inner.call(CancellationToken::current));
+            assertSame(outer, CancellationToken.current());
+        });
+
+        assertSame(CancellationToken.none(), CancellationToken.current());
+    }
+
+    @Test
+    void testBindingRestoredWhenOperationThrows() {
+        CancellationToken token = CancellationToken.create();
+        token.cancel();
+
+        assertThrows(DomainExceptions.OperationCancelledException.class,
+            () -> token.run(() -> CancellationToken.current().throwIfCancelled("git log")));
+        assertSame(CancellationToken.none(), CancellationToken.current());
+    }
+}
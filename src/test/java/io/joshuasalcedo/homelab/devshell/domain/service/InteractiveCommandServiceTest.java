@@ -0,0 +1,81 @@
+package io.joshuasalcedo.homelab.devshell.domain.service;
+
+import io.joshuasalcedo.homelab.devshell.domain.model.InteractiveCommand;
+import io.joshuasalcedo.homelab.devshell.domain.repository.InteractiveCommandRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for InteractiveCommandService
+ */
+@ExtendWith(MockitoExtension.class)
+class InteractiveCommandServiceTest {
+
+    @Mock
+    private InteractiveCommandRepository repository;
+
+    private InteractiveCommandService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new InteractiveCommandService(repository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRegisterCommandsWritesOnce() {
+        when(repository.existsByCommandName("vim")).thenReturn(true);
+
+        List<String> added = service.registerCommands(List.of("vim", "nano", " htop ", "nano", ""), InteractiveCommand.Source.DEFAULT);
+
+        assertEquals(List.of("nano", "htop"), added);
+        ArgumentCaptor<List<InteractiveCommand>> saved = ArgumentCaptor.forClass(List.class);
+        verify(repository).saveAll(saved.capture());
+        verify(repository, never()).save(any());
+        assertEquals(List.of("nano", "htop"), saved.getValue().stream().map(InteractiveCommand::getCommandName).toList());
+        assertTrue(saved.getValue().stream().allMatch(cmd -> cmd.getSource() == InteractiveCommand.Source.DEFAULT));
+    }
+
+    @Test
+    void testRegisterCommandsSkipsWriteWhenNothingIsNew() {
+        when(repository.existsByCommandName("vim")).thenReturn(true);
+
+        assertTrue(service.registerCommands(List.of("vim"), InteractiveCommand.Source.IMPORTED).isEmpty());
+        verify(repository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void testIsInteractiveCommandUsesBaseCommand() {
+        when(repository.existsByCommandName("psql")).thenReturn(true);
+
+        assertTrue(service.isInteractiveCommand("psql -h localhost"));
+        assertFalse(service.isInteractiveCommand("ls -la"));
+    }
+
+    @Test
+    void testIsInteractiveCommandFallsBackToRules() {
+        when(repository.matchesCommandLine("npm init -y")).thenReturn(true);
+
+        assertTrue(service.isInteractiveCommand("npm init -y"));
+    }
+
+    @Test
+    void testRegisterCommandNormalizesRules() {
+        service.registerCommand("  docker  run ** -it ");
+
+        ArgumentCaptor<InteractiveCommand> saved = ArgumentCaptor.forClass(InteractiveCommand.class);
+        verify(repository).save(saved.capture());
+        assertEquals("docker run ** -it", saved.getValue().getCommandName());
+    }
+}
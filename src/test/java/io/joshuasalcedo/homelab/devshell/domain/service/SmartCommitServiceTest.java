@@ -14,7 +14,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.nio.file.Path;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -45,6 +50,8 @@ class SmartCommitServiceTest {
     @BeforeEach
     void setUp() {
         smartCommitService = new SmartCommitService(gitRepository, validationService);
+        lenient().when(gitRepository.withExclusiveAccess(any(), any()))
+            .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
         
         testRepository = Repository.existing(tempDir, "test-repo", true, "main");
         mainBranch = Branch.current("main", "abc123");
@@ -288,6 +295,90 @@ class SmartCommitServiceTest {
         // Don't verify deleteBranch since cleanup can fail before reaching it
     }
 
+    @Test
+    void testEveryStepIsReportedInOrder() {
+        List<String> changedFiles = List.of("src/User.java");
+        WorkingDirectory workingDir = WorkingDirectory.withChanges(List.of(), changedFiles, List.of("notes.md"));
+        List<SmartCommitService.Step> steps = new ArrayList<>();
+        SmartCommitService timed = new SmartCommitService(gitRepository, validationService,
+            (step, elapsedNanos, succeeded) -> {
+                assertTrue(succeeded);
+                assertTrue(elapsedNanos >= 0);
+                steps.add(step);
+            });
+
+        when(gitRepository.getWorkingDirectoryStatus(testRepository)).thenReturn(workingDir);
+        when(gitRepository.getCurrentBranch(testRepository)).thenReturn(mainBranch);
+        when(gitRepository.createBranch(eq(testRepository), any(BranchName.class))).thenReturn(tempBranch);
+        when(gitRepository.createCommit(eq(testRepository), any(CommitMessage.class), eq(tempBranch.getName())))
+            .thenReturn(Commit.forSmartCommit(CommitMessage.of("Timed"), "Test Author", changedFiles, tempBranch.getName()));
+
+        timed.executeSmartCommit(testRepository, "Timed");
+
+        assertEquals(List.of(SmartCommitService.Step.values()), steps);
+        verify(gitRepository).stageFiles(testRepository, List.of("notes.md"));
+    }
+
+    @Test
+    void testFailedStepIsReportedAndLaterStepsAreNot() {
+        WorkingDirectory workingDir = WorkingDirectory.withChanges(List.of(), List.of("src/Test.java"), List.of());
+        Map<SmartCommitService.Step, Boolean> steps = new LinkedHashMap<>();
+        SmartCommitService timed = new SmartCommitService(gitRepository, validationService,
+            (step, elapsedNanos, succeeded) -> steps.put(step, succeeded));
+
+        when(gitRepository.getWorkingDirectoryStatus(testRepository)).thenReturn(workingDir);
+        when(gitRepository.getCurrentBranch(testRepository)).thenReturn(mainBranch);
+        when(gitRepository.createBranch(eq(testRepository), any(BranchName.class))).thenReturn(tempBranch);
+        doThrow(new RuntimeException("Commit failed")).when(gitRepository)
+            .createCommit(eq(testRepository), any(CommitMessage.class), eq(tempBranch.getName()));
+
+        assertThrows(RuntimeException.class, () -> timed.executeSmartCommit(testRepository, "Test commit"));
+
+        assertEquals(Boolean.FALSE, steps.get(SmartCommitService.Step.COMMIT));
+        assertEquals(SmartCommitService.Step.COMMIT, List.copyOf(steps.keySet()).getLast());
+        // The cleanup is not a step of its own
+        verify(gitRepository).deleteBranch(testRepository, tempBranch);
+    }
+
+    @Test
+    void testWorkflowHoldsExclusiveAccess() {
+        AtomicBoolean exclusive = new AtomicBoolean();
+        doAnswer(invocation -> {
+            exclusive.set(true);
+            try {
+                return invocation.<Supplier<?>>getArgument(1).get();
+            } finally {
+                exclusive.set(false);
+            }
+        }).when(gitRepository).withExclusiveAccess(eq(testRepository), any());
+        WorkingDirectory workingDir = WorkingDirectory.withChanges(List.of(), List.of("src/Test.java"), List.of());
+        when(gitRepository.getWorkingDirectoryStatus(testRepository)).thenReturn(workingDir);
+        when(gitRepository.getCurrentBranch(testRepository)).thenReturn(mainBranch);
+        when(gitRepository.createBranch(eq(testRepository), any(BranchName.class))).thenAnswer(invocation -> {
+            assertTrue(exclusive.get(), "the temporary branch is created under the lock");
+            return tempBranch;
+        });
+        doAnswer(invocation -> {
+            assertTrue(exclusive.get(), "the temporary branch is deleted under the lock");
+            return null;
+        }).when(gitRepository).deleteBranch(testRepository, tempBranch);
+        when(gitRepository.createCommit(eq(testRepository), any(CommitMessage.class), eq(tempBranch.getName())))
+            .thenReturn(Commit.forSmartCommit(CommitMessage.of("Locked"), "Test Author", List.of("src/Test.java"),
+                tempBranch.getName()));
+
+        smartCommitService.executeSmartCommit(testRepository, "Locked");
+
+        assertFalse(exclusive.get());
+        verify(gitRepository).withExclusiveAccess(eq(testRepository), any());
+        verify(gitRepository).deleteBranch(testRepository, tempBranch);
+    }
+
+    @Test
+    void testConstructor_NullStepListener() {
+        assertThrows(NullPointerException.class, () ->
+            new SmartCommitService(gitRepository, validationService, null));
+    }
+
     @Test
     void testConstructor_NullGitRepository() {
         assertThrows(NullPointerException.class, () ->
@@ -0,0 +1,143 @@
+package io.joshuasalcedo.homelab.devshell.domain.service;
+
+import io.joshuasalcedo.homelab.devshell.domain.model.InteractiveCommand;
+import io.joshuasalcedo.homelab.devshell.domain.repository.InteractiveCommandRepository;
+import io.joshuasalcedo.homelab.devshell.domain.service.TtyRequirementClassifier.ExecutionMode;
+import io.joshuasalcedo.homelab.devshell.domain.value.CommandPatternSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TtyRequirementClassifier
+ */
+@ExtendWith(MockitoExtension.class)
+class TtyRequirementClassifierTest {
+
+    @Mock
+    private InteractiveCommandRepository repository;
+
+    private TtyRequirementClassifier classifier;
+
+    @BeforeEach
+    void setUp() {
+        classifier = new TtyRequirementClassifier(new InteractiveCommandService(repository));
+    }
+
+    @Test
+    void testRegisteredCommandIsInteractive() {
+        when(repository.existsByCommandName("claude")).thenReturn(true);
+
+        assertEquals(ExecutionMode.INTERACTIVE, classifier.classify("claude --resume"));
+    }
+
+    @Test
+    void testPlainCommandsStream() {
+        assertEquals(ExecutionMode.STREAMING, classifier.classify("ls -la"));
+        assertEquals(ExecutionMode.STREAMING, classifier.classify("mvn -B test"));
+        assertEquals(ExecutionMode.STREAMING, classifier.classify("git log -p"));
+        assertEquals(ExecutionMode.STREAMING, classifier.classify("git commit -am \"Fix bug\""));
+        assertEquals(ExecutionMode.STREAMING, classifier.classify("docker ps"));
+        assertEquals(ExecutionMode.STREAMING, classifier.classify(""));
+    }
+
+    @Test
+    void testKnownBinaries() {
+        assertEquals(ExecutionMode.INTERACTIVE, classifier.classify("nvim README.md"));
+        assertEquals(ExecutionMode.INTERACTIVE, classifier.classify("FOO=1 env htop"));
+        assertEquals(ExecutionMode.INTERACTIVE, classifier.classify("sudo apt update"));
+        assertEquals(ExecutionMode.STREAMING, classifier.classify("sudo -n apt update"));
+    }
+
+    @Test
+    void testReplsOnlyWithoutArguments() {
+        assertEquals(ExecutionMode.INTERACTIVE, classifier.classify("python3"));
+        assertEquals(ExecutionMode.INTERACTIVE, classifier.classify("node -i"));
+        assertEquals(ExecutionMode.STREAMING, classifier.classify("python3 script.py"));
+        assertEquals(ExecutionMode.STREAMING, classifier.classify("bash build.sh"));
+    }
+
+    @Test
+    void testArgumentDependentCommands() {
+        assertEquals(ExecutionMode.INTERACTIVE, classifier.classify("ssh host"));
+        assertEquals(ExecutionMode.INTERACTIVE, classifier.classify("ssh -p 2222 host"));
+        assertEquals(ExecutionMode.STREAMING, classifier.classify("ssh host uptime"));
+        assertEquals(ExecutionMode.INTERACTIVE, classifier.classify("docker run -it ubuntu bash"));
+        assertEquals(ExecutionMode.INTERACTIVE, classifier.classify("kubectl exec -i -t pod -- sh"));
+        assertEquals(ExecutionMode.INTERACTIVE, classifier.classify("git rebase -i HEAD~3"));
+        assertEquals(ExecutionMode.INTERACTIVE, classifier.classify("git add -p"));
+        assertEquals(ExecutionMode.INTERACTIVE, classifier.classify("git commit"));
+        assertEquals(ExecutionMode.STREAMING, classifier.classify("git commit --amend --no-edit"));
+    }
+
+    @Test
+    void testTtyFailureDetection() {
+        assertTrue(classifier.isTtyFailure(1, "the input device is not a TTY\n"));
+        assertTrue(classifier.isTtyFailure(1, "Vim: Warning: Output is not to a terminal"));
+        assertFalse(classifier.isTtyFailure(0, "not a tty"));
+        assertFalse(classifier.isTtyFailure(1, "No such file or directory"));
+        assertFalse(classifier.isTtyFailure(1, null));
+    }
+
+    @Test
+    void testRecordTtyFailureRegistersDetectedRule() {
+        when(repository.findByCommandName("docker exec -it **")).thenReturn(Optional.empty());
+
+        InteractiveCommand command = classifier.recordTtyFailure("DOCKER_HOST=unix:///run/docker.sock docker exec -it web bash");
+
+        ArgumentCaptor<InteractiveCommand> saved = ArgumentCaptor.forClass(InteractiveCommand.class);
+        verify(repository).saveOrUpdate(saved.capture());
+        assertSame(command, saved.getValue());
+        assertEquals("docker exec -it **", command.getCommandName());
+        assertEquals(InteractiveCommand.Source.DETECTED, command.getSource());
+        assertEquals(1, command.getTtyFailures());
+        assertTrue(command.getLastTtyFailureAt() > 0);
+    }
+
+    @Test
+    void testRecordTtyFailureKeepsExistingSource() {
+        InteractiveCommand existing = new InteractiveCommand("mysql", InteractiveCommand.Source.DEFAULT);
+        when(repository.findByCommandName("mysql")).thenReturn(Optional.of(existing));
+
+        classifier.recordTtyFailure("mysql");
+
+        verify(repository).saveOrUpdate(existing);
+        assertEquals(InteractiveCommand.Source.DEFAULT, existing.getSource());
+        assertEquals(1, existing.getTtyFailures());
+    }
+
+    @Test
+    void testTtyFailureRuleCoversOnlyTheFailingInvocation() {
+        assertEquals("docker exec -it **", TtyRequirementClassifier.ttyFailureRule("docker exec -it web bash"));
+        assertEquals("kubectl -n prod exec -ti **", TtyRequirementClassifier.ttyFailureRule("kubectl -n prod exec -ti pod -- sh"));
+        assertEquals("git push origin main", TtyRequirementClassifier.ttyFailureRule("time git push origin main"));
+        assertEquals("aws sso login --profile **", TtyRequirementClassifier.ttyFailureRule("aws sso login --profile dev"));
+        assertEquals("mysql", TtyRequirementClassifier.ttyFailureRule("mysql"));
+        assertEquals("ls **", TtyRequirementClassifier.ttyFailureRule("ls *.txt"));
+        assertEquals("", TtyRequirementClassifier.ttyFailureRule("  "));
+    }
+
+    @Test
+    void testTtyFailureRuleLeavesOtherSubcommandsStreaming() {
+        CommandPatternSet rules = CommandPatternSet.compile(List.of(TtyRequirementClassifier.ttyFailureRule("docker exec -it web bash")));
+
+        assertTrue(rules.matches("docker exec -it api sh"));
+        assertFalse(rules.matches("docker ps"));
+        assertFalse(rules.matches("docker exec web ls"));
+    }
+
+    @Test
+    void testBaseCommand() {
+        assertEquals("vim", TtyRequirementClassifier.baseCommand("EDITOR=nano time vim file"));
+        assertEquals("", TtyRequirementClassifier.baseCommand("   "));
+    }
+}
@@ -0,0 +1,96 @@
+package io.joshuasalcedo.homelab.devshell.domain.value;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CommandPatternSet
+ */
+class CommandPatternSetTest {
+
+    @Test
+    void testSingleWordMatchesFirstToken() {
+        CommandPatternSet rules = CommandPatternSet.compile(List.of("vim", "python"));
+
+        assertTrue(rules.matches("vim"));
+        assertTrue(rules.matches("  vim   notes.txt "));
+        assertTrue(rules.matches("python -q"));
+        assertFalse(rules.matches("python3"));
+        assertFalse(rules.matches("vi"));
+        assertFalse(rules.matches("ls vim"));
+        assertFalse(rules.matches(""));
+    }
+
+    @Test
+    void testMultiTokenRulesMatchAsPrefix() {
+        CommandPatternSet rules = CommandPatternSet.compile(List.of("npm init", "git rebase -i"));
+
+        assertTrue(rules.matches("npm init"));
+        assertTrue(rules.matches("npm init -y"));
+        assertTrue(rules.matches("git rebase -i HEAD~3"));
+        assertFalse(rules.matches("npm install"));
+        assertFalse(rules.matches("npm"));
+        assertFalse(rules.matches("git rebase main -i"));
+    }
+
+    @Test
+    void testWildcards() {
+        CommandPatternSet rules = CommandPatternSet.compile(List.of(
+            "docker run ** -it", "kubectl exec * -ti", "mysql* -p", "ss? -t"));
+
+        assertTrue(rules.matches("docker run -it alpine"));
+        assertTrue(rules.matches("docker run --rm -v x:/y -it alpine sh"));
+        assertFalse(rules.matches("docker run --rm alpine"));
+        assertTrue(rules.matches("kubectl exec pod-1 -ti -- sh"));
+        assertFalse(rules.matches("kubectl exec pod-1 -c app -ti -- sh"));
+        assertTrue(rules.matches("mysql -p"));
+        assertTrue(rules.matches("mysqlsh -p"));
+        assertTrue(rules.matches("ssh -t host"));
+        assertFalse(rules.matches("sh -t"));
+    }
+
+    @Test
+    void testLeadingAnyTokens() {
+        CommandPatternSet rules = CommandPatternSet.compile(List.of("** --interactive"));
+
+        assertTrue(rules.matches("tool sub --interactive"));
+        assertTrue(rules.matches("--interactive"));
+        assertFalse(rules.matches("tool --interactive-mode"));
+    }
+
+    @Test
+    void testNormalizeAndIsPattern() {
+        assertEquals("docker run ** -it", CommandPatternSet.normalize("  docker\trun   **  -it "));
+        assertEquals(1, CommandPatternSet.compile(List.of("npm  init", "npm init", " ")).size());
+        assertFalse(CommandPatternSet.isPattern("vim"));
+        assertTrue(CommandPatternSet.isPattern("npm init"));
+        assertTrue(CommandPatternSet.isPattern("mysql*"));
+        assertFalse(CommandPatternSet.EMPTY.matches("vim"));
+    }
+
+    @Test
+    void testManyRulesMatchConcurrently() throws Exception {
+        CommandPatternSet rules = CommandPatternSet.compile(IntStream.range(0, 2000)
+            .mapToObj(i -> "tool" + i + " sub" + (i % 7) + " ** --flag" + i)
+            .toList());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = IntStream.range(0, 400)
+                .mapToObj(i -> executor.submit(() -> rules.matches("tool" + i + " sub" + (i % 7) + " a b --flag" + i)
+                    && !rules.matches("tool" + i + " sub" + (i % 7) + " a b --flag" + (i + 1))))
+                .toList();
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
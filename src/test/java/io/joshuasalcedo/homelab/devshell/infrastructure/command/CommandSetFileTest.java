@@ -0,0 +1,48 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.command;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CommandSetFile
+ */
+class CommandSetFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testWriteAndReadJson() throws IOException {
+        Path file = tempDir.resolve("team/commands.json");
+
+        CommandSetFile.write(file, List.of("vim", "psql", "k9s"));
+
+        assertTrue(Files.readString(file).contains("\"version\": 1"));
+        assertEquals(List.of("vim", "psql", "k9s"), CommandSetFile.read(file));
+    }
+
+    @Test
+    void testReadPlainText() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("commands.txt"), "# Team editors\nvim\n\n  nano  \n");
+
+        assertEquals(List.of("vim", "nano"), CommandSetFile.read(file));
+    }
+
+    @Test
+    void testRejectsInvalidJson() throws IOException {
+        Path missingList = Files.writeString(tempDir.resolve("a.json"), "{\"version\":1}");
+        Path newer = Files.writeString(tempDir.resolve("b.json"), "{\"version\":99,\"commands\":[]}");
+        Path broken = Files.writeString(tempDir.resolve("c.json"), "{\"commands\":[");
+
+        assertThrows(IOException.class, () -> CommandSetFile.read(missingList));
+        assertThrows(IOException.class, () -> CommandSetFile.read(newer));
+        assertThrows(IOException.class, () -> CommandSetFile.read(broken));
+    }
+}
@@ -0,0 +1,186 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.command;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParser;
+import io.joshuasalcedo.homelab.devshell.StressRun;
+import io.joshuasalcedo.homelab.devshell.domain.model.InteractiveCommand;
+import io.joshuasalcedo.homelab.devshell.utils.CliLogger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stress test for {@link FileInteractiveCommandRepositoryAdapter}. Threads and processes share one store, with a
+ * small compaction threshold so compactions race with appends and reads. Each worker saves, batch-saves and deletes
+ * commands named after itself, checks it can read its own writes at once, and reads everything else. Afterwards:
+ * <ul>
+ *     <li>no call failed</li>
+ *     <li>a fresh adapter holds exactly the commands whose last successful write was a save: no update was lost</li>
+ *     <li>{@code commands.json} is a JSON array, every journal line is a JSON record, and no {@code .corrupt-*} or
+ *         {@code .tmp} file was left</li>
+ * </ul>
+ * Run with {@code ./mvnw -P stress verify}; {@code stress.commands.operations} sets the calls per worker (300).
+ */
+class FileInteractiveCommandRepositoryAdapterStressIT {
+
+    private static final int OPERATIONS = Integer.getInteger("stress.commands.operations", 300);
+    private static final int COMPACTION_THRESHOLD = 16;
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * A worker in a child process
+     */
+    public static void main(String[] args) throws Exception {
+        Path file = Path.of(StressRun.arguments(args).getFirst());
+        StressRun.child(args, (name, recorder) -> work(file, name, recorder));
+    }
+
+    @Test
+    void testConcurrentWritersLoseNothing() throws Exception {
+        Path file = tempDir.resolve("store").resolve("commands.json");
+        new FileInteractiveCommandRepositoryAdapter(file);
+
+        long started = System.nanoTime();
+        List<StressRun.Sample> samples = StressRun.run((name, recorder) -> work(file, name, recorder),
+                FileInteractiveCommandRepositoryAdapterStressIT.class, List.of(file.toString()), tempDir);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        List<String> violations = StressRun.report("command-store", samples, elapsed, checkStore(file, samples));
+        assertTrue(violations.isEmpty(), String.join("\n", violations));
+    }
+
+    private static void work(Path file, String name, StressRun.Recorder recorder) {
+        CliLogger.setLevel(CliLogger.Level.OFF);
+        // A zero stat interval also re-checks the files on every read, the most contended setting
+        FileInteractiveCommandRepositoryAdapter repository =
+                new FileInteractiveCommandRepositoryAdapter(file, Duration.ZERO, COMPACTION_THRESHOLD);
+        Random random = new Random(name.hashCode());
+        List<String> saved = new ArrayList<>();
+
+        for (int i = 0; i < OPERATIONS; i++) {
+            String command = name + "-" + i;
+            switch (random.nextInt(10)) {
+                case 0, 1, 2 -> {
+                    if (recorder.run("save", () -> {
+                        repository.save(new InteractiveCommand(command, InteractiveCommand.Source.USER));
+                        return command;
+                    }).isPresent()) {
+                        saved.add(command);
+                        if (!repository.existsByCommandName(command)) {
+                            recorder.violation("save", command + " was not visible right after it was saved");
+                        }
+                    }
+                }
+                case 3 -> {
+                    List<String> batch = List.of(command + "-a", command + "-b", command + "-c");
+                    if (recorder.run("save-all", () -> {
+                        repository.saveAll(batch.stream().map(InteractiveCommand::new).toList());
+                        return String.join(",", batch);
+                    }).isPresent()) {
+                        saved.addAll(batch);
+                    }
+                }
+                case 4 -> {
+                    if (!saved.isEmpty()) {
+                        String deleted = saved.remove(random.nextInt(saved.size()));
+                        recorder.run("delete", () -> {
+                            if (!repository.deleteByCommandName(deleted)) {
+                                throw new IllegalStateException(deleted + " was not found");
+                            }
+                            return deleted;
+                        });
+                    }
+                }
+                case 5 -> recorder.run("find-all", () -> String.valueOf(repository.findAll().size()));
+                case 6 -> recorder.run("match", () -> String.valueOf(repository.matchesCommandLine(command + " --help")));
+                case 7 -> recorder.run("count", () -> String.valueOf(repository.count()));
+                case 8 -> recorder.run("compact", () -> {
+                    repository.compact();
+                    return "";
+                });
+                default -> recorder.run("find", () -> String.valueOf(
+                        saved.isEmpty() || repository.findByCommandName(saved.getLast()).isPresent()));
+            }
+        }
+    }
+
+    private static List<String> checkStore(Path file, List<StressRun.Sample> samples) throws Exception {
+        List<String> violations = new ArrayList<>();
+        samples.stream()
+                .filter(sample -> !sample.succeeded() && !sample.detail().startsWith("VIOLATION "))
+                .forEach(sample -> violations.add(sample.worker() + " " + sample.operation() + " failed: "
+                        + sample.detail()));
+        samples.stream()
+                .filter(sample -> sample.operation().equals("find") && sample.detail().equals("false"))
+                .forEach(sample -> violations.add(sample.worker() + " could not find its last saved command"));
+
+        // Workers only touch their own commands, so replaying each worker's successful writes in order gives the result
+        Set<String> expected = new TreeSet<>();
+        for (StressRun.Sample sample : samples) {
+            if (!sample.succeeded()) {
+                continue;
+            }
+            switch (sample.operation()) {
+                case "save" -> expected.add(sample.detail());
+                case "save-all" -> expected.addAll(List.of(sample.detail().split(",")));
+                case "delete" -> expected.remove(sample.detail());
+                default -> {
+                }
+            }
+        }
+        Set<String> actual = new FileInteractiveCommandRepositoryAdapter(file).findAll().stream()
+                .map(InteractiveCommand::getCommandName)
+                .collect(Collectors.toCollection(TreeSet::new));
+        Set<String> lost = new TreeSet<>(expected);
+        lost.removeAll(actual);
+        Set<String> resurrected = new TreeSet<>(actual);
+        resurrected.removeAll(expected);
+        if (!lost.isEmpty()) {
+            violations.add(lost.size() + " saved commands were lost: " + lost);
+        }
+        if (!resurrected.isEmpty()) {
+            violations.add(resurrected.size() + " deleted commands came back: " + resurrected);
+        }
+
+        try {
+            if (!JsonParser.parseString(Files.readString(file, StandardCharsets.UTF_8)).isJsonArray()) {
+                violations.add(file.getFileName() + " is not a JSON array");
+            }
+        } catch (RuntimeException e) {
+            violations.add(file.getFileName() + " is not valid JSON: " + e.getMessage());
+        }
+        Path journal = file.resolveSibling(file.getFileName() + ".journal");
+        if (Files.exists(journal)) {
+            Gson gson = new Gson();
+            List<String> lines = Files.readAllLines(journal, StandardCharsets.UTF_8);
+            for (int i = 0; i < lines.size(); i++) {
+                try {
+                    gson.fromJson(lines.get(i), Object.class);
+                } catch (RuntimeException e) {
+                    violations.add("Journal line " + (i + 1) + " is not valid JSON: " + e.getMessage());
+                }
+            }
+        }
+        try (Stream<Path> files = Files.list(file.getParent())) {
+            files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.contains(".corrupt-") || name.endsWith(".tmp"))
+                    .forEach(name -> violations.add(name + " was left behind"));
+        }
+        return violations;
+    }
+}
@@ -0,0 +1,256 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.command;
+
+import io.joshuasalcedo.homelab.devshell.domain.model.InteractiveCommand;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FileInteractiveCommandRepositoryAdapter
+ */
+class FileInteractiveCommandRepositoryAdapterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testCreatesEmptyFile() {
+        Path file = tempDir.resolve("nested/commands.json");
+
+        FileInteractiveCommandRepositoryAdapter adapter = new FileInteractiveCommandRepositoryAdapter(file);
+
+        assertTrue(Files.exists(file));
+        assertEquals(0, adapter.count());
+    }
+
+    @Test
+    void testSaveFindAndDelete() {
+        FileInteractiveCommandRepositoryAdapter adapter = new FileInteractiveCommandRepositoryAdapter(tempDir.resolve("commands.json"));
+
+        adapter.save(new InteractiveCommand("vim"));
+        adapter.save(new InteractiveCommand("htop", InteractiveCommand.Source.DEFAULT));
+        adapter.saveOrUpdate(new InteractiveCommand("vim", InteractiveCommand.Source.DETECTED));
+
+        assertTrue(adapter.existsByCommandName("vim"));
+        assertEquals(InteractiveCommand.Source.DETECTED, adapter.findByCommandName("vim").orElseThrow().getSource());
+        assertEquals(List.of("vim", "htop"), adapter.findAll().stream().map(InteractiveCommand::getCommandName).toList());
+
+        assertTrue(adapter.deleteByCommandName("vim"));
+        assertFalse(adapter.deleteByCommandName("vim"));
+        assertFalse(adapter.existsByCommandName("vim"));
+        assertEquals(1, adapter.count());
+
+        adapter.deleteAll();
+        assertEquals(0, adapter.count());
+    }
+
+    @Test
+    void testReturnedCommandsDoNotChangeTheStore() {
+        FileInteractiveCommandRepositoryAdapter adapter = new FileInteractiveCommandRepositoryAdapter(tempDir.resolve("commands.json"));
+        adapter.save(new InteractiveCommand("psql"));
+
+        adapter.findByCommandName("psql").orElseThrow().recordTtyFailure(1L);
+        adapter.findAll().get(0).setCommandName("mysql");
+
+        assertEquals(0, adapter.findByCommandName("psql").orElseThrow().getTtyFailures());
+        assertFalse(adapter.existsByCommandName("mysql"));
+    }
+
+    @Test
+    void testPersistsAcrossInstances() {
+        Path file = tempDir.resolve("commands.json");
+        new FileInteractiveCommandRepositoryAdapter(file).save(new InteractiveCommand("ssh", InteractiveCommand.Source.DEFAULT));
+
+        FileInteractiveCommandRepositoryAdapter reopened = new FileInteractiveCommandRepositoryAdapter(file);
+
+        assertEquals(InteractiveCommand.Source.DEFAULT, reopened.findByCommandName("ssh").orElseThrow().getSource());
+    }
+
+    @Test
+    void testReloadsWhenFileChangesOnDisk() throws IOException {
+        Path file = tempDir.resolve("commands.json");
+        FileInteractiveCommandRepositoryAdapter adapter = new FileInteractiveCommandRepositoryAdapter(file, Duration.ZERO);
+        adapter.save(new InteractiveCommand("vim"));
+
+        // Another dev-shell process rewrites the file
+        Files.writeString(file, "[{\"commandName\":\"vim\"},{\"commandName\":\"nano\"}]");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 2000));
+
+        assertTrue(adapter.existsByCommandName("nano"));
+        assertEquals(2, adapter.count());
+    }
+
+    @Test
+    void testDoesNotStatWithinInterval() throws IOException {
+        Path file = tempDir.resolve("commands.json");
+        FileInteractiveCommandRepositoryAdapter adapter = new FileInteractiveCommandRepositoryAdapter(file, Duration.ofHours(1));
+        adapter.save(new InteractiveCommand("vim"));
+
+        Files.writeString(file, "[]");
+
+        assertTrue(adapter.existsByCommandName("vim"), "served from the snapshot until the next validation");
+    }
+
+    @Test
+    void testWritesKeepExternalChanges() throws IOException {
+        Path file = tempDir.resolve("commands.json");
+        FileInteractiveCommandRepositoryAdapter adapter = new FileInteractiveCommandRepositoryAdapter(file, Duration.ofHours(1));
+        adapter.save(new InteractiveCommand("vim"));
+
+        Files.writeString(file, "[{\"commandName\":\"vim\"},{\"commandName\":\"nano\"}]");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 2000));
+        adapter.save(new InteractiveCommand("less"));
+
+        assertEquals(List.of("vim", "nano", "less"), adapter.findAll().stream().map(InteractiveCommand::getCommandName).toList());
+    }
+
+    @Test
+    void testCorruptFileReadsAsEmpty() throws IOException {
+        Path file = tempDir.resolve("commands.json");
+        Files.writeString(file, "{not json");
+
+        FileInteractiveCommandRepositoryAdapter adapter = new FileInteractiveCommandRepositoryAdapter(file);
+
+        assertEquals(0, adapter.count());
+        try (var files = Files.list(tempDir)) {
+            assertTrue(files.anyMatch(path -> path.getFileName().toString().startsWith("commands.json.corrupt-")),
+                "corrupt snapshot is kept for inspection");
+        }
+    }
+
+    @Test
+    void testWritesAppendToJournal() throws IOException {
+        Path file = tempDir.resolve("commands.json");
+        FileInteractiveCommandRepositoryAdapter adapter = new FileInteractiveCommandRepositoryAdapter(file);
+        String snapshotBefore = Files.readString(file);
+
+        adapter.save(new InteractiveCommand("vim"));
+        adapter.deleteByCommandName("vim");
+        adapter.save(new InteractiveCommand("nano"));
+
+        assertEquals(snapshotBefore, Files.readString(file));
+        assertEquals(3, Files.readAllLines(tempDir.resolve("commands.json.journal")).size());
+        assertEquals(List.of("nano"), new FileInteractiveCommandRepositoryAdapter(file).findAll().stream()
+            .map(InteractiveCommand::getCommandName).toList());
+    }
+
+    @Test
+    void testSaveAllIsOneJournalRecord() throws IOException {
+        Path file = tempDir.resolve("commands.json");
+        FileInteractiveCommandRepositoryAdapter adapter = new FileInteractiveCommandRepositoryAdapter(file);
+        adapter.save(new InteractiveCommand("vim", InteractiveCommand.Source.USER));
+
+        adapter.saveAll(List.of(
+            new InteractiveCommand("nano", InteractiveCommand.Source.DEFAULT),
+            new InteractiveCommand("htop", InteractiveCommand.Source.DEFAULT),
+            new InteractiveCommand("vim", InteractiveCommand.Source.DEFAULT)));
+
+        assertEquals(2, Files.readAllLines(tempDir.resolve("commands.json.journal")).size());
+        FileInteractiveCommandRepositoryAdapter reopened = new FileInteractiveCommandRepositoryAdapter(file);
+        assertEquals(List.of("vim", "nano", "htop"), reopened.findAll().stream().map(InteractiveCommand::getCommandName).toList());
+        assertEquals(InteractiveCommand.Source.DEFAULT, reopened.findByCommandName("htop").orElseThrow().getSource());
+    }
+
+    @Test
+    void testCompactionFoldsJournalIntoSnapshot() throws IOException {
+        Path file = tempDir.resolve("commands.json");
+        FileInteractiveCommandRepositoryAdapter adapter = new FileInteractiveCommandRepositoryAdapter(file, Duration.ZERO, 3);
+
+        adapter.save(new InteractiveCommand("vim"));
+        adapter.save(new InteractiveCommand("less"));
+        adapter.save(new InteractiveCommand("top"));
+
+        assertFalse(Files.exists(tempDir.resolve("commands.json.journal")));
+        assertFalse(Files.exists(tempDir.resolve("commands.json.tmp")));
+        assertTrue(Files.readString(file).contains("\"less\""));
+        assertEquals(3, new FileInteractiveCommandRepositoryAdapter(file).count());
+    }
+
+    @Test
+    void testTornJournalTailIsDiscarded() throws IOException {
+        Path file = tempDir.resolve("commands.json");
+        Path journal = tempDir.resolve("commands.json.journal");
+        new FileInteractiveCommandRepositoryAdapter(file).save(new InteractiveCommand("vim"));
+
+        // Crash in the middle of appending the next record
+        Files.writeString(journal, "{\"op\":\"PUT\",\"command\":{\"commandN", StandardOpenOption.APPEND);
+
+        FileInteractiveCommandRepositoryAdapter adapter = new FileInteractiveCommandRepositoryAdapter(file);
+        assertEquals(List.of("vim"), adapter.findAll().stream().map(InteractiveCommand::getCommandName).toList());
+
+        adapter.save(new InteractiveCommand("nano"));
+        assertEquals(2, new FileInteractiveCommandRepositoryAdapter(file).count());
+    }
+
+    @Test
+    void testOtherInstancesSeeWritesWithoutWaitingForStat() {
+        Path file = tempDir.resolve("commands.json");
+        FileInteractiveCommandRepositoryAdapter first = new FileInteractiveCommandRepositoryAdapter(file, Duration.ofHours(1));
+        FileInteractiveCommandRepositoryAdapter second = new FileInteractiveCommandRepositoryAdapter(file, Duration.ofHours(1));
+        assertEquals(0, second.count());
+
+        first.save(new InteractiveCommand("vim"));
+        assertTrue(second.existsByCommandName("vim"), "the generation counter announces the write");
+
+        second.deleteByCommandName("vim");
+        assertFalse(first.existsByCommandName("vim"));
+    }
+
+    @Test
+    void testConcurrentWritersDoNotLoseUpdates() throws Exception {
+        Path file = tempDir.resolve("commands.json");
+        List<FileInteractiveCommandRepositoryAdapter> adapters = List.of(
+            new FileInteractiveCommandRepositoryAdapter(file, Duration.ofHours(1), 8),
+            new FileInteractiveCommandRepositoryAdapter(file, Duration.ofHours(1), 8));
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Object>> writers = IntStream.range(0, 4)
+                .mapToObj(writer -> executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 25; i++) {
+                        adapters.get(writer % 2).save(new InteractiveCommand("cmd-" + writer + "-" + i));
+                    }
+                    return null;
+                }))
+                .toList();
+            start.countDown();
+            for (Future<Object> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(100, adapters.get(0).count());
+        assertEquals(100, adapters.get(1).count());
+        assertEquals(100, new FileInteractiveCommandRepositoryAdapter(file).count());
+    }
+
+    @Test
+    void testMatchesStoredRules() {
+        FileInteractiveCommandRepositoryAdapter adapter = new FileInteractiveCommandRepositoryAdapter(tempDir.resolve("commands.json"));
+        adapter.saveAll(List.of(new InteractiveCommand("vim"), new InteractiveCommand("docker run ** -it")));
+
+        assertTrue(adapter.matchesCommandLine("vim notes.txt"));
+        assertTrue(adapter.matchesCommandLine("docker run --rm -it alpine"));
+        assertFalse(adapter.matchesCommandLine("docker run --rm alpine"));
+
+        adapter.deleteByCommandName("docker run ** -it");
+        assertFalse(adapter.matchesCommandLine("docker run --rm -it alpine"), "rules are recompiled after a change");
+    }
+}
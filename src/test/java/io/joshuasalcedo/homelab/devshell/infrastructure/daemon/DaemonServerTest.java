@@ -0,0 +1,212 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.daemon;
+
+import io.joshuasalcedo.homelab.devshell.utils.InterruptScope;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DaemonServer and DaemonClient
+ */
+class DaemonServerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private DaemonServer server;
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test
+    void testRunsRequestInClientDirectoryAndStreamsOutput() {
+        Path socket = tempDir.resolve("daemon.sock");
+        server = start(socket, new FakeHandler() {
+            @Override
+            public int handle(DaemonProtocol.Request request, PrintStream out, PrintStream err) {
+                out.println("cwd " + System.getProperty("user.dir"));
+                out.println("argv " + request.argv + " " + request.env.get("GREETING"));
+                err.println("warning \"quoted\"");
+                return 3;
+            }
+        });
+        String daemonDirectory = System.getProperty("user.dir");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        DaemonProtocol.Request request = request(List.of("status", "--porcelain"));
+        request.env = Map.of("GREETING", "héllo\twörld");
+        OptionalInt exitCode = DaemonClient.send(socket, request, out, err);
+
+        assertEquals(OptionalInt.of(3), exitCode);
+        assertEquals("cwd " + tempDir + "\nargv [status, --porcelain] héllo\twörld\n",
+            out.toString(StandardCharsets.UTF_8));
+        assertEquals("warning \"quoted\"\n", err.toString(StandardCharsets.UTF_8));
+        assertEquals(daemonDirectory, System.getProperty("user.dir"));
+    }
+
+    @Test
+    void testSocketIsOnlyAccessibleByOwner() throws IOException {
+        Path socket = tempDir.resolve("private").resolve("daemon.sock");
+        server = start(socket, new FakeHandler());
+
+        assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(socket)));
+        assertEquals("rwx------", PosixFilePermissions.toString(Files.getPosixFilePermissions(socket.getParent())));
+    }
+
+    @Test
+    void testTerminalCommandsRunLocally() {
+        Path socket = tempDir.resolve("daemon.sock");
+        server = start(socket, new FakeHandler() {
+            @Override
+            public String runLocallyReason(DaemonProtocol.Request request) {
+                return "needs a terminal";
+            }
+        });
+
+        assertTrue(DaemonClient.send(socket, request(List.of("vim")), sink(), sink()).isEmpty());
+    }
+
+    @Test
+    void testDifferentBuildRunsLocallyAndStopsDaemon() throws InterruptedException {
+        Path socket = tempDir.resolve("daemon.sock");
+        server = new DaemonServer(socket, new FakeHandler(), "some-older-build").start();
+
+        assertTrue(DaemonClient.send(socket, request(List.of("status")), sink(), sink()).isEmpty());
+        server.awaitClosed();
+        assertFalse(Files.exists(socket));
+    }
+
+    @Test
+    void testStopAndPing() throws InterruptedException {
+        Path socket = tempDir.resolve("daemon.sock");
+        server = start(socket, new FakeHandler());
+
+        assertTrue(DaemonClient.isRunning(socket));
+        assertTrue(DaemonClient.stop(socket));
+        server.awaitClosed();
+        assertFalse(Files.exists(socket));
+        assertFalse(DaemonClient.isRunning(socket));
+    }
+
+    @Test
+    void testReplacesStaleSocketButNotLiveDaemon() throws IOException {
+        Path socket = tempDir.resolve("daemon.sock");
+        Files.createFile(socket);
+        server = start(socket, new FakeHandler());
+        assertTrue(DaemonClient.isRunning(socket));
+
+        DaemonServer second = new DaemonServer(socket, new FakeHandler(), DaemonProtocol.currentBuild());
+        assertThrows(IllegalStateException.class, second::start);
+        assertTrue(DaemonClient.isRunning(socket));
+    }
+
+    @Test
+    void testBusyDaemonSendsRequestBackToRunLocally() throws Exception {
+        Path socket = tempDir.resolve("daemon.sock");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        server = start(socket, new FakeHandler() {
+            @Override
+            public int handle(DaemonProtocol.Request request, PrintStream out, PrintStream err) {
+                started.countDown();
+                try {
+                    return release.await(10, TimeUnit.SECONDS) ? 0 : 1;
+                } catch (InterruptedException e) {
+                    return 130;
+                }
+            }
+        });
+        Thread first = Thread.ofPlatform().start(
+                () -> DaemonClient.send(socket, request(List.of("commit", "-m", "slow")), sink(), sink()));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        long before = System.nanoTime();
+        assertTrue(DaemonClient.send(socket, request(List.of("status")), sink(), sink()).isEmpty());
+        assertTrue(System.nanoTime() - before < DaemonServer.BUSY_WAIT.toNanos() + TimeUnit.SECONDS.toNanos(2));
+
+        release.countDown();
+        first.join(10_000);
+        assertEquals(OptionalInt.of(0), DaemonClient.send(socket, request(List.of("status")), sink(), sink()));
+    }
+
+    @Test
+    void testCancelFrameInterruptsRunningCommand() throws Exception {
+        Path socket = tempDir.resolve("daemon.sock");
+        CountDownLatch started = new CountDownLatch(1);
+        server = start(socket, new FakeHandler() {
+            @Override
+            public int handle(DaemonProtocol.Request request, PrintStream out, PrintStream err) {
+                CountDownLatch cancelled = new CountDownLatch(1);
+                try (InterruptScope scope = InterruptScope.onInterrupt(cancelled::countDown)) {
+                    started.countDown();
+                    return cancelled.await(10, TimeUnit.SECONDS) && scope.wasInterrupted() ? 130 : 0;
+                } catch (InterruptedException e) {
+                    return 1;
+                }
+            }
+        });
+
+        try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            channel.connect(UnixDomainSocketAddress.of(socket));
+            DaemonProtocol.write(channel, DaemonProtocol.REQUEST, DaemonProtocol.encode(request(List.of("sleep", "60"))));
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            DaemonProtocol.write(channel, DaemonProtocol.CANCEL, new byte[0]);
+
+            DaemonProtocol.Frame frame = DaemonProtocol.read(channel);
+            assertEquals(DaemonProtocol.EXIT, frame.type());
+            assertEquals(130, frame.exitCode());
+        }
+    }
+
+    private DaemonServer start(Path socket, DaemonServer.RequestHandler handler) {
+        return new DaemonServer(socket, handler, DaemonProtocol.currentBuild()).start();
+    }
+
+    private DaemonProtocol.Request request(List<String> argv) {
+        DaemonProtocol.Request request = new DaemonProtocol.Request();
+        request.argv = argv;
+        request.cwd = tempDir.toString();
+        request.build = DaemonProtocol.currentBuild();
+        return request;
+    }
+
+    private static ByteArrayOutputStream sink() {
+        return new ByteArrayOutputStream();
+    }
+
+    private static class FakeHandler implements DaemonServer.RequestHandler {
+
+        @Override
+        public String runLocallyReason(DaemonProtocol.Request request) {
+            return null;
+        }
+
+        @Override
+        public int handle(DaemonProtocol.Request request, PrintStream out, PrintStream err) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.git;
+
+import io.joshuasalcedo.homelab.devshell.StressRun;
+import io.joshuasalcedo.homelab.devshell.domain.model.Branch;
+import io.joshuasalcedo.homelab.devshell.domain.model.Repository;
+import io.joshuasalcedo.homelab.devshell.domain.service.GitValidationService;
+import io.joshuasalcedo.homelab.devshell.domain.service.SmartCommitService;
+import io.joshuasalcedo.homelab.devshell.domain.value.BranchName;
+import io.joshuasalcedo.homelab.devshell.domain.value.CommitMessage;
+import io.joshuasalcedo.homelab.devshell.utils.CliLogger;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.dircache.DirCache;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.StoredConfig;
+import org.eclipse.jgit.revwalk.ObjectWalk;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevObject;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stress test for {@link JGitRepositoryAdapter} and {@link SmartCommitService}. Threads and processes share one
+ * repository and mix status, stage, commit, branch, history and smart commit calls; each works on files of its own.
+ * Calls may be rejected while another one holds a git lock, but afterwards:
+ * <ul>
+ *     <li>every commit a call reported is reachable from {@code main}: none was lost</li>
+ *     <li>the index reads back with a valid checksum and all its blobs exist</li>
+ *     <li>every object reachable from a ref can be read</li>
+ *     <li>no {@code temp-*} or worker branch and no {@code .lock} file is left over, and {@code HEAD} is on
+ *         {@code main}</li>
+ * </ul>
+ * Run with {@code ./mvnw -P stress verify}; {@code stress.git.operations} sets the calls per worker (60).
+ */
+class JGitRepositoryAdapterStressIT {
+
+    private static final int OPERATIONS = Integer.getInteger("stress.git.operations", 60);
+    private static final String WORKER_BRANCH_PREFIX = "stress-";
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * A worker in a child process
+     */
+    public static void main(String[] args) throws Exception {
+        Path root = Path.of(StressRun.arguments(args).getFirst());
+        StressRun.child(args, (name, recorder) -> work(root, name, recorder));
+    }
+
+    @Test
+    void testConcurrentCallsKeepRepositoryConsistent() throws Exception {
+        Path root = tempDir.resolve("repository");
+        try (Git git = Git.init().setDirectory(root.toFile()).setInitialBranch(SyntheticRepositoryGenerator.BRANCH).call()) {
+            StoredConfig config = git.getRepository().getConfig();
+            config.setString("user", null, "name", "Stress Test");
+            config.setString("user", null, "email", "stress@example.com");
+            config.save();
+            Files.writeString(root.resolve("README.md"), "# stress\n");
+            git.add().addFilepattern("README.md").call();
+            git.commit().setMessage("Initial commit").call();
+        }
+
+        long started = System.nanoTime();
+        List<StressRun.Sample> samples = StressRun.run((name, recorder) -> work(root, name, recorder),
+                JGitRepositoryAdapterStressIT.class, List.of(root.toString()), tempDir);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        List<String> violations = StressRun.report("git-adapter", samples, elapsed, checkRepository(root, samples));
+        assertTrue(violations.isEmpty(), String.join("\n", violations));
+    }
+
+    private static void work(Path root, String name, StressRun.Recorder recorder) throws Exception {
+        CliLogger.setLevel(CliLogger.Level.OFF);
+        JGitRepositoryAdapter adapter = new JGitRepositoryAdapter();
+        SmartCommitService smartCommitService = new SmartCommitService(adapter, new GitValidationService());
+        Repository repository = adapter.findRepository(root).orElseThrow();
+        Files.createDirectories(root.resolve(name));
+        Random random = new Random(name.hashCode());
+
+        for (int i = 0; i < OPERATIONS; i++) {
+            int iteration = i;
+            String file = name + "/file-" + random.nextInt(8) + ".txt";
+            switch (random.nextInt(10)) {
+                case 0, 1 -> recorder.run("status", () ->
+                        String.valueOf(adapter.getWorkingDirectoryStatus(repository).getAllModifiedFiles().size()));
+                case 2, 3 -> {
+                    change(root, file, name, iteration);
+                    recorder.run("stage", () -> {
+                        adapter.stageFiles(repository, List.of(file));
+                        return file;
+                    });
+                }
+                case 4 -> recorder.run("commit", () -> adapter.createCommit(repository,
+                        CommitMessage.of(name + " commit " + iteration), SyntheticRepositoryGenerator.BRANCH).getHash());
+                case 5, 6 -> {
+                    String branch = WORKER_BRANCH_PREFIX + name + "-" + iteration;
+                    if (recorder.run("branch-create",
+                            () -> adapter.createBranch(repository, BranchName.of(branch)).getName()).isPresent()) {
+                        recorder.run("branch-list", () -> String.valueOf(adapter.getAllBranches(repository).size()));
+                        deleteBranch(adapter, repository, branch, recorder);
+                    }
+                }
+                case 7 -> recorder.run("history", () ->
+                        String.valueOf(adapter.getCommitHistory(repository, 20).size()));
+                default -> {
+                    change(root, file, name, iteration);
+                    recorder.run("smart-commit", () ->
+                            smartCommitService.executeSmartCommit(repository, name + " smart commit " + iteration).getHash());
+                }
+            }
+        }
+    }
+
+    private static void change(Path root, String file, String name, int iteration) throws Exception {
+        Files.writeString(root.resolve(file), name + " " + iteration + "\n", StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Deleting may be rejected while another call holds the ref lock; retry so only a real leak is left behind
+     */
+    private static void deleteBranch(JGitRepositoryAdapter adapter, Repository repository, String branch,
+                                     StressRun.Recorder recorder) throws InterruptedException {
+        for (int attempt = 0; attempt < 10; attempt++) {
+            if (recorder.run("branch-delete", () -> {
+                adapter.deleteBranch(repository, Branch.regular(branch, false, ObjectId.zeroId().getName()));
+                return branch;
+            }).isPresent()) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static List<String> checkRepository(Path root, List<StressRun.Sample> samples) throws Exception {
+        List<String> violations = new ArrayList<>();
+        try (Git git = Git.open(root.toFile()); RevWalk walk = new RevWalk(git.getRepository())) {
+            org.eclipse.jgit.lib.Repository repository = git.getRepository();
+
+            String head = repository.exactRef(Constants.HEAD).getTarget().getName();
+            if (!head.equals(Constants.R_HEADS + SyntheticRepositoryGenerator.BRANCH)) {
+                violations.add("HEAD is on " + head);
+            }
+            for (Ref ref : repository.getRefDatabase().getRefsByPrefix(Constants.R_HEADS)) {
+                String branch = org.eclipse.jgit.lib.Repository.shortenRefName(ref.getName());
+                if (branch.startsWith("temp-") || branch.startsWith(WORKER_BRANCH_PREFIX)) {
+                    violations.add("Branch " + branch + " was left behind");
+                }
+            }
+            try (Stream<Path> files = Files.walk(root.resolve(".git"))) {
+                files.filter(path -> path.getFileName().toString().endsWith(".lock"))
+                        .forEach(path -> violations.add("Lock file " + root.relativize(path) + " was left behind"));
+            }
+
+            RevCommit main = walk.parseCommit(repository.resolve(SyntheticRepositoryGenerator.BRANCH));
+            for (StressRun.Sample sample : samples) {
+                boolean commit = sample.operation().equals("commit") || sample.operation().equals("smart-commit");
+                if (commit && sample.succeeded()) {
+                    RevCommit reported = walk.parseCommit(ObjectId.fromString(sample.detail()));
+                    if (!walk.isMergedInto(reported, main)) {
+                        violations.add(sample.worker() + " " + sample.operation() + " " + sample.detail()
+                                + " is not reachable from " + SyntheticRepositoryGenerator.BRANCH);
+                    }
+                    walk.reset();
+                }
+            }
+
+            try (ObjectReader reader = repository.newObjectReader()) {
+                DirCache index = DirCache.read(repository);
+                for (int i = 0; i < index.getEntryCount(); i++) {
+                    if (!reader.has(index.getEntry(i).getObjectId())) {
+                        violations.add("Index entry " + index.getEntry(i).getPathString() + " has no blob");
+                    }
+                }
+
+                try (ObjectWalk objects = new ObjectWalk(repository)) {
+                    for (Ref ref : repository.getRefDatabase().getRefs()) {
+                        if (ref.getObjectId() != null) {
+                            objects.markStart(objects.parseAny(ref.getObjectId()));
+                        }
+                    }
+                    while (objects.next() != null) {
+                        // Parsing the commits is the check; their trees and blobs are read below
+                    }
+                    RevObject object;
+                    while ((object = objects.nextObject()) != null) {
+                        try (InputStream content = reader.open(object).openStream()) {
+                            content.transferTo(OutputStream.nullOutputStream());
+                        } catch (IOException e) {
+                            violations.add("Object " + object.name() + " at " + objects.getPathString()
+                                    + " cannot be read: " + e.getMessage());
+                        }
+                    }
+                }
+            }
+            git.status().call();
+        }
+        return violations;
+    }
+}
@@ -0,0 +1,145 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.git;
+
+import io.joshuasalcedo.homelab.devshell.domain.exception.DomainExceptions;
+import io.joshuasalcedo.homelab.devshell.domain.model.CancellationToken;
+import io.joshuasalcedo.homelab.devshell.domain.model.Repository;
+import io.joshuasalcedo.homelab.devshell.domain.model.WorkingDirectory;
+import io.joshuasalcedo.homelab.devshell.domain.model.WorkingDirectory.Change;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JGitRepositoryAdapter
+ */
+class JGitRepositoryAdapterTest {
+
+    private static final int FILES = 300;
+
+    @TempDir
+    Path tempDir;
+
+    private JGitRepositoryAdapter adapter;
+    private Repository repository;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        try (Git git = Git.init().setDirectory(tempDir.toFile()).setInitialBranch("main").call()) {
+            for (int i = 0; i < FILES; i++) {
+                Files.writeString(tempDir.resolve(file(i)), "original " + i + "\n");
+            }
+            git.add().addFilepattern(".").call();
+            git.commit().setMessage("Initial commit").setAuthor("Test", "test@example.com").call();
+        }
+        adapter = new JGitRepositoryAdapter();
+        repository = adapter.findRepository(tempDir).orElseThrow();
+    }
+
+    @Test
+    void testStageTrackedFilesStagesChangesAndDeletions() throws Exception {
+        Files.writeString(tempDir.resolve(file(0)), "changed\n");
+        Files.writeString(tempDir.resolve(file(1)), "changed\n");
+        Files.delete(tempDir.resolve(file(2)));
+        Files.writeString(tempDir.resolve("untracked.txt"), "new\n");
+
+        adapter.stageTrackedFiles(repository);
+
+        Status status = status();
+        assertEquals(Set.of(file(0), file(1)), status.getChanged());
+        assertEquals(Set.of(file(2)), status.getRemoved());
+        assertEquals(Set.of("untracked.txt"), status.getUntracked());
+    }
+
+    @Test
+    void testWorkingDirectoryStatusTellsChangesApart() throws Exception {
+        Files.writeString(tempDir.resolve(file(0)), "changed\n");
+        Files.delete(tempDir.resolve(file(1)));
+        Files.writeString(tempDir.resolve("added.txt"), "new\n");
+        try (Git git = Git.open(tempDir.toFile())) {
+            git.add().addFilepattern(file(0)).addFilepattern("added.txt").call();
+            git.rm().addFilepattern(file(2)).call();
+        }
+        Files.writeString(tempDir.resolve("added.txt"), "edited\n");
+
+        WorkingDirectory status = adapter.getWorkingDirectoryStatus(repository);
+
+        assertEquals(Map.of(file(0), Change.MODIFIED, "added.txt", Change.ADDED, file(2), Change.DELETED),
+                status.getStagedChanges());
+        assertEquals(Map.of(file(1), Change.DELETED, "added.txt", Change.MODIFIED), status.getUnstagedChanges());
+    }
+
+    @Test
+    void testStageFilesStagesEveryPath() throws Exception {
+        Files.writeString(tempDir.resolve(file(0)), "changed\n");
+        Files.writeString(tempDir.resolve("new.txt"), "new\n");
+
+        adapter.stageFiles(repository, List.of(file(0), "new.txt"));
+
+        Status status = status();
+        assertEquals(Set.of(file(0)), status.getChanged());
+        assertEquals(Set.of("new.txt"), status.getAdded());
+    }
+
+    @Test
+    void testCancelledStagingLeavesIndexUntouched() throws Exception {
+        Files.writeString(tempDir.resolve(file(0)), "changed\n");
+        CancellationToken token = CancellationToken.create();
+        token.cancel();
+
+        assertThrows(DomainExceptions.OperationCancelledException.class,
+                () -> token.run(() -> adapter.stageFiles(repository, List.of(file(0)))));
+        assertThrows(DomainExceptions.OperationCancelledException.class,
+                () -> token.run(() -> adapter.stageTrackedFiles(repository)));
+
+        assertTrue(status().getChanged().isEmpty());
+    }
+
+    @Test
+    void testCancellingDuringStagingStagesAllOrNothing() throws Exception {
+        for (int i = 0; i < FILES; i++) {
+            Files.writeString(tempDir.resolve(file(i)), "changed " + i + "\n");
+        }
+
+        // Cancel at different points of the status walk and the index write
+        for (int delayMillis = 0; delayMillis <= 40; delayMillis += 5) {
+            CancellationToken token = CancellationToken.create();
+            Thread staging = Thread.ofPlatform().start(() -> {
+                try {
+                    token.run(() -> adapter.stageTrackedFiles(repository));
+                } catch (DomainExceptions.OperationCancelledException e) {
+                    // Expected when the cancel lands before the write
+                }
+            });
+            Thread.sleep(delayMillis);
+            token.cancel();
+            staging.join(10_000);
+
+            int staged = status().getChanged().size();
+            assertTrue(staged == 0 || staged == FILES,
+                    "cancelled after " + delayMillis + " ms with " + staged + " of " + FILES + " files staged");
+            try (Git git = Git.open(tempDir.toFile())) {
+                git.reset().call();
+            }
+        }
+    }
+
+    private Status status() throws Exception {
+        try (Git git = Git.open(tempDir.toFile())) {
+            return git.status().call();
+        }
+    }
+
+    private static String file(int i) {
+        return "file-" + i + ".txt";
+    }
+}
@@ -0,0 +1,196 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.git;
+
+import io.joshuasalcedo.homelab.devshell.domain.exception.DomainExceptions;
+import io.joshuasalcedo.homelab.devshell.domain.model.CancellationToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RepositoryLock
+ */
+class RepositoryLockTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path lockFile;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.createDirectories(tempDir.resolve(".git"));
+        lockFile = tempDir.resolve(".git").resolve(RepositoryLock.LOCK_FILE);
+    }
+
+    @Test
+    void testHoldsFileLockUntilOutermostHolderReturns() throws Exception {
+        RepositoryLock lock = RepositoryLock.of(tempDir);
+
+        lock.hold(() -> {
+            assertSame(lock, RepositoryLock.of(tempDir.resolve(".").toAbsolutePath()));
+            lock.hold(() -> {
+                assertTrue(lock.isHeldByCurrentThread());
+                return null;
+            });
+            // Still locked after the inner hold returned
+            assertThrows(OverlappingFileLockException.class, this::tryLockFile);
+            return null;
+        });
+
+        assertFalse(lock.isHeldByCurrentThread());
+        try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.WRITE);
+             FileLock fileLock = channel.tryLock()) {
+            assertNotNull(fileLock);
+        }
+    }
+
+    @Test
+    void testOtherThreadsWait() throws Exception {
+        RepositoryLock lock = RepositoryLock.of(tempDir);
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean entered = new AtomicBoolean();
+
+        Thread holder = Thread.ofPlatform().start(() -> lock.hold(() -> {
+            held.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        assertTrue(held.await(5, TimeUnit.SECONDS));
+        Thread waiter = Thread.ofPlatform().start(() -> lock.hold(() -> {
+            entered.set(true);
+            return null;
+        }));
+
+        waiter.join(200);
+        assertFalse(entered.get(), "the second thread waits for the first");
+        release.countDown();
+        holder.join(5_000);
+        waiter.join(5_000);
+        assertTrue(entered.get());
+    }
+
+    @Test
+    void testCancelledWaiterGivesUp() throws Exception {
+        RepositoryLock lock = RepositoryLock.of(tempDir);
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = Thread.ofPlatform().start(() -> lock.hold(() -> {
+            held.countDown();
+            awaitQuietly(release);
+            return null;
+        }));
+        assertTrue(held.await(5, TimeUnit.SECONDS));
+
+        CancellationToken token = CancellationToken.create();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AtomicBoolean entered = new AtomicBoolean();
+        Thread waiter = Thread.ofPlatform().start(() -> {
+            try {
+                token.call(() -> lock.hold(() -> entered.getAndSet(true)));
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        });
+        Thread.sleep(100);
+        token.cancel();
+        waiter.join(2_000);
+
+        assertFalse(waiter.isAlive(), "the waiter is back while the lock is still held");
+        assertInstanceOf(DomainExceptions.OperationCancelledException.class, failure.get());
+        assertFalse(entered.get());
+        release.countDown();
+        holder.join(5_000);
+        assertEquals("free", lock.hold(() -> "free"));
+    }
+
+    @Test
+    void testCancelledWaiterGivesUpOnAnotherProcessesLock() throws Exception {
+        // A lock held by another process can only be polled for
+        Path source = tempDir.resolve("HoldLock.java");
+        Files.writeString(source, """
+                import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.channels.FileChannel;
+                import java.nio.file.Path;
+                import java.nio.file.StandardOpenOption;
+
+                public class HoldLock {
+                    public static void main(String[] args) throws Exception {
+                        try (FileChannel channel = FileChannel.open(Path.of(args[0]), StandardOpenOption.CREATE,
+                                StandardOpenOption.WRITE); var lock = channel.lock()) {
+                            System.out.println("locked");
+                            System.in.read();
+                        }
+                    }
+                }
+                """);
+        String java = ProcessHandle.current().info().command().orElse("java");
+        Process other = new ProcessBuilder(java, source.toString(), lockFile.toString())
+                .redirectErrorStream(true)
+                .start();
+        try {
+            BufferedReader output = new BufferedReader(new InputStreamReader(other.getInputStream()));
+            assertEquals("locked", output.readLine());
+
+            RepositoryLock lock = RepositoryLock.of(tempDir);
+            CancellationToken token = CancellationToken.create();
+            Thread.ofPlatform().start(() -> {
+                sleepQuietly(200);
+                token.cancel();
+            });
+            long started = System.nanoTime();
+            assertThrows(DomainExceptions.OperationCancelledException.class,
+                    () -> token.call(() -> lock.hold(() -> "entered")));
+            assertTrue(System.nanoTime() - started < TimeUnit.SECONDS.toNanos(2));
+
+            // Released once the other process lets go
+            other.getOutputStream().close();
+            assertTrue(other.waitFor(10, TimeUnit.SECONDS));
+            assertEquals("entered", lock.hold(() -> "entered"));
+        } finally {
+            other.destroyForcibly();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Object tryLockFile() throws Exception {
+        try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.WRITE)) {
+            return channel.tryLock();
+        }
+    }
+}
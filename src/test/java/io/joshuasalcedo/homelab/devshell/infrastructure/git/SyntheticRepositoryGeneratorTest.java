@@ -0,0 +1,83 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.git;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.Status;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SyntheticRepositoryGenerator
+ */
+class SyntheticRepositoryGeneratorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testSameSeedGivesSameRepository() throws Exception {
+        SyntheticRepositoryGenerator.Spec spec = SyntheticRepositoryGenerator.Spec.defaults(7, 200);
+
+        ObjectId first = SyntheticRepositoryGenerator.generate(tempDir.resolve("a"), spec, false).head();
+        ObjectId second = SyntheticRepositoryGenerator.generate(tempDir.resolve("b"), spec, false).head();
+        ObjectId otherSeed = SyntheticRepositoryGenerator.generate(tempDir.resolve("c"),
+                SyntheticRepositoryGenerator.Spec.defaults(8, 200), false).head();
+
+        assertEquals(first, second);
+        assertNotEquals(first, otherSeed);
+    }
+
+    @Test
+    void testRepositoryMatchesSpec() throws Exception {
+        SyntheticRepositoryGenerator.Spec spec = new SyntheticRepositoryGenerator.Spec(1, 300, 2, 4, 256,
+                SyntheticRepositoryGenerator.SizeDistribution.UNIFORM, 40, 3, 5, 0.5);
+        SyntheticRepositoryGenerator.Result result = SyntheticRepositoryGenerator.generate(tempDir, spec, true);
+
+        try (Git git = Git.open(tempDir.toFile())) {
+            Repository repository = git.getRepository();
+            List<RevCommit> history = new ArrayList<>();
+            git.log().call().forEach(history::add);
+            assertEquals(40, history.size());
+            assertEquals(result.head(), history.getFirst().getId());
+            // The branch- prefix keeps the five generated branches apart from main
+            assertEquals(6, git.branchList().call().size());
+
+            List<String> paths = new ArrayList<>();
+            try (TreeWalk walk = new TreeWalk(repository)) {
+                walk.addTree(history.getFirst().getTree());
+                walk.setRecursive(true);
+                while (walk.next()) {
+                    paths.add(walk.getPathString());
+                }
+            }
+            assertEquals(300, paths.size());
+            assertTrue(paths.contains(spec.path(0)));
+            assertTrue(paths.stream().allMatch(path -> path.chars().filter(c -> c == '/').count() == 2));
+            long binary = paths.stream().filter(path -> path.endsWith(".bin")).count();
+            assertTrue(binary > 100 && binary < 200, binary + " binary files of 300");
+
+            Status status = git.status().call();
+            assertTrue(status.isClean(), "the checkout matches HEAD");
+            assertTrue(Files.isRegularFile(tempDir.resolve(spec.path(299))));
+        }
+    }
+
+    @Test
+    void testRefusesDirectoryWithFiles() throws Exception {
+        Files.writeString(tempDir.resolve("notes.txt"), "keep me");
+
+        assertThrows(IllegalArgumentException.class, () -> SyntheticRepositoryGenerator.generate(tempDir,
+                SyntheticRepositoryGenerator.Spec.defaults(1, 10), false));
+        assertEquals("keep me", Files.readString(tempDir.resolve("notes.txt")));
+    }
+}
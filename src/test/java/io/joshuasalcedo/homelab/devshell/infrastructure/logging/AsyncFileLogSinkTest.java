@@ -0,0 +1,71 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.logging;
+
+import io.joshuasalcedo.homelab.devshell.utils.CliLogger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AsyncFileLogSink
+ */
+class AsyncFileLogSinkTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testWritesRecordsOnClose() throws IOException {
+        Path file = tempDir.resolve("logs/dev-shell.log");
+        AsyncFileLogSink sink = new AsyncFileLogSink(file, 16, 1024 * 1024, 3, AsyncFileLogSink.OverflowPolicy.BLOCK).start();
+
+        for (int i = 0; i < 100; i++) {
+            sink.append(CliLogger.Level.DEBUG, "message " + i);
+        }
+        sink.append(CliLogger.Level.ERROR, "ünïcode");
+        sink.close();
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(101, lines.size());
+        assertTrue(lines.get(0).matches("\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2}\\.\\d{3} DEBUG --- \\[.+] : message 0"), lines.get(0));
+        assertTrue(lines.get(100).endsWith("ERROR --- [" + Thread.currentThread().getName() + "] : ünïcode"));
+        assertEquals(0, sink.getDropped());
+        assertEquals(101, sink.getWritten());
+    }
+
+    @Test
+    void testRotatesBySize() throws IOException {
+        Path file = tempDir.resolve("dev-shell.log");
+        AsyncFileLogSink sink = new AsyncFileLogSink(file, 4, 2048, 2, AsyncFileLogSink.OverflowPolicy.BLOCK).start();
+
+        String padding = "x".repeat(200);
+        for (int i = 0; i < 100; i++) {
+            sink.append(CliLogger.Level.INFO, i + " " + padding);
+        }
+        sink.close();
+
+        assertTrue(Files.exists(tempDir.resolve("dev-shell.log.1")));
+        assertTrue(Files.exists(tempDir.resolve("dev-shell.log.2")));
+        assertFalse(Files.exists(tempDir.resolve("dev-shell.log.3")), "only max-files rotated files are kept");
+        assertTrue(Files.size(file) <= 2048 + 512);
+        List<String> lines = Files.readAllLines(file);
+        assertTrue(lines.get(lines.size() - 1).contains("] : 99 "), "the newest record is in the live file");
+    }
+
+    @Test
+    void testDropPolicyNeverWaits() {
+        AsyncFileLogSink sink = new AsyncFileLogSink(tempDir.resolve("dev-shell.log"), 2, 1024 * 1024, 1,
+            AsyncFileLogSink.OverflowPolicy.DROP);
+        // Not started, so nothing drains the buffer
+        for (int i = 0; i < 10; i++) {
+            sink.append(CliLogger.Level.INFO, "message " + i);
+        }
+
+        assertEquals(8, sink.getDropped());
+    }
+}
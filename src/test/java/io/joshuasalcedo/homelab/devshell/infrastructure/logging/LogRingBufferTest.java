@@ -0,0 +1,87 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.logging;
+
+import io.joshuasalcedo.homelab.devshell.utils.CliLogger;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LogRingBuffer
+ */
+class LogRingBufferTest {
+
+    @Test
+    void testCapacityRoundsUpToPowerOfTwo() {
+        assertEquals(8, new LogRingBuffer(5).capacity());
+        assertEquals(8, new LogRingBuffer(8).capacity());
+        assertEquals(2, new LogRingBuffer(1).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new LogRingBuffer(0));
+    }
+
+    @Test
+    void testRejectsWhenFullAndReusesSlots() {
+        LogRingBuffer buffer = new LogRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(CliLogger.Level.INFO, i, "main", "message " + i));
+        }
+        assertFalse(buffer.offer(CliLogger.Level.INFO, 4, "main", "overflow"));
+
+        List<String> drained = new ArrayList<>();
+        assertEquals(2, buffer.drain(entry -> drained.add(entry.text().toString()), 2));
+        assertTrue(buffer.offer(CliLogger.Level.WARN, 5, "main", "after"));
+        buffer.drain(entry -> drained.add(entry.text().toString()), 10);
+
+        assertEquals(List.of("message 0", "message 1", "message 2", "message 3", "after"), drained);
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    void testConcurrentProducersLoseNothing() throws InterruptedException {
+        LogRingBuffer buffer = new LogRingBuffer(64);
+        int producers = 4;
+        int perProducer = 20_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            String name = "producer-" + p;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(CliLogger.Level.DEBUG, i, name, Integer.toString(i))) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        Map<String, Integer> next = new HashMap<>();
+        int[] received = {0};
+        start.countDown();
+        while (received[0] < producers * perProducer) {
+            buffer.drain(entry -> {
+                int expected = next.getOrDefault(entry.thread(), 0);
+                assertEquals(Integer.toString(expected), entry.text().toString(), "in order per producer");
+                next.put(entry.thread(), expected + 1);
+                received[0]++;
+            }, 128);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertTrue(buffer.isEmpty());
+        assertTrue(next.values().stream().allMatch(count -> count == perProducer));
+    }
+}
@@ -0,0 +1,141 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PathExecutableIndex
+ */
+class PathExecutableIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testBuildIndexesExecutablesOnly() throws IOException {
+        Path bin = Files.createDirectory(tempDir.resolve("bin"));
+        executable(bin, "git");
+        Files.writeString(bin.resolve("README"), "not executable");
+
+        PathExecutableIndex index = new PathExecutableIndex();
+        index.build(bin.toString(), Set.of("cd"));
+
+        assertTrue(index.isReady());
+        assertTrue(index.contains("git"));
+        assertTrue(index.contains("cd"));
+        assertFalse(index.contains("README"));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void testEarlierPathEntriesWin() throws IOException {
+        Path first = Files.createDirectory(tempDir.resolve("first"));
+        Path second = Files.createDirectory(tempDir.resolve("second"));
+        Path expected = executable(first, "java");
+        executable(second, "java");
+
+        PathExecutableIndex index = new PathExecutableIndex();
+        index.build(first + File.pathSeparator + second + File.pathSeparator + tempDir.resolve("missing"), Set.of());
+
+        assertEquals(expected, index.resolve("java").orElseThrow());
+    }
+
+    @Test
+    void testDefinitelyMissing() throws IOException {
+        Path bin = Files.createDirectory(tempDir.resolve("bin"));
+        executable(bin, "git");
+
+        PathExecutableIndex index = new PathExecutableIndex();
+        assertFalse(index.isDefinitelyMissing("gti"), "unknown until the index is built");
+
+        index.build(bin.toString(), Set.of("ll"));
+        assertTrue(index.isDefinitelyMissing("gti"));
+        assertFalse(index.isDefinitelyMissing("git"));
+        assertFalse(index.isDefinitelyMissing("ll"));
+        assertFalse(index.isDefinitelyMissing("./build.sh"));
+        assertFalse(index.isDefinitelyMissing("$EDITOR"));
+
+        // Installed after the last scan: checked on disk before rejecting
+        executable(bin, "gh");
+        assertFalse(index.isDefinitelyMissing("gh"));
+    }
+
+    @Test
+    void testSuggestions() throws IOException {
+        Path bin = Files.createDirectory(tempDir.resolve("bin"));
+        for (String name : List.of("git", "gitk", "grep", "docker", "kubectl")) {
+            executable(bin, name);
+        }
+
+        PathExecutableIndex index = new PathExecutableIndex();
+        index.build(bin.toString(), Set.of());
+
+        assertEquals("git", index.suggest("gti", 3).get(0));
+        assertEquals(List.of("docker"), index.suggest("dokcer", 3));
+        assertEquals(List.of("kubectl"), index.suggest("kubetcl", 3));
+        assertTrue(index.suggest("terraform", 3).isEmpty());
+    }
+
+    @Test
+    void testComplete() throws IOException {
+        Path bin = Files.createDirectory(tempDir.resolve("bin"));
+        for (String name : List.of("git", "gitk", "grep", "docker")) {
+            executable(bin, name);
+        }
+
+        PathExecutableIndex index = new PathExecutableIndex();
+        index.build(bin.toString(), Set.of("getopts"));
+
+        assertEquals(List.of("getopts", "git", "gitk", "grep"), index.complete("g", 10));
+        assertEquals(List.of("git"), index.complete("gi", 1));
+        assertTrue(index.complete("z", 10).isEmpty());
+    }
+
+    @Test
+    void testEditDistance() {
+        assertEquals(0, PathExecutableIndex.editDistance("git", "git", 2));
+        assertEquals(1, PathExecutableIndex.editDistance("gti", "git", 2));
+        assertEquals(1, PathExecutableIndex.editDistance("gi", "git", 2));
+        assertEquals(2, PathExecutableIndex.editDistance("npx", "nmp", 2));
+        assertEquals(3, PathExecutableIndex.editDistance("abc", "xyz123", 2));
+    }
+
+    @Test
+    void testLoginShellOutputAfterTheMarkerIsParsed() {
+        PathExecutableIndex.LoginShellEnvironment environment = new PathExecutableIndex().loadLoginShellEnvironment(
+                List.of("/bin/bash", "-c", "echo banner; read answer; printf '\\n__DEV_SHELL_PATH__/a:/b\\n'; echo cd; echo ll"),
+                Duration.ofSeconds(10));
+
+        assertEquals("/a:/b", environment.path(), "stdin is empty, so a profile that reads input does not block");
+        assertEquals(Set.of("cd", "ll"), environment.shellNames());
+    }
+
+    @Test
+    void testLoginShellThatNeverFinishesIsAbandonedAtTheDeadline() {
+        long start = System.nanoTime();
+        PathExecutableIndex.LoginShellEnvironment environment = new PathExecutableIndex().loadLoginShellEnvironment(
+                List.of("/bin/bash", "-c", "printf '\\n__DEV_SHELL_PATH__/late\\n'; sleep 30"),
+                Duration.ofMillis(500));
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(5)) < 0);
+        assertNotEquals("/late", environment.path(), "a shell still running at the deadline is not trusted");
+        assertEquals(Set.of(), environment.shellNames());
+    }
+
+    private Path executable(Path dir, String name) throws IOException {
+        Path file = Files.writeString(dir.resolve(name), "#!/bin/sh\n");
+        Files.setPosixFilePermissions(file, PosixFilePermissions.fromString("rwxr-xr-x"));
+        return file;
+    }
+}
@@ -0,0 +1,94 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.process;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JobManager and BackgroundJob
+ */
+class JobManagerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private JobManager jobManager;
+
+    @BeforeEach
+    void setUp() {
+        jobManager = new JobManager();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobManager.close();
+    }
+
+    @Test
+    void testFinishedJobKeepsOutputAndExitCode() throws Exception {
+        BackgroundJob job = jobManager.start("echo one; echo two >&2; exit 3", tempDir.toFile());
+
+        assertEquals(3, job.awaitExit());
+        assertEquals(BackgroundJob.State.DONE, job.getState());
+        assertEquals(3, job.getExitCode());
+        assertTrue(job.getOutput().containsAll(List.of("one", "two")), job.getOutput().toString());
+        assertFalse(jobManager.kill(job.getId()), "a finished job cannot be killed");
+    }
+
+    @Test
+    void testKillStopsRunningJob() throws Exception {
+        BackgroundJob job = jobManager.start("sleep 60", tempDir.toFile());
+        assertEquals(BackgroundJob.State.RUNNING, job.getState());
+        assertNull(job.getExitCode());
+
+        assertTrue(jobManager.kill(job.getId()));
+
+        assertTrue(job.getProcess().waitFor(5, TimeUnit.SECONDS));
+        assertEquals(BackgroundJob.State.KILLED, job.getState());
+    }
+
+    @Test
+    void testCloseKillsRunningJobs() throws Exception {
+        BackgroundJob first = jobManager.start("sleep 60", tempDir.toFile());
+        BackgroundJob second = jobManager.start("sleep 60", tempDir.toFile());
+
+        jobManager.close();
+
+        assertTrue(first.getProcess().waitFor(5, TimeUnit.SECONDS));
+        assertTrue(second.getProcess().waitFor(5, TimeUnit.SECONDS));
+        assertEquals(BackgroundJob.State.KILLED, first.getState());
+        assertEquals(BackgroundJob.State.KILLED, second.getState());
+    }
+
+    @Test
+    void testFollowReplaysBufferedOutputThenForwardsNewLines() throws Exception {
+        BackgroundJob job = jobManager.start("echo before; sleep 0.5; echo after", tempDir.toFile());
+        List<String> followed = new CopyOnWriteArrayList<>();
+
+        job.follow(followed::add);
+        job.awaitExit();
+        job.unfollow();
+
+        // Whether 'before' was replayed or forwarded, each line arrives exactly once and in order
+        assertEquals(List.of("before", "after"), followed);
+    }
+
+    @Test
+    void testFindsJobsBySpec() throws Exception {
+        BackgroundJob job = jobManager.start("true", tempDir.toFile());
+
+        assertSame(job, jobManager.findBySpec("%" + job.getId()).orElseThrow());
+        assertTrue(jobManager.findBySpec(String.valueOf(job.getId())).isEmpty(), "a bare number is a pid, not a job");
+        assertTrue(jobManager.findBySpec("%999").isEmpty());
+        assertTrue(jobManager.findBySpec("-9").isEmpty());
+        assertTrue(jobManager.findBySpec("%abc").isEmpty());
+    }
+}
@@ -0,0 +1,68 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.process;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for OutputRingBuffer
+ */
+class OutputRingBufferTest {
+
+    @Test
+    void testKeepsLinesWithinBudget() {
+        OutputRingBuffer buffer = new OutputRingBuffer(10);
+
+        buffer.append("aaa");
+        buffer.append("bbb");
+        buffer.append("ccc");
+
+        assertEquals(List.of("aaa", "bbb", "ccc"), buffer.snapshot());
+        assertEquals(9, buffer.getUsedChars());
+        assertEquals(0, buffer.getDroppedLines());
+    }
+
+    @Test
+    void testEvictsOldestLinesWhenFull() {
+        OutputRingBuffer buffer = new OutputRingBuffer(10);
+
+        buffer.append("aaa");
+        buffer.append("bbb");
+        buffer.append("ccc");
+        buffer.append("ddd");
+
+        assertEquals(List.of("bbb", "ccc", "ddd"), buffer.snapshot());
+        assertEquals(1, buffer.getDroppedLines());
+        assertTrue(buffer.getUsedChars() <= 10);
+    }
+
+    @Test
+    void testOversizedLineKeepsTail() {
+        OutputRingBuffer buffer = new OutputRingBuffer(4);
+
+        buffer.append("ab");
+        buffer.append("0123456789");
+
+        assertEquals(List.of("6789"), buffer.snapshot());
+        assertEquals(1, buffer.getDroppedLines());
+    }
+
+    @Test
+    void testTailReturnsLastLines() {
+        OutputRingBuffer buffer = new OutputRingBuffer(100);
+        buffer.append("one");
+        buffer.append("two");
+        buffer.append("three");
+
+        assertEquals(List.of("two", "three"), buffer.tail(2));
+        assertEquals(List.of("one", "two", "three"), buffer.tail(10));
+        assertTrue(buffer.tail(0).isEmpty());
+    }
+
+    @Test
+    void testRejectsNonPositiveCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new OutputRingBuffer(0));
+    }
+}
@@ -0,0 +1,89 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.process;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ProcessResourceMonitor, against a fake /proc
+ */
+class ProcessResourceMonitorTest {
+
+    @TempDir
+    Path proc;
+
+    @Test
+    void testMeasuresReapedChildrenAndSampledMemory() throws IOException {
+        writeSelf(100, 20, 4096, 0);
+        ProcessResourceMonitor monitor = new ProcessResourceMonitor(proc, Duration.ofMillis(10));
+        assertTrue(monitor.isAvailable());
+
+        ProcessResourceMonitor.Session session = monitor.begin("mvn test");
+        writeStatus(41, 300_000, 500_000);
+        writeStatus(42, 200_000, 250_000);
+        session.sample(LongStream.of(41, 42, 43));
+        writeStatus(42, 400_000, 400_000);
+        session.sample(LongStream.of(42));
+
+        // Both children were reaped: the kernel added their CPU and I/O to ours
+        writeSelf(350, 70, 4096 + 10 * 1024 * 1024, 2 * 1024 * 1024);
+        ResourceUsage usage = session.finish(1);
+
+        assertEquals("mvn test", usage.commandLine());
+        assertEquals(Duration.ofMillis(2500), usage.userCpu());
+        assertEquals(Duration.ofMillis(500), usage.systemCpu());
+        assertEquals(500_000L * 1024, usage.peakRssBytes(), "the largest single peak beats any sampled sum");
+        assertEquals(10L * 1024 * 1024, usage.readBytes());
+        assertEquals(2L * 1024 * 1024, usage.writeBytes());
+        assertEquals(2, usage.processes());
+        assertEquals(1, usage.exitCode());
+    }
+
+    @Test
+    void testUnavailableWithoutProc() {
+        ProcessResourceMonitor monitor = new ProcessResourceMonitor(proc.resolve("missing"), Duration.ofMillis(10));
+
+        assertFalse(monitor.isAvailable());
+        assertNull(monitor.begin("ls"));
+    }
+
+    @Test
+    void testMeasuresRealProcessTree() throws Exception {
+        ProcessResourceMonitor monitor = new ProcessResourceMonitor();
+        if (!monitor.isAvailable()) {
+            return;
+        }
+        ProcessResourceMonitor.Session session = monitor.begin("sleep");
+        Process process = new ProcessBuilder("/bin/sh", "-c", "sleep 0.3").start();
+        session.track(process.toHandle());
+        int exitCode = process.waitFor();
+
+        ResourceUsage usage = session.finish(exitCode);
+        assertTrue(usage.wallTime().toMillis() >= 250);
+        assertTrue(usage.peakRssBytes() > 0);
+        assertTrue(usage.processes() >= 1);
+    }
+
+    private void writeSelf(long cutime, long cstime, long readBytes, long writeBytes) throws IOException {
+        Path self = Files.createDirectories(proc.resolve("self"));
+        // Fields 1-17 of /proc/<pid>/stat, with a command name that contains ") ("
+        Files.writeString(self.resolve("stat"),
+            "1234 (java) (x)) S 1 1234 1234 0 -1 4194560 100 0 0 0 50 10 " + cutime + " " + cstime + " 20 0 30 0\n");
+        Files.writeString(self.resolve("io"),
+            "rchar: 1\nwchar: 2\nsyscr: 3\nsyscw: 4\nread_bytes: " + readBytes + "\nwrite_bytes: " + writeBytes
+                + "\ncancelled_write_bytes: 0\n");
+    }
+
+    private void writeStatus(long pid, long rssKb, long hwmKb) throws IOException {
+        Path dir = Files.createDirectories(proc.resolve(Long.toString(pid)));
+        Files.writeString(dir.resolve("status"),
+            "Name:\tjava\nVmHWM:\t  " + hwmKb + " kB\nVmRSS:\t  " + rssKb + " kB\nThreads:\t1\n");
+    }
+}
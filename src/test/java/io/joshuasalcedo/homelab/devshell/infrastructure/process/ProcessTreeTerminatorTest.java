@@ -0,0 +1,99 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.process;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ProcessTreeTerminator
+ */
+class ProcessTreeTerminatorTest {
+
+    private static final Duration GRACE_PERIOD = Duration.ofMillis(500);
+
+    private final List<ProcessHandle> started = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        started.forEach(ProcessHandle::destroyForcibly);
+    }
+
+    @Test
+    void testTerminatesEveryDescendant() throws Exception {
+        ProcessHandle root = startTree("sleep 60 & sleep 60", 2);
+
+        ProcessTreeTerminator.terminate(root, GRACE_PERIOD);
+
+        assertAllGone(GRACE_PERIOD);
+    }
+
+    @Test
+    void testKillsProcessesThatIgnoreSigterm() throws Exception {
+        // The ignored SIGTERM is inherited by the sleeps, so only the escalation to SIGKILL stops them
+        ProcessHandle root = startTree("trap '' TERM; sleep 60 & sleep 60", 2);
+
+        ProcessTreeTerminator.terminate(root, GRACE_PERIOD);
+
+        assertAllGone(GRACE_PERIOD.plusSeconds(2));
+    }
+
+    @Test
+    void testReturnsWithoutWaitingForTheTree() throws Exception {
+        ProcessHandle root = startTree("trap '' TERM; sleep 60 & wait", 1);
+
+        long begin = System.nanoTime();
+        ProcessTreeTerminator.terminate(root, Duration.ofSeconds(2));
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - begin).compareTo(Duration.ofMillis(500)) < 0);
+        assertAllGone(Duration.ofSeconds(4));
+    }
+
+    /**
+     * Starts bash with a script and waits until it has the given number of descendants
+     */
+    private ProcessHandle startTree(String script, int descendants) throws Exception {
+        ProcessHandle root = new ProcessBuilder("/bin/bash", "-c", script).start().toHandle();
+        started.add(root);
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (root.descendants().count() < descendants) {
+            assertTrue(System.nanoTime() < deadline, "bash did not start its children");
+            Thread.sleep(10);
+        }
+        root.descendants().forEach(started::add);
+        return root;
+    }
+
+    private void assertAllGone(Duration within) throws Exception {
+        long deadline = System.nanoTime() + within.plusMillis(500).toNanos();
+        for (ProcessHandle handle : started) {
+            while (isRunning(handle) && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertFalse(isRunning(handle), "pid " + handle.pid() + " survived");
+        }
+    }
+
+    /**
+     * An orphan that exited stays a zombie until its new parent reaps it, which a container's init may never do
+     */
+    private boolean isRunning(ProcessHandle handle) {
+        if (!handle.isAlive()) {
+            return false;
+        }
+        try {
+            String stat = Files.readString(Path.of("/proc", String.valueOf(handle.pid()), "stat"));
+            // The state follows the command name, which is in parentheses
+            return stat.charAt(stat.lastIndexOf(')') + 2) != 'Z';
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
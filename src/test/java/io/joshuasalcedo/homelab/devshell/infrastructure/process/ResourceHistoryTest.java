@@ -0,0 +1,74 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.process;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ResourceHistory
+ */
+class ResourceHistoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testRecentRunsAreComparedWithEarlierOnes() throws IOException {
+        ResourceHistory history = new ResourceHistory(tempDir.resolve("resources.jsonl"));
+        history.append(usage("mvn test", 10_000));
+        history.append(usage("mvn test", 12_000));
+        history.append(usage("ls", 5));
+        history.append(usage("mvn test", 22_000));
+
+        List<ResourceHistory.Run> runs = history.recent(null, 10);
+        assertEquals(List.of("mvn test", "ls", "mvn test", "mvn test"),
+            runs.stream().map(run -> run.usage().commandLine()).toList());
+        assertEquals(Duration.ofMillis(11_000), runs.get(0).typicalWallTime());
+        assertEquals(1.0, runs.get(0).change(), 0.001);
+        assertNull(runs.get(1).change(), "first run of ls");
+
+        List<ResourceHistory.Run> filtered = history.recent("mvn", 2);
+        assertEquals(2, filtered.size());
+        assertEquals(Duration.ofMillis(12_000), filtered.get(1).usage().wallTime());
+    }
+
+    @Test
+    void testSkipsUnreadableLines() throws IOException {
+        Path file = tempDir.resolve("resources.jsonl");
+        ResourceHistory history = new ResourceHistory(file);
+        history.append(usage("make", 100));
+        Files.writeString(file, "{\"command\":\"ma\n", StandardOpenOption.APPEND);
+        history.append(usage("make", 200));
+
+        assertEquals(2, history.readAll().size());
+        assertEquals(Duration.ofMillis(100), history.readAll().get(0).wallTime());
+    }
+
+    @Test
+    void testDropsOlderHalfWhenFull() throws IOException {
+        Path file = tempDir.resolve("resources.jsonl");
+        ResourceHistory history = new ResourceHistory(file, 4096);
+        for (int i = 0; i < 100; i++) {
+            history.append(usage("run-" + i, i));
+        }
+
+        assertTrue(Files.size(file) <= 4096);
+        List<ResourceUsage> runs = history.readAll();
+        assertEquals("run-99", runs.get(runs.size() - 1).commandLine());
+        assertTrue(runs.size() < 100);
+    }
+
+    private static ResourceUsage usage(String command, long wallMillis) {
+        return new ResourceUsage(command, "/work", Instant.parse("2026-10-18T09:00:00Z"), Duration.ofMillis(wallMillis),
+            Duration.ofMillis(wallMillis / 2), Duration.ofMillis(10), 64L * 1024 * 1024, 1024, 2048, 3, 0);
+    }
+}
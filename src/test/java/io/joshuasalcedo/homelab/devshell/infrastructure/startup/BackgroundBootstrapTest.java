@@ -0,0 +1,98 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.startup;
+
+import io.joshuasalcedo.homelab.devshell.domain.model.InteractiveCommand;
+import io.joshuasalcedo.homelab.devshell.infrastructure.command.DeferredInteractiveCommandRepository;
+import io.joshuasalcedo.homelab.devshell.infrastructure.command.FileInteractiveCommandRepositoryAdapter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BackgroundBootstrap and DeferredInteractiveCommandRepository
+ */
+class BackgroundBootstrapTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testBackgroundTaskDoesNotBlockSubmitter() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        try (BackgroundBootstrap bootstrap = new BackgroundBootstrap(true)) {
+            CompletableFuture<String> result = bootstrap.submit("slow", () -> {
+                release.await(10, TimeUnit.SECONDS);
+                return "done";
+            });
+
+            assertFalse(result.isDone());
+            assertEquals(List.of("slow"), bootstrap.pending());
+            release.countDown();
+            assertEquals("done", result.get(10, TimeUnit.SECONDS));
+            assertTrue(bootstrap.awaitAll(Duration.ofSeconds(10)));
+            assertTrue(bootstrap.pending().isEmpty());
+        }
+    }
+
+    @Test
+    void testEagerModeRunsTaskBeforeReturning() {
+        try (BackgroundBootstrap bootstrap = new BackgroundBootstrap(false)) {
+            Thread caller = Thread.currentThread();
+            CompletableFuture<Thread> result = bootstrap.submit("eager", Thread::currentThread);
+
+            assertTrue(result.isDone());
+            assertSame(caller, result.join());
+        }
+    }
+
+    @Test
+    void testFailedTaskCountsAsFinished() {
+        try (BackgroundBootstrap bootstrap = new BackgroundBootstrap(true)) {
+            CompletableFuture<Object> result = bootstrap.submit("broken", () -> {
+                throw new IllegalStateException("no disk");
+            });
+
+            assertTrue(bootstrap.awaitAll(Duration.ofSeconds(10)));
+            assertTrue(result.isCompletedExceptionally());
+        }
+    }
+
+    @Test
+    void testDeferredRepositoryWaitsForStore() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        try (BackgroundBootstrap bootstrap = new BackgroundBootstrap(true)) {
+            DeferredInteractiveCommandRepository repository = new DeferredInteractiveCommandRepository(
+                    bootstrap.submit("store", () -> {
+                        release.await(10, TimeUnit.SECONDS);
+                        FileInteractiveCommandRepositoryAdapter store =
+                                new FileInteractiveCommandRepositoryAdapter(tempDir.resolve("commands.json"));
+                        store.save(new InteractiveCommand("vim", InteractiveCommand.Source.DEFAULT));
+                        return store;
+                    }));
+
+            assertFalse(repository.isReady());
+            CompletableFuture<Boolean> lookup = CompletableFuture.supplyAsync(() -> repository.existsByCommandName("vim"));
+            release.countDown();
+
+            assertTrue(lookup.get(10, TimeUnit.SECONDS));
+            assertTrue(repository.isReady());
+            assertTrue(repository.matchesCommandLine("vim notes.txt"));
+        }
+    }
+
+    @Test
+    void testDeferredRepositoryRethrowsStoreFailure() {
+        DeferredInteractiveCommandRepository repository = new DeferredInteractiveCommandRepository(
+                CompletableFuture.failedFuture(new RuntimeException("Could not initialize commands file")));
+
+        RuntimeException thrown = assertThrows(RuntimeException.class, repository::count);
+        assertEquals("Could not initialize commands file", thrown.getMessage());
+    }
+}
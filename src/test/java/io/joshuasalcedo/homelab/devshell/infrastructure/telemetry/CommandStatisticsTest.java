@@ -0,0 +1,78 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.telemetry;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CommandStatistics
+ */
+class CommandStatisticsTest {
+
+    private static final Clock LAST_WEEK = Clock.fixed(Instant.parse("2026-10-07T10:00:00Z"), ZoneOffset.UTC);
+    private static final Clock THIS_WEEK = Clock.fixed(Instant.parse("2026-10-14T10:00:00Z"), ZoneOffset.UTC);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testSessionsAddUpInTheFile() throws Exception {
+        Path file = tempDir.resolve("stats.json");
+        CommandStatistics first = new CommandStatistics(file, THIS_WEEK);
+        CommandStatistics second = new CommandStatistics(file, THIS_WEEK);
+
+        record(first, "status", 3, 10);
+        record(second, "status", 2, 10);
+        record(second, "ls", 1, 50);
+        first.close();
+        second.close();
+
+        List<CommandStatistics.CommandStats> stats = new CommandStatistics(file, THIS_WEEK).summarize();
+        assertEquals(List.of("status", "ls"), stats.stream().map(CommandStatistics.CommandStats::command).toList());
+        assertEquals(5, stats.get(0).count());
+        assertEquals(10_000, stats.get(0).p50Micros(), 10_000 * 0.07);
+        assertNull(stats.get(0).trend(), "no calls last week to compare with");
+    }
+
+    @Test
+    void testTrendComparesThisWeekWithLastWeek() throws Exception {
+        Path file = tempDir.resolve("stats.json");
+        CommandStatistics lastWeek = new CommandStatistics(file, LAST_WEEK);
+        record(lastWeek, "commit", 10, 100);
+        lastWeek.save();
+
+        CommandStatistics thisWeek = new CommandStatistics(file, THIS_WEEK);
+        record(thisWeek, "commit", 10, 200);
+
+        CommandStatistics.CommandStats commit = thisWeek.summarize().get(0);
+        assertEquals(20, commit.count());
+        assertEquals(1.0, commit.trend(), 0.15, "the median doubled");
+        assertEquals(200_000, commit.maxMicros());
+    }
+
+    @Test
+    void testUnreadableFileStartsOver() throws Exception {
+        Path file = tempDir.resolve("stats.json");
+        Files.writeString(file, "{not json");
+
+        CommandStatistics statistics = new CommandStatistics(file, THIS_WEEK);
+        record(statistics, "log", 1, 5);
+
+        assertEquals(1, statistics.summarize().get(0).count());
+    }
+
+    private static void record(CommandStatistics statistics, String command, int times, long millis) {
+        for (int i = 0; i < times; i++) {
+            statistics.record(command, TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.telemetry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LatencyHistogram
+ */
+class LatencyHistogramTest {
+
+    @Test
+    void testPercentilesWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 10_000; micros++) {
+            histogram.recordMicros(micros);
+        }
+
+        assertEquals(10_000, histogram.count());
+        assertEquals(10_000, histogram.maxMicros());
+        assertEquals(5_000, histogram.percentileMicros(50), 5_000 * 0.07);
+        assertEquals(9_900, histogram.percentileMicros(99), 9_900 * 0.07);
+        assertEquals(10_000, histogram.percentileMicros(100));
+        assertEquals(0, new LatencyHistogram().percentileMicros(50));
+    }
+
+    @Test
+    void testBucketsCoverEveryValue() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            long micros = random.nextLong(1L << 36);
+            int bucket = LatencyHistogram.bucketOf(micros);
+            assertTrue(LatencyHistogram.highestValueIn(bucket) >= micros);
+            assertTrue(bucket == 0 || LatencyHistogram.highestValueIn(bucket - 1) < micros);
+        }
+        assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.bucketOf(Long.MAX_VALUE));
+    }
+
+    @Test
+    void testRoundTripsThroughUsedBuckets() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordNanos(1_500_000);
+        histogram.recordNanos(2_000_000);
+        histogram.recordNanos(90_000_000_000L);
+
+        int[] buckets = histogram.usedBuckets();
+        long[] counts = new long[buckets.length];
+        for (int i = 0; i < buckets.length; i++) {
+            counts[i] = histogram.countAt(buckets[i]);
+        }
+        LatencyHistogram restored = LatencyHistogram.of(buckets, counts, histogram.maxMicros());
+        restored.add(histogram);
+
+        assertEquals(6, restored.count());
+        assertEquals(histogram.percentileMicros(50), restored.percentileMicros(50));
+        assertEquals(90_000_000, restored.maxMicros());
+    }
+}
@@ -0,0 +1,60 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.telemetry;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ProfilingSession
+ */
+class ProfilingSessionTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testRecordsCommandsAndSummarizes() throws Exception {
+        ProfilingSession session = new ProfilingSession(tempDir);
+        ShellCommandTimer timer = new ShellCommandTimer(() -> Set.of("pwd", "git status"));
+        assertTrue(session.summary(5).isEmpty());
+
+        session.start();
+        assertThrows(IllegalStateException.class, session::start);
+        for (int i = 0; i < 3; i++) {
+            timer.begin("pwd");
+            Thread.sleep(2);
+            timer.end();
+        }
+        timer.begin("git status --short");
+        timer.end();
+        PassThroughProcessEvent.begin("ls", "ls -la", "streaming").finish();
+
+        ProfilingSession.Summary running = session.summary(5).orElseThrow();
+        assertNull(running.file());
+        assertTrue(running.events().stream().anyMatch(consumer -> consumer.name().equals("command pwd")));
+
+        Path file = session.stop();
+        assertTrue(Files.exists(file));
+        assertFalse(session.isRecording());
+
+        ProfilingSession.Summary summary = session.summary(5).orElseThrow();
+        assertEquals(file, summary.file());
+        ProfilingSession.Consumer pwd = summary.events().stream()
+            .filter(consumer -> consumer.name().equals("command pwd"))
+            .findFirst().orElseThrow();
+        assertEquals(3, pwd.count());
+        assertTrue(pwd.max().compareTo(pwd.total()) <= 0);
+        assertEquals("command pwd", summary.events().get(0).name(), "longest total first");
+        assertTrue(summary.events().stream().anyMatch(consumer -> consumer.name().equals("process ls")));
+    }
+
+    @Test
+    void testStopWithoutRecordingFails() {
+        assertThrows(IllegalStateException.class, () -> new ProfilingSession(tempDir).stop());
+    }
+}
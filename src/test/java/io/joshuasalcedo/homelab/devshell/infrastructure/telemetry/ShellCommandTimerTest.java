@@ -0,0 +1,46 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.telemetry;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ShellCommandTimer
+ */
+class ShellCommandTimerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testPassThroughLinesAreGroupedByTheProgramThatRuns() throws Exception {
+        CommandStatistics statistics = new CommandStatistics(tempDir.resolve("stats.json"));
+        ShellCommandTimer timer = new ShellCommandTimer(() -> Set.of("git status"), statistics);
+
+        for (String line : List.of("make", "FOO=1 make all", "time make -j4", "env X=y npm test",
+                "sudo -u build make install", "sudo apt update", "git status", "git status --porcelain", "git log")) {
+            timer.begin(line);
+            timer.end();
+        }
+
+        assertEquals(List.of("apt", "git", "git status", "make", "npm"), statistics.summarize().stream()
+                .map(CommandStatistics.CommandStats::command)
+                .sorted()
+                .toList());
+        assertEquals(4, count(statistics, "make"));
+        assertEquals(2, count(statistics, "git status"));
+    }
+
+    private static long count(CommandStatistics statistics, String command) throws Exception {
+        return statistics.summarize().stream()
+                .filter(stats -> stats.command().equals(command))
+                .findFirst()
+                .orElseThrow()
+                .count();
+    }
+}
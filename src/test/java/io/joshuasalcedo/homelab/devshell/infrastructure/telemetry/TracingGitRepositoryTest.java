@@ -0,0 +1,76 @@
+package io.joshuasalcedo.homelab.devshell.infrastructure.telemetry;
+
+import io.joshuasalcedo.homelab.devshell.domain.model.Repository;
+import io.joshuasalcedo.homelab.devshell.domain.model.WorkingDirectory;
+import io.joshuasalcedo.homelab.devshell.domain.repository.GitRepository;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TracingGitRepository
+ */
+@ExtendWith(MockitoExtension.class)
+class TracingGitRepositoryTest {
+
+    @Mock
+    private GitRepository delegate;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testRecordsOperationsWithFileCounts() throws Exception {
+        Repository repository = Repository.existing(tempDir, "test-repo", false, "main");
+        when(delegate.getWorkingDirectoryStatus(repository)).thenReturn(
+            WorkingDirectory.withChanges(List.of("a.txt"), List.of("b.txt", "c.txt"), List.of("d.txt")));
+        doThrow(new IllegalStateException("push rejected")).when(delegate).pushBranch(any(), any());
+        TracingGitRepository tracing = new TracingGitRepository(delegate);
+
+        Path file = tempDir.resolve("git.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(GitOperationEvent.NAME).withThreshold(Duration.ZERO);
+            recording.start();
+
+            assertTrue(tracing.getWorkingDirectoryStatus(repository).hasChanges());
+            tracing.stageFiles(repository, List.of("a.txt", "b.txt"));
+            assertThrows(IllegalStateException.class, () -> tracing.pushBranch(repository, null));
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+            .filter(event -> event.getEventType().getName().equals(GitOperationEvent.NAME))
+            .toList();
+        assertEquals(List.of("getWorkingDirectoryStatus", "stageFiles", "pushBranch"),
+            events.stream().map(event -> event.getString("operation")).toList());
+        assertEquals(4, events.get(0).getInt("fileCount"));
+        assertEquals(2, events.get(1).getInt("fileCount"));
+        assertEquals(tempDir.toString(), events.get(0).getString("repositoryPath"));
+        assertTrue(events.get(1).getBoolean("succeeded"));
+        assertFalse(events.get(2).getBoolean("succeeded"));
+        verify(delegate).stageFiles(repository, List.of("a.txt", "b.txt"));
+    }
+
+    @Test
+    void testPassesThroughWithoutRecording() {
+        Repository repository = Repository.existing(tempDir, "test-repo", false, "main");
+        when(delegate.hasUncommittedChanges(repository)).thenReturn(true);
+
+        assertTrue(new TracingGitRepository(delegate).hasUncommittedChanges(repository));
+    }
+}
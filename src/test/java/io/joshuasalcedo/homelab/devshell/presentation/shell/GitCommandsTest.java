@@ -0,0 +1,99 @@
+package io.joshuasalcedo.homelab.devshell.presentation.shell;
+
+import io.joshuasalcedo.homelab.devshell.domain.exception.DomainExceptions;
+import io.joshuasalcedo.homelab.devshell.domain.model.Repository;
+import io.joshuasalcedo.homelab.devshell.domain.model.WorkingDirectory;
+import io.joshuasalcedo.homelab.devshell.domain.model.WorkingDirectory.Change;
+import io.joshuasalcedo.homelab.devshell.domain.repository.GitRepository;
+import io.joshuasalcedo.homelab.devshell.domain.service.GitValidationService;
+import io.joshuasalcedo.homelab.devshell.domain.service.SmartCommitService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for GitCommands
+ */
+@ExtendWith(MockitoExtension.class)
+class GitCommandsTest {
+
+    @Mock
+    private SmartCommitService smartCommitService;
+
+    @Mock
+    private GitRepository gitRepository;
+
+    @TempDir
+    Path tempDir;
+
+    private GitCommands gitCommands;
+    private Repository repository;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.createDirectories(tempDir.resolve(".git"));
+        repository = Repository.existing(tempDir, "project", false, "main");
+        gitCommands = new GitCommands(smartCommitService, gitRepository, new GitValidationService());
+    }
+
+    @Test
+    void testPorcelainStatusIsStableForScripts() {
+        when(gitRepository.findRepository(any())).thenReturn(Optional.of(repository));
+        when(gitRepository.getWorkingDirectoryStatus(repository)).thenReturn(WorkingDirectory.withChanges(
+                List.of("src/b.txt", "a.txt"),
+                List.of("a.txt", "c.txt"),
+                List.of("z.txt", "docs/y.md")));
+
+        // Sorted by path, index column then working tree column, untracked files last; no decoration
+        assertEquals("""
+                MM a.txt
+                 M c.txt
+                M  src/b.txt
+                ?? docs/y.md
+                ?? z.txt""", gitCommands.status(true));
+    }
+
+    @Test
+    void testPorcelainStatusShowsAddedAndDeletedFiles() {
+        when(gitRepository.findRepository(any())).thenReturn(Optional.of(repository));
+        when(gitRepository.getWorkingDirectoryStatus(repository)).thenReturn(WorkingDirectory.withChanges(
+                Map.of("new.txt", Change.ADDED, "gone.txt", Change.DELETED, "both.txt", Change.ADDED),
+                Map.of("missing.txt", Change.DELETED, "both.txt", Change.MODIFIED),
+                List.of()));
+
+        assertEquals("""
+                AM both.txt
+                D  gone.txt
+                 D missing.txt
+                A  new.txt""", gitCommands.status(true));
+    }
+
+    @Test
+    void testPorcelainStatusOfCleanTreeIsEmpty() {
+        when(gitRepository.findRepository(any())).thenReturn(Optional.of(repository));
+        when(gitRepository.getWorkingDirectoryStatus(repository)).thenReturn(WorkingDirectory.clean());
+
+        assertNull(gitCommands.status(true));
+    }
+
+    @Test
+    void testPorcelainStatusOutsideRepositoryThrows() {
+        when(gitRepository.findRepository(any())).thenReturn(Optional.empty());
+
+        // Thrown rather than returned as a message, so a one-shot run exits non-zero
+        assertThrows(DomainExceptions.NotARepositoryException.class, () -> gitCommands.status(true));
+    }
+}
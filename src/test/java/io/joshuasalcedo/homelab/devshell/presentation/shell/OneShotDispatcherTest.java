@@ -0,0 +1,164 @@
+package io.joshuasalcedo.homelab.devshell.presentation.shell;
+
+import io.joshuasalcedo.homelab.devshell.configuration.CommandNotFoundMessageProviderImpl;
+import io.joshuasalcedo.homelab.devshell.infrastructure.telemetry.ShellCommandTimer;
+import org.jline.terminal.Terminal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.shell.command.CommandCatalog;
+import org.springframework.shell.command.CommandExecution;
+import org.springframework.shell.command.CommandRegistration;
+import org.springframework.shell.context.ShellContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for OneShotDispatcher
+ */
+@ExtendWith(MockitoExtension.class)
+class OneShotDispatcherTest {
+
+    @Mock
+    private Terminal terminal;
+
+    @Mock
+    private ShellContext shellContext;
+
+    @Mock
+    private CommandNotFoundMessageProviderImpl passThrough;
+
+    private OneShotDispatcher dispatcher;
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    @BeforeEach
+    void setUp() {
+        CommandCatalog catalog = CommandCatalog.of();
+        catalog.register(
+                command("hello", "👋 hello"),
+                command("stats", "all stats"),
+                command("stats reset", "reset"),
+                command("broken", OneShotDispatcher.FAILURE_MARK + " Error: not a git repository"),
+                CommandRegistration.builder()
+                        .command("explode")
+                        .withTarget().function(context -> {
+                            throw new IllegalStateException("boom");
+                        }).and()
+                        .build());
+        dispatcher = new OneShotDispatcher(catalog,
+                new CommandExecution.CommandExecutionHandlerMethodArgumentResolvers(List.of()),
+                new DefaultConversionService(), terminal, shellContext, passThrough,
+                new ShellCommandTimer(Set::of));
+    }
+
+    @Test
+    void testSingleArgumentIsTakenAsWholeCommandLine() {
+        assertEquals("ls -la | wc -l > 'out file'", OneShotDispatcher.toCommandLine(List.of("ls -la | wc -l > 'out file'")));
+    }
+
+    @Test
+    void testSeveralArgumentsAreQuotedAsWords() {
+        // Glob characters are quoted too, so bash gets the same word the caller's shell passed
+        assertEquals("grep -r '--include=*.java' 'it'\\''s here' src/main ''",
+                OneShotDispatcher.toCommandLine(List.of("grep", "-r", "--include=*.java", "it's here", "src/main", "")));
+        assertEquals("echo '$HOME' 'a;b' '`id`'", OneShotDispatcher.toCommandLine(List.of("echo", "$HOME", "a;b", "`id`")));
+    }
+
+    @Test
+    void testFindsLongestCommandPrefix() {
+        assertEquals("stats reset", dispatcher.findCommand(List.of("stats", "reset", "--all")));
+        assertEquals("stats", dispatcher.findCommand(List.of("stats", "--count", "5")));
+        assertNull(dispatcher.findCommand(List.of("ls", "stats")));
+    }
+
+    @Test
+    void testOnlyDevShellCommandsRunInDaemon() {
+        assertNull(dispatcher.runLocallyReason(List.of("stats", "reset")));
+        assertNotNull(dispatcher.runLocallyReason(List.of("npm", "test")));
+        assertNotNull(dispatcher.runLocallyReason(List.of()));
+    }
+
+    @Test
+    void testCommandResultGoesToStdoutWithExitCodeZero() {
+        assertEquals(0, run("hello"));
+        assertEquals("👋 hello\n", text(out));
+        assertEquals("", text(err));
+    }
+
+    @Test
+    void testThrownErrorExitsWithOne() {
+        assertEquals(1, run("explode"));
+        assertTrue(text(err).contains("boom"), text(err));
+        assertEquals("", text(out));
+    }
+
+    @Test
+    void testFailureMarkExitsWithOne() {
+        assertEquals(1, run("broken"));
+        assertTrue(text(err).startsWith(OneShotDispatcher.FAILURE_MARK), text(err));
+        assertEquals("", text(out));
+    }
+
+    @Test
+    void testParserErrorExitsWithTwo() {
+        assertEquals(2, run("hello", "--no-such-option"));
+        assertTrue(text(err).contains("no-such-option"), text(err));
+    }
+
+    @Test
+    void testNoArgumentsExitsWithTwo() {
+        assertEquals(2, dispatcher.run(List.of(), Map.of(), stream(out), stream(err)));
+    }
+
+    @Test
+    void testPassThroughExitCodeIsKept() {
+        when(passThrough.execute(eq("make 'build all'"), anyMap(), any(), any()))
+                .thenReturn(new CommandNotFoundMessageProviderImpl.Outcome(42, "Command exited with code 42"));
+
+        assertEquals(42, run("make", "build all"));
+        assertEquals("Command exited with code 42\n", text(err));
+        assertEquals("", text(out));
+    }
+
+    @Test
+    void testPassThroughSuccessPrintsNothingExtra() {
+        when(passThrough.execute(eq("true"), anyMap(), any(), any())).thenReturn(new CommandNotFoundMessageProviderImpl.Outcome(0, ""));
+
+        assertEquals(0, run("true"));
+        assertEquals("", text(out) + text(err));
+    }
+
+    private int run(String... argv) {
+        return dispatcher.run(List.of(argv), Map.of(), stream(out), stream(err));
+    }
+
+    private static CommandRegistration command(String name, String result) {
+        return CommandRegistration.builder()
+                .command(name)
+                .withTarget().function(context -> result).and()
+                .build();
+    }
+
+    private static PrintStream stream(ByteArrayOutputStream bytes) {
+        return new PrintStream(bytes, true, StandardCharsets.UTF_8);
+    }
+
+    private static String text(ByteArrayOutputStream bytes) {
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,52 @@
+package io.joshuasalcedo.homelab.devshell.utils;
+
+import io.joshuasalcedo.commonlibs.text.TextUtility;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BannerCache
+ */
+class BannerCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testRendersOnceAndServesFromFile() throws IOException {
+        BannerCache cache = new BannerCache(tempDir);
+        String first = cache.banner("DEV SHELL", TextUtility.Color.BRIGHT_MAGENTA, "version", "1.0");
+
+        Path file = tempDir.resolve(BannerCache.fileName("DEV SHELL", TextUtility.Color.BRIGHT_MAGENTA, Map.of("version", "1.0")));
+        assertTrue(Files.exists(file));
+        assertTrue(first.startsWith(Files.readString(file, StandardCharsets.UTF_8)));
+
+        // A cache hit prints whatever is stored, without rendering
+        Files.writeString(file, "cached art", StandardCharsets.UTF_8);
+        assertTrue(cache.banner("DEV SHELL", TextUtility.Color.BRIGHT_MAGENTA, "version", "1.0").startsWith("cached art"));
+    }
+
+    @Test
+    void testDifferentMetadataUsesDifferentFile() {
+        assertNotEquals(
+                BannerCache.fileName("DEV SHELL", TextUtility.Color.BRIGHT_MAGENTA, Map.of("version", "1.0")),
+                BannerCache.fileName("DEV SHELL", TextUtility.Color.BRIGHT_MAGENTA, Map.of("version", "1.1")));
+        assertTrue(BannerCache.fileName("DEV SHELL", TextUtility.Color.BRIGHT_MAGENTA, Map.of()).startsWith("dev-shell-"));
+    }
+
+    @Test
+    void testUnwritableDirectoryStillRenders() throws IOException {
+        Path notADirectory = Files.createFile(tempDir.resolve("banners"));
+        BannerCache cache = new BannerCache(notADirectory);
+
+        assertFalse(cache.banner("SHUTDOWN", TextUtility.Color.BRIGHT_YELLOW, "Created by", "Joshua Salcedo").isEmpty());
+    }
+}
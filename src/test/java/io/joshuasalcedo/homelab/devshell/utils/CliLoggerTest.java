@@ -0,0 +1,70 @@
+package io.joshuasalcedo.homelab.devshell.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CliLogger
+ */
+class CliLoggerTest {
+
+    private CliLogger.Level previous;
+
+    @BeforeEach
+    void setUp() {
+        previous = CliLogger.getLevel();
+    }
+
+    @AfterEach
+    void tearDown() {
+        CliLogger.setLevel(previous);
+    }
+
+    @Test
+    void testFormatsPlaceholders() {
+        assertEquals("a=1, b=null, {}", CliLogger.format("a={}, b={}, {}", 1, null));
+        assertEquals("no args {}", CliLogger.format("no args {}"));
+        assertEquals("lazy 42", CliLogger.format("lazy {}", (Supplier<Integer>) () -> 42));
+    }
+
+    @Test
+    void testLevelThreshold() {
+        CliLogger.setLevel(CliLogger.Level.WARN);
+
+        assertFalse(CliLogger.isEnabled(CliLogger.Level.DEBUG));
+        assertFalse(CliLogger.isEnabled(CliLogger.Level.INFO));
+        assertTrue(CliLogger.isEnabled(CliLogger.Level.WARN));
+        assertTrue(CliLogger.isEnabled(CliLogger.Level.ERROR));
+
+        CliLogger.setLevel(CliLogger.Level.OFF);
+        assertFalse(CliLogger.isEnabled(CliLogger.Level.ERROR));
+        assertFalse(CliLogger.isEnabled(CliLogger.Level.OFF));
+    }
+
+    @Test
+    void testSuppliersOnlyRunWhenEnabled() {
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<String> expensive = () -> "value " + calls.incrementAndGet();
+
+        CliLogger.setLevel(CliLogger.Level.INFO);
+        CliLogger.debug("skipped {}", expensive);
+        assertEquals(0, calls.get());
+
+        CliLogger.info("printed {}", expensive);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testParseLevel() {
+        assertEquals(CliLogger.Level.DEBUG, CliLogger.Level.parse(" debug "));
+        assertEquals(CliLogger.Level.WARN, CliLogger.Level.parse("warning"));
+        assertEquals(CliLogger.Level.OFF, CliLogger.Level.parse("none"));
+        assertThrows(IllegalArgumentException.class, () -> CliLogger.Level.parse("loud"));
+    }
+}
@@ -0,0 +1,47 @@
+package io.joshuasalcedo.homelab.devshell.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for InterruptScope
+ */
+class InterruptScopeTest {
+
+    @Test
+    void testInterruptGoesToInnermostScope() {
+        List<String> interrupted = new ArrayList<>();
+
+        try (InterruptScope outer = InterruptScope.onInterrupt(() -> interrupted.add("outer"))) {
+            try (InterruptScope inner = InterruptScope.onInterrupt(() -> interrupted.add("inner"))) {
+                assertTrue(InterruptScope.interruptCurrent());
+                assertTrue(inner.wasInterrupted());
+                assertFalse(outer.wasInterrupted());
+            }
+
+            // Closing the inner scope hands interrupts back to the outer one
+            assertTrue(InterruptScope.interruptCurrent());
+            assertTrue(outer.wasInterrupted());
+        }
+
+        assertEquals(List.of("inner", "outer"), interrupted);
+        assertFalse(InterruptScope.interruptCurrent(), "no scope is open any more");
+    }
+
+    @Test
+    void testClosingOuterScopeFirstKeepsInnerScope() {
+        List<String> interrupted = new ArrayList<>();
+        InterruptScope outer = InterruptScope.onInterrupt(() -> interrupted.add("outer"));
+        InterruptScope inner = InterruptScope.onInterrupt(() -> interrupted.add("inner"));
+
+        outer.close();
+        assertTrue(InterruptScope.interruptCurrent());
+        inner.close();
+
+        assertEquals(List.of("inner"), interrupted);
+    }
+}